@@ -2,8 +2,10 @@ package com.davis.hospital_Appointment_Rest_API;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class HospitalAppointmentRestApiApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,186 @@
+package com.davis.hospital_Appointment_Rest_API.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.davis.hospital_Appointment_Rest_API.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * {@link PasswordEncoder} that runs every hash on a small dedicated thread pool.
+ * <p>
+ * A bcrypt hash costs tens of milliseconds of CPU. Run inline, a login storm keeps
+ * every request thread busy hashing and starves unrelated endpoints. Here at most
+ * {@code threads} hashes run at once, at most {@code queueCapacity} wait behind them,
+ * and anything beyond that is turned away at once with a
+ * {@link ServiceUnavailableException} (503) instead of piling up. A caller that waits
+ * longer than the timeout for its hash is turned away the same way.
+ * </p>
+ *
+ * <p><b>Metrics:</b>
+ * <ul>
+ *   <li>{@code password.hash.queue} - hashes waiting for a thread</li>
+ *   <li>{@code password.hash.active} - hashes running</li>
+ *   <li>{@code password.hash.duration} - time spent hashing, tagged by operation</li>
+ *   <li>{@code password.hash.rejected} - hashes refused because the pool was saturated or slow</li>
+ * </ul>
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-26
+ * @see ProjectSecurityConfig#passwordEncoder
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final long timeoutMillis;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejectedCounter;
+
+    /**
+     * Creates the encoder.
+     *
+     * @param delegate      the encoder doing the actual hashing
+     * @param threads       the number of hashing threads
+     * @param queueCapacity how many hashes may wait for a thread
+     * @param timeoutMillis the longest a caller waits for its hash, in milliseconds
+     * @param meterRegistry the registry receiving queue and latency metrics
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity, long timeoutMillis,
+            MeterRegistry meterRegistry) {
+        if (threads < 1 || queueCapacity < 1 || timeoutMillis < 1) {
+            throw new IllegalArgumentException("Threads, queue capacity and timeout must be positive");
+        }
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.delegate = delegate;
+        this.threads = threads;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("password.hash.queue", executor, pool -> pool.getQueue().size())
+                .description("Password hashes waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashes running")
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("password.hash.duration").tag("operation", "encode")
+                .description("Time spent hashing passwords")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("password.hash.duration").tag("operation", "matches")
+                .description("Time spent hashing passwords")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("password.hash.rejected")
+                .description("Password hashes refused because the hashing pool was saturated")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return await(submit(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword))));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return await(submit(() -> matchesTimer.recordCallable(() -> delegate.matches(rawPassword, encodedPassword))));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * Hashes many passwords for a bulk job without crowding out interactive requests.
+     * <p>
+     * At most one hash per pool thread of this call is in flight at any time, so the
+     * queue keeps room for logins; when the pool is saturated anyway the call waits
+     * for its own oldest hash instead of failing.
+     * </p>
+     *
+     * @param rawPasswords the passwords to hash
+     * @return the hashes, in input order
+     * @throws ServiceUnavailableException if the pool stays saturated by other callers
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        List<Future<String>> futures = new ArrayList<>(rawPasswords.size());
+        List<String> encoded = new ArrayList<>(rawPasswords.size());
+        for (CharSequence rawPassword : rawPasswords) {
+            while (true) {
+                if (futures.size() - encoded.size() >= threads) {
+                    encoded.add(await(futures.get(encoded.size())));
+                }
+                try {
+                    futures.add(executor.submit(() -> encodeTimer.recordCallable(() -> delegate.encode(rawPassword))));
+                    break;
+                } catch (RejectedExecutionException e) {
+                    if (futures.size() == encoded.size()) {
+                        rejectedCounter.increment();
+                        throw new ServiceUnavailableException("Password hashing is busy, please retry");
+                    }
+                    encoded.add(await(futures.get(encoded.size())));
+                }
+            }
+        }
+        while (encoded.size() < futures.size()) {
+            encoded.add(await(futures.get(encoded.size())));
+        }
+        return encoded;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("Too many sign-ins in progress, please retry");
+        }
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new ServiceUnavailableException("Password hashing is busy, please retry");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Password hashing was interrupted, please retry");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.davis.hospital_Appointment_Rest_API.config;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * In-memory cache for reference data: roles, authorities and departments.
+ * <p>
+ * These tables are tiny and change only through their admin endpoints, so their
+ * lookups are served from memory with {@code @Cacheable} and the save methods evict
+ * the affected cache (write-through invalidation). Each node holds its own copy, and
+ * entries expire a while after they were read, so a change made on another node
+ * shows up here within {@code cache.reference.ttl-ms} at the latest.
+ * </p>
+ *
+ * <p>Misses are not cached ({@code unless = "#result == null"}, which also covers empty
+ * {@code Optional}s), so a name looked up before it was created is found once it exists.
+ * Null values are refused outright to keep it that way.</p>
+ *
+ * <p>Controllers inject the service classes rather than their interfaces, so the
+ * caching proxies subclass them ({@code proxyTargetClass}).</p>
+ *
+ * <p><b>Metrics:</b> the caches record Caffeine statistics, which the actuator's cache
+ * metrics bind as {@code cache.gets} (tagged {@code cache} and {@code result=hit|miss}),
+ * {@code cache.evictions} and {@code cache.size}. The caches are also listed by the
+ * actuator {@code caches} endpoint.</p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-27
+ */
+@Configuration
+@EnableCaching(proxyTargetClass = true)
+public class CacheConfig {
+
+    /** Roles by ID, by name and the full list */
+    public static final String ROLES = "roles";
+
+    /** Authorities by ID, by name and the full list */
+    public static final String AUTHORITIES = "authorities";
+
+    /** Departments by name and by location code */
+    public static final String DEPARTMENTS = "departments";
+
+    /**
+     * Creates the cache manager for the fixed set of reference-data caches.
+     *
+     * @param ttlMillis how long an entry is kept after it is loaded, in milliseconds
+     * @return the cache manager
+     */
+    @Bean
+    CacheManager cacheManager(@Value("${cache.reference.ttl-ms:600000}") long ttlMillis) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(Math.max(0, ttlMillis)))
+                .recordStats());
+        cacheManager.setAllowNullValues(false);
+        cacheManager.setCacheNames(List.of(ROLES, AUTHORITIES, DEPARTMENTS));
+        return cacheManager;
+    }
+}
@@ -1,45 +1,167 @@
 package com.davis.hospital_Appointment_Rest_API.config;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
-import jakarta.persistence.Query;
+import jakarta.annotation.PreDestroy;
 
+/**
+ * Hi/lo generator for the sequential numbers stored in the {@code IDGen} table.
+ * <p>
+ * Instead of reading and writing the table for every ID, each node reserves a block
+ * of numbers with a single locked increment of the row and hands them out from memory.
+ * Blocks never overlap across nodes, because the increment holds the row lock until
+ * its short transaction commits. When a quarter of the block is left, the next block
+ * is reserved on a background thread, so callers rarely wait for the database.
+ * </p>
+ *
+ * <p>Numbers of a block that is still in memory when a node stops are skipped, so the
+ * sequence is unique and increasing per node but may have gaps.</p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 2.0
+ * @since 2025-08-23
+ */
 @Component
 public class IdGeneration {
-	
-	@PersistenceContext
-    private EntityManager entityManager;
-	@Transactional // Ensures the method runs within a transaction
-	public long getNextIdNumber(String idName) {
-		long currentValue = 0;
-		try {
-			// SQL query to get the current value for the sequence
-			String selectSql = "SELECT idValue FROM IDGen WHERE idName = :idName";
-			Query selectQuery = entityManager.createNativeQuery(selectSql);
-			selectQuery.setParameter("idName", idName);
-			currentValue = ((Number) selectQuery.getSingleResult()).intValue();
-			
-			// Increment the value
-			long nextValue = currentValue + 1;
-			
-			// SQL query to update the sequence value
-			String updateSql = "UPDATE IDGen SET idValue = :nextValue WHERE idName = :idName";
-			Query updateQuery = entityManager.createNativeQuery(updateSql);
-			updateQuery.setParameter("nextValue", nextValue);
-			updateQuery.setParameter("idName", idName);
-			
-			int rowsUpdated = updateQuery.executeUpdate();
-			if (rowsUpdated == 0) {
-				throw new RuntimeException("No rows updated. Check if the 'user' record exists.");
+
+	private static final String RESERVE_SQL = "UPDATE IDGen SET idValue = idValue + ? WHERE idName = ?";
+	private static final String READ_SQL = "SELECT idValue FROM IDGen WHERE idName = ?";
+
+	/**
+	 * A reserved range of numbers, {@code [next, end)}.
+	 */
+	private static final class Block {
+		private final AtomicLong next;
+		private final long end;
+
+		private Block(long start, long end) {
+			this.next = new AtomicLong(start);
+			this.end = end;
+		}
+	}
+
+	/**
+	 * The blocks of one named sequence.
+	 */
+	private final class Sequence {
+		private final String idName;
+		private volatile Block current;
+		private CompletableFuture<Block> prefetched;
+
+		private Sequence(String idName) {
+			this.idName = idName;
+		}
+
+		private long next() {
+			while (true) {
+				Block block = current;
+				if (block != null) {
+					long id = block.next.getAndIncrement();
+					if (id < block.end) {
+						if (block.end - id == refillRemaining) {
+							prefetch();
+						}
+						return id;
+					}
+				}
+				advance(block);
 			}
-		} catch (Exception e) {
-			e.printStackTrace();
-			throw new RuntimeException("Error updating sequence value", e);
 		}
-		return currentValue;
+
+		private synchronized void prefetch() {
+			if (prefetched == null) {
+				prefetched = CompletableFuture.supplyAsync(() -> reserve(idName), refillExecutor);
+			}
+		}
+
+		private synchronized void advance(Block exhausted) {
+			if (current != exhausted) {
+				return;
+			}
+			CompletableFuture<Block> pending = prefetched;
+			prefetched = null;
+			Block block = null;
+			if (pending != null) {
+				try {
+					block = pending.join();
+				} catch (CompletionException e) {
+					// The background refill failed; retry in the caller so the error surfaces there
+				}
+			}
+			current = block != null ? block : reserve(idName);
+		}
+	}
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final int blockSize;
+	private final long refillRemaining;
+	private final Map<String, Sequence> sequences = new ConcurrentHashMap<>();
+	private final ExecutorService refillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "id-block-refill");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * Creates the generator.
+	 *
+	 * @param jdbcTemplate       runs the reservation statements
+	 * @param transactionManager opens the independent reservation transactions
+	 * @param blockSize          how many numbers one reservation takes
+	 */
+	public IdGeneration(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			@Value("${id.generation.block-size:50}") int blockSize) {
+		if (blockSize < 1) {
+			throw new IllegalArgumentException("Block size must be positive");
+		}
+		this.jdbcTemplate = jdbcTemplate;
+		// A reservation must survive a rollback of the registration that triggered it
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.blockSize = blockSize;
+		this.refillRemaining = Math.max(1, blockSize / 4);
 	}
 
+	/**
+	 * Returns the next number of a sequence.
+	 *
+	 * @param idName the sequence name (the {@code idName} of its {@code IDGen} row)
+	 * @return the next number, unique across all nodes
+	 * @throws IllegalStateException if the sequence row does not exist
+	 */
+	public long getNextIdNumber(String idName) {
+		return sequences.computeIfAbsent(idName, Sequence::new).next();
+	}
+
+	/**
+	 * Reserves the next block of a sequence and returns it.
+	 */
+	private Block reserve(String idName) {
+		Long end = transactionTemplate.execute(status -> {
+			if (jdbcTemplate.update(RESERVE_SQL, blockSize, idName) == 0) {
+				throw new IllegalStateException("No IDGen row found for sequence: " + idName);
+			}
+			return jdbcTemplate.queryForObject(READ_SQL, Long.class, idName);
+		});
+		return new Block(end - blockSize, end);
+	}
+
+	@PreDestroy
+	void shutdown() {
+		refillExecutor.shutdownNow();
+	}
 }
@@ -2,6 +2,7 @@ package com.davis.hospital_Appointment_Rest_API.config;
 
 import static org.springframework.security.config.Customizer.withDefaults;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -15,9 +16,11 @@ import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import com.davis.hospital_Appointment_Rest_API.filter.JwtValidationFilter;
-import com.davis.hospital_Appointment_Rest_API.service.imp.JwtService;
+import com.davis.hospital_Appointment_Rest_API.service.imp.VerifiedTokenCache;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Central security configuration class for the Hospital Appointment REST API.
  * 
@@ -52,7 +55,7 @@ public class ProjectSecurityConfig {
     
     private final CustomAuthenticationEntryPoint authenticationEntryPoint;
     private final CustomAccessDeniedHandler accessDeniedHandler;
-    private final JwtService jwtService;
+    private final VerifiedTokenCache tokenCache;
     private final ObjectMapper objectMapper;
    
     
@@ -61,16 +64,16 @@ public class ProjectSecurityConfig {
      *
      * @param authenticationEntryPoint Handles authentication failures (HTTP 401)
      * @param accessDeniedHandler Handles authorization failures (HTTP 403)
-     * @param jwtService Service for JWT token operations (generation/validation)
+     * @param tokenCache Verifies JWT tokens, caching the result until each token expires
      * @param objectMapper Jackson ObjectMapper for JSON processing
      */
     public ProjectSecurityConfig(CustomAuthenticationEntryPoint authenticationEntryPoint,
                                 CustomAccessDeniedHandler accessDeniedHandler,
-                                JwtService jwtService,
+                                VerifiedTokenCache tokenCache,
                                 ObjectMapper objectMapper) {
         this.authenticationEntryPoint = authenticationEntryPoint;
         this.accessDeniedHandler = accessDeniedHandler;
-        this.jwtService = jwtService;
+        this.tokenCache = tokenCache;
         this.objectMapper = objectMapper;
         
     }
@@ -116,7 +119,7 @@ public class ProjectSecurityConfig {
             
             // JWT filters
             .addFilterBefore(
-                new JwtValidationFilter(jwtService, objectMapper),
+                new JwtValidationFilter(tokenCache, objectMapper),
                 UsernamePasswordAuthenticationFilter.class
             )
                 
@@ -124,7 +127,8 @@ public class ProjectSecurityConfig {
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(
                     "/api/users/patient/register",
-                    "/api/users/auth"
+                    "/api/users/auth",
+                    "/api/users/refresh"
                 ).permitAll()
                 .anyRequest().authenticated()
             )
@@ -138,15 +142,26 @@ public class ProjectSecurityConfig {
      * Creates a delegating password encoder that supports multiple encoding formats.
      * 
      * <p>The encoder will automatically detect the encoding algorithm from the password prefix
-     * (e.g., {bcrypt}, {pbkdf2}, {sha256}) and use the appropriate encoder.</p>
+     * (e.g., {bcrypt}, {pbkdf2}, {sha256}) and use the appropriate encoder. Hashing runs on
+     * a bounded pool so sign-in storms cannot occupy every request thread.</p>
      *
+     * @param threads number of hashing threads; 0 means half the available processors
+     * @param queueCapacity how many hashes may wait for a thread before requests get 503
+     * @param timeoutMillis the longest a request waits for its hash, in milliseconds
+     * @param meterRegistry the registry receiving hashing metrics
      * @return PasswordEncoder that supports multiple encoding schemes
      * 
      * @see PasswordEncoderFactories#createDelegatingPasswordEncoder()
+     * @see BoundedPasswordEncoder
      */
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    BoundedPasswordEncoder passwordEncoder(@Value("${security.hash.threads:0}") int threads,
+            @Value("${security.hash.queue-capacity:64}") int queueCapacity,
+            @Value("${security.hash.timeout-ms:2000}") long timeoutMillis,
+            MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(PasswordEncoderFactories.createDelegatingPasswordEncoder(),
+                poolSize, queueCapacity, timeoutMillis, meterRegistry);
     }
 
     /**
@@ -0,0 +1,84 @@
+package com.davis.hospital_Appointment_Rest_API.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Measures replica lag with a heartbeat row and switches reads back to the primary
+ * when the replica falls behind or cannot be reached.
+ * <p>
+ * Every check first reads the {@code ReplicaHeartbeat} row from the replica, then
+ * stamps the current time into the same row on the primary. If the replica already
+ * shows the stamp written by the previous check it has caught up (lag 0); otherwise the
+ * lag is the age of the stamp it shows. The measurement is therefore only as fine as
+ * {@code replica.lag-check-ms}, and {@code replica.max-lag-ms} should be a few times
+ * larger. Until the first successful check, reads stay on the primary.
+ * </p>
+ *
+ * <pre>
+ * CREATE TABLE ReplicaHeartbeat (id INT PRIMARY KEY, beatMillis BIGINT NOT NULL)
+ * </pre>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-28
+ * @see ReplicaRoutingDataSource
+ */
+public class ReplicaLagMonitor {
+
+    private static final String READ_BEAT = "SELECT beatMillis FROM ReplicaHeartbeat WHERE id = 1";
+    private static final String UPDATE_BEAT = "UPDATE ReplicaHeartbeat SET beatMillis = ? WHERE id = 1";
+    private static final String INSERT_BEAT = "INSERT INTO ReplicaHeartbeat (id, beatMillis) VALUES (1, ?)";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final ReplicaRoutingDataSource router;
+    private final long maxLagMs;
+    private long lastBeat;
+
+    /**
+     * @param primary the primary pool, written directly rather than through the router
+     * @param replica the replica pool, read directly rather than through the router
+     * @param router the router to report to
+     * @param maxLagMs the largest lag at which reads still go to the replica
+     */
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, ReplicaRoutingDataSource router, long maxLagMs) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.router = router;
+        this.maxLagMs = maxLagMs;
+    }
+
+    /**
+     * Measures the lag, updates the router and writes the next heartbeat.
+     */
+    @Scheduled(fixedDelayString = "${replica.lag-check-ms:1000}")
+    public synchronized void check() {
+        long now = System.currentTimeMillis();
+        long lag;
+        try {
+            Long replicated = replica.queryForObject(READ_BEAT, Long.class);
+            lag = replicated == null ? -1 : replicated >= lastBeat ? 0 : now - replicated;
+        } catch (DataAccessException e) {
+            lag = -1;
+        }
+        router.replicaChecked(lag >= 0 && lag <= maxLagMs, lag);
+        router.pruneWrites();
+
+        try {
+            if (primary.update(UPDATE_BEAT, now) == 0) {
+                primary.update(INSERT_BEAT, now);
+            }
+            lastBeat = now;
+        } catch (DuplicateKeyException e) {
+            // another node inserted the row first; its stamp serves as well
+            lastBeat = now;
+        } catch (DataAccessException e) {
+            // primary unreachable: keep comparing against the last stamp that was written
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.davis.hospital_Appointment_Rest_API.config;
+
+import javax.sql.DataSource;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Splits the database into a primary pool and a read replica pool.
+ * <p>
+ * Active only when {@code replica.datasource.url} is set; otherwise the single data
+ * source configured under {@code spring.datasource} is used as before. When active:
+ * <ul>
+ *   <li>the primary pool is built from {@code spring.datasource.*} and tuned with
+ *       {@code spring.datasource.hikari.*}</li>
+ *   <li>the replica pool is built from {@code replica.datasource.*} and tuned with
+ *       {@code replica.datasource.hikari.*}</li>
+ *   <li>the application's data source is a {@link ReplicaRoutingDataSource} behind a
+ *       {@link LazyConnectionDataSourceProxy}</li>
+ *   <li>{@link ReplicaLagMonitor} keeps the router informed about replica lag</li>
+ * </ul>
+ * Hibernate is switched to releasing its connection after every transaction. With the
+ * default (hold until the session closes) an open-in-view session would keep whichever
+ * pool its first transaction picked for the rest of the request, and a write could end
+ * up on the replica connection.
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-28
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "replica.datasource.url")
+public class ReplicaRoutingConfig {
+
+    /**
+     * Creates the read-write pool.
+     *
+     * @param properties the {@code spring.datasource} settings
+     * @return the primary pool
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    /**
+     * Creates the read-only pool.
+     *
+     * @param url the replica JDBC URL
+     * @param username the replica user
+     * @param password the replica password
+     * @param driverClassName the JDBC driver (defaults to the primary's)
+     * @return the replica pool
+     */
+    @Bean
+    @ConfigurationProperties("replica.datasource.hikari")
+    HikariDataSource replicaDataSource(@Value("${replica.datasource.url}") String url,
+            @Value("${replica.datasource.username:${spring.datasource.username:}}") String username,
+            @Value("${replica.datasource.password:${spring.datasource.password:}}") String password,
+            @Value("${replica.datasource.driver-class-name:${spring.datasource.driver-class-name:}}") String driverClassName) {
+        DataSourceBuilder<HikariDataSource> builder = DataSourceBuilder.create().type(HikariDataSource.class)
+                .url(url).username(username).password(password);
+        if (StringUtils.hasText(driverClassName)) {
+            builder.driverClassName(driverClassName);
+        }
+        HikariDataSource dataSource = builder.build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    /**
+     * Creates the router between the two pools.
+     *
+     * @param primary the primary pool
+     * @param replica the replica pool
+     * @param readYourWritesMs how long a user's reads stay on the primary after their own commit
+     * @param meterRegistry the registry receiving routing statistics
+     * @return the router
+     */
+    @Bean
+    ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            @Value("${replica.read-your-writes-ms:0}") long readYourWritesMs, MeterRegistry meterRegistry) {
+        return new ReplicaRoutingDataSource(primary, replica, readYourWritesMs, meterRegistry);
+    }
+
+    /**
+     * Exposes the router as the application's data source.
+     *
+     * @param router the router
+     * @return the data source used by JPA and {@code JdbcTemplate}
+     */
+    @Bean
+    @Primary
+    DataSource dataSource(ReplicaRoutingDataSource router) {
+        return new LazyConnectionDataSourceProxy(router);
+    }
+
+    /**
+     * Creates the scheduled lag check.
+     *
+     * @param primary the primary pool
+     * @param replica the replica pool
+     * @param router the router to report to
+     * @param maxLagMs the largest lag at which reads still go to the replica
+     * @return the monitor
+     */
+    @Bean
+    ReplicaLagMonitor replicaLagMonitor(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, ReplicaRoutingDataSource router,
+            @Value("${replica.max-lag-ms:5000}") long maxLagMs) {
+        return new ReplicaLagMonitor(primary, replica, router, maxLagMs);
+    }
+
+    /**
+     * Makes Hibernate give its connection back after each transaction so every
+     * transaction is routed on its own.
+     *
+     * @return the customizer
+     */
+    @Bean
+    HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
@@ -0,0 +1,181 @@
+package com.davis.hospital_Appointment_Rest_API.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Sends read-only transactions to the replica pool and everything else to the primary.
+ * <p>
+ * A connection goes to the replica only when all of these hold:
+ * <ul>
+ *   <li>the current transaction is {@code @Transactional(readOnly = true)} (work outside a
+ *       transaction always uses the primary)</li>
+ *   <li>{@link ReplicaLagMonitor} last saw the replica within the allowed lag</li>
+ *   <li>the signed-in user has not committed a write within the read-your-writes window,
+ *       when that window is enabled</li>
+ * </ul>
+ * The routing key is read when the physical connection is fetched, so this must sit
+ * behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy};
+ * the transaction's read-only flag is not yet set when the transaction manager asks for
+ * a connection.
+ * </p>
+ *
+ * <p><b>Metrics:</b>
+ * <ul>
+ *   <li>{@code datasource.routing} - connections handed out, tagged
+ *       {@code route=primary|replica|fallback|own-write}</li>
+ *   <li>{@code datasource.replica.lag} - last measured replica lag (milliseconds, -1 when unknown)</li>
+ * </ul>
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-28
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    /**
+     * The two connection pools.
+     */
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private final long readYourWritesMs;
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+    private final LongAdder primaryRoutes = new LongAdder();
+    private final LongAdder replicaRoutes = new LongAdder();
+    private final LongAdder fallbackRoutes = new LongAdder();
+    private final LongAdder ownWriteRoutes = new LongAdder();
+    private volatile boolean replicaUsable;
+    private volatile long replicaLagMs = -1;
+
+    /**
+     * @param primary the read-write pool
+     * @param replica the read-only pool
+     * @param readYourWritesMs how long a user's reads stay on the primary after their own
+     *        commit (0 disables the window)
+     * @param meterRegistry the registry receiving routing statistics
+     */
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, long readYourWritesMs,
+            MeterRegistry meterRegistry) {
+        this.readYourWritesMs = readYourWritesMs;
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+
+        register(meterRegistry, "primary", primaryRoutes);
+        register(meterRegistry, "replica", replicaRoutes);
+        register(meterRegistry, "fallback", fallbackRoutes);
+        register(meterRegistry, "own-write", ownWriteRoutes);
+        Gauge.builder("datasource.replica.lag", this, ReplicaRoutingDataSource::getReplicaLagMs)
+                .baseUnit("milliseconds")
+                .description("Replica lag measured by the last heartbeat check")
+                .register(meterRegistry);
+    }
+
+    private static void register(MeterRegistry meterRegistry, String route, LongAdder counter) {
+        FunctionCounter.builder("datasource.routing", counter, LongAdder::sum)
+                .tag("route", route)
+                .description("Connections handed out per pool")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWrite();
+            primaryRoutes.increment();
+            return Route.PRIMARY;
+        }
+        if (!replicaUsable) {
+            fallbackRoutes.increment();
+            return Route.PRIMARY;
+        }
+        if (wroteRecently(currentUser())) {
+            ownWriteRoutes.increment();
+            return Route.PRIMARY;
+        }
+        replicaRoutes.increment();
+        return Route.REPLICA;
+    }
+
+    /**
+     * Records the outcome of a lag check.
+     *
+     * @param usable whether reads may go to the replica
+     * @param lagMs the measured lag, or -1 when the replica could not be read
+     */
+    void replicaChecked(boolean usable, long lagMs) {
+        this.replicaLagMs = lagMs;
+        this.replicaUsable = usable;
+    }
+
+    /**
+     * Forgets writes whose read-your-writes window has closed.
+     */
+    void pruneWrites() {
+        long cutoff = System.currentTimeMillis() - readYourWritesMs;
+        lastWriteByUser.values().removeIf(committedAt -> committedAt < cutoff);
+    }
+
+    /**
+     * @return whether read-only transactions currently go to the replica
+     */
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * @return the last measured replica lag in milliseconds, or -1 when unknown
+     */
+    public long getReplicaLagMs() {
+        return replicaLagMs;
+    }
+
+    private void rememberWrite() {
+        if (readYourWritesMs <= 0 || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWriteByUser.put(user, System.currentTimeMillis());
+            }
+        });
+    }
+
+    private boolean wroteRecently(String user) {
+        if (readYourWritesMs <= 0 || user == null) {
+            return false;
+        }
+        Long committedAt = lastWriteByUser.get(user);
+        return committedAt != null && System.currentTimeMillis() - committedAt < readYourWritesMs;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,128 @@
+package com.davis.hospital_Appointment_Rest_API.config;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coordination-free generator of time-ordered string keys (Snowflake layout).
+ * <p>
+ * Every key packs 64 bits:
+ * <ul>
+ *   <li>41 bits - milliseconds since {@link #EPOCH} (good for about 69 years)</li>
+ *   <li>10 bits - node ID from {@code appointment.id.node-id}, unique per running instance</li>
+ *   <li>12 bits - sequence within the millisecond (4096 keys per millisecond per node)</li>
+ * </ul>
+ * and is written as 13 fixed-width Crockford base32 characters, so string order equals
+ * numeric order and new rows append to the tail of the clustered index instead of
+ * splitting pages at random like UUIDs do.
+ * </p>
+ *
+ * <p>Timestamp and sequence live in one {@link AtomicLong} advanced with compare-and-set:
+ * no locks and no database access. Keys are strictly increasing per node. If the
+ * sequence of a millisecond runs out, or the wall clock steps back, the generator keeps
+ * counting from its last key and lets the embedded time run slightly ahead until the
+ * clock catches up, rather than blocking or repeating a key.</p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-24
+ */
+@Component
+public class TimeOrderedIdGenerator {
+
+    /** Start of the embedded timestamp: 2025-01-01T00:00:00Z */
+    public static final long EPOCH = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+
+    /** Number of characters of every generated key */
+    public static final int KEY_LENGTH = 13;
+
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+    private final long nodeBits;
+
+    /** Last issued (timestamp << SEQUENCE_BITS | sequence) */
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * Creates the generator.
+     *
+     * @param nodeId this instance's node ID, 0 to 1023, distinct on every running node
+     */
+    public TimeOrderedIdGenerator(@Value("${appointment.id.node-id:0}") long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node ID must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+    }
+
+    /**
+     * Returns the next key as a number.
+     *
+     * @return a positive number, greater than every number this instance returned before
+     */
+    public long nextLong() {
+        long now = System.currentTimeMillis() - EPOCH;
+        while (true) {
+            long previous = state.get();
+            // A new millisecond restarts the sequence; otherwise count on, carrying into the timestamp
+            long next = now > previous >>> SEQUENCE_BITS ? now << SEQUENCE_BITS : previous + 1;
+            if (state.compareAndSet(previous, next)) {
+                return (next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS) | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * Returns the next key.
+     *
+     * @return a {@value #KEY_LENGTH}-character key, sorting after every key this instance returned before
+     */
+    public String nextId() {
+        return encode(nextLong());
+    }
+
+    /**
+     * Writes a number as {@value #KEY_LENGTH} Crockford base32 characters.
+     *
+     * @param value the number
+     * @return the fixed-width encoding
+     */
+    public static String encode(long value) {
+        char[] chars = new char[KEY_LENGTH];
+        for (int i = KEY_LENGTH - 1; i >= 0; i--) {
+            chars[i] = ALPHABET[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Reads the creation time embedded in a key.
+     *
+     * @param id a key produced by {@link #nextId()}
+     * @return the time the key was issued (may run slightly ahead under bursts)
+     */
+    public static Instant timestampOf(String id) {
+        long value = 0;
+        for (int i = 0; i < id.length(); i++) {
+            value = value << 5 | decode(id.charAt(i));
+        }
+        return Instant.ofEpochMilli((value >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH);
+    }
+
+    private static int decode(char c) {
+        for (int i = 0; i < ALPHABET.length; i++) {
+            if (ALPHABET[i] == Character.toUpperCase(c)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Not a time-ordered key: invalid character '" + c + "'");
+    }
+}
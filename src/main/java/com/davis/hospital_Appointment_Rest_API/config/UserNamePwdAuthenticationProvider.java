@@ -2,11 +2,13 @@ package com.davis.hospital_Appointment_Rest_API.config;
 
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
@@ -60,11 +62,22 @@ public class UserNamePwdAuthenticationProvider implements AuthenticationProvider
         String password = authentication.getCredentials().toString();
         
         
-        // Load user details from the database using the username
-        UserDetails userDetails = userDetailsService.loadUserByUsername(userName);
+        // Load user details from the database using the username. An unknown user is
+        // reported exactly like a wrong password, so sign-in does not reveal which
+        // usernames exist.
+        UserDetails userDetails;
+        try {
+            userDetails = userDetailsService.loadUserByUsername(userName);
+        } catch (UsernameNotFoundException e) {
+            throw new BadCredentialsException("Invalid Credentials");
+        }
         
         // Verify the provided password matches the stored encoded password
         if (passwordEncoder.matches(password, userDetails.getPassword())) {
+            // Only reveal the account state to someone who knows the password
+            if (!userDetails.isEnabled()) {
+                throw new DisabledException("Account is not active");
+            }
             // If passwords match, create and return a fully authenticated token
             return new UsernamePasswordAuthenticationToken(
                 userName, 
@@ -1,26 +1,34 @@
 package com.davis.hospital_Appointment_Rest_API.controller;
 
 import java.time.LocalDate;
-import java.util.List;
-import java.util.Optional;
 
 import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.davis.hospital_Appointment_Rest_API.dto.BatchBookingResult;
+import com.davis.hospital_Appointment_Rest_API.dto.CursorPage;
+import com.davis.hospital_Appointment_Rest_API.dto.ViewAppointment;
+import com.davis.hospital_Appointment_Rest_API.exceptions.ApiException;
 import com.davis.hospital_Appointment_Rest_API.model.Appointment;
 import com.davis.hospital_Appointment_Rest_API.model.Doctor;
 import com.davis.hospital_Appointment_Rest_API.model.Patient;
 import com.davis.hospital_Appointment_Rest_API.service.imp.AppointmentServiceImp;
-import com.davis.hospital_Appointment_Rest_API.service.imp.DoctorServiceImp;
-import com.davis.hospital_Appointment_Rest_API.service.imp.PatientServiceImp;
 import com.davis.hospital_Appointment_Rest_API.utils.ApiResponse;
 import com.davis.hospital_Appointment_Rest_API.utils.AppointmentRequest;
+import com.davis.hospital_Appointment_Rest_API.utils.BatchAppointmentRequest;
+import com.davis.hospital_Appointment_Rest_API.utils.ExportFormat;
 
 /**
  * REST Controller for managing appointments.
@@ -32,7 +40,10 @@ import com.davis.hospital_Appointment_Rest_API.utils.AppointmentRequest;
  * <p><b>Endpoints:</b></p>
  * <ul>
  *   <li>GET /api/appointments - Retrieve all appointments</li>
- *   <li>POST /api/appointments/{doctorId}/{patientId} - Book a new appointment</li>
+ *   <li>GET /api/appointments/export - Download every appointment as JSON or NDJSON</li>
+ *   <li>POST /api/appointments - Book a new appointment</li>
+ *   <li>POST /api/appointments/batch - Book a series of appointments in one call</li>
+ *   <li>PUT /api/appointments/{appointmentId}/cancel - Cancel an appointment</li>
  * </ul>
  * 
  * @author CYPRIAN DAVIS
@@ -53,46 +64,50 @@ public class AppointmentController {
      * Constructs a new AppointmentController with required services.
      * 
      * @param appointmentServiceImp service for appointment operations
-     * @param doctorServiceImp service for doctor operations
-     * @param patientServiceImp service for patient operations
      */
-    public AppointmentController(AppointmentServiceImp appointmentServiceImp,
-                               DoctorServiceImp doctorServiceImp,
-                               PatientServiceImp patientServiceImp) {
+    public AppointmentController(AppointmentServiceImp appointmentServiceImp) {
         this.appointmentServiceImp = appointmentServiceImp;
        
     }
 
     /**
-     * Retrieves all appointments from the system.
+     * Retrieves one page of appointments, in booking order.
      * <p>
-     * This endpoint returns a list of all existing appointments in the system. 
+     * This endpoint returns appointments as flat {@link ViewAppointment} rows, loaded
+     * with their doctor and patient names in a single query per page.
      * The response includes either:
      * <ul>
-     *   <li>A success response with the list of appointments (HTTP 200), or</li>
-     *   <li>An empty list with a "No appointments found" message if no records exist, or</li>
+     *   <li>A success response with the page of appointments (HTTP 200), or</li>
+     *   <li>An empty page with a "No appointments found" message if no records exist, or</li>
+     *   <li>An error response if the cursor or size is invalid (HTTP 400), or</li>
      *   <li>An error response if the operation fails (HTTP 500)</li>
      * </ul>
      * </p>
      * 
+     * @param cursor the {@code nextCursor} of the previous page; omit for the first page
+     * @param size the page size; omitted or oversized values are replaced by the server's limits
      * @return ResponseEntity containing:
-     *         - ApiResponse with list of appointments and success message (HTTP 200 OK), or
-     *         - ApiResponse with empty list and "No appointments found" message (HTTP 200 OK), or
-     *         - ApiResponse with error message (HTTP 500 Internal Server Error)
+     *         - ApiResponse with a page of appointments and success message (HTTP 200 OK), or
+     *         - ApiResponse with empty page and "No appointments found" message (HTTP 200 OK), or
+     *         - ApiResponse with error message (HTTP 400 Bad Request or 500 Internal Server Error)
      * @throws DataAccessException if there is an issue accessing the data layer
      * @throws RuntimeException for other unexpected errors during processing
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Appointment>>> getAppointments() {
+    public ResponseEntity<ApiResponse<CursorPage<ViewAppointment>>> getAppointments(
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
         try {
-            List<Appointment> appointments = appointmentServiceImp.findAll();
+            CursorPage<ViewAppointment> appointments = appointmentServiceImp.findAppointmentPage(cursor, size);
             
-            String message = appointments.isEmpty() 
+            String message = appointments.getItems().isEmpty() 
                 ? "No appointments found" 
                 : "Appointments retrieved successfully";
                 
             return ResponseEntity.ok(ApiResponse.success(message, appointments));
 
+        } catch (ApiException e) {
+            return ResponseEntity.status(e.getStatus())
+                .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error("Failed to retrieve appointments: " + e.getMessage()));    
@@ -100,27 +115,53 @@ public class AppointmentController {
     }
 
     /**
-     * Books an appointment between a doctor and a patient.
+     * Exports every appointment as a downloadable file, streamed straight from the database.
      * <p>
-     * Creates a new appointment record linking the specified doctor and patient.
-     * Validates the existence of both entities before creating the relationship.
+     * Rows are written to the response as they are read, so memory use stays flat
+     * however many appointments exist. The body is written on an async request thread
+     * after this method returns.
+     * </p>
+     *
+     * @param format "json" for a JSON array (default) or "ndjson" for one appointment per line
+     * @return ResponseEntity containing:
+     *         - The streamed {@link ViewAppointment} rows as an attachment (HTTP 200 OK), or
+     *         - ApiResponse with error message if the format is not supported (HTTP 400 Bad Request)
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportAppointments(
+            @RequestParam(defaultValue = "json") String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        StreamingResponseBody body = out -> appointmentServiceImp.exportAppointments(out, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + exportFormat.fileName("appointments") + "\"")
+                .body(body);
+    }
+
+    /**
+     * Books an appointment for a patient with a doctor of the requested specialty.
+     * <p>
+     * The earliest free slot on the preferred date is taken from the doctor's
+     * in-memory slot calendar and the appointment is persisted.
      * </p>
      * 
-     * @param doctorId the unique identifier of the doctor (must not be null or empty)
-     * @param patientId the unique identifier of the patient (must not be null or empty)
+     * @param appointmentRequest the patient ID, doctor specialty and preferred date
      * @return ResponseEntity containing either:
      *         - Success response with created Appointment (HTTP 201), or
-     *         - Error response if IDs are invalid (HTTP 400), or
-     *         - Error response if entities not found (HTTP 404), or
+     *         - Error response if the request is incomplete or no slot is free (HTTP 400), or
+     *         - Error response if the patient or a matching doctor is not found (HTTP 404), or
      *         - Error response for server errors (HTTP 500)
-     * @throws IllegalArgumentException if either ID parameter is null
      */
-    @PostMapping("/{doctorId}/{patientId}")
+    @PostMapping
     public ResponseEntity<?> bookAppointment(
-        @PathVariable AppointmentRequest appointmentRequest) {
+        @RequestBody AppointmentRequest appointmentRequest) {
         
         try {
-            if (appointmentRequest.patientId().isEmpty()||appointmentRequest.doctorSpecialty().isEmpty()) {
+            if (appointmentRequest.patientId() == null || appointmentRequest.patientId().isEmpty()
+                    || appointmentRequest.doctorSpecialty() == null || appointmentRequest.doctorSpecialty().isEmpty()
+                    || appointmentRequest.preferredDate() == null) {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                     .body(new ApiResponse<>(false, "Incomplete Request "));
             }
@@ -130,31 +171,92 @@ public class AppointmentController {
             	
             }
 
-           
-            Optional<Patient> patient = patientServiceImp.findById(appointmentRequest.patientId());
+            Appointment savedAppointment = appointmentServiceImp.book(appointmentRequest);
+            
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new ApiResponse<>(true, "Appointment booked successfully", savedAppointment));
             
-            if (doctor.isEmpty() || patient.isEmpty()) {
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                    .body(new ApiResponse<>(false, "Doctor or Patient not found with provided IDs"));
+        } catch (ApiException e) {
+            return ResponseEntity.status(e.getStatus())
+                .body(new ApiResponse<>(false, e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ApiResponse<>(false, "Error booking appointment: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Books a series of appointments for one patient with one doctor in one call.
+     * <p>
+     * Slots are given as an explicit list, a recurrence rule (e.g. weekly for 8 weeks),
+     * or both. With {@code allOrNothing} set the batch is booked completely or not at all;
+     * otherwise free slots are booked and the rest are reported with a reason.
+     * </p>
+     * 
+     * @param batchRequest the patient ID, doctor ID, slots and/or recurrence, and mode
+     * @return ResponseEntity containing either:
+     *         - Per-slot outcomes when at least one slot was booked (HTTP 201), or
+     *         - Per-slot outcomes when no slot could be booked (HTTP 409), or
+     *         - Error response if the request is incomplete or too large (HTTP 400), or
+     *         - Error response if the patient or doctor is not found (HTTP 404), or
+     *         - Error response if the booking locks are busy (HTTP 503), or
+     *         - Error response for server errors (HTTP 500)
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<?> bookBatch(@RequestBody BatchAppointmentRequest batchRequest) {
+        
+        try {
+            if (batchRequest.patientId() == null || batchRequest.patientId().isEmpty()
+                    || batchRequest.doctorId() == null || batchRequest.doctorId().isEmpty()) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(false, "Incomplete Request "));
             }
 
-            Appointment appointment = new Appointment();
-            appointment.setDoctor(doctor.get());
-            appointment.setPatient(patient.get());
-            
-            Appointment savedAppointment = appointmentServiceImp.save(appointment);
+            BatchBookingResult result = appointmentServiceImp.bookBatch(batchRequest);
             
-            if (savedAppointment != null) {
-                return ResponseEntity.status(HttpStatus.CREATED)
-                    .body(new ApiResponse<>(true, "Appointment booked successfully", savedAppointment));
-            } else {
-                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body(new ApiResponse<>(false, "Failed to book appointment"));
+            if (result.getBookedCount() == 0) {
+                return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(new ApiResponse<>(false, "No appointments were booked", result));
             }
+            return ResponseEntity.status(HttpStatus.CREATED)
+                .body(new ApiResponse<>(true, result.getBookedCount() + " of "
+                        + result.getOutcomes().size() + " appointments booked", result));
             
+        } catch (ApiException e) {
+            return ResponseEntity.status(e.getStatus())
+                .body(new ApiResponse<>(false, e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body(new ApiResponse<>(false, "Error booking appointment: " + e.getMessage()));
+                .body(new ApiResponse<>(false, "Error booking appointments: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Cancels a scheduled appointment.
+     * <p>
+     * The freed slot is offered to the best matching patient on the waitlist.
+     * </p>
+     * 
+     * @param appointmentId the appointment ID
+     * @return ResponseEntity containing either:
+     *         - The cancelled appointment (HTTP 200), or
+     *         - Error response if the appointment is not scheduled (HTTP 400), or
+     *         - Error response if the appointment is not found (HTTP 404), or
+     *         - Error response if the booking locks are busy (HTTP 503), or
+     *         - Error response for server errors (HTTP 500)
+     */
+    @PutMapping("/{appointmentId}/cancel")
+    public ResponseEntity<?> cancelAppointment(@PathVariable String appointmentId) {
+        try {
+            Appointment cancelled = appointmentServiceImp.cancel(appointmentId);
+            return ResponseEntity.ok(new ApiResponse<>(true, "Appointment cancelled successfully", cancelled));
+            
+        } catch (ApiException e) {
+            return ResponseEntity.status(e.getStatus())
+                .body(new ApiResponse<>(false, e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(new ApiResponse<>(false, "Error cancelling appointment: " + e.getMessage()));
         }
     }
 }
\ No newline at end of file
@@ -7,9 +7,12 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.davis.hospital_Appointment_Rest_API.dto.CursorPage;
 import com.davis.hospital_Appointment_Rest_API.dto.ViewDoctor;
+import com.davis.hospital_Appointment_Rest_API.exceptions.ApiException;
 import com.davis.hospital_Appointment_Rest_API.model.Doctor;
 import com.davis.hospital_Appointment_Rest_API.service.imp.DoctorServiceImp;
 import com.davis.hospital_Appointment_Rest_API.utils.ApiResponse;
@@ -48,31 +51,38 @@ public class DoctorController {
     }
     
     /**
-     * Retrieves all doctors from the system.
+     * Retrieves the doctors in the system, one page at a time.
      * <p>
-     * Returns a complete list of all doctors registered in the system.
+     * Returns one page of the doctors registered in the system, in user ID order.
      * The response includes either:
      * <ul>
-     *   <li>A success response with the list of doctors (HTTP 200), or</li>
-     *   <li>An empty list with a "No doctors found" message if no records exist, or</li>
+     *   <li>A success response with the page of doctors (HTTP 200), or</li>
+     *   <li>An empty page with a "No doctors found" message if no records exist, or</li>
+     *   <li>An error response if the cursor or size is invalid (HTTP 400), or</li>
      *   <li>An error response if the operation fails (HTTP 500)</li>
      * </ul>
      * </p>
      * 
+     * @param cursor the {@code nextCursor} of the previous page; omit for the first page
+     * @param size the page size; omitted or oversized values are replaced by the server's limits
      * @return ResponseEntity containing:
-     *         - ApiResponse with list of doctors and success message (HTTP 200 OK), or
-     *         - ApiResponse with empty list and "No doctors found" message (HTTP 200 OK), or
-     *         - ApiResponse with error message (HTTP 500 Internal Server Error)
+     *         - ApiResponse with a page of doctors and success message (HTTP 200 OK), or
+     *         - ApiResponse with empty page and "No doctors found" message (HTTP 200 OK), or
+     *         - ApiResponse with error message (HTTP 400 Bad Request or 500 Internal Server Error)
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<ViewDoctor>>> findAll() {
+    public ResponseEntity<ApiResponse<CursorPage<ViewDoctor>>> findAll(
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
         try {
-            List<ViewDoctor> doctors = doctorServiceImp.findAllDoctorsAsViewDoctors();
-            String message = doctors.isEmpty() 
+            CursorPage<ViewDoctor> doctors = doctorServiceImp.findDoctorPage(cursor, size);
+            String message = doctors.getItems().isEmpty() 
                 ? "No doctors found" 
                 : "Doctors retrieved successfully";
             return ResponseEntity.ok(ApiResponse.success(message, doctors));
              
+        } catch (ApiException e) {
+            return ResponseEntity.status(e.getStatus())
+                .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error("Failed to retrieve doctors: " + e.getMessage()));    
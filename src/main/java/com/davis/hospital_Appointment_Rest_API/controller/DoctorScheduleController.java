@@ -1,8 +1,10 @@
 package com.davis.hospital_Appointment_Rest_API.controller;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -10,11 +12,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.davis.hospital_Appointment_Rest_API.dto.AvailableSlot;
+import com.davis.hospital_Appointment_Rest_API.dto.CursorPage;
+import com.davis.hospital_Appointment_Rest_API.dto.SlotAvailability;
 import com.davis.hospital_Appointment_Rest_API.dto.ViewDoctorSchedule;
+import com.davis.hospital_Appointment_Rest_API.exceptions.ApiException;
 import com.davis.hospital_Appointment_Rest_API.model.Doctor;
 import com.davis.hospital_Appointment_Rest_API.model.DoctorSchedule;
+import com.davis.hospital_Appointment_Rest_API.service.imp.AvailabilitySearchService;
 import com.davis.hospital_Appointment_Rest_API.service.imp.DoctorScheduleServiceImp;
 import com.davis.hospital_Appointment_Rest_API.service.imp.DoctorServiceImp;
 import com.davis.hospital_Appointment_Rest_API.utils.ApiResponse;
@@ -31,15 +39,20 @@ public class DoctorScheduleController {
     
     private final DoctorScheduleServiceImp doctorScheduleServiceImp;
     private final DoctorServiceImp doctorServiceImp;
+    private final AvailabilitySearchService availabilitySearchService;
     
     /**
      * Constructs a new DoctorScheduleController with the specified service implementation.
      * 
      * @param doctorScheduleServiceImp the service implementation for doctor schedule operations
+     * @param doctorServiceImp the service implementation for doctor operations
+     * @param availabilitySearchService the earliest-available-slot search engine
      */
-    public DoctorScheduleController(DoctorScheduleServiceImp doctorScheduleServiceImp, DoctorServiceImp doctorServiceImp) {
+    public DoctorScheduleController(DoctorScheduleServiceImp doctorScheduleServiceImp, DoctorServiceImp doctorServiceImp,
+            AvailabilitySearchService availabilitySearchService) {
         this.doctorScheduleServiceImp = doctorScheduleServiceImp;
         this.doctorServiceImp = doctorServiceImp;
+        this.availabilitySearchService = availabilitySearchService;
     }
     
     /**
@@ -88,20 +101,27 @@ public class DoctorScheduleController {
     }
     
     /**
-     * Retrieves all doctor schedules from the system.
+     * Retrieves one page of doctor schedules, in schedule ID order.
      * 
-     * @return ResponseEntity containing a list of all doctor schedules with HTTP 200 status,
+     * @param cursor the {@code nextCursor} of the previous page; omit for the first page
+     * @param size the page size; omitted or oversized values are replaced by the server's limits
+     * @return ResponseEntity containing a page of doctor schedules with HTTP 200 status,
+     *         an error message with HTTP 400 status if the cursor or size is invalid,
      *         or an error message with HTTP 500 status if retrieval fails
      */
     @GetMapping
-    public ResponseEntity<ApiResponse<List<DoctorSchedule>>> getAllDoctorSchedules() {
+    public ResponseEntity<ApiResponse<CursorPage<DoctorSchedule>>> getAllDoctorSchedules(
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
         try {
-            List<DoctorSchedule> doctorSchedules = doctorScheduleServiceImp.findAll();
-            String message = doctorSchedules.isEmpty() ?
+            CursorPage<DoctorSchedule> doctorSchedules = doctorScheduleServiceImp.findSchedulePage(cursor, size);
+            String message = doctorSchedules.getItems().isEmpty() ?
                     "No schedules found" :
                     "Schedules retrieved successfully";
             return ResponseEntity.ok(ApiResponse.success(message, doctorSchedules));
            
+        } catch (ApiException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(ApiResponse.error("Failed to retrieve schedules: " + e.getMessage()));    
@@ -155,6 +175,93 @@ public class DoctorScheduleController {
         }
     }
     
+    /**
+     * Retrieves the free appointment slots of a doctor on a specific date.
+     * 
+     * @param doctorId the ID of the doctor
+     * @param date the date to check in ISO format (e.g., 2025-08-04)
+     * @return ResponseEntity containing the slot availability with HTTP 200 status,
+     *         HTTP 404 status if the doctor has no confirmed schedule on that day,
+     *         or an error message with HTTP 500 status if retrieval fails
+     */
+    @GetMapping("/{doctorId}/availability/{date}")
+    public ResponseEntity<ApiResponse<SlotAvailability>> getAvailability(
+            @PathVariable String doctorId,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            Optional<SlotAvailability> availability = doctorScheduleServiceImp.findAvailability(doctorId, date);
+            if (availability.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("No confirmed schedule for doctor " + doctorId + " on " + date));
+            }
+            return ResponseEntity.ok(ApiResponse.success("Availability retrieved successfully", availability.get()));
+            
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve availability: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * Retrieves the doctors of a specialization with free slots on a specific date.
+     * 
+     * @param specialization the medical specialization to filter by (e.g., "Cardiology")
+     * @param date the date to check in ISO format (e.g., 2025-08-04)
+     * @return ResponseEntity containing matching schedules with remaining capacity with HTTP 200 status,
+     *         or an error message with HTTP 500 status if retrieval fails
+     */
+    @GetMapping("/available/{specialization}/{date}")
+    public ResponseEntity<ApiResponse<List<ViewDoctorSchedule>>> getAvailableBySpecializationAndDate(
+            @PathVariable String specialization,
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        try {
+            List<ViewDoctorSchedule> doctorSchedules =
+                doctorScheduleServiceImp.findAvailableBySpecializationAndDate(specialization, date);
+            String message = doctorSchedules.isEmpty() ?
+                    "No free schedules found for " + specialization + " on " + date :
+                    "Schedules retrieved successfully";
+            return ResponseEntity.ok(ApiResponse.success(message, doctorSchedules));
+            
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to retrieve available schedules: " + e.getMessage()));
+        }
+    }
+    
+    /**
+     * Finds the earliest free slots with any doctor of a specialization over a date window.
+     * 
+     * @param specialization the medical specialization to search (e.g., "Cardiology")
+     * @param from the first date to search in ISO format (defaults to today)
+     * @param days the number of days to search (defaults to 14)
+     * @param limit the maximum number of slots to return (defaults to 5)
+     * @return ResponseEntity containing the slots ranked by time with HTTP 200 status,
+     *         an error message with HTTP 400 status for invalid parameters,
+     *         or an error message with HTTP 500 status if the search fails
+     */
+    @GetMapping("/earliest/{specialization}")
+    public ResponseEntity<ApiResponse<List<AvailableSlot>>> getEarliestSlots(
+            @PathVariable String specialization,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "14") int days,
+            @RequestParam(defaultValue = "5") int limit) {
+        try {
+            List<AvailableSlot> slots = availabilitySearchService.findEarliestSlots(
+                    specialization, from != null ? from : LocalDate.now(), days, limit);
+            String message = slots.isEmpty() ?
+                    "No free slots found for specialization: " + specialization :
+                    "Slots retrieved successfully";
+            return ResponseEntity.ok(ApiResponse.success(message, slots));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to search free slots: " + e.getMessage()));
+        }
+    }
+    
     /**
      * Retrieves doctor schedules by day of week.
      * 
@@ -2,17 +2,22 @@ package com.davis.hospital_Appointment_Rest_API.controller;
 
 import java.util.List;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.davis.hospital_Appointment_Rest_API.dto.CursorPage;
 import com.davis.hospital_Appointment_Rest_API.dto.PatientDto;
 import com.davis.hospital_Appointment_Rest_API.service.imp.PatientServiceImp;
 import com.davis.hospital_Appointment_Rest_API.utils.ApiResponse;
+import com.davis.hospital_Appointment_Rest_API.utils.ExportFormat;
 
 /**
  * REST Controller for managing patient-related operations.
@@ -36,22 +41,52 @@ public class PatientController {
     }
 
     /**
-     * Retrieves a list of all patients.
+     * Retrieves one page of patients, in user ID order.
      * 
+     * @param cursor the {@code nextCursor} of the previous page; omit for the first page
+     * @param size the page size; omitted or oversized values are replaced by the server's limits
      * @return A ResponseEntity containing:
-     *         - Success: List of {@link PatientDto} with a success message.
+     *         - Success: A page of {@link PatientDto} with a success message.
      *         - Empty: A message indicating no patients were found.
+     *         - Bad request: The cursor or size is invalid.
      */
     @PreAuthorize("hasAnyRole('ADMIN', 'DOCTOR')")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<PatientDto>>> findAllPatients(){
-        List<PatientDto> patients = patientServiceImp.findAllPatients();
-        String message = patients.isEmpty() ? 
+    public ResponseEntity<ApiResponse<CursorPage<PatientDto>>> findAllPatients(
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size){
+        CursorPage<PatientDto> patients = patientServiceImp.findPatientPage(cursor, size);
+        String message = patients.getItems().isEmpty() ? 
                 "No patients found" : 
                 "Patients retrieved successfully";
         return ResponseEntity.ok(ApiResponse.success(message, patients));
     }
     
+    /**
+     * Exports every patient as a downloadable file, streamed straight from the database.
+     * <p>
+     * Rows are written to the response as they are read, so the server holds only a
+     * handful of rows at a time however large the patient table is. The body is
+     * written on an async request thread after this method returns.
+     * </p>
+     *
+     * @param format "json" for a JSON array (default) or "ndjson" for one patient per line
+     * @return A ResponseEntity containing:
+     *         - Success: The streamed {@link PatientDto} rows as an attachment.
+     *         - Bad request: The format is not supported.
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportPatients(
+            @RequestParam(defaultValue = "json") String format) {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        StreamingResponseBody body = out -> patientServiceImp.exportPatients(out, exportFormat);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + exportFormat.fileName("patients") + "\"")
+                .body(body);
+    }
+
     /**
      * Searches for patients by name (case-insensitive).
      * 
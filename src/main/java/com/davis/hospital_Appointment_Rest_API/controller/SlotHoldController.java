@@ -0,0 +1,161 @@
+package com.davis.hospital_Appointment_Rest_API.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.davis.hospital_Appointment_Rest_API.exceptions.ApiException;
+import com.davis.hospital_Appointment_Rest_API.model.Appointment;
+import com.davis.hospital_Appointment_Rest_API.service.imp.AppointmentServiceImp;
+import com.davis.hospital_Appointment_Rest_API.service.imp.SlotHoldService;
+import com.davis.hospital_Appointment_Rest_API.utils.ApiResponse;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotHold;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotHoldRequest;
+
+/**
+ * REST Controller for temporary slot holds.
+ * <p>
+ * Lets a patient hold a slot for a few minutes while confirming details, without
+ * writing rows, and then confirm the hold into an appointment or let it go.
+ * </p>
+ * 
+ * <p><b>Endpoints:</b></p>
+ * <ul>
+ *   <li>POST /api/slot-holds - Hold a slot</li>
+ *   <li>PUT /api/slot-holds/{holdId}/extend - Extend a hold</li>
+ *   <li>DELETE /api/slot-holds/{holdId} - Release a hold</li>
+ *   <li>POST /api/slot-holds/{holdId}/confirm - Confirm a hold into an appointment</li>
+ * </ul>
+ * 
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-16
+ * @see SlotHoldService
+ */
+@RestController
+@RequestMapping("/api/slot-holds")
+public class SlotHoldController {
+    
+    private final SlotHoldService slotHoldService;
+    private final AppointmentServiceImp appointmentServiceImp;
+    
+    /**
+     * Constructs a new SlotHoldController with required services.
+     * 
+     * @param slotHoldService service for slot hold operations
+     * @param appointmentServiceImp service for confirming holds into appointments
+     */
+    public SlotHoldController(SlotHoldService slotHoldService, AppointmentServiceImp appointmentServiceImp) {
+        this.slotHoldService = slotHoldService;
+        this.appointmentServiceImp = appointmentServiceImp;
+    }
+
+    /**
+     * Holds a free slot for a patient.
+     * 
+     * @param holdRequest the patient ID, doctor ID, date and start time
+     * @return ResponseEntity containing either:
+     *         - The new hold (HTTP 201), or
+     *         - Error response if the request is incomplete (HTTP 400), or
+     *         - Error response if the slot is not free (HTTP 409), or
+     *         - Error response for server errors (HTTP 500)
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<SlotHold>> holdSlot(@RequestBody SlotHoldRequest holdRequest) {
+        try {
+            SlotHold hold = slotHoldService.hold(holdRequest.patientId(), holdRequest.doctorId(),
+                    holdRequest.date(), holdRequest.startTime());
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Slot held successfully", hold));
+            
+        } catch (ApiException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to hold slot: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Extends a hold by another full hold period.
+     * 
+     * @param holdId the hold ID
+     * @return ResponseEntity containing either:
+     *         - The extended hold (HTTP 200), or
+     *         - Error response if the extension limit is reached (HTTP 400), or
+     *         - Error response if the hold is unknown or expired (HTTP 404), or
+     *         - Error response for server errors (HTTP 500)
+     */
+    @PutMapping("/{holdId}/extend")
+    public ResponseEntity<ApiResponse<SlotHold>> extendHold(@PathVariable String holdId) {
+        try {
+            return ResponseEntity.ok(ApiResponse.success("Hold extended successfully",
+                    slotHoldService.extend(holdId)));
+            
+        } catch (ApiException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to extend hold: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Releases a hold and frees its slot.
+     * 
+     * @param holdId the hold ID
+     * @return ResponseEntity containing either:
+     *         - Success message (HTTP 200), or
+     *         - Error response if the hold is unknown or expired (HTTP 404), or
+     *         - Error response for server errors (HTTP 500)
+     */
+    @DeleteMapping("/{holdId}")
+    public ResponseEntity<ApiResponse<Void>> releaseHold(@PathVariable String holdId) {
+        try {
+            slotHoldService.release(holdId);
+            return ResponseEntity.ok(ApiResponse.success("Hold released successfully"));
+            
+        } catch (ApiException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to release hold: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Confirms a hold into an appointment.
+     * 
+     * @param holdId the hold ID
+     * @return ResponseEntity containing either:
+     *         - The created appointment (HTTP 201), or
+     *         - Error response if the hold, patient or doctor is not found (HTTP 404), or
+     *         - Error response if the slot was taken on another node (HTTP 409), or
+     *         - Error response if the booking locks are busy (HTTP 503), or
+     *         - Error response for server errors (HTTP 500)
+     */
+    @PostMapping("/{holdId}/confirm")
+    public ResponseEntity<ApiResponse<Appointment>> confirmHold(@PathVariable String holdId) {
+        try {
+            Appointment appointment = appointmentServiceImp.confirmHold(holdId);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Appointment booked successfully", appointment));
+            
+        } catch (ApiException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to confirm hold: " + e.getMessage()));
+        }
+    }
+}
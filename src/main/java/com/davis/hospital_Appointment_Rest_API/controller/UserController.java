@@ -1,12 +1,12 @@
 package com.davis.hospital_Appointment_Rest_API.controller;
 
-import java.util.List;
-
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -14,18 +14,30 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.davis.hospital_Appointment_Rest_API.dto.BulkRegistrationResult;
+import com.davis.hospital_Appointment_Rest_API.dto.CursorPage;
+import com.davis.hospital_Appointment_Rest_API.dto.TokenPair;
+import com.davis.hospital_Appointment_Rest_API.exceptions.ApiException;
 import com.davis.hospital_Appointment_Rest_API.model.Admin;
 import com.davis.hospital_Appointment_Rest_API.model.Doctor;
 import com.davis.hospital_Appointment_Rest_API.model.Patient;
 import com.davis.hospital_Appointment_Rest_API.model.Role;
 import com.davis.hospital_Appointment_Rest_API.model.User;
 import com.davis.hospital_Appointment_Rest_API.service.imp.JwtService;
+import com.davis.hospital_Appointment_Rest_API.service.imp.PatientBulkRegistrationService;
+import com.davis.hospital_Appointment_Rest_API.service.imp.RefreshTokenService;
 import com.davis.hospital_Appointment_Rest_API.service.imp.RoleServiceImp;
 import com.davis.hospital_Appointment_Rest_API.service.imp.UserServiceImp;
 import com.davis.hospital_Appointment_Rest_API.utils.ApiResponse;
 import com.davis.hospital_Appointment_Rest_API.utils.LoginRequest;
+import com.davis.hospital_Appointment_Rest_API.utils.RefreshRequest;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * REST controller for managing user operations in the Hospital Appointment System.
@@ -42,25 +54,40 @@ import com.davis.hospital_Appointment_Rest_API.utils.LoginRequest;
 @RequestMapping("/api/users")
 public class UserController {
 
+    /** Response header carrying the refresh token issued at sign-in and on refresh */
+    public static final String REFRESH_TOKEN_HEADER = "X-Refresh-Token";
+
     private final UserServiceImp userServiceImp;
     private final RoleServiceImp roleServiceImp;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final RefreshTokenService refreshTokenService;
+    private final PatientBulkRegistrationService patientBulkRegistrationService;
+    private final ObjectMapper objectMapper;
     /**
      * Constructs a new UserController with required dependencies.
      * 
      * @param userServiceImp The service implementation for user operations
      * @param roleServiceImp The service implementation for role operations
      * @param authenticationManager The authentication manager for handling login
+     * @param refreshTokenService The service issuing and rotating refresh tokens
+     * @param patientBulkRegistrationService The service registering uploaded patients in bulk
+     * @param objectMapper The mapper reading bulk uploads row by row
      */
     public UserController(UserServiceImp userServiceImp,
                         RoleServiceImp roleServiceImp,
                         AuthenticationManager authenticationManager,
-                        JwtService jwtService) {
+                        JwtService jwtService,
+                        RefreshTokenService refreshTokenService,
+                        PatientBulkRegistrationService patientBulkRegistrationService,
+                        ObjectMapper objectMapper) {
         this.userServiceImp = userServiceImp;
         this.roleServiceImp = roleServiceImp;
         this.authenticationManager = authenticationManager;
         this.jwtService = jwtService;
+        this.refreshTokenService = refreshTokenService;
+        this.patientBulkRegistrationService = patientBulkRegistrationService;
+        this.objectMapper = objectMapper;
     }
     /**
      * Registers a new Admin user.
@@ -115,6 +142,38 @@ public class UserController {
         return handleUserRegistration(user, "Patient");
     }
 
+    /**
+     * Registers many patients from one upload.
+     * <p>Accessible only to authenticated users with ADMIN role. The body is either a JSON
+     * array of patients or newline-delimited JSON (one patient per line) and is read as a
+     * stream, so uploads of tens of thousands of rows are not held in memory at once.</p>
+     * 
+     * @param request The request whose body holds the patients
+     * @return ResponseEntity containing:
+     *         - HTTP 201 (Created) with the per-row report if any patient was registered
+     *         - HTTP 400 (Bad Request) with the per-row report if none was
+     *         - HTTP 500 (Internal Server Error) for exceptions
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/patient/bulk-register",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+    public ResponseEntity<ApiResponse<BulkRegistrationResult>> registerPatients(HttpServletRequest request) {
+        try (MappingIterator<Patient> patients = objectMapper.readerFor(Patient.class)
+                .readValues(request.getInputStream())) {
+            BulkRegistrationResult result = patientBulkRegistrationService.register(patients);
+            String message = result.getRegisteredCount() + " patients registered, "
+                    + result.getRejectedCount() + " rejected";
+            return ResponseEntity.status(result.getRegisteredCount() > 0 ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST)
+                    .body(new ApiResponse<>(result.getRegisteredCount() > 0, message, result));
+        } catch (ApiException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .body(new ApiResponse<>(false, e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new ApiResponse<>(false, "Error: " + e.getMessage()));
+        }
+    }
+
     /**
      * Common method to handle user registration logic.
      * <p>Centralizes the registration workflow for all user types.</p>
@@ -139,6 +198,10 @@ public class UserController {
                 return ResponseEntity.status(HttpStatus.BAD_REQUEST)
                         .body(new ApiResponse<>(false, userType + " registration failed"));
             }
+        } catch (ApiException e) {
+            // Known failure such as an overloaded hashing pool - return its status
+            return ResponseEntity.status(e.getStatus())
+                    .body(new ApiResponse<>(false, e.getMessage()));
         } catch (Exception e) {
             // Exception case - return 500 Internal Server Error
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -146,13 +209,21 @@ public class UserController {
         }
     }
 
+    /**
+     * Lists one page of users, in user ID order.
+     *
+     * @param cursor the {@code nextCursor} of the previous page; omit for the first page
+     * @param size the page size; omitted or oversized values are replaced by the server's limits
+     * @return the page of users (HTTP 200), or HTTP 400 if the cursor or size is invalid
+     */
     @PreAuthorize("hasRole('ADMIN')")
     @GetMapping
-    public ResponseEntity<ApiResponse<List<User>>> getUsers() {
+    public ResponseEntity<ApiResponse<CursorPage<User>>> getUsers(
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) Integer size) {
         // If execution reaches here, user is authenticated and authorized
-        List<User> users = userServiceImp.findAll();
+        CursorPage<User> users = userServiceImp.findUserPage(cursor, size);
         
-        String message = users.isEmpty() ? 
+        String message = users.getItems().isEmpty() ? 
             "No users found" : 
             "Users retrieved successfully";
             
@@ -163,12 +234,16 @@ public class UserController {
      * Authenticates a user and lets the JwtGenerationFilter handle token creation.
      * 
      * <p>This endpoint validates credentials and upon success, the filter will
-     * intercept the response to add the JWT token.</p>
+     * intercept the response to add the JWT token. A refresh token is returned in the
+     * {@value #REFRESH_TOKEN_HEADER} header; exchange it at {@code /api/users/refresh}
+     * when the access token expires instead of signing in again.</p>
      * 
      * @param loginRequest A map containing "username" and "password" fields
      * @return ResponseEntity containing:
      *         - HTTP 200 (OK) with success message if authentication succeeds
      *         - HTTP 401 (Unauthorized) if credentials are invalid
+     *         - HTTP 403 (Forbidden) if the account is not active
+     *         - HTTP 503 (Service Unavailable) if password checking is saturated
      *         - HTTP 500 (Internal Server Error) for server errors
      */
     @PostMapping("/auth")
@@ -185,23 +260,61 @@ public class UserController {
             // Set authentication in security context
             SecurityContextHolder.getContext().setAuthentication(authentication);
             String jwtToken = jwtService.generateJwtToken(authentication);
-            
+            // Starts a refresh token family so the client can renew without the password
+            String refreshToken = refreshTokenService.issue(authentication.getName());
             
             // The JwtGenerationFilter will handle token creation
             return ResponseEntity.ok()
                     .header("Authorization", "Bearer " + jwtToken)  // Set in Authorization header
+                    .header(REFRESH_TOKEN_HEADER, refreshToken)
 
                 .body(ApiResponse.success("Authentication successful",jwtToken));
                 
         } catch (BadCredentialsException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(ApiResponse.error("Invalid username or password"));
+        } catch (DisabledException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (ApiException e) {
+            return ResponseEntity.status(e.getStatus())
+                .body(ApiResponse.error(e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body(ApiResponse.error("Authentication failed: " + e.getMessage()));
         }
     }
-}
-
-
 
+    /**
+     * Exchanges a refresh token for a new access token and the next refresh token.
+     *
+     * <p>Each refresh token works once. Presenting one that was already used revokes
+     * every token issued since the sign-in it came from, and the user has to sign in
+     * again. No password is checked, so a refresh costs a signature check and a single
+     * indexed update instead of a password hash.</p>
+     *
+     * @param refreshRequest the refresh token from sign-in or the previous refresh
+     * @return ResponseEntity containing:
+     *         - HTTP 200 (OK) with the new tokens, also sent in the Authorization and
+     *           {@value #REFRESH_TOKEN_HEADER} headers
+     *         - HTTP 401 (Unauthorized) if the token is invalid, expired, already used or revoked
+     *         - HTTP 403 (Forbidden) if the account is not active
+     *         - HTTP 500 (Internal Server Error) for server errors
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<ApiResponse<TokenPair>> refresh(@RequestBody RefreshRequest refreshRequest) {
+        try {
+            TokenPair tokens = refreshTokenService.rotate(refreshRequest.refreshToken());
+            return ResponseEntity.ok()
+                    .header("Authorization", "Bearer " + tokens.getAccessToken())
+                    .header(REFRESH_TOKEN_HEADER, tokens.getRefreshToken())
+                    .body(ApiResponse.success("Token refreshed", tokens));
+        } catch (ApiException e) {
+            return ResponseEntity.status(e.getStatus())
+                .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body(ApiResponse.error("Token refresh failed: " + e.getMessage()));
+        }
+    }
+}
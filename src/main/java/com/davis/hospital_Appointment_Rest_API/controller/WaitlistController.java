@@ -0,0 +1,100 @@
+package com.davis.hospital_Appointment_Rest_API.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.davis.hospital_Appointment_Rest_API.exceptions.ApiException;
+import com.davis.hospital_Appointment_Rest_API.service.imp.WaitlistService;
+import com.davis.hospital_Appointment_Rest_API.utils.ApiResponse;
+import com.davis.hospital_Appointment_Rest_API.utils.WaitlistEntry;
+import com.davis.hospital_Appointment_Rest_API.utils.WaitlistRequest;
+
+/**
+ * REST Controller for the appointment waitlist.
+ * <p>
+ * Patients waiting for a doctor or specialization are offered freed slots
+ * automatically, as a slot hold plus a notification.
+ * </p>
+ * 
+ * <p><b>Endpoints:</b></p>
+ * <ul>
+ *   <li>POST /api/waitlist - Join the waitlist</li>
+ *   <li>DELETE /api/waitlist/{entryId} - Leave the waitlist</li>
+ * </ul>
+ * 
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-18
+ * @see WaitlistService
+ */
+@RestController
+@RequestMapping("/api/waitlist")
+public class WaitlistController {
+    
+    private final WaitlistService waitlistService;
+    
+    /**
+     * Constructs a new WaitlistController with the waitlist service.
+     * 
+     * @param waitlistService service for waitlist operations
+     */
+    public WaitlistController(WaitlistService waitlistService) {
+        this.waitlistService = waitlistService;
+    }
+
+    /**
+     * Adds a patient to the waitlist.
+     * 
+     * @param waitlistRequest the patient, doctor or specialization, date range and priority
+     * @return ResponseEntity containing either:
+     *         - The new waitlist entry (HTTP 201), or
+     *         - Error response if the request is invalid (HTTP 400), or
+     *         - Error response if the patient or doctor is not found (HTTP 404), or
+     *         - Error response for server errors (HTTP 500)
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<WaitlistEntry>> joinWaitlist(@RequestBody WaitlistRequest waitlistRequest) {
+        try {
+            WaitlistEntry entry = waitlistService.join(waitlistRequest);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(ApiResponse.success("Added to waitlist successfully", entry));
+            
+        } catch (ApiException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to join waitlist: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Removes a patient from the waitlist.
+     * 
+     * @param entryId the waitlist entry ID
+     * @return ResponseEntity containing either:
+     *         - Success message (HTTP 200), or
+     *         - Error response if the entry is not on the waitlist (HTTP 404), or
+     *         - Error response for server errors (HTTP 500)
+     */
+    @DeleteMapping("/{entryId}")
+    public ResponseEntity<ApiResponse<Void>> leaveWaitlist(@PathVariable String entryId) {
+        try {
+            waitlistService.leave(entryId);
+            return ResponseEntity.ok(ApiResponse.success("Removed from waitlist successfully"));
+            
+        } catch (ApiException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .body(ApiResponse.error(e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(ApiResponse.error("Failed to leave waitlist: " + e.getMessage()));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.davis.hospital_Appointment_Rest_API.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Data Transfer Object (DTO) for a single concrete, currently free appointment slot.
+ * <p>
+ * Returned by the earliest-available-slot search, ranked by date and start time.
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-06
+ */
+public class AvailableSlot {
+
+    /** The doctor's user ID */
+    private final String doctorId;
+
+    /** The doctor's full name */
+    private final String doctorName;
+
+    /** The doctor's medical specialization */
+    private final String specialization;
+
+    /** The date of the slot */
+    private final LocalDate date;
+
+    /** The start time of the slot */
+    private final LocalTime startTime;
+
+    /** The end time of the slot */
+    private final LocalTime endTime;
+
+    /**
+     * Constructs a new AvailableSlot.
+     *
+     * @param doctorId       the doctor's user ID
+     * @param doctorName     the doctor's full name
+     * @param specialization the doctor's specialization
+     * @param date           the date of the slot
+     * @param startTime      the start time of the slot
+     * @param endTime        the end time of the slot
+     */
+    public AvailableSlot(String doctorId, String doctorName, String specialization, LocalDate date,
+            LocalTime startTime, LocalTime endTime) {
+        this.doctorId = doctorId;
+        this.doctorName = doctorName;
+        this.specialization = specialization;
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    /**
+     * @return the doctorId
+     */
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    /**
+     * @return the doctorName
+     */
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    /**
+     * @return the specialization
+     */
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    /**
+     * @return the date
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * @return the startTime
+     */
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return the endTime
+     */
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+}
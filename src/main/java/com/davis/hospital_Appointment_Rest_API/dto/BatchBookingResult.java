@@ -0,0 +1,69 @@
+package com.davis.hospital_Appointment_Rest_API.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for the result of a batch booking.
+ * <p>
+ * Lists one {@link BookingOutcome} per requested slot in date and time order.
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-14
+ */
+public class BatchBookingResult {
+
+    /** Whether the batch was requested as all-or-nothing */
+    private final boolean allOrNothing;
+
+    /** Number of slots booked */
+    private final int bookedCount;
+
+    /** Number of slots rejected */
+    private final int rejectedCount;
+
+    /** Per-slot outcomes */
+    private final List<BookingOutcome> outcomes;
+
+    /**
+     * Constructs a new BatchBookingResult.
+     *
+     * @param allOrNothing whether the batch was all-or-nothing
+     * @param outcomes     the per-slot outcomes
+     */
+    public BatchBookingResult(boolean allOrNothing, List<BookingOutcome> outcomes) {
+        this.allOrNothing = allOrNothing;
+        this.outcomes = List.copyOf(outcomes);
+        this.bookedCount = (int) outcomes.stream().filter(BookingOutcome::isBooked).count();
+        this.rejectedCount = outcomes.size() - bookedCount;
+    }
+
+    /**
+     * @return whether the batch was all-or-nothing
+     */
+    public boolean isAllOrNothing() {
+        return allOrNothing;
+    }
+
+    /**
+     * @return the bookedCount
+     */
+    public int getBookedCount() {
+        return bookedCount;
+    }
+
+    /**
+     * @return the rejectedCount
+     */
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * @return the outcomes
+     */
+    public List<BookingOutcome> getOutcomes() {
+        return outcomes;
+    }
+}
@@ -0,0 +1,98 @@
+package com.davis.hospital_Appointment_Rest_API.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Data Transfer Object (DTO) describing the result of booking one slot of a batch.
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-14
+ * @see BatchBookingResult
+ */
+public class BookingOutcome {
+
+    /** The requested date */
+    private final LocalDate date;
+
+    /** The requested start time */
+    private final LocalTime startTime;
+
+    /** Whether the slot was booked */
+    private final boolean booked;
+
+    /** ID of the created appointment, or null if the slot was not booked */
+    private final String appointmentId;
+
+    /** Why the slot was not booked, or null if it was */
+    private final String reason;
+
+    private BookingOutcome(LocalDate date, LocalTime startTime, boolean booked, String appointmentId,
+            String reason) {
+        this.date = date;
+        this.startTime = startTime;
+        this.booked = booked;
+        this.appointmentId = appointmentId;
+        this.reason = reason;
+    }
+
+    /**
+     * Creates the outcome of a booked slot.
+     *
+     * @param date          the slot date
+     * @param startTime     the slot start time
+     * @param appointmentId the created appointment's ID
+     * @return the outcome
+     */
+    public static BookingOutcome booked(LocalDate date, LocalTime startTime, String appointmentId) {
+        return new BookingOutcome(date, startTime, true, appointmentId, null);
+    }
+
+    /**
+     * Creates the outcome of a rejected slot.
+     *
+     * @param date      the slot date
+     * @param startTime the slot start time
+     * @param reason    why the slot was not booked
+     * @return the outcome
+     */
+    public static BookingOutcome rejected(LocalDate date, LocalTime startTime, String reason) {
+        return new BookingOutcome(date, startTime, false, null, reason);
+    }
+
+    /**
+     * @return the date
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * @return the startTime
+     */
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return whether the slot was booked
+     */
+    public boolean isBooked() {
+        return booked;
+    }
+
+    /**
+     * @return the appointmentId
+     */
+    public String getAppointmentId() {
+        return appointmentId;
+    }
+
+    /**
+     * @return the reason
+     */
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,57 @@
+package com.davis.hospital_Appointment_Rest_API.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for the result of a bulk registration.
+ * <p>
+ * Lists one {@link RegistrationOutcome} per uploaded row in upload order.
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-25
+ */
+public class BulkRegistrationResult {
+
+    /** Number of rows registered */
+    private final int registeredCount;
+
+    /** Number of rows rejected */
+    private final int rejectedCount;
+
+    /** Per-row outcomes */
+    private final List<RegistrationOutcome> outcomes;
+
+    /**
+     * Constructs a new BulkRegistrationResult.
+     *
+     * @param outcomes the per-row outcomes
+     */
+    public BulkRegistrationResult(List<RegistrationOutcome> outcomes) {
+        this.outcomes = List.copyOf(outcomes);
+        this.registeredCount = (int) outcomes.stream().filter(RegistrationOutcome::isRegistered).count();
+        this.rejectedCount = outcomes.size() - registeredCount;
+    }
+
+    /**
+     * @return the registeredCount
+     */
+    public int getRegisteredCount() {
+        return registeredCount;
+    }
+
+    /**
+     * @return the rejectedCount
+     */
+    public int getRejectedCount() {
+        return rejectedCount;
+    }
+
+    /**
+     * @return the outcomes
+     */
+    public List<RegistrationOutcome> getOutcomes() {
+        return outcomes;
+    }
+}
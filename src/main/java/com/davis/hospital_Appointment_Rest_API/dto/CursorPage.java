@@ -0,0 +1,38 @@
+package com.davis.hospital_Appointment_Rest_API.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list.
+ * <p>
+ * {@code nextCursor} is {@code null} on the last page; otherwise pass it back as the
+ * {@code cursor} request parameter to get the rows that follow.
+ * </p>
+ *
+ * @param <T> the row type
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-29
+ * @see com.davis.hospital_Appointment_Rest_API.utils.PageCursor
+ */
+public class CursorPage<T> {
+
+    /** The rows of this page, in key order */
+    private final List<T> items;
+
+    /** Cursor for the next page, or {@code null} if this is the last one */
+    private final String nextCursor;
+
+    public CursorPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -24,6 +24,11 @@ import java.time.LocalDate;
  */
 public class PatientDto {
     
+    /**
+     * User ID of the patient (the key paginated lists are ordered by)
+     */
+    private String userId;
+    
     /**
      * Unique username identifier for the patient
      */
@@ -89,6 +94,35 @@ public class PatientDto {
         this.dateOfBirth = dateOfBirth;
     }
 
+    /**
+     * Constructs a new PatientDto that also carries the patient's user ID.
+     * 
+     * @param userId User ID of the patient
+     * @param userName Unique username identifier
+     * @param name Full name of the patient
+     * @param bloodGroup Blood group in standard format
+     * @param contact Contact phone number
+     * @param email Email address
+     * @param postalCode Postal/ZIP code
+     * @param gender Gender identity
+     * @param dateOfBirth Date of birth
+     */
+    public PatientDto(String userId, String userName, String name, String bloodGroup,
+            String contact, String email, String postalCode, String gender, 
+            LocalDate dateOfBirth) {
+        this(userName, name, bloodGroup, contact, email, postalCode, gender, dateOfBirth);
+        this.userId = userId;
+    }
+
+    /**
+     * Gets the patient's user ID.
+     * 
+     * @return the user ID, or {@code null} if this DTO was built without it
+     */
+    public String getUserId() {
+        return userId;
+    }
+
     /**
      * Gets the unique username identifier.
      * 
@@ -0,0 +1,94 @@
+package com.davis.hospital_Appointment_Rest_API.dto;
+
+/**
+ * Data Transfer Object (DTO) describing the result of registering one row of a bulk upload.
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-25
+ * @see BulkRegistrationResult
+ */
+public class RegistrationOutcome {
+
+    /** Position of the row in the upload, starting at 1 */
+    private final int row;
+
+    /** The row's username, or null if it could not be read */
+    private final String userName;
+
+    /** Whether the row was registered */
+    private final boolean registered;
+
+    /** ID of the created user, or null if the row was not registered */
+    private final String userId;
+
+    /** Why the row was not registered, or null if it was */
+    private final String reason;
+
+    private RegistrationOutcome(int row, String userName, boolean registered, String userId, String reason) {
+        this.row = row;
+        this.userName = userName;
+        this.registered = registered;
+        this.userId = userId;
+        this.reason = reason;
+    }
+
+    /**
+     * Creates the outcome of a registered row.
+     *
+     * @param row      the row number
+     * @param userName the username
+     * @param userId   the created user's ID
+     * @return the outcome
+     */
+    public static RegistrationOutcome registered(int row, String userName, String userId) {
+        return new RegistrationOutcome(row, userName, true, userId, null);
+    }
+
+    /**
+     * Creates the outcome of a rejected row.
+     *
+     * @param row      the row number
+     * @param userName the username, if known
+     * @param reason   why the row was not registered
+     * @return the outcome
+     */
+    public static RegistrationOutcome rejected(int row, String userName, String reason) {
+        return new RegistrationOutcome(row, userName, false, null, reason);
+    }
+
+    /**
+     * @return the row
+     */
+    public int getRow() {
+        return row;
+    }
+
+    /**
+     * @return the userName
+     */
+    public String getUserName() {
+        return userName;
+    }
+
+    /**
+     * @return whether the row was registered
+     */
+    public boolean isRegistered() {
+        return registered;
+    }
+
+    /**
+     * @return the userId
+     */
+    public String getUserId() {
+        return userId;
+    }
+
+    /**
+     * @return the reason
+     */
+    public String getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,99 @@
+package com.davis.hospital_Appointment_Rest_API.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) describing the free appointment slots of a doctor on a date.
+ * <p>
+ * Built directly from the doctor's in-memory slot calendar, so producing it never
+ * requires scanning appointment rows.
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-04
+ */
+public class SlotAvailability {
+
+    /** The doctor's user ID */
+    private final String doctorId;
+
+    /** The date the availability applies to */
+    private final LocalDate date;
+
+    /** Total number of bookable slots on the date */
+    private final int totalSlots;
+
+    /** Number of slots that are still free */
+    private final int freeSlots;
+
+    /** Number of slots temporarily held by patients confirming a booking */
+    private final int heldSlots;
+
+    /** Start times of the free slots in ascending order */
+    private final List<LocalTime> freeSlotTimes;
+
+    /**
+     * Constructs a new SlotAvailability.
+     *
+     * @param doctorId      the doctor's user ID
+     * @param date          the date the availability applies to
+     * @param totalSlots    total number of bookable slots
+     * @param freeSlots     number of free slots
+     * @param heldSlots     number of temporarily held slots
+     * @param freeSlotTimes start times of the free slots
+     */
+    public SlotAvailability(String doctorId, LocalDate date, int totalSlots, int freeSlots, int heldSlots,
+            List<LocalTime> freeSlotTimes) {
+        this.doctorId = doctorId;
+        this.date = date;
+        this.totalSlots = totalSlots;
+        this.freeSlots = freeSlots;
+        this.heldSlots = heldSlots;
+        this.freeSlotTimes = freeSlotTimes;
+    }
+
+    /**
+     * @return the doctorId
+     */
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    /**
+     * @return the date
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * @return the totalSlots
+     */
+    public int getTotalSlots() {
+        return totalSlots;
+    }
+
+    /**
+     * @return the freeSlots
+     */
+    public int getFreeSlots() {
+        return freeSlots;
+    }
+
+    /**
+     * @return the heldSlots
+     */
+    public int getHeldSlots() {
+        return heldSlots;
+    }
+
+    /**
+     * @return the freeSlotTimes
+     */
+    public List<LocalTime> getFreeSlotTimes() {
+        return freeSlotTimes;
+    }
+}
@@ -0,0 +1,30 @@
+package com.davis.hospital_Appointment_Rest_API.dto;
+
+/**
+ * A new access token and the refresh token that replaces the one just used.
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-09-01
+ */
+public class TokenPair {
+
+    /** Bearer token for API calls */
+    private final String accessToken;
+
+    /** Single-use token for the next refresh */
+    private final String refreshToken;
+
+    public TokenPair(String accessToken, String refreshToken) {
+        this.accessToken = accessToken;
+        this.refreshToken = refreshToken;
+    }
+
+    public String getAccessToken() {
+        return accessToken;
+    }
+
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+}
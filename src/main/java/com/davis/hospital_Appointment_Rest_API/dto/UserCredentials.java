@@ -0,0 +1,69 @@
+package com.davis.hospital_Appointment_Rest_API.dto;
+
+/**
+ * The fields needed to sign a user in, and nothing else.
+ * <p>
+ * Built by a JPQL constructor expression over the {@code users} table and the role,
+ * so signing in does not load the Admin, Doctor or Patient subtype rows of the user.
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-31
+ * @see com.davis.hospital_Appointment_Rest_API.repository.UserRepository#findCredentialsByUserName(String)
+ */
+public class UserCredentials {
+
+    /** Login name */
+    private final String userName;
+
+    /** Password hash, with its encoder prefix (e.g. "{bcrypt}") */
+    private final String passWord;
+
+    /** Account status (e.g. "ACTIVE"); may be {@code null} on older rows */
+    private final String status;
+
+    /** Name of the user's role, or {@code null} if none is assigned */
+    private final String roleName;
+
+    /**
+     * Constructor used by the JPQL projection.
+     *
+     * @param userName login name
+     * @param passWord password hash
+     * @param status   account status
+     * @param roleName name of the user's role
+     */
+    public UserCredentials(String userName, String passWord, String status, String roleName) {
+        this.userName = userName;
+        this.passWord = passWord;
+        this.status = status;
+        this.roleName = roleName;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public String getPassWord() {
+        return passWord;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getRoleName() {
+        return roleName;
+    }
+
+    /**
+     * Accounts are active unless their status says otherwise; rows created before the
+     * status column was filled in count as active.
+     *
+     * @return true if the account may sign in
+     */
+    public boolean isActive() {
+        return status == null || "ACTIVE".equalsIgnoreCase(status);
+    }
+}
@@ -0,0 +1,137 @@
+package com.davis.hospital_Appointment_Rest_API.dto;
+
+import java.time.LocalTime;
+import java.util.Date;
+
+/**
+ * Read-only view of an appointment for list endpoints.
+ * <p>
+ * Built directly by a JPQL constructor expression that joins the doctor and patient,
+ * so a whole list loads in one query instead of one extra query per doctor and
+ * patient. Carries only display fields: no passwords, roles or back-references.
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-27
+ * @see com.davis.hospital_Appointment_Rest_API.repository.AppointmentRepository#findAllAsView()
+ */
+public class ViewAppointment {
+
+    /** Appointment key */
+    private final String id;
+
+    /** Day of the appointment */
+    private final Date date;
+
+    /** Scheduled start time */
+    private final LocalTime startTime;
+
+    /** Scheduled end time */
+    private final LocalTime endTime;
+
+    /** Current status (e.g., "Scheduled", "Cancelled") */
+    private final String status;
+
+    /** Free-text notes */
+    private final String notes;
+
+    /** User ID of the doctor */
+    private final String doctorId;
+
+    /** Doctor's surname and given name */
+    private final String doctorName;
+
+    /** Doctor's specialization */
+    private final String specialization;
+
+    /** User ID of the patient */
+    private final String patientId;
+
+    /** Patient's surname and given name */
+    private final String patientName;
+
+    /**
+     * Constructor used by the JPQL projection.
+     *
+     * @param id               appointment key
+     * @param date             day of the appointment
+     * @param startTime        scheduled start time
+     * @param endTime          scheduled end time
+     * @param status           current status
+     * @param notes            free-text notes
+     * @param doctorId         user ID of the doctor
+     * @param doctorSurName    doctor's surname
+     * @param doctorGivenName  doctor's given name
+     * @param specialization   doctor's specialization
+     * @param patientId        user ID of the patient
+     * @param patientSurName   patient's surname
+     * @param patientGivenName patient's given name
+     */
+    public ViewAppointment(String id, Date date, LocalTime startTime, LocalTime endTime, String status,
+            String notes, String doctorId, String doctorSurName, String doctorGivenName, String specialization,
+            String patientId, String patientSurName, String patientGivenName) {
+        this.id = id;
+        this.date = date;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.status = status;
+        this.notes = notes;
+        this.doctorId = doctorId;
+        this.doctorName = fullName(doctorSurName, doctorGivenName);
+        this.specialization = specialization;
+        this.patientId = patientId;
+        this.patientName = fullName(patientSurName, patientGivenName);
+    }
+
+    private static String fullName(String surName, String givenName) {
+        if (givenName == null) {
+            return surName;
+        }
+        return surName == null ? givenName : surName + " " + givenName;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Date getDate() {
+        return date;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getNotes() {
+        return notes;
+    }
+
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    public String getPatientId() {
+        return patientId;
+    }
+
+    public String getPatientName() {
+        return patientName;
+    }
+}
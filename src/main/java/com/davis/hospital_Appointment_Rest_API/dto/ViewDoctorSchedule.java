@@ -1,7 +1,10 @@
 package com.davis.hospital_Appointment_Rest_API.dto;
 
+import java.time.LocalDate;
 import java.time.LocalTime;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 /**
  * Data Transfer Object (DTO) representing a doctor's schedule for viewing purposes.
  * <p>
@@ -34,6 +37,10 @@ public class ViewDoctorSchedule {
     private boolean isConfirmed;
     private String specialization;
 
+    /** The concrete date this entry describes; absent for weekly templates */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private LocalDate date;
+
     /**
      * Constructs a new ViewDoctorSchedule with all required fields.
      *
@@ -55,6 +62,24 @@ public class ViewDoctorSchedule {
         this.specialization = specialization;
     }
 
+    /**
+     * Constructs a ViewDoctorSchedule for a concrete date of the availability projection.
+     *
+     * @param doctorName     the full name of the doctor
+     * @param specialization the doctor's specialization
+     * @param date           the date the entry describes
+     * @param dayOfWeek      the day of the week of the date
+     * @param startTime      the start of the doctor's first slot
+     * @param endTime        the end of the doctor's last slot
+     * @param availableSlots the number of slots still free on the date
+     * @param isConfirmed    whether the schedule is confirmed
+     */
+    public ViewDoctorSchedule(String doctorName, String specialization, LocalDate date, String dayOfWeek,
+                            LocalTime startTime, LocalTime endTime, int availableSlots, boolean isConfirmed) {
+        this(doctorName, specialization, dayOfWeek, startTime, endTime, availableSlots, isConfirmed);
+        this.date = date;
+    }
+
     /**
      * Gets the doctor's full name.
      *
@@ -182,5 +207,19 @@ public class ViewDoctorSchedule {
 	public void setSpecialization(String specialization) {
 		this.specialization = specialization;
 	}
+
+	/**
+	 * @return the date, or null for a weekly template
+	 */
+	public LocalDate getDate() {
+		return date;
+	}
+
+	/**
+	 * @param date the date to set
+	 */
+	public void setDate(LocalDate date) {
+		this.date = date;
+	}
     
 }
\ No newline at end of file
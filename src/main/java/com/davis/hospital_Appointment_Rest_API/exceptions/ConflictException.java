@@ -0,0 +1,47 @@
+package com.davis.hospital_Appointment_Rest_API.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when a request conflicts with the current state of a resource.
+ * <p>
+ * This exception should be used to indicate that:
+ * <ul>
+ *   <li>The requested appointment slot has already been taken</li>
+ *   <li>A concurrent request changed the resource first</li>
+ * </ul>
+ * Automatically sets:
+ * <ul>
+ *   <li>HTTP status code to {@link HttpStatus#CONFLICT} (409)</li>
+ *   <li>Error code to "CONFLICT"</li>
+ * </ul>
+ * </p>
+ * 
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @see ApiException
+ * @see HttpStatus
+ * @since 2025-08-10
+ */
+public class ConflictException extends ApiException {
+    
+    /**
+     * Serial version UID for serialization compatibility.
+     * <p>
+     * This field maintains version control for serialized instances of this exception.
+     * </p>
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new ConflictException with the specified detail message.
+     *
+     * @param message the detailed error message describing the conflict.
+     *                Example: "The selected slot is no longer available"
+     */
+    public ConflictException(String message) {
+        
+        // Constructs the exception with CONFLICT status and standard error code
+        super(message, HttpStatus.CONFLICT, "CONFLICT");
+    }
+}
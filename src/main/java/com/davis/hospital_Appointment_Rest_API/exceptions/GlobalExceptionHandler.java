@@ -31,6 +31,8 @@ import com.davis.hospital_Appointment_Rest_API.utils.ApiResponse;
  *   <li>{@link ResourceNotFoundException} - Missing resources (404)</li>
  *   <li>{@link UnauthorizedException} - Authentication failures (401)</li>
  *   <li>{@link ForbiddenException} - Authorization failures (403)</li>
+ *   <li>{@link ConflictException} - Conflicts with current resource state (409)</li>
+ *   <li>{@link ServiceUnavailableException} - Temporary overload (503)</li>
  *   <li>{@link MethodArgumentNotValidException} - Validation failures (400)</li>
  *   <li>Spring Security exceptions - Authentication/Authorization failures</li>
  *   <li>{@link Exception} - All other unexpected exceptions (500)</li>
@@ -163,6 +165,28 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage()));
     }
 
+    /**
+     * Handles requests that conflict with the current resource state
+     * @param ex The ConflictException instance
+     * @return ApiResponse with CONFLICT status (409)
+     */
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ApiResponse<Void>> handleConflictException(ConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
+    /**
+     * Handles requests rejected because the server is temporarily overloaded
+     * @param ex The ServiceUnavailableException instance
+     * @return ApiResponse with SERVICE_UNAVAILABLE status (503)
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiResponse<Void>> handleServiceUnavailableException(ServiceUnavailableException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error(ex.getMessage()));
+    }
+
     /**
      * Fallback handler for all other uncaught exceptions
      * @param ex The Exception instance
@@ -0,0 +1,49 @@
+package com.davis.hospital_Appointment_Rest_API.exceptions;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Exception thrown when the server is temporarily unable to handle a request.
+ * <p>
+ * This exception should be used to indicate that:
+ * <ul>
+ *   <li>A booking waited too long for its reservation lock</li>
+ *   <li>A bounded worker pool is saturated</li>
+ * </ul>
+ * Clients may retry the request after a short delay.</p>
+ * <p>
+ * Automatically sets:
+ * <ul>
+ *   <li>HTTP status code to {@link HttpStatus#SERVICE_UNAVAILABLE} (503)</li>
+ *   <li>Error code to "SERVICE_UNAVAILABLE"</li>
+ * </ul>
+ * </p>
+ * 
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @see ApiException
+ * @see HttpStatus
+ * @since 2025-08-12
+ */
+public class ServiceUnavailableException extends ApiException {
+    
+    /**
+     * Serial version UID for serialization compatibility.
+     * <p>
+     * This field maintains version control for serialized instances of this exception.
+     * </p>
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Constructs a new ServiceUnavailableException with the specified detail message.
+     *
+     * @param message the detailed error message describing the overload.
+     *                Example: "Booking system is busy, please retry"
+     */
+    public ServiceUnavailableException(String message) {
+        
+        // Constructs the exception with SERVICE_UNAVAILABLE status and standard error code
+        super(message, HttpStatus.SERVICE_UNAVAILABLE, "SERVICE_UNAVAILABLE");
+    }
+}
@@ -1,19 +1,16 @@
 package com.davis.hospital_Appointment_Rest_API.filter;
 
 import java.io.IOException;
-import java.util.List;
-import java.util.stream.Collectors;
-
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.davis.hospital_Appointment_Rest_API.service.imp.JwtService;
+import com.davis.hospital_Appointment_Rest_API.service.imp.VerifiedTokenCache;
 import com.davis.hospital_Appointment_Rest_API.utils.ApiResponse;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -43,7 +40,7 @@ import jakarta.servlet.http.HttpServletResponse;
  */
 public class JwtValidationFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
+    private final VerifiedTokenCache tokenCache;
     private final ObjectMapper objectMapper;
   
 
@@ -51,11 +48,11 @@ public class JwtValidationFilter extends OncePerRequestFilter {
     /**
      * Constructs a {@code JwtValidationFilter} with required dependencies.
      *
-     * @param jwtService    the JWT service for token parsing and validation
+     * @param tokenCache    verifies tokens, reusing the result for tokens seen before
      * @param objectMapper  the JSON object mapper used to serialize error responses
      */
-    public JwtValidationFilter(JwtService jwtService, ObjectMapper objectMapper) {
-        this.jwtService = jwtService;
+    public JwtValidationFilter(VerifiedTokenCache tokenCache, ObjectMapper objectMapper) {
+        this.tokenCache = tokenCache;
         this.objectMapper = objectMapper;
         
     }
@@ -66,8 +63,8 @@ public class JwtValidationFilter extends OncePerRequestFilter {
      * <p>Steps performed:</p>
      * <ol>
      *   <li>Extracts the JWT from the Authorization header</li>
-     *   <li>Validates the token’s signature and expiration</li>
-     *   <li>If valid, extracts the username and authorities and sets up authentication context</li>
+     *   <li>Verifies the token’s signature and expiration, or reuses the cached result for a token seen before</li>
+     *   <li>If valid, takes the username and authorities from the verified claims and sets up authentication context</li>
      *   <li>Otherwise, sends an appropriate error response</li>
      * </ol>
      *
@@ -85,18 +82,12 @@ public class JwtValidationFilter extends OncePerRequestFilter {
             String jwt = parseJwt(request);
 
             if (jwt != null) {
-            		String username = jwtService.extractUsername(jwt);
-            		 
-                if (jwtService.isTokenValid(jwt)) {
-                    
-
-                    List<SimpleGrantedAuthority> authorities = jwtService.extractAuthorities(jwt)
-                        .stream()
-                        .map(auth -> new SimpleGrantedAuthority(auth.getAuthority()))
-                        .collect(Collectors.toList());
+                // At most one signature check per token; every claim below comes from it
+                JwtService.VerifiedToken token = tokenCache.verify(jwt);
 
+                if (!token.isExpired()) {
                     UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(username, null, authorities);
+                        new UsernamePasswordAuthenticationToken(token.getUsername(), null, token.getAuthorities());
 
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -159,7 +150,8 @@ public class JwtValidationFilter extends OncePerRequestFilter {
      */
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        return request.getServletPath().equals("/api/auth");
-        // Add more paths if needed: || request.getServletPath().equals("/api/auth/refresh-token")
+        // A client refreshing usually still sends its expired access token
+        return request.getServletPath().equals("/api/auth")
+                || request.getServletPath().equals("/api/users/refresh");
     }
 }
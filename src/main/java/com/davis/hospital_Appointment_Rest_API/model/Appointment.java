@@ -5,13 +5,17 @@ import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
 
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.TemporalType;
+import jakarta.persistence.UniqueConstraint;
 
 /**
  * Represents a medical appointment in the Hospital Appointment System.
@@ -35,10 +39,26 @@ import jakarta.persistence.TemporalType;
  * @see Patient
  */
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = Appointment.SLOT_CONSTRAINT,
+		columnNames = { "doctorId", "date", "startTime", "cancellationStamp" }))
 public class Appointment {
 
 	/**
-	 * Unique identifier for the appointment
+	 * Name of the unique (doctorId, date, startTime, cancellationStamp) constraint
+	 * that stops two live appointments from taking the same slot, including across
+	 * application nodes
+	 */
+	public static final String SLOT_CONSTRAINT = "UK_Appointment_Doctor_Slot";
+
+	/** Status of a booked appointment */
+	public static final String STATUS_SCHEDULED = "Scheduled";
+
+	/** Status of a cancelled appointment */
+	public static final String STATUS_CANCELLED = "Cancelled";
+
+	/**
+	 * Unique identifier for the appointment; a time-ordered key issued by
+	 * {@link com.davis.hospital_Appointment_Rest_API.config.TimeOrderedIdGenerator}
 	 */
 	@Id
 	
@@ -85,6 +105,13 @@ public class Appointment {
 	 */
 	private String notes;
 
+	/**
+	 * Zero while the appointment is live; set on cancellation to a number from the
+	 * time-ordered ID generator, unique across nodes, so the cancelled row drops out
+	 * of {@link #SLOT_CONSTRAINT} and the slot can be booked again
+	 */
+	private long cancellationStamp;
+
 	/**
 	 * Timestamp when the appointment was created
 	 */
@@ -113,6 +140,7 @@ public class Appointment {
 	 * 
 	 * @see Billing#appointment
 	 */
+	@JsonIgnore
 	@OneToMany(mappedBy = "appointment")
 	private Set<Billing> billings = new HashSet<>();
 
@@ -319,6 +347,20 @@ public class Appointment {
 		this.updateOn = updateOn;
 	}
 
+	/**
+	 * @return the cancellationStamp
+	 */
+	public long getCancellationStamp() {
+		return cancellationStamp;
+	}
+
+	/**
+	 * @param cancellationStamp the cancellationStamp to set
+	 */
+	public void setCancellationStamp(long cancellationStamp) {
+		this.cancellationStamp = cancellationStamp;
+	}
+
 	/**
 	 * @return the billings
 	 */
@@ -3,6 +3,8 @@ package com.davis.hospital_Appointment_Rest_API.model;
 import java.util.HashSet;
 import java.util.Set;
 
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -35,6 +37,7 @@ public class Authority {
      * The roles associated with this authority.
      * Mapped by the 'authority' field in the RoleAuthority entity.
      */
+    @JsonIgnore
     @OneToMany(mappedBy = "authority", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<RoleAuthority> roles = new HashSet<>();
 
@@ -0,0 +1,177 @@
+package com.davis.hospital_Appointment_Rest_API.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Denormalized availability read model: one row per specialization, date and doctor.
+ * <p>
+ * Rows carry the doctor's display name, the working window and the remaining
+ * capacity of the day, so schedule browsing reads a single narrow table with no
+ * joins and no string building. The table is written only by
+ * {@link com.davis.hospital_Appointment_Rest_API.service.imp.AvailabilityProjectionService},
+ * which keeps it in step with schedule, doctor and booking changes.
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-22
+ * @see ScheduleSlot
+ */
+@Entity
+@Table(name = "Availability_View",
+        uniqueConstraints = @UniqueConstraint(name = "UK_Availability_View",
+                columnNames = { "specialization", "slotDate", "doctorId" }),
+        indexes = {
+                @Index(name = "IX_Availability_View_Date", columnList = "slotDate"),
+                @Index(name = "IX_Availability_View_Doctor_Date", columnList = "doctorId, slotDate")
+        })
+public class AvailabilityView {
+
+    /**
+     * Unique identifier for the row.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * The doctor's specialization.
+     */
+    private String specialization;
+
+    /**
+     * The date the row describes.
+     */
+    private LocalDate slotDate;
+
+    /**
+     * User ID of the doctor.
+     */
+    private String doctorId;
+
+    /**
+     * The doctor's display name (surname, given name, other name).
+     */
+    private String doctorName;
+
+    /**
+     * Lower-cased display name used for name searches.
+     */
+    private String searchName;
+
+    /**
+     * The day name of {@link #slotDate} (e.g., "Monday").
+     */
+    private String dayOfWeek;
+
+    /**
+     * Start of the doctor's first slot on the date.
+     */
+    private LocalTime startTime;
+
+    /**
+     * End of the doctor's last slot on the date.
+     */
+    private LocalTime endTime;
+
+    /**
+     * Number of bookable slots on the date.
+     */
+    private int totalSlots;
+
+    /**
+     * Number of slots neither booked nor held.
+     */
+    private int remainingSlots;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public AvailabilityView() {}
+
+    /**
+     * @return the id
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return the specialization
+     */
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    /**
+     * @return the slotDate
+     */
+    public LocalDate getSlotDate() {
+        return slotDate;
+    }
+
+    /**
+     * @return the doctorId
+     */
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    /**
+     * @return the doctorName
+     */
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    /**
+     * @return the searchName
+     */
+    public String getSearchName() {
+        return searchName;
+    }
+
+    /**
+     * @return the dayOfWeek
+     */
+    public String getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    /**
+     * @return the startTime
+     */
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return the endTime
+     */
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * @return the totalSlots
+     */
+    public int getTotalSlots() {
+        return totalSlots;
+    }
+
+    /**
+     * @return the remainingSlots
+     */
+    public int getRemainingSlots() {
+        return remainingSlots;
+    }
+}
@@ -2,6 +2,8 @@ package com.davis.hospital_Appointment_Rest_API.model;
 
 import java.util.HashSet;
 import java.util.Set;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -77,6 +79,7 @@ public class Doctor extends User {
      * </ul>
      * </p>
      */
+    @JsonIgnore
     @OneToMany(mappedBy = "doctor", fetch = FetchType.LAZY)
     private Set<Prescription> prescriptions = new HashSet<>();
     
@@ -92,6 +95,7 @@ public class Doctor extends User {
      * 
      * @see MedicalRecord#doctor
      */
+    @JsonIgnore
     @OneToMany(mappedBy = "doctor" , fetch = FetchType.LAZY)
     private Set<MedicalRecord> treatmentRecords;
     
@@ -107,6 +111,7 @@ public class Doctor extends User {
      * 
      * @see Prescription#doctor
      */
+    @JsonIgnore
     @OneToMany(mappedBy = "doctor", fetch = FetchType.LAZY)
     private Set<Prescription> prescribedMedications;
     
@@ -127,6 +132,7 @@ public class Doctor extends User {
      * 
      * @see DoctorSchedule
      */
+    @JsonIgnore
     @OneToMany(mappedBy = "doctor", fetch = FetchType.LAZY)
     private Set<DoctorSchedule> schedules;
     
@@ -147,6 +153,7 @@ public class Doctor extends User {
      * 
      * @see Appointment
      */
+    @JsonIgnore
     @OneToMany(mappedBy = "doctor", fetch = FetchType.LAZY)
     private Set<Appointment> appointments;
     
@@ -294,6 +301,7 @@ public class Doctor extends User {
      * Gets the appointments scheduled with this doctor.
      * @return Set of Appointment objects, never null (empty if no appointments)
      */
+    @JsonIgnore
     public Set<Appointment> getAppointmets() {
         return appointments;
     }
@@ -1,5 +1,6 @@
 package com.davis.hospital_Appointment_Rest_API.model;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
@@ -12,6 +13,7 @@ import com.davis.hospital_Appointment_Rest_API.utils.LocalTimeDeserializer;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -137,6 +139,24 @@ public class DoctorSchedule {
     @UpdateTimestamp
     private LocalDateTime lastUpdated;
     
+    /**
+     * The {@link #lastUpdated} value this template was last expanded into
+     * {@link ScheduleSlot} rows from.
+     * <p>
+     * Written only by the materialization job (never by JPA), so a differing value
+     * marks the template for re-expansion.
+     * </p>
+     */
+    @Column(insertable = false, updatable = false)
+    private LocalDateTime materializedVersion;
+
+    /**
+     * The last date this template has been expanded into {@link ScheduleSlot} rows.
+     * Written only by the materialization job.
+     */
+    @Column(insertable = false, updatable = false)
+    private LocalDate materializedThrough;
+    
     /**
      * Collection of break periods during this schedule.
      * <p>
@@ -171,8 +191,150 @@ public class DoctorSchedule {
      */
     public DoctorSchedule() {}
 
-    // [All getter and setter methods remain unchanged]
-    
+    /**
+     * @return the unique schedule identifier
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @param id the unique schedule identifier to set
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    /**
+     * @return the associated doctor
+     */
+    public Doctor getDoctor() {
+        return doctor;
+    }
+
+    /**
+     * @param doctor the associated doctor to set
+     */
+    public void setDoctor(Doctor doctor) {
+        this.doctor = doctor;
+    }
+
+    /**
+     * @return the day of week (e.g., "Monday")
+     */
+    public String getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    /**
+     * @param dayOfWeek the day of week (e.g., "Monday") to set
+     */
+    public void setDayOfWeek(String dayOfWeek) {
+        this.dayOfWeek = dayOfWeek;
+    }
+
+    /**
+     * @return the working hours start time
+     */
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @param startTime the working hours start time to set
+     */
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    /**
+     * @return the working hours end time
+     */
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    /**
+     * @param endTime the working hours end time to set
+     */
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+
+    /**
+     * @return the number of available slots
+     */
+    public int getAvailableSlots() {
+        return availableSlots;
+    }
+
+    /**
+     * @param availableSlots the number of available slots to set
+     */
+    public void setAvailableSlots(int availableSlots) {
+        this.availableSlots = availableSlots;
+    }
+
+    /**
+     * Checks whether the doctor has confirmed this schedule.
+     *
+     * @return true if confirmed, false if tentative
+     */
+    public boolean isConfirmed() {
+        return isConfirmed;
+    }
+
+    /**
+     * Sets the confirmation status of this schedule.
+     *
+     * @param isConfirmed the confirmation status to set
+     */
+    public void setConfirmed(boolean isConfirmed) {
+        this.isConfirmed = isConfirmed;
+    }
+
+    /**
+     * @return the creation timestamp
+     */
+    public LocalDateTime getCreatedOn() {
+        return createdOn;
+    }
+
+    /**
+     * @param createdOn the creation timestamp to set
+     */
+    public void setCreatedOn(LocalDateTime createdOn) {
+        this.createdOn = createdOn;
+    }
+
+    /**
+     * @return the last update timestamp
+     */
+    public LocalDateTime getLastUpdated() {
+        return lastUpdated;
+    }
+
+    /**
+     * @param lastUpdated the last update timestamp to set
+     */
+    public void setLastUpdated(LocalDateTime lastUpdated) {
+        this.lastUpdated = lastUpdated;
+    }
+
+    /**
+     * @return the template version last expanded into slot rows, or null if never
+     */
+    public LocalDateTime getMaterializedVersion() {
+        return materializedVersion;
+    }
+
+    /**
+     * @return the last date expanded into slot rows, or null if never
+     */
+    public LocalDate getMaterializedThrough() {
+        return materializedThrough;
+    }
+
     /**
      * Gets the list of break periods during this schedule.
      *
@@ -4,6 +4,8 @@ import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
 
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -103,6 +105,7 @@ public class Patient extends User {
      * 
      * @see Appointment
      */
+    @JsonIgnore
     @OneToMany(mappedBy = "patient", fetch = FetchType.LAZY)
     private Set<Appointment> appointments = new HashSet<>();
     
@@ -116,6 +119,7 @@ public class Patient extends User {
      * 
      * @see MedicalRecord#patient
      */
+    @JsonIgnore
     @OneToMany(mappedBy = "patient", fetch = FetchType.LAZY)
     private Set<MedicalRecord> medicalRecords = new HashSet<>();
     
@@ -131,6 +135,7 @@ public class Patient extends User {
      * 
      * @see Prescription#patient
      */
+    @JsonIgnore
     @OneToMany(mappedBy = "patient", fetch = FetchType.LAZY)
     private Set<Prescription> prescriptions = new HashSet<>();
     
@@ -146,6 +151,7 @@ public class Patient extends User {
      * 
      * @see Billing#patient
      */
+    @JsonIgnore
     @OneToMany(mappedBy = "patient", fetch = FetchType.LAZY)
     private Set<Billing> billings = new HashSet<>();
     
@@ -0,0 +1,151 @@
+package com.davis.hospital_Appointment_Rest_API.model;
+
+import java.time.Instant;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+/**
+ * One issued refresh token, tracked so it can be used exactly once.
+ * <p>
+ * Every sign-in starts a new token family; each refresh marks the presented token as
+ * used and issues the next token of the same family. Presenting a token that was
+ * already used means it was copied, so the whole family is revoked and its holder
+ * must sign in again. The token itself is a signed JWT; only its ID ({@code jti}),
+ * family, owner and lifetime are stored here.
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-09-01
+ */
+@Entity
+@Table(name = "Refresh_Token", indexes = {
+        @Index(name = "IX_Refresh_Token_Family", columnList = "familyId"),
+        @Index(name = "IX_Refresh_Token_Expires", columnList = "expiresAt") })
+public class RefreshToken implements Persistable<String> {
+
+    /**
+     * The token's {@code jti} claim.
+     */
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    /**
+     * ID shared by every token rotated from the same sign-in.
+     */
+    @Column(length = 36, nullable = false)
+    private String familyId;
+
+    /**
+     * Username of the token's owner.
+     */
+    @Column(nullable = false)
+    private String userName;
+
+    /**
+     * When the token stops being accepted.
+     */
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    /**
+     * When the token was exchanged for the next one; {@code null} while unused.
+     */
+    private Instant usedAt;
+
+    /**
+     * Set on every token of a family once reuse is detected.
+     */
+    private boolean revoked;
+
+    /**
+     * Rows are created with their ID already set, so JPA is told they are new and
+     * inserts them without first looking them up.
+     */
+    @Transient
+    private boolean isNew = true;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public RefreshToken() {}
+
+    /**
+     * Creates an unused token record.
+     *
+     * @param id        the token's {@code jti}
+     * @param familyId  the token family
+     * @param userName  the owner
+     * @param expiresAt the token's expiry
+     */
+    public RefreshToken(String id, String familyId, String userName, Instant expiresAt) {
+        this.id = id;
+        this.familyId = familyId;
+        this.userName = userName;
+        this.expiresAt = expiresAt;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    /**
+     * @return the token ID
+     */
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the family ID
+     */
+    public String getFamilyId() {
+        return familyId;
+    }
+
+    /**
+     * @return the owner's username
+     */
+    public String getUserName() {
+        return userName;
+    }
+
+    /**
+     * @return the expiry
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @return when the token was used, or {@code null}
+     */
+    public Instant getUsedAt() {
+        return usedAt;
+    }
+
+    /**
+     * @return whether the token's family has been revoked
+     */
+    public boolean isRevoked() {
+        return revoked;
+    }
+}
@@ -3,6 +3,8 @@ package com.davis.hospital_Appointment_Rest_API.model;
 import java.util.HashSet;
 import java.util.Set;
 
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -46,6 +48,7 @@ public class Role {
      * The authorities associated with this role.
      * Mapped by the 'role' field in the RoleAuthority entity.
      */
+    @JsonIgnore
     @OneToMany(mappedBy = "role", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<RoleAuthority> authorities = new HashSet<>();
     
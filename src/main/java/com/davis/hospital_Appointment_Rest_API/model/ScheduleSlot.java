@@ -0,0 +1,115 @@
+package com.davis.hospital_Appointment_Rest_API.model;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * One dated, bookable slot expanded from a weekly {@link DoctorSchedule} template.
+ * <p>
+ * Rows are written in bulk by the schedule materialization job a number of weeks
+ * ahead, so date-based availability reads become indexed range scans on
+ * {@code (doctorId, slotDate)} instead of translating each date into a day name.
+ * </p>
+ * 
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-20
+ * @see DoctorSchedule
+ */
+@Entity
+@Table(name = "Schedule_Slot",
+        uniqueConstraints = @UniqueConstraint(name = ScheduleSlot.SLOT_CONSTRAINT,
+                columnNames = { "scheduleId", "slotDate", "startTime" }),
+        indexes = @Index(name = "IX_Schedule_Slot_Doctor_Date", columnList = "doctorId, slotDate, startTime"))
+public class ScheduleSlot {
+
+    /** Name of the unique constraint on a template's date and start time */
+    public static final String SLOT_CONSTRAINT = "UK_Schedule_Slot";
+
+    /**
+     * Unique identifier for the slot row.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * ID of the {@link DoctorSchedule} template the slot was expanded from.
+     */
+    private Long scheduleId;
+
+    /**
+     * User ID of the doctor.
+     */
+    private String doctorId;
+
+    /**
+     * The date of the slot.
+     */
+    private LocalDate slotDate;
+
+    /**
+     * The start time of the slot.
+     */
+    private LocalTime startTime;
+
+    /**
+     * The end time of the slot.
+     */
+    private LocalTime endTime;
+
+    /**
+     * Default constructor required by JPA.
+     */
+    public ScheduleSlot() {}
+
+    /**
+     * @return the id
+     */
+    public Long getId() {
+        return id;
+    }
+
+    /**
+     * @return the scheduleId
+     */
+    public Long getScheduleId() {
+        return scheduleId;
+    }
+
+    /**
+     * @return the doctorId
+     */
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    /**
+     * @return the slotDate
+     */
+    public LocalDate getSlotDate() {
+        return slotDate;
+    }
+
+    /**
+     * @return the startTime
+     */
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return the endTime
+     */
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+}
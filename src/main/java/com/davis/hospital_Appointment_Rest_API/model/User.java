@@ -7,6 +7,8 @@ import java.util.Set;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.DiscriminatorColumn;
 import jakarta.persistence.DiscriminatorType;
@@ -15,8 +17,8 @@ import jakarta.persistence.Id;
 import jakarta.persistence.Inheritance;
 import jakarta.persistence.InheritanceType;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
-import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 /**
  * Abstract base class representing a user in the Hospital Appointment System.
@@ -57,8 +59,8 @@ public abstract class User {
     
     /** Unique email address for communication */
     private String email;
-    /**Role assigned to this user for authorization and access control.*/
-    @OneToOne
+    /**Role assigned to this user for authorization and access control; many users share a role.*/
+    @ManyToOne
     @JoinColumn(name = "roleId")
     private Role role;
     
@@ -142,6 +144,7 @@ public abstract class User {
      * 
      * @see Notification
      */
+    @JsonIgnore
     @OneToMany(mappedBy = "user")
     private Set<Notification> notifications = new HashSet<>();
 
@@ -0,0 +1,23 @@
+package com.davis.hospital_Appointment_Rest_API.repository;
+
+import java.util.List;
+
+import com.davis.hospital_Appointment_Rest_API.model.Appointment;
+
+/**
+ * Repository fragment for inserting many {@link Appointment}s in one transaction.
+ * 
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-14
+ * @see AppointmentBatchRepositoryImpl
+ */
+public interface AppointmentBatchRepository {
+
+    /**
+     * Inserts new appointments in a single transaction using JDBC batching.
+     *
+     * @param appointments the new appointments (IDs already assigned)
+     */
+    void insertAll(List<Appointment> appointments);
+}
@@ -1,26 +1,106 @@
 package com.davis.hospital_Appointment_Rest_API.repository;
 
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.davis.hospital_Appointment_Rest_API.dto.ViewAppointment;
 import com.davis.hospital_Appointment_Rest_API.model.Appointment;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository interface for managing {@link Appointment} entities in the database.
- * Provides custom query methods for appointment-related operations.
+ * Provides custom query methods for appointment-related operations and batched
+ * inserts through {@link AppointmentBatchRepository}.
+ * <p>
+ * Methods returning appointment lists fetch the doctor and patient (with their roles
+ * and the doctor's department) in the same query, so loading a list costs a fixed
+ * number of queries rather than one more per referenced doctor or patient.
+ * </p>
  * 
  * @author CYPRIAN DAVIS
  * @version 1.0
  * @since 2025-06-03
  */
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment,String> {
-    
+public interface AppointmentRepository extends JpaRepository<Appointment,String>, AppointmentBatchRepository {
+
+    /**
+     * Returns all appointments with their doctor and patient loaded.
+     *
+     * @return all appointments
+     */
+    @Override
+    @EntityGraph(type = EntityGraphType.LOAD, attributePaths = {"doctor", "doctor.role", "doctor.department", "patient", "patient.role"})
+    List<Appointment> findAll();
+
+    /**
+     * Returns all appointments as flat views, newest first, in a single query.
+     *
+     * @return the appointment views
+     */
+    @Query("SELECT new com.davis.hospital_Appointment_Rest_API.dto.ViewAppointment(" +
+           "a.id, a.date, a.startTime, a.endTime, a.status, a.notes, " +
+           "d.userId, d.surName, d.givenName, d.specialization, " +
+           "p.userId, p.surName, p.givenName) " +
+           "FROM Appointment a JOIN a.doctor d JOIN a.patient p " +
+           "ORDER BY a.date DESC, a.startTime")
+    List<ViewAppointment> findAllAsView();
+
+    /**
+     * Loads one page of appointment views after the given key, in key order.
+     * <p>
+     * Appointment keys are time-ordered, so pages run from the oldest booking to the
+     * newest and the primary key index serves every page.
+     * </p>
+     *
+     * @param after the last appointment key already returned ({@code ""} for the first page)
+     * @param page the page size (page number is always 0)
+     * @return up to {@code page.getPageSize()} appointment views
+     */
+    @Query("SELECT new com.davis.hospital_Appointment_Rest_API.dto.ViewAppointment(" +
+           "a.id, a.date, a.startTime, a.endTime, a.status, a.notes, " +
+           "d.userId, d.surName, d.givenName, d.specialization, " +
+           "p.userId, p.surName, p.givenName) " +
+           "FROM Appointment a JOIN a.doctor d JOIN a.patient p " +
+           "WHERE a.id > :after ORDER BY a.id")
+    List<ViewAppointment> findViewsAfter(@Param("after") String after, Pageable page);
+
+    /**
+     * Streams every appointment as a flat view, in key (booking) order, for the export
+     * endpoint. Rows are read through a forward-only cursor 500 at a time and are not
+     * attached to the persistence context. Must be consumed inside a transaction and
+     * closed afterwards.
+     *
+     * @return a stream over all appointment views
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.davis.hospital_Appointment_Rest_API.dto.ViewAppointment(" +
+           "a.id, a.date, a.startTime, a.endTime, a.status, a.notes, " +
+           "d.userId, d.surName, d.givenName, d.specialization, " +
+           "p.userId, p.surName, p.givenName) " +
+           "FROM Appointment a JOIN a.doctor d JOIN a.patient p " +
+           "ORDER BY a.id")
+    Stream<ViewAppointment> streamAllAsView();
+
     /**
      * Searches for appointments by patient name (case-insensitive).
      * Matches against surname, given name, or other name fields.
@@ -28,6 +108,7 @@ public interface AppointmentRepository extends JpaRepository<Appointment,String>
      * @param name The name or partial name to search for
      * @return List of appointments matching the search criteria
      */
+    @EntityGraph(type = EntityGraphType.LOAD, attributePaths = {"doctor", "doctor.role", "doctor.department", "patient", "patient.role"})
     @Query("SELECT a FROM Appointment a WHERE "
             +  "LOWER(a.patient.surName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
                "LOWER(a.patient.givenName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
@@ -41,12 +122,40 @@ public interface AppointmentRepository extends JpaRepository<Appointment,String>
      * @param name The name or partial name to search for
      * @return List of appointments matching the search criteria
      */
+    @EntityGraph(type = EntityGraphType.LOAD, attributePaths = {"doctor", "doctor.role", "doctor.department", "patient", "patient.role"})
     @Query("SELECT a FROM Appointment a WHERE "
             +  "LOWER(a.doctor.surName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
                "LOWER(a.doctor.givenName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
                "LOWER(a.doctor.otherName) LIKE LOWER(CONCAT('%', :name, '%'))")
     List<Appointment> searchByDoctorName(@Param("name")String name);
 
+    /**
+     * Returns the start times of all non-cancelled appointments of a doctor on a date.
+     * Used to seed the occupancy bits of the doctor's slot calendar.
+     *
+     * @param doctorId The ID of the doctor
+     * @param date The appointment date
+     * @return List of booked slot start times
+     */
+    @Query("SELECT a.startTime FROM Appointment a WHERE a.doctor.userId = :doctorId " +
+           "AND a.date = :date AND a.status <> 'Cancelled'")
+    List<LocalTime> findBookedStartTimes(@Param("doctorId") String doctorId, @Param("date") Date date);
+
+    /**
+     * Returns the booked slots of several doctors over a date range in one query.
+     * Each row holds the doctor ID, the appointment date and the start time.
+     *
+     * @param doctorIds The IDs of the doctors
+     * @param from The first date of the range (inclusive)
+     * @param to The last date of the range (inclusive)
+     * @return List of {doctorId, date, startTime} rows for non-cancelled appointments
+     */
+    @Query("SELECT a.doctor.userId, a.date, a.startTime FROM Appointment a " +
+           "WHERE a.doctor.userId IN :doctorIds " +
+           "AND a.date BETWEEN :from AND :to AND a.status <> 'Cancelled'")
+    List<Object[]> findBookedSlots(@Param("doctorIds") Collection<String> doctorIds,
+                                   @Param("from") Date from, @Param("to") Date to);
+
     /**
      * Finds the most recent active appointment for a specific doctor.
      * An appointment is considered active if its status is neither "Completed" nor "Cancelled".
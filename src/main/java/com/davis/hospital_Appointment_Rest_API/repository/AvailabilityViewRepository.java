@@ -0,0 +1,89 @@
+package com.davis.hospital_Appointment_Rest_API.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.davis.hospital_Appointment_Rest_API.dto.ViewDoctorSchedule;
+import com.davis.hospital_Appointment_Rest_API.model.AvailabilityView;
+
+/**
+ * Repository interface for reading the {@link AvailabilityView} projection.
+ * <p>
+ * Every query reads the single projection table and maps straight into
+ * {@link ViewDoctorSchedule} DTOs; rows are written in bulk by the projection
+ * service, not through this repository.
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-22
+ * @see ViewDoctorSchedule
+ */
+@Repository
+public interface AvailabilityViewRepository extends JpaRepository<AvailabilityView, Long> {
+
+    /**
+     * Finds the working days of a specialization over a date range.
+     *
+     * @param specialization The medical specialization to search for
+     * @param from The first date (inclusive)
+     * @param to The last date (inclusive)
+     * @return list of schedule DTOs ordered by date and start time
+     */
+    @Query("SELECT NEW com.davis.hospital_Appointment_Rest_API.dto.ViewDoctorSchedule(" +
+           "v.doctorName, v.specialization, v.slotDate, v.dayOfWeek, v.startTime, v.endTime, v.remainingSlots, true) " +
+           "FROM AvailabilityView v " +
+           "WHERE v.specialization = :specialization AND v.slotDate BETWEEN :from AND :to " +
+           "ORDER BY v.slotDate, v.startTime")
+    List<ViewDoctorSchedule> findBySpecialization(@Param("specialization") String specialization,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Finds every doctor working on a date.
+     *
+     * @param date The date to search for
+     * @return list of schedule DTOs ordered by start time
+     */
+    @Query("SELECT NEW com.davis.hospital_Appointment_Rest_API.dto.ViewDoctorSchedule(" +
+           "v.doctorName, v.specialization, v.slotDate, v.dayOfWeek, v.startTime, v.endTime, v.remainingSlots, true) " +
+           "FROM AvailabilityView v " +
+           "WHERE v.slotDate = :date " +
+           "ORDER BY v.startTime, v.doctorName")
+    List<ViewDoctorSchedule> findByDate(@Param("date") LocalDate date);
+
+    /**
+     * Finds the working days of doctors whose name matches a pattern over a date range.
+     *
+     * @param pattern Lower-case LIKE pattern matched against the stored search name
+     * @param from The first date (inclusive)
+     * @param to The last date (inclusive)
+     * @return list of schedule DTOs ordered by date and start time
+     */
+    @Query("SELECT NEW com.davis.hospital_Appointment_Rest_API.dto.ViewDoctorSchedule(" +
+           "v.doctorName, v.specialization, v.slotDate, v.dayOfWeek, v.startTime, v.endTime, v.remainingSlots, true) " +
+           "FROM AvailabilityView v " +
+           "WHERE v.searchName LIKE :pattern AND v.slotDate BETWEEN :from AND :to " +
+           "ORDER BY v.slotDate, v.startTime")
+    List<ViewDoctorSchedule> searchByName(@Param("pattern") String pattern,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Finds the doctors of a specialization with remaining capacity on a date.
+     *
+     * @param specialization The medical specialization to search for
+     * @param date The date to search for
+     * @return list of schedule DTOs ordered by start time
+     */
+    @Query("SELECT NEW com.davis.hospital_Appointment_Rest_API.dto.ViewDoctorSchedule(" +
+           "v.doctorName, v.specialization, v.slotDate, v.dayOfWeek, v.startTime, v.endTime, v.remainingSlots, true) " +
+           "FROM AvailabilityView v " +
+           "WHERE v.specialization = :specialization AND v.slotDate = :date AND v.remainingSlots > 0 " +
+           "ORDER BY v.startTime")
+    List<ViewDoctorSchedule> findAvailable(@Param("specialization") String specialization,
+            @Param("date") LocalDate date);
+}
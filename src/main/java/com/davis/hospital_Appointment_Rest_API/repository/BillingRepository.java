@@ -2,6 +2,8 @@ package com.davis.hospital_Appointment_Rest_API.repository;
 
 import java.util.List;
 
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -9,9 +11,21 @@ import org.springframework.stereotype.Repository;
 
 import com.davis.hospital_Appointment_Rest_API.model.Billing;
 
+/**
+ * Repository for {@link Billing} entities. List methods fetch the patient and the
+ * billed appointment with its doctor in the same query.
+ * @author CYPRIAN DAVIS
+ */
 @Repository
 public interface BillingRepository extends JpaRepository<Billing, Long> {
-	
+
+	@Override
+	@EntityGraph(type = EntityGraphType.LOAD, attributePaths = {"patient", "patient.role", "appointment",
+			"appointment.doctor", "appointment.doctor.role", "appointment.doctor.department", "appointment.patient"})
+	List<Billing> findAll();
+
+	@EntityGraph(type = EntityGraphType.LOAD, attributePaths = {"patient", "patient.role", "appointment",
+			"appointment.doctor", "appointment.doctor.role", "appointment.doctor.department", "appointment.patient"})
 	@Query("SELECT b FROM Billing b WHERE "
 			+  "LOWER(b.patient.surName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
 	           "LOWER(b.patient.givenName) LIKE LOWER(CONCAT('%', :name, '%')) OR " +
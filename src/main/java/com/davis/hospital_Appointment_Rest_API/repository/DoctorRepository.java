@@ -3,6 +3,7 @@ package com.davis.hospital_Appointment_Rest_API.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -50,6 +51,19 @@ public interface DoctorRepository extends JpaRepository<Doctor, String> {
            "FROM Doctor d")
     List<ViewDoctor> findAllDoctorsAsViewDoctors();
 
+    /**
+     * Loads one page of doctors after the given user ID, in user ID order.
+     *
+     * @param after the last user ID already returned ({@code ""} for the first page)
+     * @param page the page size (page number is always 0)
+     * @return up to {@code page.getPageSize()} ViewDoctor DTOs
+     */
+    @Query("SELECT new com.davis.hospital_Appointment_Rest_API.dto.ViewDoctor(" +
+           "d.userId, d.surName, d.givenName, d.otherName, d.specialization, " +
+           "d.license_number, d.consulation_fee, d.department.name, d.email, d.contact) " +
+           "FROM Doctor d WHERE d.userId > :after ORDER BY d.userId")
+    List<ViewDoctor> findDoctorsAfter(@Param("after") String after, Pageable page);
+
     /**
      * Finds a single doctor by ID and returns it as a ViewDoctor DTO.
      * <p>
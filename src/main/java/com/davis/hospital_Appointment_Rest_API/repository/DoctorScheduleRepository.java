@@ -1,123 +1,146 @@
 package com.davis.hospital_Appointment_Rest_API.repository;
 
-import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import com.davis.hospital_Appointment_Rest_API.dto.ViewDoctorSchedule;
 import com.davis.hospital_Appointment_Rest_API.model.DoctorSchedule;
 
 /**
- * Repository interface for managing doctor schedule information with DTO projections.
+ * Repository interface for managing doctor schedule information.
  * 
- * <p>Provides CRUD operations and custom queries that return {@link ViewDoctorSchedule} DTOs
- * instead of entities, following best practices for API layer separation.</p>
+ * <p>Provides CRUD operations and the write-side queries used by booking, slot
+ * calendars and schedule materialization. Schedule listings are served from the
+ * {@link AvailabilityViewRepository} projection instead.</p>
  * 
  * <p><b>Key Changes:</b>
  * <ul>
- *   <li>All query methods now return ViewDoctorSchedule DTOs</li>
- *   <li>Added constructor expressions in JPQL for DTO projection</li>
- *   <li>Maintained all existing search capabilities</li>
- *   <li>Added doctor name concatenation in queries</li>
+ *   <li>Listing queries moved to the availability projection, so browsing no longer
+ *       joins doctors or concatenates names</li>
  * </ul>
  * </p>
  * 
  * @author CYPRIAN DAVIS
- * @version 2.0
+ * @version 3.0
  * @since 2025-07-09
- * @see ViewDoctorSchedule
+ * @see AvailabilityViewRepository
  */
 public interface DoctorScheduleRepository extends JpaRepository<DoctorSchedule, Long> {
     
     /**
-     * Finds schedules by doctor's specialization and returns DTO projections
-     * @param specialization the medical specialization to search for
-     * @return list of schedule DTOs matching the specialization
+     * Finds the confirmed schedules of a doctor for a given day of week.
+     * <p>
+     * Used to build the in-memory slot calendar of a doctor on a concrete date.
+     * The day name is matched case-insensitively.
+     * </p>
+     *
+     * @param doctorId the doctor's user ID
+     * @param dayOfWeek the day name (e.g., "Monday")
+     * @return list of confirmed schedules with their breaks (empty if the doctor does not work that day)
      */
-    @Query("SELECT NEW com.davis.hospital_Appointment_Rest_API.dto.ViewDoctorSchedule(" +
-           "CONCAT(d.doctor.surName, ' ', d.doctor.givenName), " +
-           "d.doctor.specialization,"+
-           "d.dayOfWeek, " +
-           "d.startTime, " +
-           "d.endTime, " +
-           "d.availableSlots, " +
-           "d.isConfirmed) " +
-           "FROM DoctorSchedule d " +
-           "WHERE d.doctor.specialization = :specialization")
-    List<ViewDoctorSchedule> findDtoByDoctorSpecialization(@Param("specialization") String specialization);
-   
+    @Query("SELECT DISTINCT d FROM DoctorSchedule d " +
+           "LEFT JOIN FETCH d.breaks " +
+           "WHERE d.doctor.userId = :doctorId " +
+           "AND LOWER(d.dayOfWeek) = LOWER(:dayOfWeek) " +
+           "AND d.isConfirmed = true")
+    List<DoctorSchedule> findConfirmedByDoctorAndDay(@Param("doctorId") String doctorId,
+                                                     @Param("dayOfWeek") String dayOfWeek);
+
     /**
-     * Searches schedules by doctor name fields and returns DTO projections
-     * 
-     * @param nameTerm term to match against doctor names
-     * @return list of schedule DTOs matching the name criteria
+     * Loads every confirmed schedule of a specialization with its doctor and breaks.
+     * <p>
+     * A single query that feeds the in-memory availability index used by the
+     * multi-day earliest-slot search. The specialization is matched case-insensitively
+     * whatever the database collation, so every casing of a name loads the same rows.
+     * </p>
+     *
+     * @param specialization the lower-cased medical specialization (e.g., "cardiology")
+     * @return list of confirmed schedules with doctor and breaks initialized
      */
-    @Query("SELECT NEW com.davis.hospital_Appointment_Rest_API.dto.ViewDoctorSchedule(" +
-           "CONCAT(d.doctor.surName, ' ', d.doctor.givenName,COALESCE(CONCAT(' ', d.doctor.otherName), '')), " +
-           "d.doctor.specialization,"+
-           "d.dayOfWeek, " +
-           "d.startTime, " +
-           "d.endTime, " +
-           "d.availableSlots, " +
-           "d.isConfirmed) " +
-           "FROM DoctorSchedule d WHERE " +
-           "LOWER(CONCAT(d.doctor.surName, ' ', d.doctor.givenName, COALESCE(CONCAT(' ', d.doctor.otherName), ''))) " +
-	       "LIKE LOWER(CONCAT('%', :nameTerm, '%'))"
-          )
-    List<ViewDoctorSchedule> searchDtoByDoctorName(@Param("nameTerm") String nameTerm);
-    
+    @Query("SELECT DISTINCT d FROM DoctorSchedule d " +
+           "JOIN FETCH d.doctor " +
+           "LEFT JOIN FETCH d.breaks " +
+           "WHERE LOWER(d.doctor.specialization) = :specialization " +
+           "AND d.isConfirmed = true")
+    List<DoctorSchedule> findConfirmedBySpecialization(@Param("specialization") String specialization);
+
     /**
-     * Finds schedules by day of week and returns DTO projections
-     * 
-     * @param dayOfWeek the day name to search for (e.g., "Monday")
-     * @return list of schedule DTOs for the specified day
+     * Finds every confirmed schedule with its doctor and breaks in one query.
+     * Feeds the job that expands weekly templates into dated slot rows.
+     *
+     * @return list of confirmed schedules with doctor and breaks initialized
      */
-    @Query("SELECT NEW com.davis.hospital_Appointment_Rest_API.dto.ViewDoctorSchedule(" +
-           "CONCAT(d.doctor.surName, ' ', d.doctor.givenName,COALESCE(CONCAT(' ', d.doctor.otherName), '')), " +
-           "d.doctor.specialization,"+
-           "d.dayOfWeek, " +
-           "d.startTime, " +
-           "d.endTime, " +
-           "d.availableSlots, " +
-           "d.isConfirmed) " +
-           "FROM DoctorSchedule d " +
-           "WHERE d.dayOfWeek = :dayOfWeek")
-    List<ViewDoctorSchedule> findDtoByDayOfWeek(@Param("dayOfWeek") String dayOfWeek);
+    @Query("SELECT DISTINCT d FROM DoctorSchedule d " +
+           "JOIN FETCH d.doctor " +
+           "LEFT JOIN FETCH d.breaks " +
+           "WHERE d.isConfirmed = true")
+    List<DoctorSchedule> findAllConfirmed();
+
+    /**
+     * Loads the IDs of one page of schedules after the given ID, in ID order.
+     * <p>
+     * First step of a keyset page: the page is cut on IDs alone because a row limit
+     * cannot be applied to a query that fetches the breaks collection.
+     * </p>
+     *
+     * @param after the last schedule ID already returned (0 for the first page)
+     * @param page the page size (page number is always 0)
+     * @return up to {@code page.getPageSize()} schedule IDs
+     */
+    @Query("SELECT d.id FROM DoctorSchedule d WHERE d.id > :after ORDER BY d.id")
+    List<Long> findIdsAfter(@Param("after") Long after, Pageable page);
+
+    /**
+     * Loads the given schedules with their doctor (and the doctor's role and department)
+     * and breaks in one query.
+     *
+     * @param ids the schedule IDs
+     * @return the schedules, in ID order
+     */
+    @Query("SELECT DISTINCT d FROM DoctorSchedule d " +
+           "JOIN FETCH d.doctor doc " +
+           "LEFT JOIN FETCH doc.role " +
+           "LEFT JOIN FETCH doc.department " +
+           "LEFT JOIN FETCH d.breaks " +
+           "WHERE d.id IN :ids ORDER BY d.id")
+    List<DoctorSchedule> findWithBreaksByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
-     * Repository method to find the first available doctor schedule matching the given specialization and date.
+     * Repository method to find the first available doctor schedule matching the given specialization and day.
      * <p>
      * This query:
      * <ul>
      *   <li>Filters by medical specialization (case-sensitive exact match)</li>
-     *   <li>Matches the day of week derived from the provided date</li>
+     *   <li>Matches the day of week (case-insensitive), derived from the date by the caller</li>
      *   <li>Only returns schedules with available slots (>0)</li>
      *   <li>Only returns confirmed schedules (isConfirmed=true)</li>
-     *   <li>Limits results to 1 record for maximum efficiency</li>
+     *   <li>Returns the schedule starting earliest in the day</li>
      * </ul>
+     * The day name is computed in Java rather than with a database date function,
+     * keeping the query portable and sargable on SQL Server.
      * </p>
      * 
      * @param specialization The medical specialization to search for (e.g., "Cardiology")
      *        Must not be {@code null} or empty
-     * @param date The appointment date to check availability for
-     *        Must not be {@code null} and should be >= current date
+     * @param dayOfWeek The day name to match (e.g., "Monday")
      * @return An {@link Optional} containing the first matching {@link DoctorSchedule} if found,
      *         or empty Optional if no availability exists
-     * @throws IllegalArgumentException If specialization is null/empty or date is null
      * 
      * @see DoctorSchedule
      */
-    @Query(value = "SELECT d FROM DoctorSchedule d " +
+    @Query("SELECT d FROM DoctorSchedule d " +
            "WHERE d.doctor.specialization = :specialization " +
-           "AND d.dayOfWeek = FUNCTION('FORMATDATEPART', :date, 'dddd') " +
+           "AND LOWER(d.dayOfWeek) = LOWER(:dayOfWeek) " +
            "AND d.availableSlots > 0 " +
            "AND d.isConfirmed = true " +
-           "LIMIT 1",
-           nativeQuery = true)
-    Optional<DoctorSchedule> findFirstAvailableBySpecializationAndDate(
+           "ORDER BY d.startTime " +
+           "LIMIT 1")
+    Optional<DoctorSchedule> findFirstAvailableBySpecializationAndDay(
         @Param("specialization") String specialization,
-        @Param("date") LocalDate date);
+        @Param("dayOfWeek") String dayOfWeek);
 }
\ No newline at end of file
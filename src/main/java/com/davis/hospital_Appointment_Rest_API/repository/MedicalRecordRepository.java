@@ -1,6 +1,8 @@
 package com.davis.hospital_Appointment_Rest_API.repository;
 
 import java.util.List;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,6 +19,7 @@ import com.davis.hospital_Appointment_Rest_API.model.MedicalRecord;
  *   <li>Search medical records by patient name (surname, given name, or other name)</li>
  *   <li>Search medical records by doctor name (surname, given name, or other name)</li>
  *   <li>Case-insensitive partial matching for all name searches</li>
+ *   <li>Lists fetch patient, doctor, appointment and prescription in the same query</li>
  * </ul>
  * </p>
  * 
@@ -28,6 +31,16 @@ import com.davis.hospital_Appointment_Rest_API.model.MedicalRecord;
  */
 public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Long> {
 
+    /**
+     * Returns all medical records with their patient, doctor, appointment and prescription loaded.
+     *
+     * @return all medical records
+     */
+    @Override
+    @EntityGraph(type = EntityGraphType.LOAD, attributePaths = {"patient", "patient.role", "doctor", "doctor.role",
+            "doctor.department", "appointment", "prescription"})
+    List<MedicalRecord> findAll();
+
     /**
      * Searches medical records by patient name fields with partial matching and case insensitivity.
      * 
@@ -42,6 +55,8 @@ public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Lo
      * @param nameTerm the search term to match against patient names
      * @return list of matching medical records (empty if none found)
      */
+    @EntityGraph(type = EntityGraphType.LOAD, attributePaths = {"patient", "patient.role", "doctor", "doctor.role",
+            "doctor.department", "appointment", "prescription"})
     @Query("SELECT mr FROM MedicalRecord mr WHERE " +
            "LOWER(mr.patient.surName) LIKE LOWER(CONCAT('%', :nameTerm, '%')) OR " +
            "LOWER(mr.patient.givenName) LIKE LOWER(CONCAT('%', :nameTerm, '%')) OR " +
@@ -62,6 +77,8 @@ public interface MedicalRecordRepository extends JpaRepository<MedicalRecord, Lo
      * @param searchTerm the search term to match against doctor names
      * @return list of matching medical records (empty if none found)
      */
+    @EntityGraph(type = EntityGraphType.LOAD, attributePaths = {"patient", "patient.role", "doctor", "doctor.role",
+            "doctor.department", "appointment", "prescription"})
     @Query("SELECT mr FROM MedicalRecord mr WHERE " +
            "LOWER(mr.doctor.surName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(mr.doctor.givenName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
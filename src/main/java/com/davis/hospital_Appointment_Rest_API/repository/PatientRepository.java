@@ -1,15 +1,22 @@
 package com.davis.hospital_Appointment_Rest_API.repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.davis.hospital_Appointment_Rest_API.dto.PatientDto;
 import com.davis.hospital_Appointment_Rest_API.model.Patient;
 
+import jakarta.persistence.QueryHint;
+
 /**
  * Repository interface for {@link Patient} entities with DTO-based query methods.
  * 
@@ -70,7 +77,46 @@ public interface PatientRepository extends JpaRepository<Patient, String> {
     	       "p.bloodGroup, p.contact, p.email, p.postalCode, p.gender, p.dateOfBirth) " +
     	       "FROM Patient p")
     List<PatientDto> findAllPatients();
+
+    /**
+     * Loads one page of patients after the given user ID, in user ID order.
+     * <p>
+     * Keyset pagination: the primary key index locates the first row directly, so
+     * every page costs the same however far the client has scrolled.
+     * </p>
+     *
+     * @param after the last user ID already returned ({@code ""} for the first page)
+     * @param page the page size (page number is always 0)
+     * @return up to {@code page.getPageSize()} patient DTOs
+     */
+    @Query("SELECT new com.davis.hospital_Appointment_Rest_API.dto.PatientDto(" +
+           "p.userId, p.userName, " +
+           "CONCAT(p.surName, ' ', p.givenName, COALESCE(CONCAT(' ', p.otherName), '')), " +
+           "p.bloodGroup, p.contact, p.email, p.postalCode, p.gender, p.dateOfBirth) " +
+           "FROM Patient p WHERE p.userId > :after ORDER BY p.userId")
+    List<PatientDto> findPatientsAfter(@Param("after") String after, Pageable page);
     
+    /**
+     * Streams every patient as a DTO, in user ID order, for the export endpoint.
+     * <p>
+     * Rows are read through a forward-only cursor 500 at a time and are not attached
+     * to the persistence context, so memory does not grow with the table. Must be
+     * consumed inside a transaction and closed afterwards.
+     * </p>
+     *
+     * @return a stream over all patient DTOs
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.davis.hospital_Appointment_Rest_API.dto.PatientDto(" +
+           "p.userId, p.userName, " +
+           "CONCAT(p.surName, ' ', p.givenName, COALESCE(CONCAT(' ', p.otherName), '')), " +
+           "p.bloodGroup, p.contact, p.email, p.postalCode, p.gender, p.dateOfBirth) " +
+           "FROM Patient p ORDER BY p.userId")
+    Stream<PatientDto> streamAllPatients();
+
     /**
      * Alternative search method that returns entities (for backward compatibility)
      * 
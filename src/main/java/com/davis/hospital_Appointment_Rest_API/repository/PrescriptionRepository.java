@@ -1,6 +1,8 @@
 package com.davis.hospital_Appointment_Rest_API.repository;
 
 import java.util.List;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -19,6 +21,7 @@ import com.davis.hospital_Appointment_Rest_API.model.Prescription;
  *   <li>Search prescriptions by doctor name or ID</li>
  *   <li>Case-insensitive partial matching for all searches</li>
  *   <li>Built-in JPA repository operations</li>
+ *   <li>Lists fetch patient and doctor in the same query</li>
  * </ul>
  * </p>
  * 
@@ -41,6 +44,16 @@ import com.davis.hospital_Appointment_Rest_API.model.Prescription;
 @Repository
 public interface PrescriptionRepository extends JpaRepository<Prescription, Long> {
 
+    /**
+     * Returns all prescriptions with their patient and doctor loaded.
+     *
+     * @return all prescriptions
+     */
+    @Override
+    @EntityGraph(type = EntityGraphType.LOAD, attributePaths = {"patient", "patient.role", "doctor", "doctor.role",
+            "doctor.department"})
+    List<Prescription> findAll();
+
     /**
      * Searches prescriptions by patient name fields with partial matching and case insensitivity.
      * 
@@ -55,6 +68,8 @@ public interface PrescriptionRepository extends JpaRepository<Prescription, Long
      * @param nameTerm the search term to match against patient names
      * @return list of matching prescriptions (empty if none found)
      */
+    @EntityGraph(type = EntityGraphType.LOAD, attributePaths = {"patient", "patient.role", "doctor", "doctor.role",
+            "doctor.department"})
     @Query("SELECT pr FROM Prescription pr WHERE " +
            "LOWER(pr.patient.surName) LIKE LOWER(CONCAT('%', :nameTerm, '%')) OR " +
            "LOWER(pr.patient.givenName) LIKE LOWER(CONCAT('%', :nameTerm, '%')) OR " +
@@ -76,6 +91,8 @@ public interface PrescriptionRepository extends JpaRepository<Prescription, Long
      * @param nameTerm the search term to match against doctor information
      * @return list of matching prescriptions (empty if none found)
      */
+    @EntityGraph(type = EntityGraphType.LOAD, attributePaths = {"patient", "patient.role", "doctor", "doctor.role",
+            "doctor.department"})
     @Query("SELECT pr FROM Prescription pr WHERE " +
            "LOWER(pr.doctor.surName) LIKE LOWER(CONCAT('%', :nameTerm, '%')) OR " +
            "LOWER(pr.doctor.givenName) LIKE LOWER(CONCAT('%', :nameTerm, '%')) OR " +
@@ -0,0 +1,63 @@
+package com.davis.hospital_Appointment_Rest_API.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.davis.hospital_Appointment_Rest_API.model.RefreshToken;
+
+/**
+ * Repository for {@link RefreshToken} records.
+ * <p>
+ * A refresh is decided by {@link #markUsed(String, Instant)} alone: a single update
+ * by primary key that succeeds only for a live, unused token. The other methods run
+ * only when that update fails or during cleanup.
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-09-01
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, String> {
+
+    /**
+     * Marks a token as used if it is unused, not revoked and not expired.
+     *
+     * @param id the token's {@code jti}
+     * @param now the current time
+     * @return 1 if the token was live and is now used, 0 otherwise
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.usedAt = :now WHERE t.id = :id " +
+           "AND t.usedAt IS NULL AND t.revoked = false AND t.expiresAt > :now")
+    int markUsed(@Param("id") String id, @Param("now") Instant now);
+
+    /**
+     * Revokes every token of a family.
+     *
+     * @param familyId the family ID
+     * @return the number of tokens revoked
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revoked = true WHERE t.familyId = :familyId")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    /**
+     * Deletes tokens that expired before the given time.
+     *
+     * @param before the cut-off
+     * @return the number of tokens deleted
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RefreshToken t WHERE t.expiresAt < :before")
+    int deleteExpired(@Param("before") Instant before);
+}
@@ -0,0 +1,65 @@
+package com.davis.hospital_Appointment_Rest_API.repository;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.davis.hospital_Appointment_Rest_API.model.ScheduleSlot;
+
+/**
+ * Repository interface for reading materialized {@link ScheduleSlot} rows.
+ * Rows are written in bulk by the materialization job, not through this repository.
+ * 
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-20
+ */
+@Repository
+public interface ScheduleSlotRepository extends JpaRepository<ScheduleSlot, Long> {
+
+    /**
+     * Returns the slot start times of a doctor on a date, in ascending order.
+     *
+     * @param doctorId The ID of the doctor
+     * @param date The slot date
+     * @return List of slot start times, empty if nothing is materialized for that date
+     */
+    @Query("SELECT DISTINCT s.startTime FROM ScheduleSlot s " +
+           "WHERE s.doctorId = :doctorId AND s.slotDate = :date ORDER BY s.startTime")
+    List<LocalTime> findStartTimes(@Param("doctorId") String doctorId, @Param("date") LocalDate date);
+
+    /**
+     * Returns the materialized slots of several doctors over a date range in one query.
+     * Each row holds the doctor ID, the slot date and the start time.
+     *
+     * @param doctorIds The IDs of the doctors
+     * @param from The first date of the range (inclusive)
+     * @param to The last date of the range (inclusive)
+     * @return List of distinct {doctorId, slotDate, startTime} rows ordered by start time
+     */
+    @Query("SELECT DISTINCT s.doctorId, s.slotDate, s.startTime FROM ScheduleSlot s " +
+           "WHERE s.doctorId IN :doctorIds AND s.slotDate BETWEEN :from AND :to " +
+           "ORDER BY s.startTime")
+    List<Object[]> findSlots(@Param("doctorIds") Collection<String> doctorIds,
+            @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Returns the ID of the earliest-starting confirmed schedule of a specialization
+     * that has materialized slots on a date.
+     *
+     * @param specialization The doctor specialization
+     * @param date The slot date
+     * @return List holding at most one schedule ID
+     */
+    @Query("SELECT s.scheduleId FROM ScheduleSlot s, Doctor d WHERE d.userId = s.doctorId " +
+           "AND d.specialization = :specialization AND s.slotDate = :date " +
+           "ORDER BY s.startTime LIMIT 1")
+    List<Long> findFirstScheduleIdBySpecializationAndDate(@Param("specialization") String specialization,
+            @Param("date") LocalDate date);
+}
@@ -0,0 +1,23 @@
+package com.davis.hospital_Appointment_Rest_API.repository;
+
+import java.util.List;
+
+import com.davis.hospital_Appointment_Rest_API.model.User;
+
+/**
+ * Repository fragment for inserting many {@link User}s in one transaction.
+ * 
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-25
+ * @see UserBatchRepositoryImpl
+ */
+public interface UserBatchRepository {
+
+    /**
+     * Inserts new users in a single transaction using JDBC batching.
+     *
+     * @param users the new users (IDs already assigned, passwords already hashed)
+     */
+    void insertAll(List<? extends User> users);
+}
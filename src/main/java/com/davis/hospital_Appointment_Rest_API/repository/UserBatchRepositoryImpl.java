@@ -0,0 +1,48 @@
+package com.davis.hospital_Appointment_Rest_API.repository;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.davis.hospital_Appointment_Rest_API.model.User;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Default implementation of {@link UserBatchRepository}.
+ * <p>
+ * Users carry application-assigned IDs, so {@code save} would merge them and issue a
+ * SELECT per row. Calling {@link EntityManager#persist} instead lets Hibernate group the
+ * INSERTs into the {@code users} table and the subclass table into JDBC batches of
+ * {@code hibernate.jdbc.batch_size}; the persistence context is flushed and cleared
+ * after every batch to keep it small.
+ * </p>
+ * 
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-25
+ */
+public class UserBatchRepositoryImpl implements UserBatchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int batchSize;
+
+    @Override
+    @Transactional
+    public void insertAll(List<? extends User> users) {
+        for (int i = 0; i < users.size(); i++) {
+            entityManager.persist(users.get(i));
+            if ((i + 1) % batchSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -1,6 +1,9 @@
 package com.davis.hospital_Appointment_Rest_API.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -8,6 +11,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.davis.hospital_Appointment_Rest_API.dto.UserCredentials;
 import com.davis.hospital_Appointment_Rest_API.model.User;
 
 /**
@@ -18,7 +22,7 @@ import com.davis.hospital_Appointment_Rest_API.model.User;
  * 
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, String> {
+public interface UserRepository extends JpaRepository<User, String>, UserBatchRepository {
 
     /**
      * Finds a user by their username or email address.
@@ -30,7 +34,49 @@ public interface UserRepository extends JpaRepository<User, String> {
     @Query("SELECT u FROM User u WHERE u.userName = :user OR u.email = :user")
     Optional<User> findByUserNameOrEmail(@Param("user") String user);
     
-    Optional<User> findByUserName(String userName);
+    /**
+     * Finds a user by username, loading the role in the same query so signing in
+     * needs no separate round trip for it.
+     *
+     * @param userName the username to search for
+     * @return the matching user with its role, or empty if none
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.role WHERE u.userName = :userName")
+    Optional<User> findByUserName(@Param("userName") String userName);
+
+    /**
+     * Loads only what signing in needs: username, password hash, status and role name.
+     * <p>
+     * Selects from the {@code users} table and the role alone, so the Admin, Doctor and
+     * Patient subtype tables are not joined.
+     * </p>
+     *
+     * @param userName the username to search for
+     * @return the user's credentials, or empty if none
+     */
+    @Query("SELECT new com.davis.hospital_Appointment_Rest_API.dto.UserCredentials(" +
+           "u.userName, u.passWord, u.status, r.name) " +
+           "FROM User u LEFT JOIN u.role r WHERE u.userName = :userName")
+    Optional<UserCredentials> findCredentialsByUserName(@Param("userName") String userName);
+
+    /**
+     * Returns which of the given usernames are already taken.
+     *
+     * @param userNames the usernames to check
+     * @return the subset of usernames that already exist
+     */
+    @Query("SELECT u.userName FROM User u WHERE u.userName IN :userNames")
+    List<String> findExistingUserNames(@Param("userNames") Collection<String> userNames);
+
+    /**
+     * Loads one page of users after the given user ID, in user ID order, with their roles.
+     *
+     * @param after the last user ID already returned ({@code ""} for the first page)
+     * @param page the page size (page number is always 0)
+     * @return up to {@code page.getPageSize()} users
+     */
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.role WHERE u.userId > :after ORDER BY u.userId")
+    List<User> findUsersAfter(@Param("after") String after, Pageable page);
     
     /**
      * Updates the status of a user identified by their username.
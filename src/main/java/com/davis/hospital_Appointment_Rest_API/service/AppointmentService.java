@@ -1,7 +1,13 @@
 package com.davis.hospital_Appointment_Rest_API.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+
+import com.davis.hospital_Appointment_Rest_API.dto.CursorPage;
+import com.davis.hospital_Appointment_Rest_API.dto.ViewAppointment;
 import com.davis.hospital_Appointment_Rest_API.model.Appointment;
+import com.davis.hospital_Appointment_Rest_API.utils.ExportFormat;
 
 /**
  * Service interface for managing {@link Appointment} entities.
@@ -38,4 +44,30 @@ public interface AppointmentService extends Service<Appointment> {
      * @throws IllegalArgumentException if the name parameter is null or empty
      */
     List<Appointment> searchByDoctorName(String name);
+
+    /**
+     * Retrieves one page of appointments as {@link ViewAppointment} views, in key (booking time) order.
+     * <p>
+     * Keyset pagination: pass {@code null} as the cursor for the first page, then the
+     * {@code nextCursor} of the previous page. The page size is capped by the server.
+     * </p>
+     *
+     * @param cursor the continuation token from the previous page, or {@code null}
+     * @param size the requested page size, or {@code null} for the default
+     * @return the page
+     * @throws com.davis.hospital_Appointment_Rest_API.exceptions.BadRequestException
+     *         if the cursor or size is invalid
+     */
+    CursorPage<ViewAppointment> findAppointmentPage(String cursor, Integer size);
+
+    /**
+     * Writes every appointment as a {@link ViewAppointment} to the given output, in key
+     * (booking time) order. Rows are streamed from the database and written one at a
+     * time, so memory use does not depend on how many appointments exist.
+     *
+     * @param out the response body to write to; left open
+     * @param format JSON array or newline-delimited JSON
+     * @throws IOException if writing to the output fails
+     */
+    void exportAppointments(OutputStream out, ExportFormat format) throws IOException;
 }
\ No newline at end of file
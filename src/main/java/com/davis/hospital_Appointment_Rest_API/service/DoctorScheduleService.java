@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
+import com.davis.hospital_Appointment_Rest_API.dto.CursorPage;
 import com.davis.hospital_Appointment_Rest_API.dto.ViewDoctorSchedule;
 import com.davis.hospital_Appointment_Rest_API.model.DoctorSchedule;
 
@@ -25,8 +26,8 @@ public interface DoctorScheduleService extends Service<DoctorSchedule> {
      * Finds doctor schedules by their medical specialization.
      *
      * @param specialization the medical specialization to search for (case-insensitive)
-     * @return a list of doctor schedules matching the specialization,
-     *         ordered by doctor's last name. Returns empty list if no matches found
+     * @return a list of upcoming doctor schedules matching the specialization,
+     *         ordered by date and start time. Returns empty list if no matches found
      * @throws IllegalArgumentException if specialization is null or empty
      */
     List<ViewDoctorSchedule> findByDoctorSpecialization(String specialization);
@@ -45,9 +46,9 @@ public interface DoctorScheduleService extends Service<DoctorSchedule> {
      * Finds doctor schedules available on a specific day of week.
      *
      * @param day the day of week to search for (case-insensitive, full day name or abbreviation)
-     * @return a list of doctor schedules available on the specified day,
+     * @return a list of doctor schedules on the next occurrence of the specified day,
      *         ordered by start time. Returns empty list if no matches found
-     * @throws IllegalArgumentException if day is null, empty, or not a valid day name
+     *         or the day name is not recognised
      */
     List<ViewDoctorSchedule> findByDayOfWeek(String day);
 
@@ -71,4 +72,19 @@ public interface DoctorScheduleService extends Service<DoctorSchedule> {
      *         </ul>
      */
     Optional<DoctorSchedule> findBySpecializationAndDate(String specialization, LocalDate date);
+
+    /**
+     * Retrieves one page of schedules with their doctor and breaks, in schedule ID order.
+     * <p>
+     * Keyset pagination: pass {@code null} as the cursor for the first page, then the
+     * {@code nextCursor} of the previous page. The page size is capped by the server.
+     * </p>
+     *
+     * @param cursor the continuation token from the previous page, or {@code null}
+     * @param size the requested page size, or {@code null} for the default
+     * @return the page
+     * @throws com.davis.hospital_Appointment_Rest_API.exceptions.BadRequestException
+     *         if the cursor or size is invalid
+     */
+    CursorPage<DoctorSchedule> findSchedulePage(String cursor, Integer size);
 }
\ No newline at end of file
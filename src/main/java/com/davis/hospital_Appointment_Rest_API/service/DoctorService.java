@@ -3,6 +3,7 @@ package com.davis.hospital_Appointment_Rest_API.service;
 import java.util.List;
 import java.util.Optional;
 
+import com.davis.hospital_Appointment_Rest_API.dto.CursorPage;
 import com.davis.hospital_Appointment_Rest_API.dto.ViewDoctor;
 import com.davis.hospital_Appointment_Rest_API.model.Doctor;
 
@@ -68,6 +69,21 @@ public interface DoctorService extends Service<Doctor> {
      *         empty list if no doctors exist (never null)
      */
     List<ViewDoctor> findAllDoctorsAsViewDoctors();
+
+    /**
+     * Retrieves one page of doctors as {@link ViewDoctor} DTOs, in user ID order.
+     * <p>
+     * Keyset pagination: pass {@code null} as the cursor for the first page, then the
+     * {@code nextCursor} of the previous page. The page size is capped by the server.
+     * </p>
+     *
+     * @param cursor the continuation token from the previous page, or {@code null}
+     * @param size the requested page size, or {@code null} for the default
+     * @return the page
+     * @throws com.davis.hospital_Appointment_Rest_API.exceptions.BadRequestException
+     *         if the cursor or size is invalid
+     */
+    CursorPage<ViewDoctor> findDoctorPage(String cursor, Integer size);
     
     /**
      * Finds doctors by their medical specialization and returns them as {@link ViewDoctor} DTOs.
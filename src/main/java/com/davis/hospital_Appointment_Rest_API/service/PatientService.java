@@ -1,9 +1,13 @@
 package com.davis.hospital_Appointment_Rest_API.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
+import com.davis.hospital_Appointment_Rest_API.dto.CursorPage;
 import com.davis.hospital_Appointment_Rest_API.dto.PatientDto;
 import com.davis.hospital_Appointment_Rest_API.model.Patient;
+import com.davis.hospital_Appointment_Rest_API.utils.ExportFormat;
 
 /**
  * Service interface for patient management operations.
@@ -85,16 +89,30 @@ public interface PatientService extends Service<Patient> {
     List<PatientDto> findAllPatients();
 
     /**
-     * Retrieves paginated list of patients as DTOs.
+     * Retrieves one page of patients as DTOs, in user ID order.
      * <p>
-     * Returns a subset of patients for efficient data transfer and display,
-     * particularly useful for large datasets.
+     * Keyset pagination: pass {@code null} as the cursor for the first page, then the
+     * {@code nextCursor} of the previous page. The page size is capped by the server.
      * </p>
      *
-     * @param pageNumber the zero-based page index (must not be negative)
-     * @param pageSize the size of the page to be returned (must be positive)
-     * @return a paginated list of {@link PatientDto} objects
-     * @throws IllegalArgumentException if pageNumber is negative or pageSize is not positive
+     * @param cursor the continuation token from the previous page, or {@code null}
+     * @param size the requested page size, or {@code null} for the default
+     * @return the page of {@link PatientDto} objects
+     * @throws com.davis.hospital_Appointment_Rest_API.exceptions.BadRequestException
+     *         if the cursor or size is invalid
      */
-    List<PatientDto> findAllPatients(int pageNumber, int pageSize);
-}
\ No newline at end of file
+    CursorPage<PatientDto> findPatientPage(String cursor, Integer size);
+
+    /**
+     * Writes every patient as a DTO to the given output, in user ID order.
+     * <p>
+     * Rows are streamed from the database and written one at a time, so memory use
+     * does not depend on how many patients exist.
+     * </p>
+     *
+     * @param out the response body to write to; left open
+     * @param format JSON array or newline-delimited JSON
+     * @throws IOException if writing to the output fails
+     */
+    void exportPatients(OutputStream out, ExportFormat format) throws IOException;
+}
@@ -3,6 +3,7 @@ package com.davis.hospital_Appointment_Rest_API.service;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import com.davis.hospital_Appointment_Rest_API.dto.CursorPage;
 import com.davis.hospital_Appointment_Rest_API.model.User;
 
 /**
@@ -32,5 +33,19 @@ public interface UserService extends Service<User> {
 	 * @throws EntityNotFoundException if the user account cannot be found
 	 */
 	boolean updateUserStatus(String userName, String status);
- 
-}
\ No newline at end of file
+
+	/**
+	 * Retrieves one page of users with their roles, in user ID order.
+	 * <p>
+	 * Keyset pagination: pass {@code null} as the cursor for the first page, then the
+	 * {@code nextCursor} of the previous page. The page size is capped by the server.
+	 * </p>
+	 *
+	 * @param cursor the continuation token from the previous page, or {@code null}
+	 * @param size the requested page size, or {@code null} for the default
+	 * @return the page
+	 * @throws com.davis.hospital_Appointment_Rest_API.exceptions.BadRequestException
+	 *         if the cursor or size is invalid
+	 */
+	CursorPage<User> findUserPage(String cursor, Integer size);
+}
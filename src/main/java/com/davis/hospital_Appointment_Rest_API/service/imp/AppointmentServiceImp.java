@@ -1,36 +1,97 @@
 package com.davis.hospital_Appointment_Rest_API.service.imp;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
 
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.davis.hospital_Appointment_Rest_API.config.TimeOrderedIdGenerator;
+import com.davis.hospital_Appointment_Rest_API.dto.AvailableSlot;
+import com.davis.hospital_Appointment_Rest_API.dto.BatchBookingResult;
+import com.davis.hospital_Appointment_Rest_API.dto.BookingOutcome;
+import com.davis.hospital_Appointment_Rest_API.dto.CursorPage;
+import com.davis.hospital_Appointment_Rest_API.dto.ViewAppointment;
+import com.davis.hospital_Appointment_Rest_API.exceptions.BadRequestException;
+import com.davis.hospital_Appointment_Rest_API.exceptions.ConflictException;
+import com.davis.hospital_Appointment_Rest_API.exceptions.ResourceNotFoundException;
+import com.davis.hospital_Appointment_Rest_API.exceptions.ServiceUnavailableException;
 import com.davis.hospital_Appointment_Rest_API.model.Appointment;
+import com.davis.hospital_Appointment_Rest_API.model.Doctor;
 import com.davis.hospital_Appointment_Rest_API.model.Patient;
 import com.davis.hospital_Appointment_Rest_API.repository.AppointmentRepository;
 import com.davis.hospital_Appointment_Rest_API.service.AppointmentService;
 import com.davis.hospital_Appointment_Rest_API.utils.AppointmentRequest;
+import com.davis.hospital_Appointment_Rest_API.utils.BatchAppointmentRequest;
+import com.davis.hospital_Appointment_Rest_API.utils.BatchAppointmentRequest.Recurrence;
+import com.davis.hospital_Appointment_Rest_API.utils.BatchAppointmentRequest.Slot;
+import com.davis.hospital_Appointment_Rest_API.utils.ExportFormat;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotCalendar;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotHold;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotReleasedEvent;
 /**
  * @author CYPRIAN DAVIS
  */
 @Service
 public class AppointmentServiceImp implements AppointmentService {
+	/** Largest number of appointments a single batch may book */
+	public static final int MAX_BATCH_SIZE = 52;
+
 	private final AppointmentRepository appointmentRepository;
 	private final PatientServiceImp patientServiceImp;
-	private final DoctorScheduleServiceImp doctorScheduleServiceImp;
-	
+	private final DoctorServiceImp doctorServiceImp;
+	private final SlotCalendarService slotCalendarService;
+	private final AvailabilitySearchService availabilitySearchService;
+	private final ReservationLockManager reservationLockManager;
+	private final SlotHoldService slotHoldService;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TimeOrderedIdGenerator idGenerator;
+	private final CursorPaginator cursorPaginator;
+	private final StreamingExportWriter exportWriter;
+
 	public AppointmentServiceImp(AppointmentRepository appointmentRepository,
 			PatientServiceImp patientServiceImp,
-			DoctorScheduleServiceImp doctorScheduleServiceImp) {
+			DoctorServiceImp doctorServiceImp,
+			SlotCalendarService slotCalendarService,
+			AvailabilitySearchService availabilitySearchService,
+			ReservationLockManager reservationLockManager,
+			SlotHoldService slotHoldService,
+			ApplicationEventPublisher eventPublisher,
+			TimeOrderedIdGenerator idGenerator,
+			CursorPaginator cursorPaginator,
+			StreamingExportWriter exportWriter) {
 		this.appointmentRepository =appointmentRepository;
 		this.patientServiceImp =patientServiceImp;
-		this.doctorScheduleServiceImp = doctorScheduleServiceImp;
-		
+		this.doctorServiceImp = doctorServiceImp;
+		this.slotCalendarService = slotCalendarService;
+		this.availabilitySearchService = availabilitySearchService;
+		this.reservationLockManager = reservationLockManager;
+		this.slotHoldService = slotHoldService;
+		this.eventPublisher = eventPublisher;
+		this.idGenerator = idGenerator;
+		this.cursorPaginator = cursorPaginator;
+		this.exportWriter = exportWriter;
+
 	}
-	
+
 
 	@Override
 	public List<Appointment> findAll() {
@@ -38,35 +99,439 @@ public class AppointmentServiceImp implements AppointmentService {
 		return appointmentRepository.findAll();
 	}
 
+	/**
+	 * Lists all appointments as flat views, loaded in a single query.
+	 *
+	 * @return the appointment views, newest first
+	 */
+	public List<ViewAppointment> findAllViews() {
+		return appointmentRepository.findAllAsView();
+	}
+
+	/**
+	 * Lists one page of appointment views in key order, which is booking order.
+	 *
+	 * @param cursor the continuation token from the previous page, or {@code null}
+	 * @param size the requested page size, or {@code null} for the default
+	 * @return the page of appointment views
+	 */
+	@Override
+	public CursorPage<ViewAppointment> findAppointmentPage(String cursor, Integer size) {
+		return cursorPaginator.page("appointments", cursor, size,
+				appointmentRepository::findViewsAfter, ViewAppointment::getId);
+	}
+
+	/**
+	 * Streams every appointment view to the given output inside one read-only transaction.
+	 *
+	 * @param out the response body to write to; left open
+	 * @param format JSON array or newline-delimited JSON
+	 * @throws IOException if writing to the output fails
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public void exportAppointments(OutputStream out, ExportFormat format) throws IOException {
+		try (Stream<ViewAppointment> appointments = appointmentRepository.streamAllAsView()) {
+			exportWriter.write(appointments, format, out);
+		}
+	}
+
+	/**
+	 * Saves an appointment, atomically reserving its slot first.
+	 * <p>
+	 * The work runs under the doctor-day lock of {@link ReservationLockManager}, so
+	 * bookings of the same doctor and date queue briefly while other doctors book in
+	 * parallel. The slot bit in the doctor's calendar is flipped with compare-and-set,
+	 * so of any number of requests for the same slot exactly one proceeds to the
+	 * database. The unique {@link Appointment#SLOT_CONSTRAINT} catches bookings made
+	 * on other nodes. An appointment without an ID is given a time-ordered key from
+	 * {@link TimeOrderedIdGenerator}.
+	 * </p>
+	 *
+	 * @param appointment the appointment to save
+	 * @return the saved appointment
+	 * @throws ConflictException if the requested slot is not free
+	 * @throws ServiceUnavailableException if the doctor-day lock is not acquired in time
+	 */
 	@Override
 	public Appointment save(Appointment appointment) {
-		// TODO Auto-generated method stub
-		//set Creation date and status
-		
-		
-		
-		
-		
-		
-		/*LocalDateTime now = LocalDateTime.now();
-		appointment.setCreatedOn(Date.from(now.atZone(ZoneId.systemDefault()).toInstant()));
-		appointment.setStatus("Scheduled");*/
+		if (appointment.getId() == null || appointment.getId().isEmpty()) {
+			appointment.setId(idGenerator.nextId());
+		}
+		if (!isSlotted(appointment)) {
+			return persist(appointment);
+		}
+		String doctorId = appointment.getDoctor().getUserId();
+		LocalDate date = toLocalDate(appointment.getDate());
+		return reservationLockManager.withLock(doctorId, date, () -> {
+			if (!slotCalendarService.reserve(doctorId, date, appointment.getStartTime())) {
+				throw new ConflictException("The selected slot is not available");
+			}
+			return persist(appointment);
+		});
+	}
+
+	/**
+	 * Books the earliest free slot with any doctor of the requested specialty on the
+	 * preferred date.
+	 *
+	 * @param request the booking request
+	 * @return the saved appointment
+	 * @throws ResourceNotFoundException if the patient cannot be found
+	 * @throws BadRequestException if no slot is free on the preferred date
+	 * @throws ServiceUnavailableException if a doctor-day lock is not acquired in time
+	 */
+	public Appointment book(AppointmentRequest request) {
+		Patient patient = patientServiceImp.findById(request.patientId())
+				.orElseThrow(() -> new ResourceNotFoundException("Patient not found with ID: " + request.patientId()));
+		LocalDate date = request.preferredDate();
+		List<AvailableSlot> candidates = availabilitySearchService.findEarliestSlots(
+				request.doctorSpecialty(), date, 1, AvailabilitySearchService.MAX_RESULTS);
+
+		//Take the earliest free slot; move on if another booking wins the race for it
+		for (AvailableSlot slot : candidates) {
+			Appointment booked = reservationLockManager.withLock(slot.getDoctorId(), date,
+					() -> tryBook(slot, patient, date));
+			if (booked != null) {
+				return booked;
+			}
+		}
+		throw new BadRequestException("No free " + request.doctorSpecialty() + " slots on " + date);
+	}
+
+	/**
+	 * Reserves and writes one candidate slot; must run under the slot's doctor-day lock.
+	 *
+	 * @return the saved appointment, or {@code null} if the slot was taken meanwhile
+	 */
+	private Appointment tryBook(AvailableSlot slot, Patient patient, LocalDate date) {
+		if (!slotCalendarService.reserve(slot.getDoctorId(), date, slot.getStartTime())) {
+			return null;
+		}
+		Doctor doctor = doctorServiceImp.findById(slot.getDoctorId()).orElse(null);
+		if (doctor == null) {
+			slotCalendarService.release(slot.getDoctorId(), date, slot.getStartTime());
+			return null;
+		}
+		Appointment appointment = newAppointment(doctor, patient, date, slot.getStartTime());
+		try {
+			return persist(appointment);
+		} catch (ConflictException e) {
+			//Booked on another node since the calendar was built
+			return null;
+		}
+	}
+
+	/**
+	 * Converts a live slot hold into an appointment.
+	 * <p>
+	 * The hold's slot bit is already set, so no new reservation is needed; the hold
+	 * is claimed and the appointment written under the doctor-day lock. If the
+	 * patient or doctor no longer exists the slot is freed.
+	 * </p>
+	 *
+	 * @param holdId the hold ID
+	 * @return the saved appointment
+	 * @throws ResourceNotFoundException if the hold, patient or doctor cannot be found
+	 * @throws ConflictException if the slot was booked on another node meanwhile
+	 * @throws ServiceUnavailableException if the doctor-day lock is not acquired in time
+	 */
+	public Appointment confirmHold(String holdId) {
+		SlotHold held = slotHoldService.find(holdId)
+				.orElseThrow(() -> new ResourceNotFoundException("Hold not found or expired: " + holdId));
+		return reservationLockManager.withLock(held.getDoctorId(), held.getDate(), () -> {
+			SlotHold hold = slotHoldService.claim(holdId);
+			Patient patient = patientServiceImp.findById(hold.getPatientId()).orElse(null);
+			Doctor doctor = doctorServiceImp.findById(hold.getDoctorId()).orElse(null);
+			if (patient == null || doctor == null) {
+				slotCalendarService.release(hold.getDoctorId(), hold.getDate(), hold.getStartTime());
+				throw new ResourceNotFoundException(patient == null
+						? "Patient not found with ID: " + hold.getPatientId()
+						: "Doctor not found with ID: " + hold.getDoctorId());
+			}
+			return persist(newAppointment(doctor, patient, hold.getDate(), hold.getStartTime()));
+		});
+	}
+
+	/**
+	 * Cancels a scheduled appointment and frees its slot.
+	 * <p>
+	 * The row is kept with status {@link Appointment#STATUS_CANCELLED} and a
+	 * cancellation stamp that takes it out of the slot constraint. Once the slot bit
+	 * is cleared a {@link SlotReleasedEvent} is published so the waitlist can offer
+	 * the slot to the next patient.
+	 * </p>
+	 *
+	 * @param appointmentId the appointment ID
+	 * @return the cancelled appointment
+	 * @throws ResourceNotFoundException if the appointment cannot be found
+	 * @throws BadRequestException if the appointment is not scheduled
+	 * @throws ServiceUnavailableException if the doctor-day lock is not acquired in time
+	 */
+	public Appointment cancel(String appointmentId) {
+		Appointment appointment = appointmentRepository.findById(appointmentId)
+				.orElseThrow(() -> new ResourceNotFoundException("Appointment not found with ID: " + appointmentId));
+		if (!Appointment.STATUS_SCHEDULED.equals(appointment.getStatus())) {
+			throw new BadRequestException("Only scheduled appointments can be cancelled");
+		}
+		if (!isSlotted(appointment)) {
+			return markCancelled(appointment);
+		}
+		String doctorId = appointment.getDoctor().getUserId();
+		LocalDate date = toLocalDate(appointment.getDate());
+		Appointment cancelled = reservationLockManager.withLock(doctorId, date, () -> {
+			Appointment saved = markCancelled(appointment);
+			slotCalendarService.release(doctorId, date, saved.getStartTime());
+			return saved;
+		});
+		eventPublisher.publishEvent(new SlotReleasedEvent(doctorId, date, cancelled.getStartTime()));
+		return cancelled;
+	}
+
+	private Appointment markCancelled(Appointment appointment) {
+		appointment.setStatus(Appointment.STATUS_CANCELLED);
+		// Unique across nodes, so repeated cancellations of one slot never collide
+		appointment.setCancellationStamp(idGenerator.nextLong());
+		appointment.setUpdateOn(Date.from(LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant()));
 		return appointmentRepository.save(appointment);
 	}
 
+	/**
+	 * Books a series of appointments for one patient with one doctor in one call.
+	 * <p>
+	 * The locks of every involved doctor-day are taken up front in a fixed order, each
+	 * slot bit is reserved, and all reserved appointments are inserted in a single
+	 * transaction with JDBC batching. In all-or-nothing mode a single unavailable slot
+	 * rejects the whole batch and releases every reservation; in best-effort mode the
+	 * available slots are booked and the others are reported with a reason.
+	 * </p>
+	 *
+	 * @param request the batch request (explicit slots and/or a recurrence rule)
+	 * @return one outcome per requested slot, in date and time order
+	 * @throws ResourceNotFoundException if the patient or doctor cannot be found
+	 * @throws BadRequestException if no slots are requested, the batch is too large,
+	 *         or a slot or recurrence rule is incomplete
+	 * @throws ConflictException if an all-or-nothing batch loses a slot to another node
+	 * @throws ServiceUnavailableException if the doctor-day locks are not acquired in time
+	 */
+	public BatchBookingResult bookBatch(BatchAppointmentRequest request) {
+		List<Slot> slots = expand(request);
+		Patient patient = patientServiceImp.findById(request.patientId())
+				.orElseThrow(() -> new ResourceNotFoundException("Patient not found with ID: " + request.patientId()));
+		Doctor doctor = doctorServiceImp.findById(request.doctorId())
+				.orElseThrow(() -> new ResourceNotFoundException("Doctor not found with ID: " + request.doctorId()));
+		Set<LocalDate> dates = new TreeSet<>();
+		slots.forEach(slot -> dates.add(slot.date()));
+
+		return reservationLockManager.withLocks(doctor.getUserId(), dates,
+				() -> reserveAndInsert(request.allOrNothing(), doctor, patient, slots));
+	}
+
+	/**
+	 * Reserves and writes the slots of a batch; must run under the batch's doctor-day locks.
+	 */
+	private BatchBookingResult reserveAndInsert(boolean allOrNothing, Doctor doctor, Patient patient,
+			List<Slot> slots) {
+		LocalDate today = LocalDate.now();
+		Map<Slot, Appointment> reserved = new LinkedHashMap<>();
+		Map<Slot, String> rejected = new HashMap<>();
+		for (Slot slot : slots) {
+			String reason = reserveSlot(doctor.getUserId(), slot, today);
+			if (reason == null) {
+				reserved.put(slot, newAppointment(doctor, patient, slot.date(), slot.startTime()));
+			} else {
+				rejected.put(slot, reason);
+			}
+		}
+
+		if (allOrNothing && !rejected.isEmpty()) {
+			releaseAll(reserved.values());
+			reserved.keySet().forEach(slot -> rejected.put(slot, "Batch rejected because other slots are unavailable"));
+			reserved.clear();
+		} else if (!reserved.isEmpty()) {
+			try {
+				appointmentRepository.insertAll(new ArrayList<>(reserved.values()));
+			} catch (DataIntegrityViolationException e) {
+				if (allOrNothing || !isSlotConflict(e)) {
+					releaseAll(reserved.values());
+					if (isSlotConflict(e)) {
+						throw new ConflictException("One or more slots were booked by another request");
+					}
+					throw e;
+				}
+				//Some slot was taken on another node; fall back to writing one at a time
+				insertOneByOne(reserved, rejected);
+			} catch (RuntimeException e) {
+				releaseAll(reserved.values());
+				throw e;
+			}
+		}
+
+		List<BookingOutcome> outcomes = new ArrayList<>(slots.size());
+		for (Slot slot : slots) {
+			Appointment appointment = reserved.get(slot);
+			outcomes.add(appointment != null
+					? BookingOutcome.booked(slot.date(), slot.startTime(), appointment.getId())
+					: BookingOutcome.rejected(slot.date(), slot.startTime(), rejected.get(slot)));
+		}
+		return new BatchBookingResult(allOrNothing, outcomes);
+	}
+
+	/**
+	 * Writes reserved appointments one at a time, moving those whose slot is already
+	 * taken in the database from {@code reserved} to {@code rejected}. If a write fails
+	 * for any other reason, the slots of the appointments not yet written are given
+	 * back before the failure is rethrown; {@link #persist(Appointment)} has already
+	 * given back the slot of the one that failed.
+	 */
+	private void insertOneByOne(Map<Slot, Appointment> reserved, Map<Slot, String> rejected) {
+		Iterator<Map.Entry<Slot, Appointment>> it = reserved.entrySet().iterator();
+		try {
+			while (it.hasNext()) {
+				Map.Entry<Slot, Appointment> entry = it.next();
+				try {
+					persist(entry.getValue());
+				} catch (ConflictException conflict) {
+					rejected.put(entry.getKey(), "Slot already booked");
+					it.remove();
+				}
+			}
+		} catch (RuntimeException e) {
+			List<Appointment> unwritten = new ArrayList<>();
+			it.forEachRemaining(entry -> unwritten.add(entry.getValue()));
+			releaseAll(unwritten);
+			throw e;
+		}
+	}
+
+	/**
+	 * Reserves one slot of a batch.
+	 *
+	 * @return {@code null} if the slot was reserved, otherwise why it was not
+	 */
+	private String reserveSlot(String doctorId, Slot slot, LocalDate today) {
+		if (slot.date().isBefore(today)) {
+			return "Date is in the past";
+		}
+		SlotCalendar calendar = slotCalendarService.getCalendar(doctorId, slot.date()).orElse(null);
+		if (calendar == null) {
+			return "Doctor has no schedule on this date";
+		}
+		if (calendar.indexOf(slot.startTime()) < 0) {
+			return "Not a bookable slot for this doctor";
+		}
+		return calendar.tryReserve(slot.startTime()) ? null : "Slot already booked";
+	}
+
+	/**
+	 * Expands a batch request into its distinct slots in date and time order.
+	 */
+	private static List<Slot> expand(BatchAppointmentRequest request) {
+		TreeSet<Slot> slots = new TreeSet<>(Comparator.comparing(Slot::date).thenComparing(Slot::startTime));
+		if (request.slots() != null) {
+			for (Slot slot : request.slots()) {
+				if (slot == null || slot.date() == null || slot.startTime() == null) {
+					throw new BadRequestException("Each slot needs a date and a start time");
+				}
+				slots.add(slot);
+			}
+		}
+		Recurrence recurrence = request.recurrence();
+		if (recurrence != null) {
+			if (recurrence.startDate() == null || recurrence.startTime() == null
+					|| recurrence.intervalDays() < 1 || recurrence.occurrences() < 1) {
+				throw new BadRequestException(
+						"Recurrence needs a start date, a start time, a positive interval and a positive number of occurrences");
+			}
+			if (recurrence.occurrences() > MAX_BATCH_SIZE) {
+				throw new BadRequestException("A batch may book at most " + MAX_BATCH_SIZE + " appointments");
+			}
+			for (int i = 0; i < recurrence.occurrences(); i++) {
+				slots.add(new Slot(recurrence.startDate().plusDays((long) i * recurrence.intervalDays()),
+						recurrence.startTime()));
+			}
+		}
+		if (slots.isEmpty()) {
+			throw new BadRequestException("No slots requested");
+		}
+		if (slots.size() > MAX_BATCH_SIZE) {
+			throw new BadRequestException("A batch may book at most " + MAX_BATCH_SIZE + " appointments");
+		}
+		return List.copyOf(slots);
+	}
+
+	private void releaseAll(Collection<Appointment> appointments) {
+		for (Appointment appointment : appointments) {
+			slotCalendarService.release(appointment.getDoctor().getUserId(),
+					toLocalDate(appointment.getDate()), appointment.getStartTime());
+		}
+	}
+
+	private Appointment newAppointment(Doctor doctor, Patient patient, LocalDate date, LocalTime startTime) {
+		Appointment appointment = new Appointment();
+		appointment.setId(idGenerator.nextId());
+		appointment.setDoctor(doctor);
+		appointment.setPatient(patient);
+		appointment.setDate(java.sql.Date.valueOf(date));
+		appointment.setStartTime(startTime);
+		appointment.setEndTime(startTime.plusMinutes(SlotCalendar.SLOT_MINUTES));
+		appointment.setStatus(Appointment.STATUS_SCHEDULED);
+		appointment.setCreatedOn(Date.from(LocalDateTime.now().atZone(ZoneId.systemDefault()).toInstant()));
+		return appointment;
+	}
+
 	@Override
 	public List<Appointment> searchByPatientName(String name) {
-		// TODO Auto-generated method stub
-		return null;
+		return appointmentRepository.searchByPatientName(name);
 	}
 
 	@Override
 	public List<Appointment> searchByDoctorName(String name) {
-		// TODO Auto-generated method stub
-		return null;
+		return appointmentRepository.searchByDoctorName(name);
+	}
+
+	/**
+	 * Writes an appointment whose slot has already been reserved, flushing at once
+	 * so a slot constraint violation surfaces here. The slot is given back if the
+	 * row cannot be written, unless the database says the slot is already taken.
+	 */
+	private Appointment persist(Appointment appointment) {
+		try {
+			return appointmentRepository.saveAndFlush(appointment);
+		} catch (DataIntegrityViolationException e) {
+			if (isSlotConflict(e)) {
+				throw new ConflictException("The selected slot is not available");
+			}
+			if (isSlotted(appointment)) {
+				slotCalendarService.release(appointment.getDoctor().getUserId(),
+						toLocalDate(appointment.getDate()), appointment.getStartTime());
+			}
+			throw e;
+		} catch (RuntimeException e) {
+			if (isSlotted(appointment)) {
+				slotCalendarService.release(appointment.getDoctor().getUserId(),
+						toLocalDate(appointment.getDate()), appointment.getStartTime());
+			}
+			throw e;
+		}
 	}
 
+	private static boolean isSlotConflict(DataIntegrityViolationException e) {
+		String message = e.getMostSpecificCause().getMessage();
+		return message != null && message.contains(Appointment.SLOT_CONSTRAINT);
+	}
+
+	private static boolean isSlotted(Appointment appointment) {
+		return appointment.getDoctor() != null && appointment.getDate() != null
+				&& appointment.getStartTime() != null;
+	}
 
+	/**
+	 * Converts the appointment's {@link Date} (either {@code java.util.Date} or
+	 * {@code java.sql.Date}) to a {@link LocalDate}.
+	 */
+	private static LocalDate toLocalDate(Date date) {
+		return new java.sql.Date(date.getTime()).toLocalDate();
 	}
 
 }
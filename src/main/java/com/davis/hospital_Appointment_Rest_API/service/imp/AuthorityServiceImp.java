@@ -4,15 +4,19 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import com.davis.hospital_Appointment_Rest_API.config.CacheConfig;
 import com.davis.hospital_Appointment_Rest_API.model.Authority;
 import com.davis.hospital_Appointment_Rest_API.repository.AuthorityRepository;
 import com.davis.hospital_Appointment_Rest_API.service.AuthorityService;
 
 /**
  * Implementation of the {@link AuthorityService} interface that provides
- * CRUD operations for {@link Authority} entities.
+ * CRUD operations for {@link Authority} entities. Lookups are served from the
+ * {@value CacheConfig#AUTHORITIES} cache, which {@link #save(Authority)} clears.
  * 
  * @author CYPRIAN DAVIS
  * @see AuthorityService
@@ -31,6 +35,7 @@ public class AuthorityServiceImp implements AuthorityService {
      * @return a list of all authorities
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.AUTHORITIES, key = "'all'")
     public List<Authority> findAll() {
         return authorityRepository.findAll();
     }
@@ -43,6 +48,7 @@ public class AuthorityServiceImp implements AuthorityService {
      * @throws IllegalArgumentException if the provided authority is null
      */
     @Override
+    @CacheEvict(cacheNames = CacheConfig.AUTHORITIES, allEntries = true)
     public Authority save(Authority authority) {
         return authorityRepository.save(authority);
     }
@@ -54,6 +60,8 @@ public class AuthorityServiceImp implements AuthorityService {
      * @return the authority with the given name, or null if not found
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.AUTHORITIES, key = "'name:' + #name.toLowerCase(T(java.util.Locale).ROOT)",
+            condition = "#name != null", unless = "#result == null")
     public Authority findByName(String name) {
         return authorityRepository.findByNameIgnoreCase(name);
     }
@@ -66,9 +74,8 @@ public class AuthorityServiceImp implements AuthorityService {
      *         or empty Optional if not found
      * @throws IllegalArgumentException if the provided id is null
      */
-    
+    @Cacheable(cacheNames = CacheConfig.AUTHORITIES, key = "'id:' + #id", unless = "#result == null")
     public Optional<Authority> findById(Long id) {
-       
         return authorityRepository.findById(id);
     }
 
@@ -0,0 +1,182 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.davis.hospital_Appointment_Rest_API.model.AvailabilityView;
+import com.davis.hospital_Appointment_Rest_API.model.Doctor;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotCalendar;
+
+/**
+ * Keeps the {@link AvailabilityView} read model in step with the write side.
+ * <p>
+ * Updates are incremental:
+ * <ul>
+ *   <li>When a doctor's templates are re-expanded, that doctor's future rows are
+ *       rebuilt from the dated slot rows and freshly built slot calendars</li>
+ *   <li>When a doctor's name or specialization changes, the denormalized columns of
+ *       that doctor's rows are rewritten</li>
+ *   <li>Booking, cancellation and holds only flip bits in the slot calendars; the
+ *       changed doctor-days are collected and written as one JDBC batch per second,
+ *       so a burst of bookings on one day costs a single row update</li>
+ * </ul>
+ * Remaining capacity is always taken from the slot calendars, so holds count as taken
+ * and a rebuild agrees with the next flush.
+ * Schedule browsing then reads a single table without joins, at the price of
+ * remaining capacity trailing the calendars by up to one flush interval.
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-22
+ * @see AvailabilityView
+ * @see ScheduleMaterializationService
+ */
+@Service
+public class AvailabilityProjectionService {
+
+    private static final String SELECT_DOCTOR_DAYS =
+            "SELECT slotDate, MIN(startTime), MAX(endTime) FROM Schedule_Slot "
+            + "WHERE doctorId = ? AND slotDate >= ? GROUP BY slotDate";
+    private static final String DELETE_DOCTOR_ROWS =
+            "DELETE FROM Availability_View WHERE doctorId = ? AND slotDate >= ?";
+    private static final String INSERT_ROW =
+            "INSERT INTO Availability_View (specialization, slotDate, doctorId, doctorName, searchName, dayOfWeek, "
+            + "startTime, endTime, totalSlots, remainingSlots) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_DOCTOR =
+            "UPDATE Availability_View SET specialization = ?, doctorName = ?, searchName = ? WHERE doctorId = ?";
+    private static final String UPDATE_CAPACITY =
+            "UPDATE Availability_View SET totalSlots = ?, remainingSlots = ? WHERE doctorId = ? AND slotDate = ?";
+    private static final String DELETE_PAST_ROWS =
+            "DELETE FROM Availability_View WHERE slotDate < ?";
+    private static final String DELETE_ORPHAN_ROWS =
+            "DELETE FROM Availability_View WHERE NOT EXISTS (SELECT 1 FROM Schedule_Slot s "
+            + "WHERE s.doctorId = Availability_View.doctorId AND s.slotDate = Availability_View.slotDate)";
+
+    /**
+     * Opening hours of one doctor's materialized slots on a date.
+     */
+    private record DoctorDay(LocalDate date, LocalTime startTime, LocalTime endTime) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SlotCalendarService slotCalendarService;
+
+    public AvailabilityProjectionService(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            SlotCalendarService slotCalendarService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.slotCalendarService = slotCalendarService;
+    }
+
+    /**
+     * Rebuilds a doctor's rows from today on, after the doctor's templates were re-expanded.
+     *
+     * @param doctor the doctor
+     */
+    public synchronized void rebuildDoctor(Doctor doctor) {
+        String doctorId = doctor.getUserId();
+        LocalDate today = LocalDate.now();
+        List<DoctorDay> days = jdbcTemplate.query(SELECT_DOCTOR_DAYS,
+                (rs, rowNum) -> new DoctorDay(rs.getDate(1).toLocalDate(), rs.getTime(2).toLocalTime(),
+                        rs.getTime(3).toLocalTime()),
+                doctorId, Date.valueOf(today));
+
+        // Rebuilt even when no days remain, so calendars of dropped days are evicted too
+        LocalDate last = days.stream().map(DoctorDay::date).max(LocalDate::compareTo).orElse(today);
+        Map<LocalDate, SlotCalendar> calendars = slotCalendarService.reloadMaterialized(doctorId, today, last)
+                .stream().collect(Collectors.toMap(SlotCalendar::getDate, Function.identity()));
+        List<DoctorDay> rows = days.stream().filter(day -> calendars.containsKey(day.date())).toList();
+
+        String doctorName = displayName(doctor);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_DOCTOR_ROWS, doctorId, Date.valueOf(today));
+            if (rows.isEmpty()) {
+                return;
+            }
+            jdbcTemplate.batchUpdate(INSERT_ROW, rows, rows.size(), (ps, day) -> {
+                SlotCalendar calendar = calendars.get(day.date());
+                ps.setString(1, doctor.getSpecialization());
+                ps.setDate(2, Date.valueOf(day.date()));
+                ps.setString(3, doctorId);
+                ps.setString(4, doctorName);
+                ps.setString(5, doctorName.toLowerCase(Locale.ENGLISH));
+                ps.setString(6, SlotCalendarService.dayName(day.date()));
+                ps.setTime(7, Time.valueOf(day.startTime()));
+                ps.setTime(8, Time.valueOf(day.endTime()));
+                ps.setInt(9, calendar.totalSlots());
+                ps.setInt(10, calendar.freeCount());
+            });
+        });
+    }
+
+    /**
+     * Rewrites the denormalized doctor columns after a doctor was saved.
+     *
+     * @param doctor the saved doctor
+     */
+    public synchronized void updateDoctor(Doctor doctor) {
+        String doctorName = displayName(doctor);
+        jdbcTemplate.update(UPDATE_DOCTOR, doctor.getSpecialization(), doctorName,
+                doctorName.toLowerCase(Locale.ENGLISH), doctor.getUserId());
+    }
+
+    /**
+     * Removes rows of past dates and of doctor-days that no longer have any slots.
+     */
+    public synchronized void prune() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_PAST_ROWS, Date.valueOf(LocalDate.now()));
+            jdbcTemplate.update(DELETE_ORPHAN_ROWS);
+        });
+    }
+
+    /**
+     * Writes the remaining capacity of every doctor-day whose slot calendar changed
+     * since the last flush. If the write fails, the doctor-days are marked as changed
+     * again so the next flush retries them.
+     */
+    @Scheduled(fixedDelayString = "${availability.projection.flush-ms:1000}")
+    public synchronized void flushChanges() {
+        List<SlotCalendar> changed = slotCalendarService.drainChanged();
+        if (changed.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_CAPACITY, changed, changed.size(), (ps, calendar) -> {
+                ps.setInt(1, calendar.totalSlots());
+                ps.setInt(2, calendar.freeCount());
+                ps.setString(3, calendar.getDoctorId());
+                ps.setDate(4, Date.valueOf(calendar.getDate()));
+            });
+        } catch (RuntimeException e) {
+            slotCalendarService.markChanged(changed);
+            throw e;
+        }
+    }
+
+    /**
+     * Builds the display name shown in schedule listings.
+     */
+    private static String displayName(Doctor doctor) {
+        StringBuilder name = new StringBuilder()
+                .append(doctor.getSurName()).append(' ').append(doctor.getGivenName());
+        if (doctor.getOtherName() != null && !doctor.getOtherName().isEmpty()) {
+            name.append(' ').append(doctor.getOtherName());
+        }
+        return name.toString();
+    }
+}
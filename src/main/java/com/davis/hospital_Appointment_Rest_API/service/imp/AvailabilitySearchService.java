@@ -0,0 +1,239 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+
+import com.davis.hospital_Appointment_Rest_API.dto.AvailableSlot;
+import com.davis.hospital_Appointment_Rest_API.model.Doctor;
+import com.davis.hospital_Appointment_Rest_API.model.DoctorSchedule;
+import com.davis.hospital_Appointment_Rest_API.repository.DoctorScheduleRepository;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotCalendar;
+
+/**
+ * Earliest-available-slot search across every doctor of a specialization.
+ * <p>
+ * For each specialization an in-memory index maps each day of week to the doctors
+ * working that day. Indexes are keyed by the trimmed, lower-cased specialization, are
+ * loaded with one query and kept until a schedule or doctor of that specialization
+ * changes. Specializations without any confirmed schedule are not kept, so searches
+ * for made-up names cannot grow the map. A search walks the requested date window in order and,
+ * per date, merges the free slots of all working doctors' {@link SlotCalendar}s with a
+ * priority queue, stopping as soon as the requested number of slots is collected.
+ * </p>
+ *
+ * <p><b>Cost:</b> a cold search runs at most three queries (index load, materialized
+ * slots and booked slots); a warm search runs none.</p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-06
+ * @see SlotCalendarService
+ * @see AvailableSlot
+ */
+@Service
+public class AvailabilitySearchService {
+
+    /** Largest date window a single search may cover */
+    public static final int MAX_WINDOW_DAYS = 60;
+
+    /** Largest number of slots a single search may return */
+    public static final int MAX_RESULTS = 50;
+
+    /**
+     * Confirmed schedules of one specialization grouped by day of week.
+     */
+    private record SpecializationIndex(List<DoctorSchedule> schedules,
+            Map<DayOfWeek, List<String>> doctorsByDay, Map<String, String> doctorNames) {
+    }
+
+    /**
+     * Position of the merge in one doctor's calendar.
+     */
+    private record Cursor(String doctorId, SlotCalendar calendar, LocalTime startTime) {
+    }
+
+    private static final Comparator<Cursor> EARLIEST_FIRST = Comparator
+            .comparing(Cursor::startTime)
+            .thenComparing(Cursor::doctorId);
+
+    private final DoctorScheduleRepository doctorScheduleRepository;
+    private final SlotCalendarService slotCalendarService;
+    private final Map<String, SpecializationIndex> indexes = new ConcurrentHashMap<>();
+
+    /** Bumped by every eviction, so an index loaded before it is not cached after it */
+    private long evictions;
+
+    public AvailabilitySearchService(DoctorScheduleRepository doctorScheduleRepository,
+            SlotCalendarService slotCalendarService) {
+        this.doctorScheduleRepository = doctorScheduleRepository;
+        this.slotCalendarService = slotCalendarService;
+    }
+
+    /**
+     * Finds the earliest free slots with any doctor of a specialization.
+     *
+     * @param specialization the medical specialization (e.g., "Cardiology"; must not be empty)
+     * @param from           the first date to search (must not be null)
+     * @param days           the number of days to search, starting at {@code from}
+     *                       (1 to {@value #MAX_WINDOW_DAYS})
+     * @param limit          the maximum number of slots to return (1 to {@value #MAX_RESULTS})
+     * @return free slots ranked by date, start time and doctor ID; empty list if none
+     * @throws IllegalArgumentException if any parameter is missing or out of range
+     */
+    public List<AvailableSlot> findEarliestSlots(String specialization, LocalDate from, int days, int limit) {
+        if (specialization == null || specialization.trim().isEmpty()) {
+            throw new IllegalArgumentException("Specialization cannot be null or empty");
+        }
+        if (from == null) {
+            throw new IllegalArgumentException("Start date cannot be null");
+        }
+        if (days < 1 || days > MAX_WINDOW_DAYS) {
+            throw new IllegalArgumentException("Days must be between 1 and " + MAX_WINDOW_DAYS);
+        }
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_RESULTS);
+        }
+
+        SpecializationIndex index = index(key(specialization));
+        List<AvailableSlot> result = new ArrayList<>(limit);
+        if (index.schedules().isEmpty()) {
+            return result;
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDate start = from.isBefore(today) ? today : from;
+        LocalDate end = from.plusDays(days - 1L);
+        if (start.isAfter(end)) {
+            return result;
+        }
+        slotCalendarService.preload(index.schedules(), start, end);
+
+        for (LocalDate date = start; !date.isAfter(end) && result.size() < limit; date = date.plusDays(1)) {
+            List<String> doctorIds = index.doctorsByDay().getOrDefault(date.getDayOfWeek(), List.of());
+            LocalTime notBefore = date.equals(today) ? LocalTime.now() : null;
+
+            PriorityQueue<Cursor> queue = new PriorityQueue<>(Math.max(1, doctorIds.size()), EARLIEST_FIRST);
+            for (String doctorId : doctorIds) {
+                SlotCalendar calendar = slotCalendarService.getCalendar(doctorId, date).orElse(null);
+                LocalTime first = calendar == null ? null : calendar.firstFree(notBefore);
+                if (first != null) {
+                    queue.add(new Cursor(doctorId, calendar, first));
+                }
+            }
+
+            while (!queue.isEmpty() && result.size() < limit) {
+                Cursor cursor = queue.poll();
+                result.add(new AvailableSlot(cursor.doctorId(), index.doctorNames().get(cursor.doctorId()),
+                        specialization, date, cursor.startTime(),
+                        cursor.startTime().plusMinutes(SlotCalendar.SLOT_MINUTES)));
+                LocalTime next = cursor.calendar().nextFreeAfter(cursor.startTime());
+                if (next != null) {
+                    queue.add(new Cursor(cursor.doctorId(), cursor.calendar(), next));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops the index of a specialization so the next search reloads it.
+     *
+     * @param specialization the specialization whose schedules changed
+     */
+    public void evict(String specialization) {
+        if (specialization != null) {
+            synchronized (indexes) {
+                evictions++;
+                indexes.remove(key(specialization));
+            }
+        }
+    }
+
+    /**
+     * Drops every index that lists a doctor, e.g. after the doctor's specialization or
+     * name changed.
+     *
+     * @param doctorId the doctor's user ID
+     */
+    public void evictDoctor(String doctorId) {
+        synchronized (indexes) {
+            evictions++;
+            indexes.values().removeIf(index -> index.doctorNames().containsKey(doctorId));
+        }
+    }
+
+    /**
+     * Returns the cached index of a specialization key, loading it outside any lock on
+     * a miss. Only non-empty indexes that no eviction overtook are cached.
+     */
+    private SpecializationIndex index(String key) {
+        SpecializationIndex index = indexes.get(key);
+        if (index != null) {
+            return index;
+        }
+        long evictionsBefore;
+        synchronized (indexes) {
+            evictionsBefore = evictions;
+        }
+        SpecializationIndex loaded = loadIndex(key);
+        if (loaded.schedules().isEmpty()) {
+            return loaded;
+        }
+        synchronized (indexes) {
+            if (evictions == evictionsBefore) {
+                index = indexes.putIfAbsent(key, loaded);
+            }
+        }
+        return index != null ? index : loaded;
+    }
+
+    private static String key(String specialization) {
+        return specialization.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private SpecializationIndex loadIndex(String specialization) {
+        List<DoctorSchedule> schedules = doctorScheduleRepository.findConfirmedBySpecialization(specialization);
+        Map<DayOfWeek, List<String>> doctorsByDay = new EnumMap<>(DayOfWeek.class);
+        Map<String, String> doctorNames = new LinkedHashMap<>();
+        for (DoctorSchedule schedule : schedules) {
+            DayOfWeek day = parseDay(schedule.getDayOfWeek());
+            if (day == null) {
+                continue;
+            }
+            Doctor doctor = schedule.getDoctor();
+            List<String> doctors = doctorsByDay.computeIfAbsent(day, d -> new ArrayList<>());
+            if (!doctors.contains(doctor.getUserId())) {
+                doctors.add(doctor.getUserId());
+            }
+            doctorNames.putIfAbsent(doctor.getUserId(), fullName(doctor));
+        }
+        return new SpecializationIndex(List.copyOf(schedules), doctorsByDay, doctorNames);
+    }
+
+    private static DayOfWeek parseDay(String dayOfWeek) {
+        try {
+            return dayOfWeek == null ? null : DayOfWeek.valueOf(dayOfWeek.trim().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static String fullName(Doctor doctor) {
+        String name = doctor.getSurName() + " " + doctor.getGivenName();
+        return doctor.getOtherName() == null || doctor.getOtherName().isEmpty()
+                ? name
+                : name + " " + doctor.getOtherName();
+    }
+}
@@ -0,0 +1,82 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Short-lived cache of sign-in credentials by username.
+ * <p>
+ * Repeated sign-ins of the same user (retries, several devices, scripted clients)
+ * read the password hash, status and role from memory, so a login costs the hash check
+ * and no query. Entries are evicted by {@link UserServiceImp} whenever it changes a
+ * user's status, password or role, and expire after
+ * {@code security.credentials.cache-ttl-ms} in any case, which bounds how long a change
+ * made on another node can take to show here. Unknown usernames are not cached.
+ * </p>
+ *
+ * <p><b>Metrics</b> (cache name {@code user.credentials}): {@code cache.gets} tagged
+ * {@code result=hit|miss}, {@code cache.size} and {@code cache.evictions}.</p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-31
+ */
+@Component
+public class CredentialCache {
+
+    /** Name of the cache in the metrics */
+    public static final String CACHE_NAME = "user.credentials";
+
+    private final Cache<String, UserDetails> credentials;
+
+    /**
+     * Creates the cache.
+     *
+     * @param ttlMillis how long an entry is kept after it is loaded; 0 disables caching
+     * @param maxSize the most users held at once
+     * @param meterRegistry the registry receiving cache metrics
+     */
+    public CredentialCache(@Value("${security.credentials.cache-ttl-ms:60000}") long ttlMillis,
+            @Value("${security.credentials.cache-max-size:10000}") long maxSize,
+            MeterRegistry meterRegistry) {
+        this.credentials = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(Math.max(0, ttlMillis)))
+                .maximumSize(Math.max(0, maxSize))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, credentials, CACHE_NAME);
+    }
+
+    /**
+     * Returns the cached credentials of a user, loading them on a miss.
+     *
+     * @param userName the username
+     * @param loader loads the credentials; exceptions it throws reach the caller and
+     *        nothing is cached
+     * @return the user's credentials
+     */
+    public UserDetails get(String userName, Function<String, UserDetails> loader) {
+        return credentials.get(userName, loader);
+    }
+
+    /**
+     * Drops a user's cached credentials so the next sign-in reads them again.
+     *
+     * @param userName the username
+     */
+    public void evict(String userName) {
+        if (userName != null) {
+            credentials.invalidate(userName);
+        }
+    }
+}
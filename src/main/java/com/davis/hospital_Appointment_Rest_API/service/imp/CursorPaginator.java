@@ -0,0 +1,116 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import com.davis.hospital_Appointment_Rest_API.dto.CursorPage;
+import com.davis.hospital_Appointment_Rest_API.exceptions.BadRequestException;
+import com.davis.hospital_Appointment_Rest_API.utils.PageCursor;
+
+/**
+ * Runs keyset-paginated queries for the list endpoints.
+ * <p>
+ * Each query selects rows whose key is greater than the cursor's key, ordered by that
+ * key, so the database seeks straight to the start of the page through the key's index
+ * and reads only one page of rows, however deep the client has scrolled. One extra
+ * row is fetched to tell whether another page follows, so no count query is needed.
+ * </p>
+ *
+ * <p>Page sizes are capped on the server: a missing size uses
+ * {@code pagination.default-page-size} and a larger one is cut to
+ * {@code pagination.max-page-size}.</p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-29
+ * @see PageCursor
+ */
+@Component
+public class CursorPaginator {
+
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public CursorPaginator(@Value("${pagination.default-page-size:50}") int defaultPageSize,
+            @Value("${pagination.max-page-size:200}") int maxPageSize) {
+        this.maxPageSize = Math.max(1, maxPageSize);
+        this.defaultPageSize = Math.min(Math.max(1, defaultPageSize), this.maxPageSize);
+    }
+
+    /**
+     * Loads one page of a list keyed by a string column.
+     *
+     * @param <T> the row type
+     * @param scope the list name embedded in its cursors
+     * @param cursor the client's cursor, or {@code null} for the first page
+     * @param size the requested page size, or {@code null} for the default
+     * @param query loads up to {@code pageable.getPageSize()} rows with a key greater
+     *        than the given one, in key order
+     * @param keyOf extracts a row's key
+     * @return the page
+     * @throws BadRequestException if the cursor or size is invalid
+     */
+    public <T> CursorPage<T> page(String scope, String cursor, Integer size,
+            BiFunction<String, Pageable, List<T>> query, Function<T, String> keyOf) {
+        return page(scope, cursor, size, "", Function.identity(), query, keyOf);
+    }
+
+    /**
+     * Loads one page of a list keyed by any comparable column.
+     *
+     * @param <K> the key type
+     * @param <T> the row type
+     * @param scope the list name embedded in its cursors
+     * @param cursor the client's cursor, or {@code null} for the first page
+     * @param size the requested page size, or {@code null} for the default
+     * @param before a key lower than every real key, used for the first page
+     * @param parseKey turns a decoded cursor key back into a key
+     * @param query loads up to {@code pageable.getPageSize()} rows with a key greater
+     *        than the given one, in key order
+     * @param keyOf extracts a row's key
+     * @return the page
+     * @throws BadRequestException if the cursor or size is invalid
+     */
+    public <K, T> CursorPage<T> page(String scope, String cursor, Integer size, K before,
+            Function<String, K> parseKey, BiFunction<K, Pageable, List<T>> query, Function<T, K> keyOf) {
+        int limit = limit(size);
+        String decoded = PageCursor.decode(scope, cursor);
+        K after;
+        try {
+            after = decoded == null ? before : parseKey.apply(decoded);
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+
+        List<T> rows = query.apply(after, PageRequest.of(0, limit + 1));
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        String next = PageCursor.encode(scope, String.valueOf(keyOf.apply(items.get(limit - 1))));
+        return new CursorPage<>(List.copyOf(items), next);
+    }
+
+    /**
+     * Applies the default and maximum to a requested page size.
+     *
+     * @param size the requested size, or {@code null}
+     * @return the size to use
+     * @throws BadRequestException if the size is zero or negative
+     */
+    int limit(Integer size) {
+        if (size == null) {
+            return defaultPageSize;
+        }
+        if (size < 1) {
+            throw new BadRequestException("Page size must be positive");
+        }
+        return Math.min(size, maxPageSize);
+    }
+}
@@ -5,12 +5,17 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import com.davis.hospital_Appointment_Rest_API.config.CacheConfig;
 import com.davis.hospital_Appointment_Rest_API.model.Department;
 import com.davis.hospital_Appointment_Rest_API.repository.DepartmentRepository;
 import com.davis.hospital_Appointment_Rest_API.service.DepartmentService;
 /**
+ * Department lookups by name and location code are served from the
+ * {@value CacheConfig#DEPARTMENTS} cache, which {@link #save(Department)} clears.
  * @author CYPRIAN DAVIS
  */
 @Service
@@ -25,6 +30,7 @@ public class DepartmentServiceImp implements DepartmentService{
 	}
 
 	@Override
+	@CacheEvict(cacheNames = CacheConfig.DEPARTMENTS, allEntries = true)
 	public Department save(Department department) {
 		// TODO Auto-generated method stub
 		//Set Creation date and Status
@@ -35,12 +41,15 @@ public class DepartmentServiceImp implements DepartmentService{
 	}
 
 	@Override
+	@Cacheable(cacheNames = CacheConfig.DEPARTMENTS, key = "'name:' + #department.toLowerCase(T(java.util.Locale).ROOT)",
+			condition = "#department != null", unless = "#result == null")
 	public Optional<Department> findByName(String department) {
 		// TODO Auto-generated method stub
 		return departmentRepository.findByNameIgnoreCase(department);
 	}
 
 	@Override
+	@Cacheable(cacheNames = CacheConfig.DEPARTMENTS, key = "'code:' + #code", unless = "#result == null")
 	public Optional<Department> findByLocationCode(String code) {
 		// TODO Auto-generated method stub
 		return departmentRepository.findByLocationCode(code);
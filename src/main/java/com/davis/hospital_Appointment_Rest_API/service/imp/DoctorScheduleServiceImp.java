@@ -1,20 +1,23 @@
 package com.davis.hospital_Appointment_Rest_API.service.imp;
 
-import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.LocalTime;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.davis.hospital_Appointment_Rest_API.dto.CursorPage;
+import com.davis.hospital_Appointment_Rest_API.dto.SlotAvailability;
 import com.davis.hospital_Appointment_Rest_API.dto.ViewDoctorSchedule;
 import com.davis.hospital_Appointment_Rest_API.model.DoctorSchedule;
+import com.davis.hospital_Appointment_Rest_API.repository.AvailabilityViewRepository;
 import com.davis.hospital_Appointment_Rest_API.repository.DoctorScheduleRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.ScheduleSlotRepository;
 import com.davis.hospital_Appointment_Rest_API.service.DoctorScheduleService;
 
 /**
@@ -26,8 +29,8 @@ import com.davis.hospital_Appointment_Rest_API.service.DoctorScheduleService;
  * <p><b>Key Responsibilities:</b>
  * <ul>
  *   <li>Managing CRUD operations for doctor schedules</li>
- *   <li>Calculating available appointment slots</li>
- *   <li>Searching schedules by various criteria</li>
+ *   <li>Counting bookable appointment slots</li>
+ *   <li>Searching schedules by various criteria through the availability projection</li>
  *   <li>Converting entities to DTOs for API responses</li>
  * </ul>
  * </p>
@@ -41,9 +44,36 @@ import com.davis.hospital_Appointment_Rest_API.service.DoctorScheduleService;
 @Service
 public class DoctorScheduleServiceImp implements DoctorScheduleService {
 
+    /** Number of days, starting today, that schedule listings cover */
+    public static final int BROWSE_DAYS = 7;
+
     @Autowired
     private DoctorScheduleRepository doctorScheduleRepository;
 
+    @Autowired
+    private CursorPaginator cursorPaginator;
+
+    @Autowired
+    private SlotGenerator slotGenerator;
+
+    @Autowired
+    private SlotCalendarService slotCalendarService;
+
+    @Autowired
+    private AvailabilitySearchService availabilitySearchService;
+
+    @Autowired
+    private SlotHoldService slotHoldService;
+
+    @Autowired
+    private ScheduleMaterializationService scheduleMaterializationService;
+
+    @Autowired
+    private ScheduleSlotRepository scheduleSlotRepository;
+
+    @Autowired
+    private AvailabilityViewRepository availabilityViewRepository;
+
     /**
      * Retrieves all doctor schedules from the repository.
      *
@@ -54,19 +84,43 @@ public class DoctorScheduleServiceImp implements DoctorScheduleService {
         return doctorScheduleRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of schedules with their doctor and breaks, in schedule ID order.
+     * <p>
+     * Two queries per page whatever its size: one cuts the page on IDs, the other
+     * loads those schedules with their breaks.
+     * </p>
+     *
+     * @param cursor the continuation token from the previous page, or {@code null}
+     * @param size the requested page size, or {@code null} for the default
+     * @return the page of schedules
+     */
+    @Override
+    public CursorPage<DoctorSchedule> findSchedulePage(String cursor, Integer size) {
+        return cursorPaginator.page("doctor-schedules", cursor, size, 0L, Long::valueOf, (after, page) -> {
+            List<Long> ids = doctorScheduleRepository.findIdsAfter(after, page);
+            return ids.isEmpty() ? List.of() : doctorScheduleRepository.findWithBreaksByIdIn(ids);
+        }, DoctorSchedule::getId);
+    }
+
     /**
      * Persists a doctor schedule to the database.
      * <p>
      * Performs the following operations before saving:
      * <ul>
      *   <li>Validates the schedule is not null</li>
-     *   <li>Calculates available appointment slots</li>
+     *   <li>Validates the working hours</li>
+     *   <li>Counts the bookable slots left after subtracting the schedule's breaks</li>
      *   <li>Sets creation timestamp</li>
+     *   <li>Re-expands the template into its dated slot rows</li>
+     *   <li>Evicts the doctor's cached slot calendars and search index</li>
      * </ul>
      *
      * @param schedule The doctor schedule to persist
      * @return The persisted {@link DoctorSchedule} entity
-     * @throws IllegalArgumentException if schedule is null
+     * @throws IllegalArgumentException if schedule is null, either time is null,
+     *         or start time is after end time
+     * @see SlotGenerator
      */
     @Override
     public DoctorSchedule save(DoctorSchedule schedule) {
@@ -74,29 +128,49 @@ public class DoctorScheduleServiceImp implements DoctorScheduleService {
             throw new IllegalArgumentException("Schedule cannot be null");
         }
         
-        schedule.setAvailableSlots(calculateAvailableSlots(schedule.getStartTime(), schedule.getEndTime()));
+        if (schedule.getStartTime() == null || schedule.getEndTime() == null) {
+            throw new IllegalArgumentException("Times cannot be null");
+        }
+        if (schedule.getStartTime().isAfter(schedule.getEndTime())) {
+            throw new IllegalArgumentException("Start time cannot be after end time");
+        }
+        
+        slotGenerator.evict(schedule.getId());
+        schedule.setAvailableSlots(slotGenerator.slotStarts(schedule).size());
         schedule.setCreatedOn(LocalDateTime.now());
         
-        return doctorScheduleRepository.save(schedule);
+        DoctorSchedule saved = doctorScheduleRepository.save(schedule);
+        // Re-expanding the template also rebuilds the doctor's slot calendars
+        scheduleMaterializationService.materialize(saved);
+        // Rebuild the search index from the new template on next access
+        availabilitySearchService.evict(saved.getDoctor().getSpecialization());
+        return saved;
     }
 
     /**
-     * Retrieves schedules by doctor specialization.
+     * Retrieves the working days of a specialization over the next {@value #BROWSE_DAYS} days.
+     * <p>
+     * Reads only the availability projection, so each entry carries its date and the
+     * slots still free on it.
+     * </p>
      *
      * @param specialization The medical specialization to filter by (e.g., "Cardiology")
-     * @return List of matching {@link ViewDoctorSchedule} DTOs
+     * @return List of matching {@link ViewDoctorSchedule} DTOs, ordered by date and start time
      * @throws IllegalArgumentException if specialization is null or empty
+     * @see AvailabilityProjectionService
      */
     @Override
     public List<ViewDoctorSchedule> findByDoctorSpecialization(String specialization) {
-        return doctorScheduleRepository.findDtoByDoctorSpecialization(specialization);
+        LocalDate today = LocalDate.now();
+        return availabilityViewRepository.findBySpecialization(specialization, today, today.plusDays(BROWSE_DAYS - 1));
     }
 
     /**
      * Searches schedules by doctor name using case-insensitive matching.
      * <p>
-     * The search matches against all name components (surname, given name) and
-     * returns results sorted alphabetically by doctor name.
+     * The search matches against all name components (surname, given name, other name)
+     * over the next {@value #BROWSE_DAYS} days and returns results sorted alphabetically
+     * by doctor name.
      *
      * @param name The name or partial name to search for
      * @return List of matching {@link ViewDoctorSchedule} DTOs, sorted by doctor name
@@ -108,7 +182,9 @@ public class DoctorScheduleServiceImp implements DoctorScheduleService {
             throw new IllegalArgumentException("Name parameter cannot be null or empty");
         }
 
-        return doctorScheduleRepository.searchDtoByDoctorName(name)
+        LocalDate today = LocalDate.now();
+        return availabilityViewRepository.searchByName("%" + name.trim().toLowerCase(Locale.ENGLISH) + "%",
+                        today, today.plusDays(BROWSE_DAYS - 1))
                 .stream()
                 .filter(schedule -> schedule.getDoctorName() != null && !schedule.getDoctorName().isEmpty())
                 .sorted(Comparator.comparing(ViewDoctorSchedule::getDoctorName))
@@ -116,78 +192,46 @@ public class DoctorScheduleServiceImp implements DoctorScheduleService {
     }
 
     /**
-     * Retrieves schedules by day of week.
+     * Retrieves the doctors working on the next occurrence (today included) of a day of week.
      *
-     * @param day The day of week to filter by (e.g., "Monday")
-     * @return List of matching {@link ViewDoctorSchedule} DTOs
-     * @throws IllegalArgumentException if day is null or empty
+     * @param day The day of week to filter by (e.g., "Monday" or "Mon")
+     * @return List of matching {@link ViewDoctorSchedule} DTOs, ordered by start time;
+     *         empty if the day name is not recognised
      */
     @Override
     public List<ViewDoctorSchedule> findByDayOfWeek(String day) {
-        return doctorScheduleRepository.findDtoByDayOfWeek(day);
-    }
-    
-    /**
-     * Calculates available appointment slots between two times.
-     * <p>
-     * Each slot is assumed to be 20 minutes long. Deducts appropriate break times
-     * based on schedule duration.
-     *
-     * @param startTime The schedule start time (required)
-     * @param endTime The schedule end time (required)
-     * @return Number of available 20-minute appointment slots
-     * @throws IllegalArgumentException if:
-     *         <ul>
-     *           <li>Either time parameter is null</li>
-     *           <li>Start time is after end time</li>
-     *         </ul>
-     */
-    private int calculateAvailableSlots(LocalTime startTime, LocalTime endTime) {
-        if (startTime == null || endTime == null) {
-            throw new IllegalArgumentException("Times cannot be null");
-        }
-        if (startTime.isAfter(endTime)) {
-            throw new IllegalArgumentException("Start time cannot be after end time");
-        }
-        
-        long totalMinutes = Duration.between(startTime, endTime).toMinutes();
-        long breakMinutes = calculateBreakMinutes(totalMinutes);
-        return (int) ((totalMinutes - breakMinutes) / 20);
+        LocalDate date = nextOccurrence(day);
+        return date == null ? List.of() : availabilityViewRepository.findByDate(date);
     }
 
     /**
-     * Determines break duration based on total schedule length.
-     * <p>
-     * Break policy:
-     * <ul>
-     *   <li>Less than 3 hours: No breaks</li>
-     *   <li>3-6 hours: 15 minute break</li>
-     *   <li>Over 6 hours: 45 minutes total breaks</li>
-     * </ul>
+     * Retrieves the doctors of a specialization with free slots on a date.
      *
-     * @param totalMinutes Total schedule duration in minutes
-     * @return Total break time in minutes
+     * @param specialization The medical specialization to filter by (e.g., "Cardiology")
+     * @param date The date to check
+     * @return List of matching {@link ViewDoctorSchedule} DTOs, ordered by start time
+     * @throws IllegalArgumentException if either parameter is null or empty
      */
-    private long calculateBreakMinutes(long totalMinutes) {
-        if (totalMinutes > 360) { // >6 hours
-            return 45;
-        } else if (totalMinutes >= 180) { // 3-6 hours
-            return 15;
+    public List<ViewDoctorSchedule> findAvailableBySpecializationAndDate(String specialization, LocalDate date) {
+        if (specialization == null || specialization.trim().isEmpty() || date == null) {
+            throw new IllegalArgumentException("Specialization and date must not be null or empty");
         }
-        return 0;
+        return availabilityViewRepository.findAvailable(specialization, date);
     }
-
+    
     /**
      * Retrieves the first available doctor schedule matching the specified medical specialization and date.
      * <p>
      * This method performs the following operations:
      * <ol>
      *   <li>Validates input parameters are not null</li>
-     *   <li>Converts the provided date to the corresponding day of week</li>
-     *   <li>Queries for the first schedule matching both the specialization and day of week</li>
+     *   <li>Range-scans the materialized slot rows of that date for the earliest schedule
+     *       of the specialization</li>
+     *   <li>Falls back to the weekly templates for the date's day of week when the date
+     *       has not been materialized yet</li>
      *   <li>Returns only if the schedule has available slots and is confirmed</li>
      * </ol>
-     * The database query is optimized with LIMIT 1 to return immediately when the first match is found.
+     * Both queries are limited to 1 row to return immediately when the first match is found.
      * </p>
      *
      * @param specialization the medical specialization to search for (e.g., "Cardiology", "Pediatrics")
@@ -202,10 +246,59 @@ public class DoctorScheduleServiceImp implements DoctorScheduleService {
      *           <li>{@code date} is {@code null}</li>
      *           <li>{@code date} is in the past</li>
      *         </ul>
-     * @see DoctorScheduleRepository#findFirstAvailableBySpecializationAndDate(String, LocalDate)
+     * @see ScheduleSlotRepository#findFirstScheduleIdBySpecializationAndDate(String, LocalDate)
+     * @see DoctorScheduleRepository#findFirstAvailableBySpecializationAndDay(String, String)
+     * @see AvailabilitySearchService#findEarliestSlots(String, LocalDate, int, int)
      */
     @Override
     public Optional<DoctorSchedule> findBySpecializationAndDate(String specialization, LocalDate date) {
-        return doctorScheduleRepository.findFirstAvailableBySpecializationAndDate(specialization, date);
+        if (specialization == null || specialization.trim().isEmpty() || date == null) {
+            throw new IllegalArgumentException("Specialization and date must not be null or empty");
+        }
+        List<Long> materialized = scheduleSlotRepository.findFirstScheduleIdBySpecializationAndDate(specialization, date);
+        if (!materialized.isEmpty()) {
+            return doctorScheduleRepository.findById(materialized.get(0))
+                    .filter(schedule -> schedule.isConfirmed() && schedule.getAvailableSlots() > 0);
+        }
+        return doctorScheduleRepository.findFirstAvailableBySpecializationAndDay(
+                specialization, SlotCalendarService.dayName(date));
+    }
+
+    /**
+     * Reads a doctor's free slots on a date from the in-memory slot calendar.
+     * <p>
+     * The calendar is materialized on first access; afterwards this is a pure
+     * bitset read with no database round trip. Held slots are not counted as free.
+     * </p>
+     *
+     * @param doctorId the doctor's user ID (must not be null)
+     * @param date the date to check (must not be null)
+     * @return an {@link Optional} containing the availability, or empty if the doctor
+     *         has no confirmed schedule on that day
+     * @throws IllegalArgumentException if either parameter is null
+     */
+    public Optional<SlotAvailability> findAvailability(String doctorId, LocalDate date) {
+        return slotCalendarService.getCalendar(doctorId, date)
+                .map(calendar -> new SlotAvailability(doctorId, date, calendar.totalSlots(),
+                        calendar.freeCount(), slotHoldService.heldCount(doctorId, date), calendar.freeSlots()));
+    }
+
+    /**
+     * Finds the next date, today included, whose day name is or starts with the given
+     * name (at least three letters).
+     */
+    private static LocalDate nextOccurrence(String day) {
+        if (day == null || day.trim().length() < 3) {
+            return null;
+        }
+        String prefix = day.trim().toLowerCase(Locale.ENGLISH);
+        LocalDate today = LocalDate.now();
+        for (int offset = 0; offset < 7; offset++) {
+            LocalDate date = today.plusDays(offset);
+            if (SlotCalendarService.dayName(date).toLowerCase(Locale.ENGLISH).startsWith(prefix)) {
+                return date;
+            }
+        }
+        return null;
     }
-}
\ No newline at end of file
+}
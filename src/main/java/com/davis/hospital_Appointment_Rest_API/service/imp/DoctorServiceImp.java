@@ -10,6 +10,7 @@ import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.davis.hospital_Appointment_Rest_API.dto.CursorPage;
 import com.davis.hospital_Appointment_Rest_API.dto.ViewDoctor;
 import com.davis.hospital_Appointment_Rest_API.model.Doctor;
 import com.davis.hospital_Appointment_Rest_API.repository.DoctorRepository;
@@ -46,6 +47,15 @@ public class DoctorServiceImp implements DoctorService {
     @Autowired
     private DoctorRepository doctorRepository;
 
+    @Autowired
+    private CursorPaginator cursorPaginator;
+
+    @Autowired
+    private AvailabilityProjectionService availabilityProjectionService;
+
+    @Autowired
+    private AvailabilitySearchService availabilitySearchService;
+
     /**
      * Retrieves all doctors from the system as full entities.
      * <p>
@@ -79,6 +89,19 @@ public class DoctorServiceImp implements DoctorService {
         return doctorRepository.findAllDoctorsAsViewDoctors();
     }
 
+    /**
+     * Retrieves one page of doctors as {@link ViewDoctor} DTOs, in user ID order.
+     *
+     * @param cursor the continuation token from the previous page, or {@code null}
+     * @param size the requested page size, or {@code null} for the default
+     * @return the page of doctor DTOs
+     */
+    @Override
+    public CursorPage<ViewDoctor> findDoctorPage(String cursor, Integer size) {
+        return cursorPaginator.page("doctors", cursor, size,
+                doctorRepository::findDoctorsAfter, ViewDoctor::getUserId);
+    }
+
     /**
      * Persists a doctor entity in the system.
      * <p>
@@ -96,7 +119,13 @@ public class DoctorServiceImp implements DoctorService {
         if (doctor == null) {
             throw new IllegalArgumentException("Doctor entity cannot be null");
         }
-        return doctorRepository.save(doctor);
+        Doctor saved = doctorRepository.save(doctor);
+        // Keep the names and specialization shown in schedule listings current
+        availabilityProjectionService.updateDoctor(saved);
+        // The doctor may have left one specialization's search index and joined another's
+        availabilitySearchService.evictDoctor(saved.getUserId());
+        availabilitySearchService.evict(saved.getSpecialization());
+        return saved;
     }
 
     /**
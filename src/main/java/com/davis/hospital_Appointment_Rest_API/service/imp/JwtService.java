@@ -2,10 +2,11 @@ package com.davis.hospital_Appointment_Rest_API.service.imp;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
-import java.util.Arrays;
-import java.util.Collections;
+import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -18,12 +19,20 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 
 /**
  * Service class for JWT (JSON Web Token) creation, validation, and processing.
  * Handles both access tokens and refresh tokens generation and verification.
+ * <p>
+ * Tokens are checked by one {@link JwtParser} built at startup. The parser is immutable
+ * and thread-safe, so requests share it instead of building their own. Use
+ * {@link #verify(String)} to check a token's signature once and read every claim a
+ * request needs from the result.
+ * </p>
  * @author CYPRIAN DAVIS
  */
 @Service
@@ -37,6 +46,18 @@ public class JwtService {
     
     /** Expiration time for refresh tokens in milliseconds (typically double the access token expiration) */
     private final long refreshTokenExpiration;
+
+    /** Shared, thread-safe parser that verifies signatures with {@link #signingKey} */
+    private final JwtParser jwtParser;
+
+    /** Most distinct authorities claims kept in {@link #authoritySets} */
+    private static final int MAX_AUTHORITY_SETS = 256;
+
+    /**
+     * Shared, immutable authority lists by "authorities" claim value. Tokens are signed
+     * by this service, so the keys are the handful of role combinations actually issued.
+     */
+    private final Map<String, List<GrantedAuthority>> authoritySets = new ConcurrentHashMap<>();
     
   
     /**
@@ -53,7 +74,9 @@ public class JwtService {
         this.accessTokenExpiration = accessTokenExpiration;
         // Refresh tokens last twice as long as access tokens
         this.refreshTokenExpiration = accessTokenExpiration * 2;
-      
+        this.jwtParser = Jwts.parser()
+                .verifyWith(signingKey)       // Verify using our secret key
+                .build();
     }
     
     /**
@@ -80,6 +103,24 @@ public class JwtService {
                 .compact();                 // Build and serialize to compact string
     }
     
+    /**
+     * Verifies a token's signature and expiry once and returns the claims a request needs.
+     *
+     * @param token The JWT token to verify
+     * @return The verified username, expiration and authorities
+     * @throws io.jsonwebtoken.ExpiredJwtException if the token has expired
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, its signature does not match
+     *         or it is a refresh token
+     * @throws IllegalArgumentException if the token is {@code null} or empty
+     */
+    public VerifiedToken verify(String token) {
+        Claims claims = extractAllClaims(token);
+        if (isRefreshToken(claims)) {
+            throw new UnsupportedJwtException("Refresh tokens cannot be used as access tokens");
+        }
+        return new VerifiedToken(usernameOf(claims), claims.getExpiration(), authoritiesOf(claims));
+    }
+
     /**
      * Extracts the username (subject) from the JWT token.
      * 
@@ -107,16 +148,62 @@ public class JwtService {
      * @return List of granted authorities
      */
     public List<GrantedAuthority> extractAuthorities(String token) {
-        Claims claims = extractAllClaims(token);
+        return authoritiesOf(extractAllClaims(token));
+    }
+
+    /**
+     * Reads the user name of a token: the "UserName" claim of access tokens, or the
+     * subject of refresh tokens.
+     *
+     * @param claims The verified claims
+     * @return The user name
+     */
+    private static String usernameOf(Claims claims) {
+        String userName = claims.get("UserName", String.class);
+        return userName != null ? userName : claims.getSubject();
+    }
+
+    /**
+     * Returns the granted authorities of the "authorities" claim, reusing the shared
+     * list built for the same claim value before.
+     *
+     * @param claims The verified claims
+     * @return Immutable list of granted authorities, empty if the claim is missing
+     */
+    private List<GrantedAuthority> authoritiesOf(Claims claims) {
         String authoritiesStr = claims.get("authorities", String.class);
         
         if (authoritiesStr == null || authoritiesStr.isEmpty()) {
-            return Collections.emptyList();
+            return List.of();
         }
-        
-        return Arrays.stream(authoritiesStr.split(","))
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+
+        // Every token with the same roles gets the same list; nothing is allocated on a hit
+        List<GrantedAuthority> authorities = authoritySets.get(authoritiesStr);
+        if (authorities == null) {
+            authorities = parseAuthorities(authoritiesStr);
+            if (authoritySets.size() < MAX_AUTHORITY_SETS) {
+                List<GrantedAuthority> existing = authoritySets.putIfAbsent(authoritiesStr, authorities);
+                if (existing != null) {
+                    authorities = existing;
+                }
+            }
+        }
+        return authorities;
+    }
+
+    /**
+     * Splits a comma-separated authorities claim into an immutable list.
+     *
+     * @param authoritiesStr The claim value, e.g. "ROLE_DOCTOR,READ"
+     * @return The granted authorities, in claim order
+     */
+    private static List<GrantedAuthority> parseAuthorities(String authoritiesStr) {
+        String[] names = authoritiesStr.split(",");
+        GrantedAuthority[] authorities = new GrantedAuthority[names.length];
+        for (int i = 0; i < names.length; i++) {
+            authorities[i] = new SimpleGrantedAuthority(names[i]);
+        }
+        return List.of(authorities);
     }
     
     
@@ -174,6 +261,61 @@ public class JwtService {
                 .compact();
     }
     
+    /**
+     * Generates a single-use refresh token belonging to a token family.
+     *
+     * @param userName The owner of the token
+     * @param tokenId The token's unique ID, stored as its {@code jti}
+     * @param familyId The family the token belongs to
+     * @param issuedAt The issue time
+     * @return A signed JWT refresh token as a String
+     * @see #refreshTokenExpiresAt(Instant)
+     */
+    public String generateRefreshToken(String userName, String tokenId, String familyId, Instant issuedAt) {
+        return Jwts.builder()
+                .issuer("Davis Hospital")
+                .subject(userName)
+                .id(tokenId)
+                .claim("family", familyId)
+                .claim("token_type", "refresh")
+                .issuedAt(Date.from(issuedAt))
+                .expiration(Date.from(refreshTokenExpiresAt(issuedAt)))
+                .signWith(signingKey)
+                .compact();
+    }
+
+    /**
+     * Computes when a refresh token issued at the given time expires.
+     *
+     * @param issuedAt The issue time
+     * @return The expiry, truncated to seconds as in the token's {@code exp} claim
+     */
+    public Instant refreshTokenExpiresAt(Instant issuedAt) {
+        return issuedAt.plusMillis(refreshTokenExpiration).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    /**
+     * Verifies a refresh token's signature and expiry.
+     *
+     * @param token The refresh token
+     * @return The token's claims
+     * @throws io.jsonwebtoken.ExpiredJwtException if the token has expired
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, its signature does not match
+     *         or it is not a refresh token
+     * @throws IllegalArgumentException if the token is {@code null} or empty
+     */
+    public Claims verifyRefreshToken(String token) {
+        Claims claims = extractAllClaims(token);
+        if (!isRefreshToken(claims)) {
+            throw new UnsupportedJwtException("Not a refresh token");
+        }
+        return claims;
+    }
+
+    private static boolean isRefreshToken(Claims claims) {
+        return "refresh".equals(claims.get("token_type", String.class));
+    }
+
     /**
      * Extracts all claims from the JWT token.
      * 
@@ -181,10 +323,49 @@ public class JwtService {
      * @return All claims contained in the token
      */
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(signingKey)       // Verify using our secret key
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)      // Parse and verify signature
                 .getPayload();                // Extract the claims body
     }
+
+    /**
+     * The claims of a token whose signature has been verified.
+     * <p>
+     * Produced once per request by {@link JwtService#verify(String)}, so the filter
+     * reads the username, expiry and authorities without parsing the token again.
+     * </p>
+     */
+    public static final class VerifiedToken {
+
+        private final String username;
+        private final Date expiration;
+        private final List<GrantedAuthority> authorities;
+
+        VerifiedToken(String username, Date expiration, List<GrantedAuthority> authorities) {
+            this.username = username;
+            this.expiration = expiration;
+            this.authorities = List.copyOf(authorities);
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public Date getExpiration() {
+            return expiration;
+        }
+
+        public List<GrantedAuthority> getAuthorities() {
+            return authorities;
+        }
+
+        /**
+         * Checks the expiry against the current time.
+         *
+         * @return true if the token carries an expiration that has passed
+         */
+        public boolean isExpired() {
+            return expiration != null && expiration.before(new Date());
+        }
+    }
 }
\ No newline at end of file
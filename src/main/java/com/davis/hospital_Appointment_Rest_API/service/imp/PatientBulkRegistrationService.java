@@ -0,0 +1,197 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import java.time.LocalDateTime;
+import java.time.Year;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.davis.hospital_Appointment_Rest_API.config.BoundedPasswordEncoder;
+import com.davis.hospital_Appointment_Rest_API.config.IdGeneration;
+import com.davis.hospital_Appointment_Rest_API.dto.BulkRegistrationResult;
+import com.davis.hospital_Appointment_Rest_API.dto.RegistrationOutcome;
+import com.davis.hospital_Appointment_Rest_API.model.Patient;
+import com.davis.hospital_Appointment_Rest_API.repository.UserRepository;
+
+/**
+ * Registers large numbers of patients from one upload, e.g. when migrating a clinic.
+ * <p>
+ * Rows are read one at a time from the upload and processed in chunks, so memory
+ * stays bounded however large the upload is. For every chunk:
+ * <ol>
+ *   <li>Required fields and in-upload username duplicates are checked</li>
+ *   <li>Usernames already taken are found with a single query</li>
+ *   <li>Passwords are hashed in parallel on the bounded hashing pool</li>
+ *   <li>User IDs are drawn from the in-memory blocks of {@link IdGeneration}</li>
+ *   <li>The chunk is inserted in its own transaction with JDBC batching; if that
+ *       fails, its rows are retried one by one so only the offending rows are rejected</li>
+ * </ol>
+ * Every row gets a {@link RegistrationOutcome}; rows of committed chunks stay
+ * registered even if a later row stops the upload.
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-25
+ * @see UserServiceImp#save(com.davis.hospital_Appointment_Rest_API.model.User)
+ */
+@Service
+public class PatientBulkRegistrationService {
+
+    /**
+     * One uploaded patient with its position in the upload.
+     */
+    private record Row(int number, Patient patient) {
+    }
+
+    private final UserRepository userRepository;
+    private final IdGeneration idGeneration;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final int chunkSize;
+    private final int maxRows;
+
+    public PatientBulkRegistrationService(UserRepository userRepository, IdGeneration idGeneration,
+            BoundedPasswordEncoder passwordEncoder,
+            @Value("${registration.bulk.chunk-size:500}") int chunkSize,
+            @Value("${registration.bulk.max-rows:50000}") int maxRows) {
+        this.userRepository = userRepository;
+        this.idGeneration = idGeneration;
+        this.passwordEncoder = passwordEncoder;
+        this.chunkSize = chunkSize;
+        this.maxRows = maxRows;
+    }
+
+    /**
+     * Registers every patient of an upload.
+     *
+     * @param patients the uploaded patients, read lazily; a read failure stops the upload
+     * @return the per-row report
+     */
+    public BulkRegistrationResult register(Iterator<Patient> patients) {
+        List<RegistrationOutcome> outcomes = new ArrayList<>();
+        Set<String> seenUserNames = new HashSet<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        int number = 0;
+        while (true) {
+            Patient patient;
+            try {
+                if (!patients.hasNext()) {
+                    break;
+                }
+                patient = patients.next();
+            } catch (RuntimeException e) {
+                outcomes.add(RegistrationOutcome.rejected(number + 1, null,
+                        "Malformed row, upload stopped: " + e.getMessage()));
+                break;
+            }
+            number++;
+            if (number > maxRows) {
+                outcomes.add(RegistrationOutcome.rejected(number, null,
+                        "Upload exceeds " + maxRows + " rows, upload stopped"));
+                break;
+            }
+            chunk.add(new Row(number, patient));
+            if (chunk.size() == chunkSize) {
+                registerChunk(chunk, seenUserNames, outcomes);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            registerChunk(chunk, seenUserNames, outcomes);
+        }
+
+        outcomes.sort(Comparator.comparingInt(RegistrationOutcome::getRow));
+        return new BulkRegistrationResult(outcomes);
+    }
+
+    private void registerChunk(List<Row> chunk, Set<String> seenUserNames, List<RegistrationOutcome> outcomes) {
+        List<Row> accepted = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            String problem = validate(row.patient());
+            if (problem == null && !seenUserNames.add(row.patient().getUserName())) {
+                problem = "Duplicate username in upload";
+            }
+            if (problem != null) {
+                outcomes.add(RegistrationOutcome.rejected(row.number(), row.patient().getUserName(), problem));
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        Set<String> taken = new HashSet<>(userRepository.findExistingUserNames(
+                accepted.stream().map(row -> row.patient().getUserName()).toList()));
+        accepted.removeIf(row -> {
+            if (!taken.contains(row.patient().getUserName())) {
+                return false;
+            }
+            outcomes.add(RegistrationOutcome.rejected(row.number(), row.patient().getUserName(),
+                    "Username already exists"));
+            return true;
+        });
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        // Hashing dominates the cost of a registration, so spread it over the hashing pool
+        List<String> hashes = passwordEncoder.encodeAll(
+                accepted.stream().map(row -> row.patient().getPassWord()).toList());
+        for (int i = 0; i < accepted.size(); i++) {
+            accepted.get(i).patient().setPassWord(hashes.get(i));
+        }
+        int year = Year.now().getValue();
+        LocalDateTime now = LocalDateTime.now();
+        for (Row row : accepted) {
+            Patient patient = row.patient();
+            patient.setUserId(UserServiceImp.getUserId(idGeneration.getNextIdNumber("userId"), year));
+            patient.setCreatedOn(now);
+            patient.setStatus("ACTIVE");
+        }
+
+        try {
+            userRepository.insertAll(accepted.stream().map(Row::patient).toList());
+            accepted.forEach(row -> outcomes.add(registered(row)));
+        } catch (DataAccessException e) {
+            // Isolate the rows that broke the chunk
+            for (Row row : accepted) {
+                try {
+                    userRepository.insertAll(List.of(row.patient()));
+                    outcomes.add(registered(row));
+                } catch (DataAccessException rowFailure) {
+                    outcomes.add(RegistrationOutcome.rejected(row.number(), row.patient().getUserName(),
+                            "Could not be saved: " + rowFailure.getMostSpecificCause().getMessage()));
+                }
+            }
+        }
+    }
+
+    private static RegistrationOutcome registered(Row row) {
+        return RegistrationOutcome.registered(row.number(), row.patient().getUserName(), row.patient().getUserId());
+    }
+
+    private static String validate(Patient patient) {
+        if (patient == null) {
+            return "Empty row";
+        }
+        if (isBlank(patient.getUserName()) || isBlank(patient.getPassWord())) {
+            return "Username and password are required";
+        }
+        if (isBlank(patient.getSurName()) || isBlank(patient.getGivenName())) {
+            return "Surname and given name are required";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
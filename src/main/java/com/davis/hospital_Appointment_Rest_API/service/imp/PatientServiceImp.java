@@ -1,16 +1,21 @@
 package com.davis.hospital_Appointment_Rest_API.service.imp;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.davis.hospital_Appointment_Rest_API.dto.CursorPage;
 import com.davis.hospital_Appointment_Rest_API.dto.PatientDto;
 import com.davis.hospital_Appointment_Rest_API.model.Patient;
 import com.davis.hospital_Appointment_Rest_API.repository.PatientRepository;
 import com.davis.hospital_Appointment_Rest_API.service.PatientService;
+import com.davis.hospital_Appointment_Rest_API.utils.ExportFormat;
 
 /**
  * Implementation of {@link PatientService} providing business logic for patient management.
@@ -39,6 +44,12 @@ public class PatientServiceImp implements PatientService {
     @Autowired
     private PatientRepository patientRepository;
 
+    @Autowired
+    private CursorPaginator cursorPaginator;
+
+    @Autowired
+    private StreamingExportWriter exportWriter;
+
     /**
      * Retrieves a patient by their unique identifier.
      *
@@ -107,11 +118,30 @@ public class PatientServiceImp implements PatientService {
         return patientRepository.findAllPatients();
     }
 
-	@Override
-	public List<PatientDto> findAllPatients(int pageNumber, int pageSize) {
-		// TODO Auto-generated method stub
-		return null;
-	}
+    /**
+     * Retrieves one page of patients as {@link PatientDto} objects, in user ID order.
+     *
+     * @param cursor the continuation token from the previous page, or {@code null}
+     * @param size the requested page size, or {@code null} for the default
+     * @return the page of patient DTOs
+     */
+    @Override
+    public CursorPage<PatientDto> findPatientPage(String cursor, Integer size) {
+        return cursorPaginator.page("patients", cursor, size,
+                patientRepository::findPatientsAfter, PatientDto::getUserId);
+    }
 
-    
+    /**
+     * Streams every patient to the given output inside one read-only transaction.
+     *
+     * @param out the response body to write to; left open
+     * @param format JSON array or newline-delimited JSON
+     * @throws IOException if writing to the output fails
+     */
+    @Override
+    public void exportPatients(OutputStream out, ExportFormat format) throws IOException {
+        try (Stream<PatientDto> patients = patientRepository.streamAllPatients()) {
+            exportWriter.write(patients, format, out);
+        }
+    }
 }
@@ -0,0 +1,143 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.davis.hospital_Appointment_Rest_API.dto.TokenPair;
+import com.davis.hospital_Appointment_Rest_API.exceptions.ForbiddenException;
+import com.davis.hospital_Appointment_Rest_API.exceptions.UnauthorizedException;
+import com.davis.hospital_Appointment_Rest_API.model.RefreshToken;
+import com.davis.hospital_Appointment_Rest_API.repository.RefreshTokenRepository;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+
+/**
+ * Issues and rotates refresh tokens, so clients renew their access token without
+ * sending the password (and paying for a password hash check) again.
+ * <p>
+ * Each sign-in starts a token family. A refresh exchanges the presented token for a
+ * new access token and the next refresh token of the family; the presented token can
+ * never be used again. If a used token comes back, someone holds a copy of it, so the
+ * whole family is revoked and the user has to sign in again.
+ * </p>
+ *
+ * <p>A refresh costs one signature check, one update by primary key that both finds
+ * the token and marks it used, and one insert. The owner's status and role come from
+ * the {@link CredentialCache}, so a deactivated user cannot refresh and a role change
+ * reaches the next access token.</p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-09-01
+ * @see RefreshToken
+ */
+@Service
+public class RefreshTokenService {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final JwtService jwtService;
+    private final UserServiceImp userServiceImp;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, JwtService jwtService,
+            UserServiceImp userServiceImp) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.jwtService = jwtService;
+        this.userServiceImp = userServiceImp;
+    }
+
+    /**
+     * Starts a new token family for a user who has just signed in.
+     *
+     * @param userName the user's username
+     * @return the family's first refresh token
+     */
+    @Transactional
+    public String issue(String userName) {
+        return next(userName, UUID.randomUUID().toString(), Instant.now());
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and the next refresh token.
+     * <p>
+     * Revoking a family on reuse is committed even though the call fails.
+     * </p>
+     *
+     * @param refreshToken the refresh token presented by the client
+     * @return the new access and refresh tokens
+     * @throws UnauthorizedException if the token is invalid, expired, already used or revoked
+     * @throws ForbiddenException if the user's account is no longer active
+     */
+    @Transactional(noRollbackFor = { UnauthorizedException.class, ForbiddenException.class })
+    public TokenPair rotate(String refreshToken) {
+        Claims claims;
+        try {
+            claims = jwtService.verifyRefreshToken(refreshToken);
+        } catch (ExpiredJwtException e) {
+            throw new UnauthorizedException("Refresh token has expired");
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+        String tokenId = claims.getId();
+        String familyId = claims.get("family", String.class);
+        String userName = claims.getSubject();
+        if (tokenId == null || familyId == null || userName == null) {
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+
+        Instant now = Instant.now();
+        if (refreshTokenRepository.markUsed(tokenId, now) == 0) {
+            Optional<RefreshToken> stored = refreshTokenRepository.findById(tokenId);
+            if (stored.isPresent() && stored.get().getUsedAt() != null) {
+                refreshTokenRepository.revokeFamily(stored.get().getFamilyId());
+                throw new UnauthorizedException("Refresh token was already used; sign in again");
+            }
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+
+        UserDetails user;
+        try {
+            user = userServiceImp.loadUserByUsername(userName);
+        } catch (UsernameNotFoundException e) {
+            refreshTokenRepository.revokeFamily(familyId);
+            throw new UnauthorizedException("Invalid refresh token");
+        }
+        if (!user.isEnabled()) {
+            refreshTokenRepository.revokeFamily(familyId);
+            throw new ForbiddenException("Account is not active");
+        }
+
+        String accessToken = jwtService.generateJwtToken(
+                new UsernamePasswordAuthenticationToken(userName, null, user.getAuthorities()));
+        return new TokenPair(accessToken, next(userName, familyId, now));
+    }
+
+    /**
+     * Deletes refresh tokens that have expired. Runs hourly by default.
+     *
+     * @return the number of tokens deleted
+     */
+    @Scheduled(fixedDelayString = "${jwt.refresh.purge-interval-ms:3600000}")
+    public int purgeExpired() {
+        return refreshTokenRepository.deleteExpired(Instant.now());
+    }
+
+    /**
+     * Records and signs the next token of a family.
+     */
+    private String next(String userName, String familyId, Instant now) {
+        String tokenId = UUID.randomUUID().toString();
+        refreshTokenRepository.save(
+                new RefreshToken(tokenId, familyId, userName, jwtService.refreshTokenExpiresAt(now)));
+        return jwtService.generateRefreshToken(userName, tokenId, familyId, now);
+    }
+}
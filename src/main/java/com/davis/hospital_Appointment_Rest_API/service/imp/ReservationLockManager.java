@@ -0,0 +1,158 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.davis.hospital_Appointment_Rest_API.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Striped in-process locks that serialize bookings of the same doctor on the same date.
+ * <p>
+ * Each (doctorId, date) pair hashes onto one of a fixed array of {@link ReentrantLock}s.
+ * Bookings for the same doctor-day wait for each other; bookings for unrelated doctors
+ * land on different stripes and run in parallel. The lock only shapes traffic within
+ * one node; the unique slot constraint on the appointment table remains the
+ * cross-node backstop.
+ * </p>
+ *
+ * <p><b>Metrics:</b>
+ * <ul>
+ *   <li>{@code booking.lock.wait} - time spent acquiring a stripe</li>
+ *   <li>{@code booking.lock.timeouts} - acquisitions abandoned after the wait limit</li>
+ * </ul>
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-12
+ */
+@Service
+public class ReservationLockManager {
+
+    private final ReentrantLock[] stripes;
+    private final long timeoutMillis;
+    private final Timer waitTimer;
+    private final Counter timeoutCounter;
+
+    /**
+     * Creates the lock stripes.
+     *
+     * @param stripeCount   the number of stripes (rounded up to a power of two)
+     * @param timeoutMillis the longest time to wait for a stripe, in milliseconds
+     * @param meterRegistry the registry receiving wait and timeout metrics
+     */
+    public ReservationLockManager(@Value("${booking.lock.stripes:1024}") int stripeCount,
+            @Value("${booking.lock.timeout-ms:500}") long timeoutMillis, MeterRegistry meterRegistry) {
+        if (stripeCount < 1 || timeoutMillis < 0) {
+            throw new IllegalArgumentException("Stripe count must be positive and timeout non-negative");
+        }
+        int size = Integer.highestOneBit(stripeCount);
+        if (size < stripeCount) {
+            size <<= 1;
+        }
+        this.stripes = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.timeoutMillis = timeoutMillis;
+        this.waitTimer = Timer.builder("booking.lock.wait")
+                .description("Time spent waiting for a doctor-day reservation lock")
+                .register(meterRegistry);
+        this.timeoutCounter = Counter.builder("booking.lock.timeouts")
+                .description("Reservation lock acquisitions that timed out")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs an action while holding the lock of a doctor-day.
+     *
+     * @param doctorId the doctor's user ID
+     * @param date     the booking date
+     * @param action   the work to run under the lock
+     * @param <T>      the action's result type
+     * @return the action's result
+     * @throws ServiceUnavailableException if the lock is not acquired within the timeout
+     *         or the waiting thread is interrupted
+     */
+    public <T> T withLock(String doctorId, LocalDate date, Supplier<T> action) {
+        return withLocks(doctorId, List.of(date), action);
+    }
+
+    /**
+     * Runs an action while holding the locks of several days of one doctor.
+     * <p>
+     * Stripes are acquired in ascending index order so two batches can never
+     * deadlock on each other; the timeout covers acquiring all of them.
+     * </p>
+     *
+     * @param doctorId the doctor's user ID
+     * @param dates    the booking dates
+     * @param action   the work to run under the locks
+     * @param <T>      the action's result type
+     * @return the action's result
+     * @throws ServiceUnavailableException if the locks are not acquired within the timeout
+     *         or the waiting thread is interrupted
+     */
+    public <T> T withLocks(String doctorId, Collection<LocalDate> dates, Supplier<T> action) {
+        int[] indexes = dates.stream()
+                .mapToInt(date -> stripeIndex(doctorId, date))
+                .distinct()
+                .sorted()
+                .toArray();
+        List<ReentrantLock> held = new ArrayList<>(indexes.length);
+        try {
+            acquire(indexes, held);
+            return action.get();
+        } finally {
+            for (int i = held.size() - 1; i >= 0; i--) {
+                held.get(i).unlock();
+            }
+        }
+    }
+
+    private void acquire(int[] indexes, List<ReentrantLock> held) {
+        long started = System.nanoTime();
+        long deadline = started + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        try {
+            for (int index : indexes) {
+                ReentrantLock lock = stripes[index];
+                if (!lock.tryLock(Math.max(0L, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                    timeoutCounter.increment();
+                    throw new ServiceUnavailableException("Booking system is busy for this doctor and date, please retry");
+                }
+                held.add(lock);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Booking was interrupted, please retry");
+        } finally {
+            waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Maps a doctor-day onto its stripe.
+     *
+     * @param doctorId the doctor's user ID
+     * @param date     the booking date
+     * @return the stripe's index
+     */
+    int stripeIndex(String doctorId, LocalDate date) {
+        int hash = Objects.hash(doctorId, date);
+        hash ^= hash >>> 16;
+        return hash & (stripes.length - 1);
+    }
+}
@@ -1,9 +1,11 @@
 package com.davis.hospital_Appointment_Rest_API.service.imp;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.davis.hospital_Appointment_Rest_API.config.CacheConfig;
 import com.davis.hospital_Appointment_Rest_API.model.RoleAuthority;
 import com.davis.hospital_Appointment_Rest_API.repository.RoleAuthorityRepository;
 import com.davis.hospital_Appointment_Rest_API.service.RoleAuthorityService;
@@ -13,7 +15,8 @@ import com.davis.hospital_Appointment_Rest_API.service.RoleAuthorityService;
  * operations related to Role-Authority relationships in the system.
  * <p>
  * This service manages the many-to-many association between roles and authorities
- * through the {@link RoleAuthority} join entity.
+ * through the {@link RoleAuthority} join entity. New links clear the cached roles
+ * and authorities so their authority sets are re-read.
  * 
  * @author CYPRIAN DAVIS
  * @since 1.0
@@ -39,6 +42,7 @@ public class RoleAuthorityServiceImp implements RoleAuthorityService {
      * @throws org.springframework.dao.DataAccessException if there's an issue during persistence
      */
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.ROLES, CacheConfig.AUTHORITIES}, allEntries = true)
     public RoleAuthority addRoleAuthority(RoleAuthority roleAuthority) {
         // Validate input
         if (roleAuthority == null) {
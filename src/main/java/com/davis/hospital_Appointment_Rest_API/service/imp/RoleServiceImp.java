@@ -4,8 +4,11 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import com.davis.hospital_Appointment_Rest_API.config.CacheConfig;
 import com.davis.hospital_Appointment_Rest_API.model.Role;
 import com.davis.hospital_Appointment_Rest_API.repository.RoleRepository;
 import com.davis.hospital_Appointment_Rest_API.service.RoleService;
@@ -15,7 +18,8 @@ import com.davis.hospital_Appointment_Rest_API.service.RoleService;
  * CRUD operations for {@link Role} entities.
  * <p>
  * This service handles all business logic related to role management,
- * delegating persistence operations to the {@link RoleRepository}.
+ * delegating persistence operations to the {@link RoleRepository}. Lookups are served
+ * from the {@value CacheConfig#ROLES} cache, which {@link #save(Role)} clears.
  * </p>
  * 
  * @author CYPRIAN DAVIS
@@ -36,6 +40,7 @@ public class RoleServiceImp implements RoleService {
      * @return a list of all roles (empty list if no roles found)
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.ROLES, key = "'all'")
     public List<Role> findAll() {
         return roleRepository.findAll();
     }
@@ -51,6 +56,7 @@ public class RoleServiceImp implements RoleService {
      * @throws IllegalArgumentException if the role parameter is null
      */
     @Override
+    @CacheEvict(cacheNames = CacheConfig.ROLES, allEntries = true)
     public Role save(Role role) {
         return roleRepository.save(role);
     }
@@ -63,6 +69,8 @@ public class RoleServiceImp implements RoleService {
      * @throws IllegalArgumentException if the name parameter is null
      */
     @Override
+    @Cacheable(cacheNames = CacheConfig.ROLES, key = "'name:' + #name.toLowerCase(T(java.util.Locale).ROOT)",
+            condition = "#name != null", unless = "#result == null")
     public Role findByName(String name) {
         return roleRepository.findByNameIgnoreCase(name);
     }
@@ -75,6 +83,7 @@ public class RoleServiceImp implements RoleService {
      *         or empty Optional if no role with the given ID exists
      * @throws IllegalArgumentException if the id parameter is null
      */
+    @Cacheable(cacheNames = CacheConfig.ROLES, key = "'id:' + #id", unless = "#result == null")
     public Optional<Role> findById(Long id) {
         return roleRepository.findById(id);
     }
@@ -0,0 +1,208 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import java.sql.Date;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.davis.hospital_Appointment_Rest_API.model.Doctor;
+import com.davis.hospital_Appointment_Rest_API.model.DoctorSchedule;
+import com.davis.hospital_Appointment_Rest_API.model.ScheduleSlot;
+import com.davis.hospital_Appointment_Rest_API.repository.DoctorScheduleRepository;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotCalendar;
+
+/**
+ * Background job that expands weekly {@link DoctorSchedule} templates into dated
+ * {@link ScheduleSlot} rows a fixed number of weeks ahead.
+ * <p>
+ * Each run is incremental and idempotent:
+ * <ul>
+ *   <li>A template whose {@code lastUpdated} differs from its {@code materializedVersion}
+ *       has its future rows deleted and rewritten</li>
+ *   <li>An unchanged template only gets the dates between its {@code materializedThrough}
+ *       and the new horizon</li>
+ *   <li>Rows of unconfirmed or deleted templates and of past dates are removed</li>
+ * </ul>
+ * Doctors whose rows changed get their {@link AvailabilityProjectionService} rows rebuilt.
+ * Rows are inserted with chunked JDBC batches and every template is handled in its own
+ * transaction together with its marker update, so an interrupted run resumes cleanly.
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-20
+ * @see ScheduleSlot
+ * @see SlotGenerator
+ */
+@Service
+public class ScheduleMaterializationService {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduleMaterializationService.class);
+
+    private static final String INSERT_SLOT =
+            "INSERT INTO Schedule_Slot (scheduleId, doctorId, slotDate, startTime, endTime) VALUES (?, ?, ?, ?, ?)";
+    private static final String DELETE_FUTURE_SLOTS =
+            "DELETE FROM Schedule_Slot WHERE scheduleId = ? AND slotDate >= ?";
+    private static final String MARK_MATERIALIZED =
+            "UPDATE Doctor_Schedule SET materializedVersion = ?, materializedThrough = ? WHERE id = ?";
+    private static final String DELETE_UNCONFIRMED_SLOTS =
+            "DELETE FROM Schedule_Slot WHERE scheduleId NOT IN (SELECT id FROM Doctor_Schedule WHERE isConfirmed = ?)";
+    private static final String CLEAR_UNCONFIRMED_MARKS =
+            "UPDATE Doctor_Schedule SET materializedVersion = NULL, materializedThrough = NULL "
+            + "WHERE isConfirmed = ? AND materializedThrough IS NOT NULL";
+    private static final String DELETE_PAST_SLOTS =
+            "DELETE FROM Schedule_Slot WHERE slotDate < ?";
+
+    /**
+     * One row to insert.
+     */
+    private record SlotRow(LocalDate date, LocalTime startTime) {
+    }
+
+    private final DoctorScheduleRepository doctorScheduleRepository;
+    private final SlotGenerator slotGenerator;
+    private final AvailabilityProjectionService availabilityProjectionService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int weeksAhead;
+    private final int batchSize;
+
+    public ScheduleMaterializationService(DoctorScheduleRepository doctorScheduleRepository,
+            SlotGenerator slotGenerator, AvailabilityProjectionService availabilityProjectionService,
+            JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            @Value("${schedule.materialization.weeks:8}") int weeksAhead,
+            @Value("${schedule.materialization.batch-size:500}") int batchSize) {
+        this.doctorScheduleRepository = doctorScheduleRepository;
+        this.slotGenerator = slotGenerator;
+        this.availabilityProjectionService = availabilityProjectionService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.weeksAhead = weeksAhead;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Brings the slot rows of every confirmed template up to the horizon and removes
+     * rows that no longer apply.
+     *
+     * @return the number of slot rows inserted
+     */
+    @Scheduled(initialDelayString = "${schedule.materialization.initial-delay-ms:30000}",
+            fixedDelayString = "${schedule.materialization.interval-ms:900000}")
+    public synchronized int materializeAll() {
+        LocalDate today = LocalDate.now();
+        LocalDate horizon = horizon(today);
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(DELETE_UNCONFIRMED_SLOTS, true);
+            jdbcTemplate.update(CLEAR_UNCONFIRMED_MARKS, false);
+            jdbcTemplate.update(DELETE_PAST_SLOTS, Date.valueOf(today));
+        });
+        availabilityProjectionService.prune();
+
+        int inserted = 0;
+        Map<String, Doctor> changedDoctors = new HashMap<>();
+        for (DoctorSchedule schedule : doctorScheduleRepository.findAllConfirmed()) {
+            int written = materialize(schedule, today, horizon);
+            if (written > 0) {
+                changedDoctors.putIfAbsent(schedule.getDoctor().getUserId(), schedule.getDoctor());
+            }
+            inserted += written;
+        }
+        changedDoctors.values().forEach(availabilityProjectionService::rebuildDoctor);
+        return inserted;
+    }
+
+    /**
+     * Re-expands a single template right after it was saved, so date-based reads see
+     * the change without waiting for the next run.
+     *
+     * @param schedule the saved schedule (with breaks initialized)
+     * @return the number of slot rows inserted
+     */
+    public synchronized int materialize(DoctorSchedule schedule) {
+        LocalDate today = LocalDate.now();
+        if (!schedule.isConfirmed()) {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(DELETE_FUTURE_SLOTS, schedule.getId(), Date.valueOf(today));
+                jdbcTemplate.update(MARK_MATERIALIZED, null, null, schedule.getId());
+            });
+            availabilityProjectionService.rebuildDoctor(schedule.getDoctor());
+            return 0;
+        }
+        int inserted = materialize(schedule, today, horizon(today));
+        availabilityProjectionService.rebuildDoctor(schedule.getDoctor());
+        return inserted;
+    }
+
+    private int materialize(DoctorSchedule schedule, LocalDate today, LocalDate horizon) {
+        boolean stale = schedule.getMaterializedThrough() == null
+                || !Objects.equals(schedule.getMaterializedVersion(), schedule.getLastUpdated());
+        LocalDate from = stale || schedule.getMaterializedThrough().isBefore(today)
+                ? today
+                : schedule.getMaterializedThrough().plusDays(1);
+        if (from.isAfter(horizon)) {
+            return 0;
+        }
+
+        List<LocalTime> slotStarts = slotGenerator.slotStarts(schedule);
+        List<SlotRow> rows = new ArrayList<>();
+        for (LocalDate date = from; !date.isAfter(horizon); date = date.plusDays(1)) {
+            if (SlotCalendarService.dayName(date).equalsIgnoreCase(schedule.getDayOfWeek())) {
+                for (LocalTime startTime : slotStarts) {
+                    rows.add(new SlotRow(date, startTime));
+                }
+            }
+        }
+
+        String doctorId = schedule.getDoctor().getUserId();
+        try {
+            return transactionTemplate.execute(status -> {
+                if (stale) {
+                    jdbcTemplate.update(DELETE_FUTURE_SLOTS, schedule.getId(), Date.valueOf(today));
+                }
+                jdbcTemplate.batchUpdate(INSERT_SLOT, rows, batchSize, (ps, row) -> {
+                    ps.setLong(1, schedule.getId());
+                    ps.setString(2, doctorId);
+                    ps.setDate(3, Date.valueOf(row.date()));
+                    ps.setTime(4, Time.valueOf(row.startTime()));
+                    ps.setTime(5, Time.valueOf(row.startTime().plusMinutes(SlotCalendar.SLOT_MINUTES)));
+                });
+                jdbcTemplate.update(MARK_MATERIALIZED,
+                        schedule.getLastUpdated() == null ? null : Timestamp.valueOf(schedule.getLastUpdated()),
+                        Date.valueOf(horizon), schedule.getId());
+                return rows.size();
+            });
+        } catch (DataIntegrityViolationException e) {
+            if (!isSlotConflict(e)) {
+                throw e;
+            }
+            // Another node expanded the same template concurrently; the next run reconciles it
+            log.info("Schedule {} was expanded concurrently, leaving it to the next run", schedule.getId());
+            return 0;
+        }
+    }
+
+    private static boolean isSlotConflict(DataIntegrityViolationException e) {
+        String message = e.getMostSpecificCause().getMessage();
+        return message != null && message.contains(ScheduleSlot.SLOT_CONSTRAINT);
+    }
+
+    private LocalDate horizon(LocalDate today) {
+        return today.plusWeeks(weeksAhead).minusDays(1);
+    }
+}
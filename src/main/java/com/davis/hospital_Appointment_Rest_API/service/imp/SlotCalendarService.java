@@ -0,0 +1,394 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.TextStyle;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.davis.hospital_Appointment_Rest_API.model.DoctorSchedule;
+import com.davis.hospital_Appointment_Rest_API.repository.AppointmentRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.DoctorScheduleRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.ScheduleSlotRepository;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotCalendar;
+
+/**
+ * Maintains the materialized per-doctor, per-date {@link SlotCalendar}s.
+ * <p>
+ * A calendar is built the first time a doctor/date pair is requested: the dated
+ * {@link com.davis.hospital_Appointment_Rest_API.model.ScheduleSlot} rows of that date supply
+ * the bookable slots, falling back to the weekly {@link DoctorSchedule} templates for that
+ * day of week (generated by {@link SlotGenerator}, breaks excluded) beyond the
+ * materialized horizon, and the existing appointments and live {@link SlotHoldService}
+ * holds for that date seed the occupancy bits. From then on availability reads and
+ * bookings only touch the in-memory bitset.
+ * </p>
+ *
+ * <p><b>Key Responsibilities:</b>
+ * <ul>
+ *   <li>Lazily building and caching slot calendars</li>
+ *   <li>Flipping occupancy bits on booking and cancellation</li>
+ *   <li>Tracking which calendars changed since the read model was last updated</li>
+ *   <li>Evicting calendars when a doctor's schedule changes</li>
+ *   <li>Dropping calendars for past dates</li>
+ * </ul>
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-04
+ * @see SlotCalendar
+ */
+@Service
+public class SlotCalendarService {
+
+    /**
+     * Cache key for a doctor's calendar on a given date.
+     */
+    private record CalendarKey(String doctorId, LocalDate date) {
+    }
+
+    private final DoctorScheduleRepository doctorScheduleRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final SlotGenerator slotGenerator;
+    private final ScheduleSlotRepository scheduleSlotRepository;
+    private final Map<CalendarKey, SlotCalendar> calendars = new ConcurrentHashMap<>();
+    private final Set<CalendarKey> changed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Start times held for a doctor on a date; set by {@link SlotHoldService}, which
+     * itself depends on this service
+     */
+    private volatile BiFunction<String, LocalDate, List<LocalTime>> heldSlots = (doctorId, date) -> List.of();
+
+    public SlotCalendarService(DoctorScheduleRepository doctorScheduleRepository,
+            AppointmentRepository appointmentRepository, SlotGenerator slotGenerator,
+            ScheduleSlotRepository scheduleSlotRepository) {
+        this.doctorScheduleRepository = doctorScheduleRepository;
+        this.appointmentRepository = appointmentRepository;
+        this.slotGenerator = slotGenerator;
+        this.scheduleSlotRepository = scheduleSlotRepository;
+    }
+
+    /**
+     * Returns the slot calendar of a doctor for a date, building it on first access.
+     *
+     * @param doctorId the doctor's user ID
+     * @param date     the calendar date
+     * @return the calendar, or empty if the doctor has no confirmed schedule on that day
+     */
+    @Transactional(readOnly = true)
+    public Optional<SlotCalendar> getCalendar(String doctorId, LocalDate date) {
+        if (doctorId == null || date == null) {
+            throw new IllegalArgumentException("Doctor ID and date must not be null");
+        }
+        CalendarKey key = new CalendarKey(doctorId, date);
+        SlotCalendar calendar = calendars.get(key);
+        if (calendar == null) {
+            SlotCalendar built = buildCalendar(doctorId, date);
+            if (built == null) {
+                return Optional.empty();
+            }
+            calendar = calendars.putIfAbsent(key, built);
+            if (calendar == null) {
+                calendar = built;
+            }
+        }
+        return Optional.of(calendar);
+    }
+
+    /**
+     * Builds, in bulk, every missing calendar for the given schedules over a date range.
+     * <p>
+     * Materialized slots and bookings of all involved doctors across the whole range are
+     * read with one query each, so a multi-day search costs two round trips when cold and
+     * none when warm. Like {@link #getCalendar(String, LocalDate)}, a date with
+     * materialized slots takes its slots from them rather than from the templates.
+     * </p>
+     *
+     * @param schedules confirmed schedules (with doctor and breaks initialized)
+     * @param from      first date of the range (inclusive)
+     * @param to        last date of the range (inclusive)
+     */
+    @Transactional(readOnly = true)
+    public void preload(Collection<DoctorSchedule> schedules, LocalDate from, LocalDate to) {
+        Map<CalendarKey, List<DoctorSchedule>> missing = new HashMap<>();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            String day = dayName(date);
+            for (DoctorSchedule schedule : schedules) {
+                if (!day.equalsIgnoreCase(schedule.getDayOfWeek())) {
+                    continue;
+                }
+                CalendarKey key = new CalendarKey(schedule.getDoctor().getUserId(), date);
+                if (!calendars.containsKey(key)) {
+                    missing.computeIfAbsent(key, k -> new ArrayList<>()).add(schedule);
+                }
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Set<String> doctorIds = new HashSet<>();
+        missing.keySet().forEach(key -> doctorIds.add(key.doctorId()));
+        Map<CalendarKey, List<LocalTime>> materialized = findMaterialized(doctorIds, from, to);
+        Map<CalendarKey, List<LocalTime>> booked = findBooked(doctorIds, from, to);
+
+        missing.forEach((key, daySchedules) -> {
+            List<LocalTime> bookedStartTimes = booked.getOrDefault(key, List.of());
+            List<LocalTime> slotStarts = materialized.get(key);
+            calendars.putIfAbsent(key, slotStarts != null
+                    ? seed(new SlotCalendar(key.doctorId(), key.date(), slotStarts), bookedStartTimes)
+                    : buildCalendar(key, daySchedules, bookedStartTimes));
+        });
+    }
+
+    /**
+     * Drops every cached calendar of a doctor and rebuilds, in bulk, those of the dates
+     * in a range that have materialized slots.
+     * <p>
+     * Used after the doctor's templates were re-expanded, so the rebuilt calendars match
+     * the new slot rows. Slots and bookings are read with one query each.
+     * </p>
+     *
+     * @param doctorId the doctor's user ID
+     * @param from     first date of the range (inclusive)
+     * @param to       last date of the range (inclusive)
+     * @return the doctor's calendars of the materialized dates in the range
+     */
+    @Transactional(readOnly = true)
+    public List<SlotCalendar> reloadMaterialized(String doctorId, LocalDate from, LocalDate to) {
+        evictDoctor(doctorId);
+        Map<CalendarKey, List<LocalTime>> booked = findBooked(List.of(doctorId), from, to);
+        List<SlotCalendar> reloaded = new ArrayList<>();
+        findMaterialized(List.of(doctorId), from, to).forEach((key, slotStarts) -> {
+            SlotCalendar built = seed(new SlotCalendar(key.doctorId(), key.date(), slotStarts),
+                    booked.getOrDefault(key, List.of()));
+            SlotCalendar cached = calendars.putIfAbsent(key, built);
+            reloaded.add(cached != null ? cached : built);
+        });
+        return reloaded;
+    }
+
+    /**
+     * Marks a slot as booked.
+     *
+     * @param doctorId  the doctor's user ID
+     * @param date      the appointment date
+     * @param startTime the slot start time
+     * @return {@code true} if the slot was free and is now taken
+     */
+    public boolean reserve(String doctorId, LocalDate date, LocalTime startTime) {
+        boolean reserved = getCalendar(doctorId, date)
+                .map(calendar -> calendar.tryReserve(startTime))
+                .orElse(false);
+        if (reserved) {
+            changed.add(new CalendarKey(doctorId, date));
+        }
+        return reserved;
+    }
+
+    /**
+     * Marks a slot as taken and, only if it was free, runs an action that records why.
+     * <p>
+     * The bit and the action happen atomically with respect to a calendar being evicted
+     * and rebuilt, so a rebuilt calendar either is seeded with what the action recorded
+     * or takes the bit itself. Used for holds, which have no row to rebuild them from.
+     * </p>
+     *
+     * @param doctorId   the doctor's user ID
+     * @param date       the slot date
+     * @param startTime  the slot start time
+     * @param onReserved run while the slot's calendar cannot be replaced, after the bit was set
+     * @return {@code true} if the slot was free and is now taken
+     */
+    public boolean reserve(String doctorId, LocalDate date, LocalTime startTime, Runnable onReserved) {
+        CalendarKey key = new CalendarKey(doctorId, date);
+        boolean[] reserved = new boolean[1];
+        while (true) {
+            if (getCalendar(doctorId, date).isEmpty()) {
+                return false;
+            }
+            // A null result means the calendar was evicted after it was looked up; take the rebuilt one
+            SlotCalendar calendar = calendars.computeIfPresent(key, (k, current) -> {
+                if (current.tryReserve(startTime)) {
+                    onReserved.run();
+                    reserved[0] = true;
+                }
+                return current;
+            });
+            if (calendar != null) {
+                break;
+            }
+        }
+        if (reserved[0]) {
+            changed.add(key);
+        }
+        return reserved[0];
+    }
+
+    /**
+     * Marks a previously booked slot as free again.
+     *
+     * @param doctorId  the doctor's user ID
+     * @param date      the appointment date
+     * @param startTime the slot start time
+     */
+    public void release(String doctorId, LocalDate date, LocalTime startTime) {
+        CalendarKey key = new CalendarKey(doctorId, date);
+        SlotCalendar calendar = calendars.get(key);
+        if (calendar != null && calendar.release(startTime)) {
+            changed.add(key);
+        }
+    }
+
+    /**
+     * Returns the calendars whose occupancy changed since the previous call and
+     * forgets them, so bursts of bookings on one doctor-day are reported once.
+     *
+     * @return the changed calendars still cached
+     */
+    public List<SlotCalendar> drainChanged() {
+        List<SlotCalendar> drained = new ArrayList<>();
+        for (CalendarKey key : changed) {
+            changed.remove(key);
+            SlotCalendar calendar = calendars.get(key);
+            if (calendar != null) {
+                drained.add(calendar);
+            }
+        }
+        return drained;
+    }
+
+    /**
+     * Marks calendars as changed again, after writing what {@link #drainChanged()}
+     * returned failed, so the next drain reports them.
+     *
+     * @param calendars the calendars that were not written
+     */
+    public void markChanged(Collection<SlotCalendar> calendars) {
+        for (SlotCalendar calendar : calendars) {
+            changed.add(new CalendarKey(calendar.getDoctorId(), calendar.getDate()));
+        }
+    }
+
+    /**
+     * Sets where rebuilt calendars read the currently held slots from.
+     *
+     * @param heldSlots returns the held start times of a doctor on a date
+     */
+    void setHeldSlots(BiFunction<String, LocalDate, List<LocalTime>> heldSlots) {
+        this.heldSlots = heldSlots;
+    }
+
+    /**
+     * Drops every cached calendar of a doctor so it is rebuilt from the current schedule.
+     * Held slots are taken again when a calendar is rebuilt.
+     *
+     * @param doctorId the doctor's user ID
+     */
+    public void evictDoctor(String doctorId) {
+        calendars.keySet().removeIf(key -> key.doctorId().equals(doctorId));
+    }
+
+    /**
+     * Drops calendars for dates that have already passed. Runs daily just after midnight.
+     */
+    @Scheduled(cron = "0 5 0 * * *")
+    public void evictPastDates() {
+        LocalDate today = LocalDate.now();
+        calendars.keySet().removeIf(key -> key.date().isBefore(today));
+        changed.removeIf(key -> key.date().isBefore(today));
+    }
+
+    /**
+     * Builds a calendar from the doctor's materialized slots on the date, or from the
+     * confirmed schedules for the date's day of week when none are materialized, and
+     * seeds it with the appointments already booked and the slots held on that date.
+     */
+    private SlotCalendar buildCalendar(String doctorId, LocalDate date) {
+        List<LocalTime> materialized = scheduleSlotRepository.findStartTimes(doctorId, date);
+        if (!materialized.isEmpty()) {
+            return seed(new SlotCalendar(doctorId, date, materialized),
+                    appointmentRepository.findBookedStartTimes(doctorId, Date.valueOf(date)));
+        }
+        List<DoctorSchedule> schedules = doctorScheduleRepository
+                .findConfirmedByDoctorAndDay(doctorId, dayName(date));
+        if (schedules.isEmpty()) {
+            return null;
+        }
+        return buildCalendar(new CalendarKey(doctorId, date), schedules,
+                appointmentRepository.findBookedStartTimes(doctorId, Date.valueOf(date)));
+    }
+
+    private SlotCalendar buildCalendar(CalendarKey key, List<DoctorSchedule> schedules,
+            List<LocalTime> bookedStartTimes) {
+        TreeSet<LocalTime> slotStarts = new TreeSet<>();
+        for (DoctorSchedule schedule : schedules) {
+            slotStarts.addAll(slotGenerator.slotStarts(schedule));
+        }
+
+        return seed(new SlotCalendar(key.doctorId(), key.date(), List.copyOf(slotStarts)), bookedStartTimes);
+    }
+
+    /**
+     * Groups the materialized slot start times of some doctors over a date range by doctor-day.
+     */
+    private Map<CalendarKey, List<LocalTime>> findMaterialized(Collection<String> doctorIds, LocalDate from,
+            LocalDate to) {
+        Map<CalendarKey, List<LocalTime>> materialized = new HashMap<>();
+        for (Object[] row : scheduleSlotRepository.findSlots(doctorIds, from, to)) {
+            materialized.computeIfAbsent(new CalendarKey((String) row[0], (LocalDate) row[1]),
+                    k -> new ArrayList<>()).add((LocalTime) row[2]);
+        }
+        return materialized;
+    }
+
+    /**
+     * Groups the booked start times of some doctors over a date range by doctor-day.
+     */
+    private Map<CalendarKey, List<LocalTime>> findBooked(Collection<String> doctorIds, LocalDate from,
+            LocalDate to) {
+        Map<CalendarKey, List<LocalTime>> booked = new HashMap<>();
+        for (Object[] row : appointmentRepository.findBookedSlots(doctorIds, Date.valueOf(from), Date.valueOf(to))) {
+            LocalDate date = new Date(((java.util.Date) row[1]).getTime()).toLocalDate();
+            booked.computeIfAbsent(new CalendarKey((String) row[0], date), k -> new ArrayList<>())
+                    .add((LocalTime) row[2]);
+        }
+        return booked;
+    }
+
+    /**
+     * Takes the booked and the currently held slots of a new calendar.
+     */
+    private SlotCalendar seed(SlotCalendar calendar, List<LocalTime> bookedStartTimes) {
+        bookedStartTimes.forEach(calendar::tryReserve);
+        heldSlots.apply(calendar.getDoctorId(), calendar.getDate()).forEach(calendar::tryReserve);
+        return calendar;
+    }
+
+    /**
+     * Converts a date to the day name stored on {@link DoctorSchedule} (e.g. "Monday").
+     *
+     * @param date the date to convert
+     * @return the English full day name
+     */
+    public static String dayName(LocalDate date) {
+        return date.getDayOfWeek().getDisplayName(TextStyle.FULL, Locale.ENGLISH);
+    }
+}
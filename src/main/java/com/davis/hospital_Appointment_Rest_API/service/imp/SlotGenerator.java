@@ -0,0 +1,131 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+
+import com.davis.hospital_Appointment_Rest_API.model.DoctorBreaks;
+import com.davis.hospital_Appointment_Rest_API.model.DoctorSchedule;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotCalendar;
+
+/**
+ * Generates the bookable slot start times of a {@link DoctorSchedule}.
+ * <p>
+ * The schedule's {@link DoctorBreaks} are merged and subtracted from the working window;
+ * each remaining free interval is then filled with back-to-back slots of
+ * {@value SlotCalendar#SLOT_MINUTES} minutes, so slots resume right after a break ends.
+ * </p>
+ *
+ * <p><b>Caching:</b> the generated list is cached per schedule ID together with a version
+ * stamp built from the schedule's last update time, working window and breaks. A changed
+ * schedule or break list produces a new stamp and the list is regenerated; saving a
+ * schedule also evicts its entry explicitly.</p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-08
+ * @see SlotCalendarService
+ */
+@Service
+public class SlotGenerator {
+
+    /**
+     * Generated slots of one schedule and the version they were generated from.
+     */
+    private record CachedSlots(int version, List<LocalTime> slotStarts) {
+    }
+
+    private final Map<Long, CachedSlots> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the bookable slot start times of a schedule in ascending order.
+     * <p>
+     * Unsaved schedules (no ID) are generated on every call and never cached.
+     * </p>
+     *
+     * @param schedule the schedule (with breaks initialized)
+     * @return unmodifiable list of slot start times; empty if the working window is
+     *         missing or inverted
+     */
+    public List<LocalTime> slotStarts(DoctorSchedule schedule) {
+        if (schedule.getId() == null) {
+            return generate(schedule);
+        }
+        int version = version(schedule);
+        CachedSlots cached = cache.get(schedule.getId());
+        if (cached == null || cached.version() != version) {
+            cached = new CachedSlots(version, generate(schedule));
+            cache.put(schedule.getId(), cached);
+        }
+        return cached.slotStarts();
+    }
+
+    /**
+     * Drops the cached slots of a schedule.
+     *
+     * @param scheduleId the schedule ID
+     */
+    public void evict(Long scheduleId) {
+        if (scheduleId != null) {
+            cache.remove(scheduleId);
+        }
+    }
+
+    /**
+     * Subtracts the merged break intervals from the working window and fills each
+     * remaining interval with whole slots.
+     */
+    private List<LocalTime> generate(DoctorSchedule schedule) {
+        LocalTime start = schedule.getStartTime();
+        LocalTime end = schedule.getEndTime();
+        if (start == null || end == null || !start.isBefore(end)) {
+            return List.of();
+        }
+
+        List<DoctorBreaks> breaks = new ArrayList<>();
+        for (DoctorBreaks doctorBreak : schedule.getBreaks()) {
+            if (doctorBreak.getStartTime() != null && doctorBreak.getEndTime() != null
+                    && doctorBreak.getStartTime().isBefore(doctorBreak.getEndTime())) {
+                breaks.add(doctorBreak);
+            }
+        }
+        breaks.sort(Comparator.comparing(DoctorBreaks::getStartTime));
+
+        List<LocalTime> slots = new ArrayList<>();
+        LocalTime cursor = start;
+        for (DoctorBreaks doctorBreak : breaks) {
+            if (!doctorBreak.getEndTime().isAfter(cursor)) {
+                continue;
+            }
+            LocalTime freeEnd = doctorBreak.getStartTime().isBefore(end) ? doctorBreak.getStartTime() : end;
+            fill(slots, cursor, freeEnd);
+            cursor = doctorBreak.getEndTime();
+            if (!cursor.isBefore(end)) {
+                return List.copyOf(slots);
+            }
+        }
+        fill(slots, cursor, end);
+        return List.copyOf(slots);
+    }
+
+    private static void fill(List<LocalTime> slots, LocalTime from, LocalTime to) {
+        int freeMinutes = (to.toSecondOfDay() - from.toSecondOfDay()) / 60;
+        for (int offset = 0; offset + SlotCalendar.SLOT_MINUTES <= freeMinutes; offset += SlotCalendar.SLOT_MINUTES) {
+            slots.add(from.plusMinutes(offset));
+        }
+    }
+
+    private static int version(DoctorSchedule schedule) {
+        int version = Objects.hash(schedule.getLastUpdated(), schedule.getStartTime(), schedule.getEndTime());
+        for (DoctorBreaks doctorBreak : schedule.getBreaks()) {
+            version = 31 * version + Objects.hash(doctorBreak.getStartTime(), doctorBreak.getEndTime());
+        }
+        return version;
+    }
+}
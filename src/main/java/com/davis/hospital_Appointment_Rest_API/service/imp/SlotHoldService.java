@@ -0,0 +1,275 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.davis.hospital_Appointment_Rest_API.exceptions.BadRequestException;
+import com.davis.hospital_Appointment_Rest_API.exceptions.ConflictException;
+import com.davis.hospital_Appointment_Rest_API.exceptions.ResourceNotFoundException;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotHold;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotReleasedEvent;
+import com.davis.hospital_Appointment_Rest_API.utils.TimingWheel;
+
+/**
+ * Temporary holds on appointment slots while a patient confirms a booking.
+ * <p>
+ * A hold sets the slot's bit in the doctor's {@link com.davis.hospital_Appointment_Rest_API.utils.SlotCalendar},
+ * so availability reads and searches stop offering the slot, without writing any rows.
+ * Holds are kept in memory and expire through a {@link TimingWheel} advanced once per
+ * second, which touches only the holds due in the elapsed ticks. A calendar rebuilt
+ * after a schedule change asks {@link #heldStartTimes(String, LocalDate)} for the
+ * held slots, so they stay taken.
+ * </p>
+ *
+ * <p><b>Key Responsibilities:</b>
+ * <ul>
+ *   <li>Placing, extending and releasing holds</li>
+ *   <li>Handing a hold over for confirmation into an appointment</li>
+ *   <li>Expiring lapsed holds, freeing their slots and publishing a {@link SlotReleasedEvent}</li>
+ *   <li>Counting live holds per doctor and date for availability queries</li>
+ * </ul>
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-16
+ * @see SlotHold
+ * @see AppointmentServiceImp#confirmHold(String)
+ */
+@Service
+public class SlotHoldService {
+
+    /** Length of one timing wheel tick in milliseconds */
+    private static final long TICK_MILLIS = 1000;
+
+    /**
+     * Key for the held slots of a doctor on a date.
+     */
+    private record HoldKey(String doctorId, LocalDate date) {
+    }
+
+    private final SlotCalendarService slotCalendarService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long ttlMillis;
+    private final int maxExtensions;
+    private final Map<String, SlotHold> holds = new ConcurrentHashMap<>();
+    private final Map<HoldKey, Set<LocalTime>> heldSlots = new ConcurrentHashMap<>();
+    private final TimingWheel<String> wheel;
+
+    /**
+     * Creates the hold service.
+     *
+     * @param slotCalendarService the slot calendars the holds are placed on
+     * @param eventPublisher      publishes {@link SlotReleasedEvent}s for freed slots
+     * @param ttlSeconds          how long a hold lives before it is extended or confirmed
+     * @param maxExtensions       how many times a hold may be extended
+     */
+    public SlotHoldService(SlotCalendarService slotCalendarService, ApplicationEventPublisher eventPublisher,
+            @Value("${booking.hold.ttl-seconds:300}") long ttlSeconds,
+            @Value("${booking.hold.max-extensions:2}") int maxExtensions) {
+        this.slotCalendarService = slotCalendarService;
+        this.eventPublisher = eventPublisher;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxExtensions = maxExtensions;
+        // One turn of the wheel spans a full TTL, so an unextended hold is visited only once
+        this.wheel = new TimingWheel<>(TICK_MILLIS, (int) Math.max(64, ttlMillis / TICK_MILLIS),
+                System.currentTimeMillis());
+        slotCalendarService.setHeldSlots(this::heldStartTimes);
+    }
+
+    /**
+     * Holds a free slot for a patient.
+     *
+     * @param patientId the patient the slot is held for
+     * @param doctorId  the doctor's user ID
+     * @param date      the slot date (today or later)
+     * @param startTime the slot start time
+     * @return the new hold
+     * @throws BadRequestException if a parameter is missing or the slot has already started
+     * @throws ConflictException if the slot is not free
+     */
+    public SlotHold hold(String patientId, String doctorId, LocalDate date, LocalTime startTime) {
+        if (patientId == null || patientId.isEmpty() || doctorId == null || doctorId.isEmpty()
+                || date == null || startTime == null) {
+            throw new BadRequestException("Patient ID, doctor ID, date and start time are required");
+        }
+        LocalDate today = LocalDate.now();
+        if (date.isBefore(today) || (date.equals(today) && startTime.isBefore(LocalTime.now()))) {
+            throw new BadRequestException("Cannot hold a slot in the past");
+        }
+        // Recorded together with the bit, so a calendar rebuilt meanwhile keeps the slot taken
+        boolean reserved = slotCalendarService.reserve(doctorId, date, startTime,
+                () -> heldSlots.compute(new HoldKey(doctorId, date), (key, held) -> {
+                    Set<LocalTime> slots = held != null ? held : ConcurrentHashMap.newKeySet();
+                    slots.add(startTime);
+                    return slots;
+                }));
+        if (!reserved) {
+            throw new ConflictException("The selected slot is not available");
+        }
+
+        Instant expiresAt = Instant.now().plusMillis(ttlMillis);
+        SlotHold hold = new SlotHold(UUID.randomUUID().toString(), patientId, doctorId, date, startTime, expiresAt);
+        hold.setTimeout(wheel.schedule(hold.getHoldId(), expiresAt.toEpochMilli()));
+        holds.put(hold.getHoldId(), hold);
+        return hold;
+    }
+
+    /**
+     * Extends a live hold by another full TTL from now.
+     *
+     * @param holdId the hold ID
+     * @return the extended hold
+     * @throws ResourceNotFoundException if the hold does not exist or has lapsed, including
+     *         when it lapses or is released while being extended
+     * @throws BadRequestException if the hold has been extended the maximum number of times
+     */
+    public SlotHold extend(String holdId) {
+        SlotHold hold = find(holdId)
+                .orElseThrow(() -> new ResourceNotFoundException("Hold not found or expired: " + holdId));
+        synchronized (hold) {
+            if (holds.get(holdId) != hold || !hold.getExpiresAt().isAfter(Instant.now())) {
+                throw new ResourceNotFoundException("Hold not found or expired: " + holdId);
+            }
+            if (hold.getExtensions() >= maxExtensions) {
+                throw new BadRequestException("Hold has already been extended " + maxExtensions + " times");
+            }
+            Instant expiresAt = Instant.now().plusMillis(ttlMillis);
+            hold.setExtensions(hold.getExtensions() + 1);
+            hold.setExpiresAt(expiresAt);
+            wheel.reschedule(hold.getTimeout(), expiresAt.toEpochMilli());
+        }
+        return hold;
+    }
+
+    /**
+     * Releases a hold and frees its slot.
+     *
+     * @param holdId the hold ID
+     * @throws ResourceNotFoundException if the hold does not exist or has lapsed
+     */
+    public void release(String holdId) {
+        SlotHold hold = remove(holdId)
+                .orElseThrow(() -> new ResourceNotFoundException("Hold not found or expired: " + holdId));
+        freeSlot(hold);
+    }
+
+    /**
+     * Returns a live hold.
+     *
+     * @param holdId the hold ID
+     * @return the hold, or empty if it does not exist or has lapsed
+     */
+    public Optional<SlotHold> find(String holdId) {
+        SlotHold hold = holdId == null ? null : holds.get(holdId);
+        if (hold == null || !hold.getExpiresAt().isAfter(Instant.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(hold);
+    }
+
+    /**
+     * Takes a live hold out of the hold table for confirmation. The slot stays
+     * reserved; the caller either writes the appointment or releases the slot.
+     *
+     * @param holdId the hold ID
+     * @return the claimed hold
+     * @throws ResourceNotFoundException if the hold does not exist or has lapsed
+     */
+    public SlotHold claim(String holdId) {
+        return remove(holdId)
+                .orElseThrow(() -> new ResourceNotFoundException("Hold not found or expired: " + holdId));
+    }
+
+    /**
+     * Counts the live holds of a doctor on a date.
+     *
+     * @param doctorId the doctor's user ID
+     * @param date     the date
+     * @return the number of held slots
+     */
+    public int heldCount(String doctorId, LocalDate date) {
+        Set<LocalTime> held = heldSlots.get(new HoldKey(doctorId, date));
+        return held == null ? 0 : held.size();
+    }
+
+    /**
+     * Returns the start times of the slots held for a doctor on a date.
+     *
+     * @param doctorId the doctor's user ID
+     * @param date     the date
+     * @return the held start times; empty if none
+     */
+    public List<LocalTime> heldStartTimes(String doctorId, LocalDate date) {
+        Set<LocalTime> held = heldSlots.get(new HoldKey(doctorId, date));
+        return held == null ? List.of() : List.copyOf(held);
+    }
+
+    /**
+     * Advances the timing wheel and frees the slots of lapsed holds.
+     */
+    @Scheduled(fixedRate = TICK_MILLIS)
+    public void expireHolds() {
+        Instant now = Instant.now();
+        for (String holdId : wheel.advance(now.toEpochMilli())) {
+            SlotHold hold = holds.get(holdId);
+            if (hold == null) {
+                continue;
+            }
+            synchronized (hold) {
+                if (hold.getExpiresAt().isAfter(now) || !holds.remove(holdId, hold)) {
+                    continue;
+                }
+            }
+            forget(hold);
+            freeSlot(hold);
+        }
+    }
+
+    /**
+     * Frees a hold's slot and announces it, so a waiting patient can be offered it.
+     */
+    private void freeSlot(SlotHold hold) {
+        slotCalendarService.release(hold.getDoctorId(), hold.getDate(), hold.getStartTime());
+        eventPublisher.publishEvent(new SlotReleasedEvent(hold.getDoctorId(), hold.getDate(), hold.getStartTime(),
+                hold.getHoldId()));
+    }
+
+    /**
+     * Removes a live hold from the table, cancelling its expiry.
+     */
+    private Optional<SlotHold> remove(String holdId) {
+        Optional<SlotHold> live = find(holdId);
+        if (live.isEmpty()) {
+            return Optional.empty();
+        }
+        SlotHold hold = live.get();
+        synchronized (hold) {
+            if (!holds.remove(holdId, hold)) {
+                return Optional.empty();
+            }
+        }
+        hold.getTimeout().cancel();
+        forget(hold);
+        return Optional.of(hold);
+    }
+
+    private void forget(SlotHold hold) {
+        heldSlots.computeIfPresent(new HoldKey(hold.getDoctorId(), hold.getDate()), (key, held) -> {
+            held.remove(hold.getStartTime());
+            return held.isEmpty() ? null : held;
+        });
+    }
+}
@@ -0,0 +1,66 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+
+import com.davis.hospital_Appointment_Rest_API.utils.ExportFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes a stream of rows to a response body as they are read from the database.
+ * <p>
+ * Each row is serialized and handed to the output as soon as it arrives, and nothing
+ * keeps a reference to it afterwards, so memory stays flat however many rows the
+ * export has. The generator buffers a few kilobytes and passes them on to the
+ * servlet output, which sends them to the client in chunks.
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-30
+ * @see ExportFormat
+ */
+@Component
+public class StreamingExportWriter {
+
+    private final ObjectMapper objectMapper;
+
+    public StreamingExportWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes every row of the stream in the given format, then flushes the output.
+     * The stream is consumed but not closed; the caller owns it.
+     *
+     * @param rows the rows to write
+     * @param format JSON array or newline-delimited JSON
+     * @param out the response body; left open
+     * @throws IOException if the client goes away or the output fails
+     */
+    public void write(Stream<?> rows, ExportFormat format, OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            if (format == ExportFormat.JSON) {
+                generator.writeStartArray();
+            }
+            Iterator<?> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+                if (format == ExportFormat.NDJSON) {
+                    generator.writeRaw('\n');
+                }
+            }
+            if (format == ExportFormat.JSON) {
+                generator.writeEndArray();
+            }
+        }
+        out.flush();
+    }
+}
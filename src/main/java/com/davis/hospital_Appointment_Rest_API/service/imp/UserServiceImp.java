@@ -15,7 +15,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.davis.hospital_Appointment_Rest_API.config.IdGeneration;
-import com.davis.hospital_Appointment_Rest_API.exceptions.ResourceNotFoundException;
+import com.davis.hospital_Appointment_Rest_API.dto.CursorPage;
+import com.davis.hospital_Appointment_Rest_API.dto.UserCredentials;
 import com.davis.hospital_Appointment_Rest_API.model.User;
 import com.davis.hospital_Appointment_Rest_API.repository.UserRepository;
 import com.davis.hospital_Appointment_Rest_API.service.UserService;
@@ -35,6 +36,12 @@ public class UserServiceImp implements UserDetailsService, UserService {
     
     @Autowired
     private UserRepository userRepository;
+
+    @Autowired
+    private CursorPaginator cursorPaginator;
+
+    @Autowired
+    private CredentialCache credentialCache;
     
     @Autowired
     private IdGeneration idGeneration;
@@ -43,6 +50,11 @@ public class UserServiceImp implements UserDetailsService, UserService {
     
     /**
      * Loads user details by username for Spring Security authentication.
+     * <p>
+     * Reads only the credential columns and the role name, and keeps the result in the
+     * {@link CredentialCache} for a short time, so repeated sign-ins skip the query.
+     * Accounts whose status is not "ACTIVE" are returned disabled.
+     * </p>
      *
      * @param username the username to search for (must not be null or empty)
      * @return UserDetails containing the user's authentication information
@@ -51,15 +63,40 @@ public class UserServiceImp implements UserDetailsService, UserService {
      */
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUserName(username)
-            .orElseThrow(() -> new ResourceNotFoundException(
+        return credentialCache.get(username, this::loadCredentials);
+    }
+
+    /**
+     * Reads a user's credentials from the database.
+     *
+     * @param username the username to search for
+     * @return the user's details
+     * @throws UsernameNotFoundException if no user has the given username
+     */
+    private UserDetails loadCredentials(String username) {
+        UserCredentials credentials = userRepository.findCredentialsByUserName(username)
+            .orElseThrow(() -> new UsernameNotFoundException(
                 "User details not found for the user: " + username));
-        
-        List<GrantedAuthority> authorities = List.of(
-            new SimpleGrantedAuthority(user.getRole().getName()));
-        
-        return new org.springframework.security.core.userdetails.User(
-            user.getUserName(), user.getPassWord(), authorities);
+
+        List<GrantedAuthority> authorities = credentials.getRoleName() == null
+            ? List.of()
+            : List.of(new SimpleGrantedAuthority(credentials.getRoleName()));
+
+        return org.springframework.security.core.userdetails.User.withUsername(credentials.getUserName())
+            .password(credentials.getPassWord())
+            .authorities(authorities)
+            .disabled(!credentials.isActive())
+            .build();
+    }
+
+    /**
+     * Drops a user's cached sign-in credentials. Call it after changing the user's
+     * password, status or role so the next sign-in sees the change.
+     *
+     * @param userName the username
+     */
+    public void evictCredentials(String userName) {
+        credentialCache.evict(userName);
     }
 
     /**
@@ -72,6 +109,18 @@ public class UserServiceImp implements UserDetailsService, UserService {
         return userRepository.findAll();
     }
 
+    /**
+     * Retrieves one page of users with their roles, in user ID order.
+     *
+     * @param cursor the continuation token from the previous page, or {@code null}
+     * @param size the requested page size, or {@code null} for the default
+     * @return the page of users
+     */
+    @Override
+    public CursorPage<User> findUserPage(String cursor, Integer size) {
+        return cursorPaginator.page("users", cursor, size, userRepository::findUsersAfter, User::getUserId);
+    }
+
     /**
      * Finds user details by either username or email address.
      *
@@ -106,7 +155,9 @@ public class UserServiceImp implements UserDetailsService, UserService {
         if (userName == null || userName.isEmpty() || status == null || status.isEmpty()) {
             throw new IllegalArgumentException("Username and status must not be null or empty");
         }
-        return userRepository.updateUserStatus(userName, status) > 0;
+        boolean updated = userRepository.updateUserStatus(userName, status) > 0;
+        evictCredentials(userName);
+        return updated;
     }
 
     /**
@@ -146,7 +197,7 @@ public class UserServiceImp implements UserDetailsService, UserService {
      * @param year  The current year.
      * @return A formatted User ID.
      */
-    private String getUserId(long id, int year) {
+    static String getUserId(long id, int year) {
         if (id <= 9) {
             return "U0000" + id + "" + year;
         } else if (id >= 10 && id <= 99) {
@@ -0,0 +1,140 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.davis.hospital_Appointment_Rest_API.service.imp.JwtService.VerifiedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache of verified access tokens, so a client re-sending the same bearer
+ * token skips parsing and the signature check.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the token, so raw tokens are never kept
+ * in memory, and hold the {@link VerifiedToken} produced by {@link JwtService#verify}.
+ * Each entry expires at the token's own {@code exp}, so a cached token is never
+ * accepted for longer than the token itself allows. Invalid tokens are not cached;
+ * they fail verification every time. Eviction is Caffeine's W-TinyLFU, which keeps
+ * the tokens of active clients when the cache is full.
+ * </p>
+ *
+ * <p><b>Metrics</b> (cache name {@code jwt.tokens}):
+ * <ul>
+ *   <li>{@code cache.gets} - lookups, tagged {@code result=hit|miss}</li>
+ *   <li>{@code cache.size} - tokens currently cached</li>
+ *   <li>{@code cache.evictions} - tokens evicted to stay within the maximum size</li>
+ * </ul>
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-31
+ * @see JwtService#verify(String)
+ */
+@Component
+public class VerifiedTokenCache {
+
+    /** Name of the cache in the metrics */
+    public static final String CACHE_NAME = "jwt.tokens";
+
+    private final JwtService jwtService;
+    private final Cache<ByteBuffer, VerifiedToken> tokens;
+
+    /**
+     * Creates the cache.
+     *
+     * @param jwtService verifies tokens that are not cached
+     * @param maxSize the most tokens held at once; 0 disables caching
+     * @param meterRegistry the registry receiving cache metrics
+     */
+    @Autowired
+    public VerifiedTokenCache(JwtService jwtService, @Value("${jwt.cache.max-size:10000}") long maxSize,
+            MeterRegistry meterRegistry) {
+        this(jwtService, maxSize, meterRegistry, Ticker.systemTicker());
+    }
+
+    VerifiedTokenCache(JwtService jwtService, long maxSize, MeterRegistry meterRegistry, Ticker ticker) {
+        this.jwtService = jwtService;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(Math.max(0, maxSize))
+                .expireAfter(new UntilTokenExpires())
+                .ticker(ticker)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, CACHE_NAME);
+    }
+
+    /**
+     * Returns the verified claims of a token, verifying it only if it is not cached.
+     *
+     * @param token the bearer token
+     * @return the verified username, expiration and authorities
+     * @throws io.jsonwebtoken.ExpiredJwtException if the token has expired
+     * @throws io.jsonwebtoken.JwtException if the token is malformed or its signature does not match
+     * @throws IllegalArgumentException if the token is {@code null} or empty
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return jwtService.verify(token);
+        }
+        return tokens.get(digest(token), key -> jwtService.verify(token));
+    }
+
+    /**
+     * @return the number of tokens currently cached
+     */
+    long size() {
+        tokens.cleanUp();
+        return tokens.estimatedSize();
+    }
+
+    private static ByteBuffer digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Expires each entry when its token does. Tokens without an {@code exp} claim stay
+     * until evicted by size.
+     */
+    private static final class UntilTokenExpires implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken token, long currentTime) {
+            if (token.getExpiration() == null) {
+                return Long.MAX_VALUE;
+            }
+            long remainingMillis = token.getExpiration().getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken token, long currentTime,
+                long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken token, long currentTime,
+                long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
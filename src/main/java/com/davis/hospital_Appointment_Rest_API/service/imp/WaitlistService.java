@@ -0,0 +1,373 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.davis.hospital_Appointment_Rest_API.exceptions.BadRequestException;
+import com.davis.hospital_Appointment_Rest_API.exceptions.ConflictException;
+import com.davis.hospital_Appointment_Rest_API.exceptions.ResourceNotFoundException;
+import com.davis.hospital_Appointment_Rest_API.model.Doctor;
+import com.davis.hospital_Appointment_Rest_API.model.Notification;
+import com.davis.hospital_Appointment_Rest_API.model.Patient;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotHold;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotReleasedEvent;
+import com.davis.hospital_Appointment_Rest_API.utils.WaitlistEntry;
+import com.davis.hospital_Appointment_Rest_API.utils.WaitlistRequest;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Waitlist that backfills freed slots with waiting patients.
+ * <p>
+ * Every entry is placed in one priority queue per date of its range, keyed by the
+ * requested doctor or specialization. When a {@link SlotReleasedEvent} arrives the
+ * heads of the doctor's queue and of the doctor's specialization queue for that date
+ * are compared and the best patient (highest priority, then earliest arrival) is
+ * taken in O(log n). The slot is held for that patient through {@link SlotHoldService}
+ * and a notification carrying the hold ID is saved. If the hold lapses or is released,
+ * its release event offers the slot to the next patient and puts the patient who let
+ * it go back on the waitlist for the rest of their range.
+ * </p>
+ *
+ * <p>Entries are removed lazily: a withdrawn or offered entry is deactivated and its
+ * copies in other date queues are skipped when they reach the head.</p>
+ *
+ * <p>Release events are handled after the releasing transaction commits, one at a time
+ * on a single background thread, so cancellations and hold expiries never wait for
+ * the offer lookups and notification insert, and a failed offer cannot fail them.</p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-18
+ * @see SlotHoldService
+ * @see NotificationServiceImp
+ */
+@Service
+public class WaitlistService {
+
+    /** Longest date range a single waitlist entry may cover */
+    public static final int MAX_RANGE_DAYS = 31;
+
+    /** Message type of the notification offering a held slot */
+    public static final String OFFER_MESSAGE_TYPE = "WAITLIST_OFFER";
+
+    /**
+     * Queue key: a doctor ("D:" prefix) or a specialization ("S:" prefix) on a date.
+     */
+    private record QueueKey(String target, LocalDate date) {
+    }
+
+    /**
+     * Priority queue of one doctor or specialization on a date, with a membership set
+     * so an entry is never queued twice.
+     */
+    private static final class EntryQueue {
+
+        private final PriorityQueue<WaitlistEntry> heap = new PriorityQueue<>(BEST_FIRST);
+        private final Set<WaitlistEntry> members = new HashSet<>();
+
+        void add(WaitlistEntry entry) {
+            if (members.add(entry)) {
+                heap.add(entry);
+            }
+        }
+
+        WaitlistEntry peek() {
+            return heap.peek();
+        }
+
+        WaitlistEntry poll() {
+            WaitlistEntry entry = heap.poll();
+            members.remove(entry);
+            return entry;
+        }
+
+        boolean isEmpty() {
+            return heap.isEmpty();
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(WaitlistService.class);
+
+    private static final Comparator<WaitlistEntry> BEST_FIRST = Comparator
+            .comparingInt(WaitlistEntry::getPriority).reversed()
+            .thenComparingLong(WaitlistEntry::getSequence);
+
+    private final PatientServiceImp patientServiceImp;
+    private final DoctorServiceImp doctorServiceImp;
+    private final SlotHoldService slotHoldService;
+    private final NotificationServiceImp notificationServiceImp;
+    private final Map<QueueKey, EntryQueue> queues = new ConcurrentHashMap<>();
+    private final Map<String, WaitlistEntry> entries = new ConcurrentHashMap<>();
+    /** Entries with an outstanding offer, by the ID of the hold placed for them */
+    private final Map<String, WaitlistEntry> offers = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Executor offerExecutor;
+
+    @Autowired
+    public WaitlistService(PatientServiceImp patientServiceImp, DoctorServiceImp doctorServiceImp,
+            SlotHoldService slotHoldService, NotificationServiceImp notificationServiceImp) {
+        this(patientServiceImp, doctorServiceImp, slotHoldService, notificationServiceImp,
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "waitlist-offers");
+                    thread.setDaemon(true);
+                    return thread;
+                }));
+    }
+
+    /**
+     * Creates the service with the executor that handles release events.
+     */
+    WaitlistService(PatientServiceImp patientServiceImp, DoctorServiceImp doctorServiceImp,
+            SlotHoldService slotHoldService, NotificationServiceImp notificationServiceImp, Executor offerExecutor) {
+        this.patientServiceImp = patientServiceImp;
+        this.doctorServiceImp = doctorServiceImp;
+        this.slotHoldService = slotHoldService;
+        this.notificationServiceImp = notificationServiceImp;
+        this.offerExecutor = offerExecutor;
+    }
+
+    /**
+     * Adds a patient to the waitlist.
+     *
+     * @param request the patient, doctor or specialization, date range and priority
+     * @return the new entry
+     * @throws BadRequestException if the request is incomplete or the range is invalid
+     * @throws ResourceNotFoundException if the patient or doctor cannot be found
+     */
+    public synchronized WaitlistEntry join(WaitlistRequest request) {
+        boolean byDoctor = request.doctorId() != null && !request.doctorId().isEmpty();
+        boolean bySpecialization = request.specialization() != null && !request.specialization().isEmpty();
+        if (request.patientId() == null || request.patientId().isEmpty() || byDoctor == bySpecialization) {
+            throw new BadRequestException("Patient ID and exactly one of doctor ID or specialization are required");
+        }
+        if (request.fromDate() == null || request.toDate() == null || request.toDate().isBefore(request.fromDate())) {
+            throw new BadRequestException("A valid date range is required");
+        }
+        if (request.fromDate().isBefore(LocalDate.now())) {
+            throw new BadRequestException("Date range cannot start in the past");
+        }
+        if (request.fromDate().plusDays(MAX_RANGE_DAYS).isBefore(request.toDate())) {
+            throw new BadRequestException("Date range cannot exceed " + MAX_RANGE_DAYS + " days");
+        }
+        if (request.priority() < 0 || request.priority() > 5) {
+            throw new BadRequestException("Priority must be between 1 and 5, or 0 for routine");
+        }
+        patientServiceImp.findById(request.patientId())
+                .orElseThrow(() -> new ResourceNotFoundException("Patient not found with ID: " + request.patientId()));
+        if (byDoctor) {
+            doctorServiceImp.findById(request.doctorId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Doctor not found with ID: " + request.doctorId()));
+        }
+
+        WaitlistEntry entry = new WaitlistEntry(UUID.randomUUID().toString(), request.patientId(),
+                byDoctor ? request.doctorId() : null, bySpecialization ? request.specialization() : null,
+                request.fromDate(), request.toDate(), request.priority() == 0 ? 1 : request.priority(),
+                sequence.incrementAndGet());
+        enqueue(entry, entry.getFromDate());
+        entries.put(entry.getEntryId(), entry);
+        return entry;
+    }
+
+    /**
+     * Withdraws a patient from the waitlist. A patient holding an offer keeps the
+     * held slot but is not put back on the waitlist if they let it go.
+     *
+     * @param entryId the entry ID
+     * @throws ResourceNotFoundException if the entry is not on the waitlist
+     */
+    public synchronized void leave(String entryId) {
+        WaitlistEntry entry = entryId == null ? null : entries.remove(entryId);
+        if (entry == null) {
+            throw new ResourceNotFoundException("Waitlist entry not found: " + entryId);
+        }
+        entry.deactivate();
+    }
+
+    /**
+     * Offers a freed slot to the best waiting patient. If the slot was freed by an
+     * offer that lapsed or was released, the patient it was offered to is put back on
+     * the waitlist once the slot has gone to someone else.
+     *
+     * <p>The work is handed to the offer thread once the releasing transaction (if any)
+     * has committed.</p>
+     *
+     * @param event the freed slot
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSlotReleased(SlotReleasedEvent event) {
+        offerExecutor.execute(() -> handleSlotReleased(event));
+    }
+
+    private synchronized void handleSlotReleased(SlotReleasedEvent event) {
+        WaitlistEntry declined = event.holdId() == null ? null : offers.remove(event.holdId());
+        try {
+            offer(event);
+        } catch (RuntimeException e) {
+            log.warn("Could not offer the slot of doctor {} on {} at {}", event.doctorId(), event.date(),
+                    event.startTime(), e);
+        } finally {
+            if (declined != null) {
+                requeue(declined);
+            }
+        }
+    }
+
+    private void offer(SlotReleasedEvent event) {
+        if (event.date().isBefore(LocalDate.now())) {
+            return;
+        }
+        Doctor doctor = doctorServiceImp.findById(event.doctorId()).orElse(null);
+        if (doctor == null) {
+            return;
+        }
+        EntryQueue byDoctor = queues.get(new QueueKey(doctorTarget(doctor.getUserId()), event.date()));
+        EntryQueue bySpecialization = doctor.getSpecialization() == null ? null
+                : queues.get(new QueueKey(specializationTarget(doctor.getSpecialization()), event.date()));
+
+        WaitlistEntry entry;
+        while ((entry = pollBest(byDoctor, bySpecialization)) != null) {
+            if (!entry.deactivate()) {
+                continue;
+            }
+            SlotHold hold = null;
+            try {
+                hold = slotHoldService.hold(entry.getPatientId(), doctor.getUserId(), event.date(), event.startTime());
+                offers.put(hold.getHoldId(), entry);
+                notifyOffer(entry, doctor, hold);
+            } catch (ConflictException e) {
+                // Someone else took the slot first; keep the patient waiting for the next one
+                requeue(entry);
+            } catch (RuntimeException e) {
+                // An unannounced hold simply lapses and offers the slot again
+                if (hold != null) {
+                    offers.remove(hold.getHoldId());
+                }
+                log.warn("Could not offer a slot to waitlist entry {}", entry.getEntryId(), e);
+                requeue(entry);
+            }
+            return;
+        }
+    }
+
+    /**
+     * Puts an entry whose offer was not taken or could not be made back into its queues
+     * from today on, unless the patient has left the waitlist meanwhile.
+     */
+    private void requeue(WaitlistEntry entry) {
+        LocalDate today = LocalDate.now();
+        if (entries.get(entry.getEntryId()) != entry || entry.getToDate().isBefore(today) || entry.isActive()) {
+            return;
+        }
+        entry.reactivate();
+        enqueue(entry, entry.getFromDate().isBefore(today) ? today : entry.getFromDate());
+    }
+
+    /**
+     * Adds an entry to its doctor or specialization queue of every date from
+     * {@code from} to the end of its range, skipping queues that still hold it.
+     */
+    private void enqueue(WaitlistEntry entry, LocalDate from) {
+        String target = entry.getDoctorId() != null
+                ? doctorTarget(entry.getDoctorId())
+                : specializationTarget(entry.getSpecialization());
+        for (LocalDate date = from; !date.isAfter(entry.getToDate()); date = date.plusDays(1)) {
+            queues.computeIfAbsent(new QueueKey(target, date), key -> new EntryQueue()).add(entry);
+        }
+    }
+
+    /**
+     * Drops the queues of dates that have already passed, and the entries and offers
+     * whose range has ended. Entries whose offer was confirmed are dropped here too.
+     * Runs daily just after midnight.
+     */
+    @Scheduled(cron = "0 10 0 * * *")
+    public synchronized void evictPastDates() {
+        LocalDate today = LocalDate.now();
+        queues.keySet().removeIf(key -> key.date().isBefore(today));
+        entries.values().removeIf(entry -> {
+            if (!entry.getToDate().isBefore(today)) {
+                return false;
+            }
+            entry.deactivate();
+            return true;
+        });
+        offers.values().removeIf(entry -> entry.getToDate().isBefore(today));
+    }
+
+    /**
+     * Removes and returns the better of the two queue heads, discarding inactive heads.
+     */
+    private WaitlistEntry pollBest(EntryQueue first, EntryQueue second) {
+        WaitlistEntry a = activeHead(first);
+        WaitlistEntry b = activeHead(second);
+        if (a == null && b == null) {
+            return null;
+        }
+        if (b == null || (a != null && BEST_FIRST.compare(a, b) <= 0)) {
+            return first.poll();
+        }
+        return second.poll();
+    }
+
+    private static WaitlistEntry activeHead(EntryQueue queue) {
+        if (queue == null) {
+            return null;
+        }
+        while (!queue.isEmpty() && !queue.peek().isActive()) {
+            queue.poll();
+        }
+        return queue.peek();
+    }
+
+    private void notifyOffer(WaitlistEntry entry, Doctor doctor, SlotHold hold) {
+        Patient patient = patientServiceImp.findById(entry.getPatientId()).orElse(null);
+        if (patient == null) {
+            offers.remove(hold.getHoldId());
+            entries.remove(entry.getEntryId());
+            slotHoldService.release(hold.getHoldId());
+            return;
+        }
+        String message = String.format(Locale.ENGLISH,
+                "A slot with Dr. %s %s on %s at %s is held for you until %s. Confirm it with hold ID %s.",
+                doctor.getSurName(), doctor.getGivenName(),
+                hold.getDate().format(DateTimeFormatter.ISO_LOCAL_DATE), hold.getStartTime(),
+                hold.getExpiresAt(), hold.getHoldId());
+        notificationServiceImp.save(new Notification(patient, message, OFFER_MESSAGE_TYPE, null));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (offerExecutor instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static String doctorTarget(String doctorId) {
+        return "D:" + doctorId;
+    }
+
+    private static String specializationTarget(String specialization) {
+        return "S:" + specialization.trim().toLowerCase(Locale.ENGLISH);
+    }
+}
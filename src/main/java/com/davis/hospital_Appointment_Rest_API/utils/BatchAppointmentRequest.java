@@ -0,0 +1,31 @@
+package com.davis.hospital_Appointment_Rest_API.utils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+/**
+ * Request to book several appointments for one patient with one doctor in a single call.
+ * <p>
+ * The slots are given either explicitly in {@code slots} or generated from a
+ * {@code recurrence}; when both are present the two sets are combined.
+ * With {@code allOrNothing} set, the batch is rejected unless every slot can be booked;
+ * otherwise the free slots are booked and the rest are reported as rejected.
+ * </p>
+ */
+public record BatchAppointmentRequest(String patientId, String doctorId,
+		List<Slot> slots, Recurrence recurrence, boolean allOrNothing) {
+
+	/**
+	 * One requested slot.
+	 */
+	public record Slot(LocalDate date, LocalTime startTime) {
+	}
+
+	/**
+	 * A series of slots at the same time, e.g. weekly for 8 weeks
+	 * ({@code intervalDays = 7, occurrences = 8}).
+	 */
+	public record Recurrence(LocalDate startDate, LocalTime startTime, int intervalDays, int occurrences) {
+	}
+}
@@ -0,0 +1,61 @@
+package com.davis.hospital_Appointment_Rest_API.utils;
+
+import java.util.Locale;
+
+import org.springframework.http.MediaType;
+
+import com.davis.hospital_Appointment_Rest_API.exceptions.BadRequestException;
+
+/**
+ * Output formats of the streaming export endpoints.
+ * <ul>
+ *   <li>{@link #JSON} - a single JSON array of rows</li>
+ *   <li>{@link #NDJSON} - one JSON object per line, readable line by line</li>
+ * </ul>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-30
+ */
+public enum ExportFormat {
+
+    JSON(MediaType.APPLICATION_JSON, "json"),
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    ExportFormat(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Builds the attachment file name for an export.
+     *
+     * @param baseName the name without extension (e.g. "patients")
+     * @return the file name with this format's extension
+     */
+    public String fileName(String baseName) {
+        return baseName + "." + extension;
+    }
+
+    /**
+     * Resolves the {@code format} request parameter.
+     *
+     * @param format "json" or "ndjson", in any case
+     * @return the format
+     * @throws BadRequestException if the format is not supported
+     */
+    public static ExportFormat of(String format) {
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Unsupported export format: " + format);
+        }
+    }
+}
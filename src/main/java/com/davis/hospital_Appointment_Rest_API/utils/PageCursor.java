@@ -0,0 +1,63 @@
+package com.davis.hospital_Appointment_Rest_API.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.davis.hospital_Appointment_Rest_API.exceptions.BadRequestException;
+
+/**
+ * Opaque continuation token for keyset pagination.
+ * <p>
+ * A cursor carries the key of the last row a client received, together with the name
+ * of the list it came from, Base64url-encoded. Clients must treat it as an opaque
+ * string and pass it back unchanged; a cursor from one list is rejected by another.
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-29
+ */
+public final class PageCursor {
+
+    private static final char SEPARATOR = ':';
+
+    private PageCursor() {
+    }
+
+    /**
+     * Builds the cursor that continues after the given key.
+     *
+     * @param scope the list the key belongs to (e.g. "patients")
+     * @param key the key of the last row returned
+     * @return the opaque cursor
+     */
+    public static String encode(String scope, String key) {
+        byte[] raw = (scope + SEPARATOR + key).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /**
+     * Reads the key out of a cursor.
+     *
+     * @param scope the list the cursor must belong to
+     * @param cursor the cursor sent by the client, or {@code null} for the first page
+     * @return the key to continue after, or {@code null} for the first page
+     * @throws BadRequestException if the cursor is malformed or belongs to another list
+     */
+    public static String decode(String scope, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+        String prefix = scope + SEPARATOR;
+        if (!decoded.startsWith(prefix) || decoded.length() == prefix.length()) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+        return decoded.substring(prefix.length());
+    }
+}
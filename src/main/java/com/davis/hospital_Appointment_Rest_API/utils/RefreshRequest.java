@@ -0,0 +1,8 @@
+package com.davis.hospital_Appointment_Rest_API.utils;
+
+/**
+ * Body of a token refresh: the refresh token received at sign-in or from the last refresh.
+ */
+public record RefreshRequest(String refreshToken) {
+
+}
@@ -0,0 +1,220 @@
+package com.davis.hospital_Appointment_Rest_API.utils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * In-memory occupancy calendar for a single doctor on a single date.
+ * <p>
+ * Every bookable slot of the day is given a fixed index and its occupancy is
+ * stored as one bit in a compact bitset (64 slots per word). A full working
+ * day of 20-minute slots fits in two words, so availability checks and
+ * bookings are O(1) memory operations instead of scans over appointment rows.
+ * </p>
+ *
+ * <p><b>Concurrency:</b> bits are flipped with compare-and-set on an
+ * {@link AtomicLongArray}, so concurrent reservations of the same slot are
+ * resolved without locking: exactly one caller wins.</p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-04
+ */
+public class SlotCalendar {
+
+    /** Length of a single appointment slot in minutes */
+    public static final int SLOT_MINUTES = 20;
+
+    /** Doctor this calendar belongs to */
+    private final String doctorId;
+
+    /** Date this calendar covers */
+    private final LocalDate date;
+
+    /** Sorted start times of every bookable slot; the array index is the bit index */
+    private final LocalTime[] slotStarts;
+
+    /** Occupancy bits, a set bit means the slot is taken */
+    private final AtomicLongArray occupied;
+
+    /**
+     * Creates an empty calendar (all slots free).
+     *
+     * @param doctorId   the doctor the calendar belongs to
+     * @param date       the calendar date
+     * @param slotStarts the bookable slot start times in ascending order
+     */
+    public SlotCalendar(String doctorId, LocalDate date, List<LocalTime> slotStarts) {
+        this.doctorId = doctorId;
+        this.date = date;
+        this.slotStarts = slotStarts.toArray(new LocalTime[0]);
+        this.occupied = new AtomicLongArray(Math.max(1, (this.slotStarts.length + 63) >>> 6));
+    }
+
+    /**
+     * Returns the bit index of the slot starting at the given time.
+     *
+     * @param startTime the slot start time
+     * @return the slot index, or {@code -1} if no slot starts at that time
+     */
+    public int indexOf(LocalTime startTime) {
+        if (startTime == null) {
+            return -1;
+        }
+        int index = Arrays.binarySearch(slotStarts, startTime);
+        return index >= 0 ? index : -1;
+    }
+
+    /**
+     * Checks whether the slot starting at the given time exists and is free.
+     *
+     * @param startTime the slot start time
+     * @return {@code true} if the slot can be booked
+     */
+    public boolean isFree(LocalTime startTime) {
+        int index = indexOf(startTime);
+        return index >= 0 && !isSet(index);
+    }
+
+    /**
+     * Atomically marks the slot starting at the given time as occupied.
+     *
+     * @param startTime the slot start time
+     * @return {@code true} if this call took the slot, {@code false} if the slot
+     *         does not exist or is already occupied
+     */
+    public boolean tryReserve(LocalTime startTime) {
+        int index = indexOf(startTime);
+        if (index < 0) {
+            return false;
+        }
+        int word = index >>> 6;
+        long mask = 1L << index;
+        while (true) {
+            long current = occupied.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (occupied.compareAndSet(word, current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Atomically marks the slot starting at the given time as free again.
+     *
+     * @param startTime the slot start time
+     * @return {@code true} if the slot was occupied and has been released
+     */
+    public boolean release(LocalTime startTime) {
+        int index = indexOf(startTime);
+        if (index < 0) {
+            return false;
+        }
+        int word = index >>> 6;
+        long mask = 1L << index;
+        while (true) {
+            long current = occupied.get(word);
+            if ((current & mask) == 0) {
+                return false;
+            }
+            if (occupied.compareAndSet(word, current, current & ~mask)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * @return the number of bookable slots on this date
+     */
+    public int totalSlots() {
+        return slotStarts.length;
+    }
+
+    /**
+     * Counts the free slots using a population count over the bitset.
+     *
+     * @return the number of free slots
+     */
+    public int freeCount() {
+        int taken = 0;
+        for (int i = 0; i < occupied.length(); i++) {
+            taken += Long.bitCount(occupied.get(i));
+        }
+        return slotStarts.length - taken;
+    }
+
+    /**
+     * Returns the start time of the earliest free slot at or after the given time.
+     *
+     * @param notBefore the earliest acceptable start time, or {@code null} for any
+     * @return the slot start time, or {@code null} if no such slot is free
+     */
+    public LocalTime firstFree(LocalTime notBefore) {
+        int from = 0;
+        if (notBefore != null) {
+            int index = Arrays.binarySearch(slotStarts, notBefore);
+            from = index >= 0 ? index : -index - 1;
+        }
+        for (int i = from; i < slotStarts.length; i++) {
+            if (!isSet(i)) {
+                return slotStarts[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the start time of the earliest free slot strictly after the given time.
+     * Used to walk the free slots of the day in order.
+     *
+     * @param after the start time of the previously visited slot
+     * @return the slot start time, or {@code null} if no later slot is free
+     */
+    public LocalTime nextFreeAfter(LocalTime after) {
+        int index = Arrays.binarySearch(slotStarts, after);
+        int from = index >= 0 ? index + 1 : -index - 1;
+        for (int i = from; i < slotStarts.length; i++) {
+            if (!isSet(i)) {
+                return slotStarts[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the start times of all currently free slots in ascending order
+     */
+    public List<LocalTime> freeSlots() {
+        List<LocalTime> free = new ArrayList<>();
+        for (int i = 0; i < slotStarts.length; i++) {
+            if (!isSet(i)) {
+                free.add(slotStarts[i]);
+            }
+        }
+        return free;
+    }
+
+    /**
+     * @return the doctorId
+     */
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    /**
+     * @return the date
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    private boolean isSet(int index) {
+        return (occupied.get(index >>> 6) & (1L << index)) != 0;
+    }
+}
@@ -0,0 +1,144 @@
+package com.davis.hospital_Appointment_Rest_API.utils;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * A temporary, in-memory claim on one slot of a doctor's calendar.
+ * <p>
+ * While the hold is live the slot's bit in the {@link SlotCalendar} stays set, so the
+ * slot is not offered to anyone else. The hold either expires, is released, or is
+ * confirmed into an appointment.
+ * </p>
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-16
+ */
+public class SlotHold {
+
+    /** Unique hold ID */
+    private final String holdId;
+
+    /** The patient the slot is held for */
+    private final String patientId;
+
+    /** The doctor's user ID */
+    private final String doctorId;
+
+    /** The slot date */
+    private final LocalDate date;
+
+    /** The slot start time */
+    private final LocalTime startTime;
+
+    /** When the hold lapses unless extended or confirmed */
+    private volatile Instant expiresAt;
+
+    /** How many times the hold has been extended */
+    private volatile int extensions;
+
+    /** Expiry handle in the hold timing wheel */
+    private volatile TimingWheel.Timeout<String> timeout;
+
+    /**
+     * Constructs a new SlotHold.
+     *
+     * @param holdId    unique hold ID
+     * @param patientId the patient the slot is held for
+     * @param doctorId  the doctor's user ID
+     * @param date      the slot date
+     * @param startTime the slot start time
+     * @param expiresAt when the hold lapses
+     */
+    public SlotHold(String holdId, String patientId, String doctorId, LocalDate date, LocalTime startTime,
+            Instant expiresAt) {
+        this.holdId = holdId;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.date = date;
+        this.startTime = startTime;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * @return the holdId
+     */
+    public String getHoldId() {
+        return holdId;
+    }
+
+    /**
+     * @return the patientId
+     */
+    public String getPatientId() {
+        return patientId;
+    }
+
+    /**
+     * @return the doctorId
+     */
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    /**
+     * @return the date
+     */
+    public LocalDate getDate() {
+        return date;
+    }
+
+    /**
+     * @return the startTime
+     */
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    /**
+     * @return the expiresAt
+     */
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    /**
+     * @param expiresAt the expiresAt to set
+     */
+    public void setExpiresAt(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * @return the extensions
+     */
+    public int getExtensions() {
+        return extensions;
+    }
+
+    /**
+     * @param extensions the extensions to set
+     */
+    public void setExtensions(int extensions) {
+        this.extensions = extensions;
+    }
+
+    /**
+     * @return the timeout
+     */
+    @JsonIgnore
+    public TimingWheel.Timeout<String> getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * @param timeout the timeout to set
+     */
+    public void setTimeout(TimingWheel.Timeout<String> timeout) {
+        this.timeout = timeout;
+    }
+}
@@ -0,0 +1,9 @@
+package com.davis.hospital_Appointment_Rest_API.utils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+public record SlotHoldRequest(String patientId, String doctorId, LocalDate date,
+		LocalTime startTime) {
+
+}
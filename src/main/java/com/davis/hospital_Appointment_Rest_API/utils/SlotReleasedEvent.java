@@ -0,0 +1,23 @@
+package com.davis.hospital_Appointment_Rest_API.utils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Published when a slot becomes free again: its appointment was cancelled, or a
+ * hold on it was released or expired. {@code holdId} names the hold that ended and is
+ * {@code null} for a cancellation.
+ */
+public record SlotReleasedEvent(String doctorId, LocalDate date, LocalTime startTime, String holdId) {
+
+    /**
+     * Creates the event for a cancelled appointment.
+     *
+     * @param doctorId  the doctor's user ID
+     * @param date      the slot date
+     * @param startTime the slot start time
+     */
+    public SlotReleasedEvent(String doctorId, LocalDate date, LocalTime startTime) {
+        this(doctorId, date, startTime, null);
+    }
+}
@@ -0,0 +1,163 @@
+package com.davis.hospital_Appointment_Rest_API.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timing wheel for expiring many short-lived items cheaply.
+ * <p>
+ * Time is cut into ticks of fixed length and each tick maps onto one bucket of a
+ * circular array. Scheduling an item appends it to the bucket of its deadline tick;
+ * advancing the wheel visits only the buckets of the elapsed ticks, so expiry costs
+ * O(1) per item instead of a scan over every live item. Deadlines further away than
+ * one turn of the wheel simply stay in their bucket until the right turn comes round.
+ * </p>
+ *
+ * <p><b>Rescheduling and cancelling</b> are lazy: the {@link Timeout} is updated and
+ * any stale bucket entry is dropped when its bucket is next visited.</p>
+ *
+ * <p><b>Concurrency:</b> scheduling is thread-safe; {@link #advance(long)} is meant to
+ * be driven by a single ticker thread.</p>
+ *
+ * @param <T> the type of item being expired
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-16
+ */
+public class TimingWheel<T> {
+
+    /**
+     * Handle of a scheduled item.
+     *
+     * @param <T> the type of item being expired
+     */
+    public static final class Timeout<T> {
+        private final T item;
+        private volatile long deadlineTick;
+        private volatile boolean cancelled;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * @return the scheduled item
+         */
+        public T getItem() {
+            return item;
+        }
+
+        /**
+         * Stops the item from being expired.
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+
+    /**
+     * Bucket entry; stale once its timeout moves to another deadline.
+     */
+    private record Entry<T>(Timeout<T> timeout, long deadlineTick) {
+    }
+
+    private final long tickMillis;
+    private final Queue<Entry<T>>[] buckets;
+    private volatile long lastTick;
+
+    /**
+     * Creates a wheel.
+     *
+     * @param tickMillis   length of one tick in milliseconds
+     * @param bucketCount  number of buckets (rounded up to a power of two)
+     * @param startMillis  the current time in epoch milliseconds
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int bucketCount, long startMillis) {
+        if (tickMillis < 1 || bucketCount < 1) {
+            throw new IllegalArgumentException("Tick length and bucket count must be positive");
+        }
+        int size = Integer.highestOneBit(bucketCount);
+        if (size < bucketCount) {
+            size <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.buckets = new Queue[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.lastTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules an item to expire at the given time.
+     *
+     * @param item             the item
+     * @param expiresAtMillis  the expiry time in epoch milliseconds
+     * @return the handle used to reschedule or cancel the item
+     */
+    public Timeout<T> schedule(T item, long expiresAtMillis) {
+        Timeout<T> timeout = new Timeout<>(item, deadlineTick(expiresAtMillis));
+        enqueue(timeout);
+        return timeout;
+    }
+
+    /**
+     * Moves a scheduled item to a new expiry time.
+     *
+     * @param timeout          the handle returned by {@link #schedule(Object, long)}
+     * @param expiresAtMillis  the new expiry time in epoch milliseconds
+     */
+    public void reschedule(Timeout<T> timeout, long expiresAtMillis) {
+        timeout.deadlineTick = deadlineTick(expiresAtMillis);
+        enqueue(timeout);
+    }
+
+    /**
+     * Advances the wheel to the given time and collects the items that expired.
+     *
+     * @param nowMillis the current time in epoch milliseconds
+     * @return the expired items, in expiry order
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        List<T> expired = new ArrayList<>();
+        long nowTick = nowMillis / tickMillis;
+        // Never visit a bucket more than once per advance, however long the gap
+        long from = Math.max(lastTick + 1, nowTick - buckets.length + 1);
+        for (long tick = from; tick <= nowTick; tick++) {
+            Queue<Entry<T>> bucket = buckets[(int) (tick & (buckets.length - 1))];
+            for (int pending = bucket.size(); pending > 0; pending--) {
+                Entry<T> entry = bucket.poll();
+                if (entry == null) {
+                    break;
+                }
+                Timeout<T> timeout = entry.timeout();
+                if (timeout.cancelled || timeout.deadlineTick != entry.deadlineTick()) {
+                    continue;
+                }
+                if (entry.deadlineTick() > nowTick) {
+                    bucket.add(entry);
+                } else {
+                    expired.add(timeout.item);
+                }
+            }
+        }
+        lastTick = Math.max(lastTick, nowTick);
+        return expired;
+    }
+
+    private void enqueue(Timeout<T> timeout) {
+        long tick = timeout.deadlineTick;
+        buckets[(int) (tick & (buckets.length - 1))].add(new Entry<>(timeout, tick));
+    }
+
+    /**
+     * Rounds up to a whole tick, never earlier than the next tick still to be visited.
+     */
+    private long deadlineTick(long millis) {
+        return Math.max((millis + tickMillis - 1) / tickMillis, lastTick + 1);
+    }
+}
@@ -0,0 +1,160 @@
+package com.davis.hospital_Appointment_Rest_API.utils;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * A patient waiting for a slot with a doctor, or with any doctor of a
+ * specialization, within a date range.
+ *
+ * @author CYPRIAN DAVIS
+ * @version 1.0
+ * @since 2025-08-18
+ */
+public class WaitlistEntry {
+
+    /** Unique entry ID */
+    private final String entryId;
+
+    /** The waiting patient */
+    private final String patientId;
+
+    /** The requested doctor, or null when any doctor of the specialization will do */
+    private final String doctorId;
+
+    /** The requested specialization, or null when a specific doctor was requested */
+    private final String specialization;
+
+    /** First acceptable date */
+    private final LocalDate fromDate;
+
+    /** Last acceptable date */
+    private final LocalDate toDate;
+
+    /** Priority from 1 (routine) to 5 (urgent) */
+    private final int priority;
+
+    /** When the patient joined the waitlist */
+    private final Instant joinedAt;
+
+    /** Arrival order, used to break priority ties first come first served */
+    private final long sequence;
+
+    /** Cleared once the entry is offered a slot or withdrawn */
+    private final AtomicBoolean active = new AtomicBoolean(true);
+
+    /**
+     * Constructs a new WaitlistEntry.
+     *
+     * @param entryId        unique entry ID
+     * @param patientId      the waiting patient
+     * @param doctorId       the requested doctor, or null
+     * @param specialization the requested specialization, or null
+     * @param fromDate       first acceptable date
+     * @param toDate         last acceptable date
+     * @param priority       priority from 1 to 5
+     * @param sequence       arrival order
+     */
+    public WaitlistEntry(String entryId, String patientId, String doctorId, String specialization,
+            LocalDate fromDate, LocalDate toDate, int priority, long sequence) {
+        this.entryId = entryId;
+        this.patientId = patientId;
+        this.doctorId = doctorId;
+        this.specialization = specialization;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.priority = priority;
+        this.sequence = sequence;
+        this.joinedAt = Instant.now();
+    }
+
+    /**
+     * @return the entryId
+     */
+    public String getEntryId() {
+        return entryId;
+    }
+
+    /**
+     * @return the patientId
+     */
+    public String getPatientId() {
+        return patientId;
+    }
+
+    /**
+     * @return the doctorId
+     */
+    public String getDoctorId() {
+        return doctorId;
+    }
+
+    /**
+     * @return the specialization
+     */
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    /**
+     * @return the fromDate
+     */
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    /**
+     * @return the toDate
+     */
+    public LocalDate getToDate() {
+        return toDate;
+    }
+
+    /**
+     * @return the priority
+     */
+    public int getPriority() {
+        return priority;
+    }
+
+    /**
+     * @return the joinedAt
+     */
+    public Instant getJoinedAt() {
+        return joinedAt;
+    }
+
+    /**
+     * @return the sequence
+     */
+    @JsonIgnore
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return whether the entry is still waiting
+     */
+    public boolean isActive() {
+        return active.get();
+    }
+
+    /**
+     * Takes the entry off the waitlist.
+     *
+     * @return {@code true} if this call deactivated the entry
+     */
+    public boolean deactivate() {
+        return active.compareAndSet(true, false);
+    }
+
+    /**
+     * Puts the entry back on the waitlist after an offer could not be made or was not taken.
+     */
+    public void reactivate() {
+        active.set(true);
+    }
+}
@@ -0,0 +1,13 @@
+package com.davis.hospital_Appointment_Rest_API.utils;
+
+import java.time.LocalDate;
+
+/**
+ * Request to join the waitlist for a doctor or for any doctor of a specialization.
+ * Exactly one of {@code doctorId} and {@code specialization} must be given;
+ * {@code priority} runs from 1 (routine) to 5 (urgent), 0 meaning routine.
+ */
+public record WaitlistRequest(String patientId, String doctorId, String specialization,
+		LocalDate fromDate, LocalDate toDate, int priority) {
+
+}
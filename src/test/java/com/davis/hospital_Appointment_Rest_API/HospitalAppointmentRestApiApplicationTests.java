@@ -1,9 +1,11 @@
-package com.davis.Hospital_Appointment_Rest_API;
+package com.davis.hospital_Appointment_Rest_API;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
 
 @SpringBootTest
+@ActiveProfiles("test")
 class HospitalAppointmentRestApiApplicationTests {
 
 	@Test
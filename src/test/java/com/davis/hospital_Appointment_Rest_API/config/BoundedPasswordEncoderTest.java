@@ -0,0 +1,113 @@
+package com.davis.hospital_Appointment_Rest_API.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.davis.hospital_Appointment_Rest_API.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Saturation and ordering checks for {@link BoundedPasswordEncoder}.
+ */
+class BoundedPasswordEncoderTest {
+
+    /** Encoder whose hashes block until released, standing in for a slow bcrypt. */
+    private static final class GatedEncoder implements PasswordEncoder {
+        private final CountDownLatch gate = new CountDownLatch(1);
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                gate.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+
+    @Test
+    void saturatedPoolRejectsFastInsteadOfQueueing() throws Exception {
+        GatedEncoder slow = new GatedEncoder();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ExecutorService callers = Executors.newFixedThreadPool(3);
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slow, 1, 1, 5_000, registry)) {
+            // One hash running, one waiting: the pool is full
+            List<Future<String>> pending = new ArrayList<>();
+            pending.add(callers.submit(() -> encoder.encode("first")));
+            while (registry.get("password.hash.active").gauge().value() < 1) {
+                Thread.sleep(1);
+            }
+            pending.add(callers.submit(() -> encoder.encode("second")));
+            while (registry.get("password.hash.queue").gauge().value() < 1) {
+                Thread.sleep(1);
+            }
+
+            long start = System.nanoTime();
+            assertThrows(ServiceUnavailableException.class, () -> encoder.encode("third"));
+            assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000, "rejection must not wait");
+            assertEquals(1, registry.get("password.hash.rejected").counter().count());
+
+            slow.gate.countDown();
+            assertEquals("hash:first", pending.get(0).get(5, TimeUnit.SECONDS));
+            assertEquals("hash:second", pending.get(1).get(5, TimeUnit.SECONDS));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void slowHashTimesOut() {
+        GatedEncoder slow = new GatedEncoder();
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(slow, 1, 1, 50, new SimpleMeterRegistry())) {
+            assertThrows(ServiceUnavailableException.class, () -> encoder.matches("secret", "hash:secret"));
+        } finally {
+            slow.gate.countDown();
+        }
+    }
+
+    @Test
+    void encodeAllKeepsOrderAndWaitsForRoomInsteadOfFailing() {
+        PasswordEncoder plain = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return "hash:" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+        List<String> passwords = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            passwords.add("p" + i);
+        }
+        try (BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(plain, 2, 1, 5_000, new SimpleMeterRegistry())) {
+            List<String> hashes = encoder.encodeAll(passwords);
+
+            assertEquals(passwords.size(), hashes.size());
+            for (int i = 0; i < passwords.size(); i++) {
+                assertEquals("hash:p" + i, hashes.get(i));
+            }
+        }
+    }
+}
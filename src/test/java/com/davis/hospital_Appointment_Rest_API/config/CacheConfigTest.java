@@ -0,0 +1,133 @@
+package com.davis.hospital_Appointment_Rest_API.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Locale;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.autoconfigure.metrics.cache.CacheMetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import com.davis.hospital_Appointment_Rest_API.model.Role;
+import com.davis.hospital_Appointment_Rest_API.repository.RoleRepository;
+import com.davis.hospital_Appointment_Rest_API.service.imp.RoleServiceImp;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks that reference-data lookups are cached, counted and cleared by saves.
+ */
+class CacheConfigTest {
+
+    private RoleRepository roleRepository;
+    private MeterRegistry meterRegistry;
+    private ApplicationContextRunner contextRunner;
+
+    @BeforeEach
+    void setUp() {
+        roleRepository = mock(RoleRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        contextRunner = new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(CacheMetricsAutoConfiguration.class))
+                .withBean(RoleRepository.class, () -> roleRepository)
+                .withBean(MeterRegistry.class, () -> meterRegistry)
+                .withUserConfiguration(CacheConfig.class, RoleServiceImp.class);
+    }
+
+    @Test
+    void lookupsHitTheDatabaseOnceAndAreCounted() {
+        Role admin = new Role("Admin", "Administrators");
+        when(roleRepository.findByNameIgnoreCase("Admin")).thenReturn(admin);
+
+        contextRunner.run(context -> {
+            RoleServiceImp roleService = context.getBean(RoleServiceImp.class);
+
+            assertSame(admin, roleService.findByName("Admin"));
+            assertSame(admin, roleService.findByName("Admin"));
+            assertSame(admin, roleService.findByName("Admin"));
+
+            verify(roleRepository, times(1)).findByNameIgnoreCase("Admin");
+            assertEquals(2, meterRegistry.get("cache.gets").tags("cache", CacheConfig.ROLES, "result", "hit")
+                    .functionCounter().count());
+            assertEquals(1, meterRegistry.get("cache.gets").tags("cache", CacheConfig.ROLES, "result", "miss")
+                    .functionCounter().count());
+        });
+    }
+
+    @Test
+    void saveClearsTheCache() {
+        Role admin = new Role("Admin", "Administrators");
+        when(roleRepository.findByNameIgnoreCase("Admin")).thenReturn(admin);
+        when(roleRepository.save(admin)).thenReturn(admin);
+
+        contextRunner.run(context -> {
+            RoleServiceImp roleService = context.getBean(RoleServiceImp.class);
+
+            roleService.findByName("Admin");
+            roleService.save(admin);
+            roleService.findByName("Admin");
+
+            verify(roleRepository, times(2)).findByNameIgnoreCase("Admin");
+        });
+    }
+
+    @Test
+    void missesAreNotCached() {
+        Role admin = new Role("Admin", "Administrators");
+        when(roleRepository.findByNameIgnoreCase("Admin")).thenReturn(null, admin);
+
+        contextRunner.run(context -> {
+            RoleServiceImp roleService = context.getBean(RoleServiceImp.class);
+
+            assertNull(roleService.findByName("Admin"));
+            assertSame(admin, roleService.findByName("Admin"));
+            assertSame(admin, roleService.findByName("Admin"));
+
+            verify(roleRepository, times(2)).findByNameIgnoreCase("Admin");
+        });
+    }
+
+    @Test
+    void nullNameIsLookedUpWithoutTheCache() {
+        contextRunner.run(context -> {
+            RoleServiceImp roleService = context.getBean(RoleServiceImp.class);
+
+            assertNull(roleService.findByName(null));
+            assertNull(roleService.findByName(null));
+
+            verify(roleRepository, times(2)).findByNameIgnoreCase(null);
+        });
+    }
+
+    @Test
+    void namesShareOneEntryWhateverTheDefaultLocale() {
+        Role admin = new Role("Admin", "Administrators");
+        when(roleRepository.findByNameIgnoreCase("ADMIN")).thenReturn(admin);
+        when(roleRepository.findByNameIgnoreCase("admin")).thenReturn(admin);
+        Locale defaultLocale = Locale.getDefault();
+        // Turkish lower-cases "I" to a dotless i, which would split the entry in two
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            contextRunner.run(context -> {
+                RoleServiceImp roleService = context.getBean(RoleServiceImp.class);
+
+                assertSame(admin, roleService.findByName("ADMIN"));
+                assertSame(admin, roleService.findByName("admin"));
+
+                verify(roleRepository, times(1)).findByNameIgnoreCase("ADMIN");
+                verify(roleRepository, times(0)).findByNameIgnoreCase("admin");
+            });
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+}
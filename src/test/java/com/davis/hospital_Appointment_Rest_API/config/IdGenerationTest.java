@@ -0,0 +1,119 @@
+package com.davis.hospital_Appointment_Rest_API.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+/**
+ * Drives several {@link IdGeneration} instances, standing in for separate nodes, against
+ * one simulated {@code IDGen} row and checks that no number is handed out twice.
+ */
+class IdGenerationTest {
+
+    private static final int BLOCK_SIZE = 50;
+
+    /** The simulated idValue column; the UPDATE is serialized like a row lock would. */
+    private final Object rowLock = new Object();
+    private long idValue;
+    private final ThreadLocal<Long> readBack = new ThreadLocal<>();
+    private final AtomicInteger reservations = new AtomicInteger();
+
+    private JdbcTemplate jdbcTemplate;
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        idValue = 1;
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.update(anyString(), anyInt(), eq("userId"))).thenAnswer(call -> {
+            synchronized (rowLock) {
+                idValue += (Integer) call.getArgument(1);
+                readBack.set(idValue);
+            }
+            reservations.incrementAndGet();
+            return 1;
+        });
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), eq("userId")))
+                .thenAnswer(call -> readBack.get());
+
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+    }
+
+    @Test
+    void numbersAreUniqueAcrossThreadsAndNodes() throws Exception {
+        List<IdGeneration> nodes = List.of(
+                new IdGeneration(jdbcTemplate, transactionManager, BLOCK_SIZE),
+                new IdGeneration(jdbcTemplate, transactionManager, BLOCK_SIZE),
+                new IdGeneration(jdbcTemplate, transactionManager, BLOCK_SIZE));
+        int threads = 24;
+        int perThread = 2_000;
+        Set<Long> seen = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                IdGeneration node = nodes.get(t % nodes.size());
+                Callable<Integer> task = () -> {
+                    int duplicates = 0;
+                    for (int i = 0; i < perThread; i++) {
+                        if (!seen.add(node.getNextIdNumber("userId"))) {
+                            duplicates++;
+                        }
+                    }
+                    return duplicates;
+                };
+                futures.add(executor.submit(task));
+            }
+            for (Future<Integer> future : futures) {
+                assertEquals(0, future.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, seen.size());
+        // Each node holds at most its current and one prefetched block beyond what it handed out
+        assertTrue(reservations.get() <= threads * perThread / BLOCK_SIZE + 2 * nodes.size(),
+                "too many reservations: " + reservations.get());
+    }
+
+    @Test
+    void firstNumberIsTheStoredValue() {
+        IdGeneration generation = new IdGeneration(jdbcTemplate, transactionManager, BLOCK_SIZE);
+
+        assertEquals(1, generation.getNextIdNumber("userId"));
+        assertEquals(2, generation.getNextIdNumber("userId"));
+    }
+
+    @Test
+    void missingSequenceRowIsReported() {
+        IdGeneration generation = new IdGeneration(jdbcTemplate, transactionManager, BLOCK_SIZE);
+
+        assertThrows(IllegalStateException.class, () -> generation.getNextIdNumber("unknown"));
+    }
+}
@@ -0,0 +1,150 @@
+package com.davis.hospital_Appointment_Rest_API.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Routing checks for {@link ReplicaRoutingDataSource} and {@link ReplicaLagMonitor}, with
+ * two separate in-memory databases standing in for the primary and the replica.
+ * Replication is simulated by copying the heartbeat row by hand.
+ */
+class ReplicaRoutingDataSourceTest {
+
+    private final DataSource primary = database("primary");
+    private final DataSource replica = database("replica");
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsUseTheReplicaOnceItHasCaughtUp() {
+        ReplicaRoutingDataSource router = router(0);
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica, router, 5_000);
+        JdbcTemplate jdbc = new JdbcTemplate(new LazyConnectionDataSourceProxy(router));
+        TransactionTemplate writes = new TransactionTemplate(new DataSourceTransactionManager(jdbc.getDataSource()));
+        TransactionTemplate reads = readOnly(jdbc);
+
+        // No heartbeat seen yet: reads stay on the primary
+        assertEquals("primary", reads.execute(status -> whereAmI(jdbc)));
+        monitor.check();
+        assertFalse(router.isReplicaUsable());
+
+        replicate();
+        monitor.check();
+        assertTrue(router.isReplicaUsable());
+        assertEquals(0, router.getReplicaLagMs());
+
+        assertEquals("replica", reads.execute(status -> whereAmI(jdbc)));
+        assertEquals("primary", writes.execute(status -> whereAmI(jdbc)));
+        assertEquals("primary", whereAmI(jdbc));
+    }
+
+    @Test
+    void laggingOrUnreachableReplicaFallsBackToThePrimary() {
+        ReplicaRoutingDataSource router = router(0);
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replica, router, 5_000);
+        JdbcTemplate jdbc = new JdbcTemplate(new LazyConnectionDataSourceProxy(router));
+        TransactionTemplate reads = readOnly(jdbc);
+        monitor.check();
+        replicate();
+        monitor.check();
+        assertEquals("replica", reads.execute(status -> whereAmI(jdbc)));
+
+        // The replica stops applying changes a minute ago
+        new JdbcTemplate(replica).update("UPDATE ReplicaHeartbeat SET beatMillis = ?",
+                System.currentTimeMillis() - 60_000);
+        monitor.check();
+        assertFalse(router.isReplicaUsable());
+        assertTrue(router.getReplicaLagMs() >= 60_000);
+        assertEquals("primary", reads.execute(status -> whereAmI(jdbc)));
+
+        new JdbcTemplate(replica).execute("DROP TABLE ReplicaHeartbeat");
+        monitor.check();
+        assertEquals(-1, router.getReplicaLagMs());
+        assertEquals("primary", reads.execute(status -> whereAmI(jdbc)));
+    }
+
+    @Test
+    void usersReadTheirOwnWritesFromThePrimaryDuringTheWindow() {
+        ReplicaRoutingDataSource router = router(60_000);
+        router.replicaChecked(true, 0);
+        JdbcTemplate jdbc = new JdbcTemplate(new LazyConnectionDataSourceProxy(router));
+        TransactionTemplate writes = new TransactionTemplate(new DataSourceTransactionManager(jdbc.getDataSource()));
+        TransactionTemplate reads = readOnly(jdbc);
+
+        signIn("alice");
+        writes.executeWithoutResult(status -> jdbc.update("UPDATE Marker SET name = name"));
+        assertEquals("primary", reads.execute(status -> whereAmI(jdbc)));
+
+        signIn("bob");
+        assertEquals("replica", reads.execute(status -> whereAmI(jdbc)));
+    }
+
+    @Test
+    void readYourWritesIsOffByDefault() {
+        ReplicaRoutingDataSource router = router(0);
+        router.replicaChecked(true, 0);
+        JdbcTemplate jdbc = new JdbcTemplate(new LazyConnectionDataSourceProxy(router));
+        TransactionTemplate writes = new TransactionTemplate(new DataSourceTransactionManager(jdbc.getDataSource()));
+
+        signIn("alice");
+        writes.executeWithoutResult(status -> jdbc.update("UPDATE Marker SET name = name"));
+        assertEquals("replica", readOnly(jdbc).execute(status -> whereAmI(jdbc)));
+    }
+
+    private ReplicaRoutingDataSource router(long readYourWritesMs) {
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, replica, readYourWritesMs,
+                new SimpleMeterRegistry());
+        router.afterPropertiesSet();
+        return router;
+    }
+
+    private static TransactionTemplate readOnly(JdbcTemplate jdbc) {
+        TransactionTemplate template = new TransactionTemplate(new DataSourceTransactionManager(jdbc.getDataSource()));
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private static String whereAmI(JdbcTemplate jdbc) {
+        return jdbc.queryForObject("SELECT name FROM Marker", String.class);
+    }
+
+    private void replicate() {
+        Long beat = new JdbcTemplate(primary).queryForObject("SELECT beatMillis FROM ReplicaHeartbeat WHERE id = 1",
+                Long.class);
+        new JdbcTemplate(replica).update("INSERT INTO ReplicaHeartbeat (id, beatMillis) VALUES (1, ?)", beat);
+    }
+
+    private static void signIn(String user) {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken(user, "n/a", "ROLE_USER"));
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE Marker (name VARCHAR(20))");
+        jdbc.update("INSERT INTO Marker (name) VALUES (?)", name);
+        jdbc.execute("CREATE TABLE ReplicaHeartbeat (id INT PRIMARY KEY, beatMillis BIGINT NOT NULL)");
+        return dataSource;
+    }
+}
@@ -0,0 +1,100 @@
+package com.davis.hospital_Appointment_Rest_API.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Stress and ordering checks for {@link TimeOrderedIdGenerator}.
+ */
+class TimeOrderedIdGeneratorTest {
+
+    @Test
+    void keysAreUniqueAndIncreasingPerThreadUnderContention() throws Exception {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(7);
+        int threads = 16;
+        int perThread = 250_000;
+        Set<String> seen = ConcurrentHashMap.newKeySet(threads * perThread);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    String previous = "";
+                    boolean ordered = true;
+                    for (int i = 0; i < perThread; i++) {
+                        String id = generator.nextId();
+                        ordered &= id.compareTo(previous) > 0;
+                        seen.add(id);
+                        previous = id;
+                    }
+                    return ordered;
+                }));
+            }
+            start.countDown();
+            for (Future<Boolean> future : futures) {
+                assertTrue(future.get(60, TimeUnit.SECONDS), "keys of one thread must sort in issue order");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, seen.size());
+    }
+
+    @Test
+    void nodesNeverCollide() {
+        TimeOrderedIdGenerator first = new TimeOrderedIdGenerator(1);
+        TimeOrderedIdGenerator second = new TimeOrderedIdGenerator(2);
+        Set<Long> seen = new HashSet<>();
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(seen.add(first.nextLong()));
+            assertTrue(seen.add(second.nextLong()));
+        }
+    }
+
+    @Test
+    void keysAreFixedWidthAndCarryTheirTimestamp() {
+        TimeOrderedIdGenerator generator = new TimeOrderedIdGenerator(1023);
+        Instant before = Instant.now();
+        String id = generator.nextId();
+
+        assertEquals(TimeOrderedIdGenerator.KEY_LENGTH, id.length());
+        Duration skew = Duration.between(before, TimeOrderedIdGenerator.timestampOf(id));
+        assertTrue(skew.abs().toMillis() < 1_000, "embedded time off by " + skew);
+        assertNotEquals(id, generator.nextId());
+    }
+
+    @Test
+    void encodingPreservesNumericOrder() {
+        assertEquals("0000000000000", TimeOrderedIdGenerator.encode(0));
+        assertTrue(TimeOrderedIdGenerator.encode(31).compareTo(TimeOrderedIdGenerator.encode(32)) < 0);
+        assertTrue(TimeOrderedIdGenerator.encode(Long.MAX_VALUE - 1)
+                .compareTo(TimeOrderedIdGenerator.encode(Long.MAX_VALUE)) < 0);
+    }
+
+    @Test
+    void nodeIdMustFitTenBits() {
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(1024));
+        assertThrows(IllegalArgumentException.class, () -> new TimeOrderedIdGenerator(-1));
+    }
+}
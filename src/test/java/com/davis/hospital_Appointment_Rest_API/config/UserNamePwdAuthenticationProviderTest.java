@@ -0,0 +1,59 @@
+package com.davis.hospital_Appointment_Rest_API.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+/**
+ * Checks that sign-in failures do not tell an unknown username apart from a wrong password.
+ */
+class UserNamePwdAuthenticationProviderTest {
+
+    private UserNamePwdAuthenticationProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        UserDetailsService users = mock(UserDetailsService.class);
+        when(users.loadUserByUsername("known")).thenReturn(User.withUsername("known")
+                .password("secret").authorities("ROLE_PATIENT").build());
+        when(users.loadUserByUsername("inactive")).thenReturn(User.withUsername("inactive")
+                .password("secret").authorities("ROLE_PATIENT").disabled(true).build());
+        when(users.loadUserByUsername("missing")).thenThrow(new UsernameNotFoundException("missing"));
+        provider = new UserNamePwdAuthenticationProvider(users, NoOpPasswordEncoder.getInstance());
+    }
+
+    @Test
+    void unknownUserFailsLikeAWrongPassword() {
+        BadCredentialsException unknown = assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(new UsernamePasswordAuthenticationToken("missing", "secret")));
+        BadCredentialsException wrongPassword = assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(new UsernamePasswordAuthenticationToken("known", "wrong")));
+
+        assertEquals(wrongPassword.getMessage(), unknown.getMessage());
+    }
+
+    @Test
+    void inactiveAccountIsOnlyReportedWithTheRightPassword() {
+        assertThrows(BadCredentialsException.class,
+                () -> provider.authenticate(new UsernamePasswordAuthenticationToken("inactive", "wrong")));
+        assertThrows(DisabledException.class,
+                () -> provider.authenticate(new UsernamePasswordAuthenticationToken("inactive", "secret")));
+    }
+
+    @Test
+    void rightPasswordSignsIn() {
+        assertEquals("known",
+                provider.authenticate(new UsernamePasswordAuthenticationToken("known", "secret")).getName());
+    }
+}
@@ -0,0 +1,129 @@
+package com.davis.hospital_Appointment_Rest_API.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.davis.hospital_Appointment_Rest_API.service.imp.JwtService;
+import com.davis.hospital_Appointment_Rest_API.service.imp.VerifiedTokenCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+/**
+ * Per-request cost of turning a bearer token into an {@link Authentication}.
+ * <ul>
+ *   <li>{@code threeParsesPerRequest} - the previous filter: username, expiry and
+ *       authorities each built a new parser and verified the signature again</li>
+ *   <li>{@code verifyOnce} - one signature check with the shared parser</li>
+ *   <li>{@code filterRequest} - the whole {@link JwtValidationFilter} on a mock request,
+ *       for a token already in the {@link VerifiedTokenCache}</li>
+ *   <li>{@code filterRequestUncached} - the same with the cache disabled</li>
+ * </ul>
+ * Not part of the test run. Start it with {@code main} from the IDE, or with
+ * {@code mvn test-compile} followed by {@code java -cp <test classpath> org.openjdk.jmh.Main JwtValidationFilterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    private SecretKey signingKey;
+    private JwtService jwtService;
+    private JwtValidationFilter filter;
+    private JwtValidationFilter uncachedFilter;
+    private String token;
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        signingKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+        jwtService = new JwtService(SECRET, 3_600_000);
+        ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+        filter = new JwtValidationFilter(new VerifiedTokenCache(jwtService, 1_000, new SimpleMeterRegistry()),
+                objectMapper);
+        uncachedFilter = new JwtValidationFilter(new VerifiedTokenCache(jwtService, 0, new SimpleMeterRegistry()),
+                objectMapper);
+        token = jwtService.generateJwtToken(new TestingAuthenticationToken("doctor1", null, "ROLE_DOCTOR", "READ"));
+    }
+
+    @Benchmark
+    public Authentication threeParsesPerRequest() {
+        String username = parse(token).getSubject();
+        if (parse(token).getExpiration().before(new Date())) {
+            return null;
+        }
+        List<SimpleGrantedAuthority> authorities = Arrays.stream(parse(token).get("authorities", String.class).split(","))
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+        return new UsernamePasswordAuthenticationToken(username, null, authorities);
+    }
+
+    @Benchmark
+    public Authentication verifyOnce() {
+        JwtService.VerifiedToken verified = jwtService.verify(token);
+        return verified.isExpired() ? null
+                : new UsernamePasswordAuthenticationToken(verified.getUsername(), null, verified.getAuthorities());
+    }
+
+    @Benchmark
+    public Authentication filterRequest() throws Exception {
+        return run(filter);
+    }
+
+    @Benchmark
+    public Authentication filterRequestUncached() throws Exception {
+        return run(uncachedFilter);
+    }
+
+    private Authentication run(JwtValidationFilter filter) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/doctors");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+
+    private Claims parse(String jwt) {
+        return Jwts.parser().verifyWith(signingKey).build().parseSignedClaims(jwt).getPayload();
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder().include(JwtValidationFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
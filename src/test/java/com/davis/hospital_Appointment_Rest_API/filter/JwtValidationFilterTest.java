@@ -0,0 +1,94 @@
+package com.davis.hospital_Appointment_Rest_API.filter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.davis.hospital_Appointment_Rest_API.service.imp.JwtService;
+import com.davis.hospital_Appointment_Rest_API.service.imp.VerifiedTokenCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks that {@link JwtValidationFilter} authenticates from a single verification of
+ * the token and rejects expired or tampered tokens.
+ */
+class JwtValidationFilterTest {
+
+    private static final String SECRET = "filter-test-secret-filter-test-secret-filter-test-secret-0123";
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesWithTheTokensUserNameAndAuthorities() throws Exception {
+        JwtService jwtService = new JwtService(SECRET, 60_000);
+        String token = jwtService.generateJwtToken(
+                new TestingAuthenticationToken("doctor1", null, "ROLE_DOCTOR", "READ"));
+
+        MockHttpServletResponse response = filter(jwtService, token);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals(200, response.getStatus());
+        assertEquals("doctor1", authentication.getName());
+        assertEquals(List.of("ROLE_DOCTOR", "READ"),
+                authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+
+    @Test
+    void tokensWithTheSameRolesShareOneAuthorityList() {
+        JwtService jwtService = new JwtService(SECRET, 60_000);
+        String first = jwtService.generateJwtToken(new TestingAuthenticationToken("doctor1", null, "ROLE_DOCTOR", "READ"));
+        String second = jwtService.generateJwtToken(new TestingAuthenticationToken("doctor2", null, "ROLE_DOCTOR", "READ"));
+
+        assertSame(jwtService.verify(first).getAuthorities(), jwtService.verify(second).getAuthorities());
+        assertSame(jwtService.verify(first).getAuthorities(), jwtService.extractAuthorities(second));
+    }
+
+    @Test
+    void rejectsExpiredTokens() throws Exception {
+        JwtService jwtService = new JwtService(SECRET, -1_000);
+        String token = jwtService.generateJwtToken(new TestingAuthenticationToken("doctor1", null, "READ"));
+
+        MockHttpServletResponse response = filter(jwtService, token);
+
+        assertEquals(401, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    void rejectsTokensSignedWithAnotherKey() throws Exception {
+        String token = new JwtService(SECRET.replace('f', 'g'), 60_000)
+                .generateJwtToken(new TestingAuthenticationToken("doctor1", null, "READ"));
+
+        MockHttpServletResponse response = filter(new JwtService(SECRET, 60_000), token);
+
+        assertEquals(401, response.getStatus());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    private static MockHttpServletResponse filter(JwtService jwtService, String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/doctors");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        VerifiedTokenCache tokenCache = new VerifiedTokenCache(jwtService, 100, new SimpleMeterRegistry());
+        new JwtValidationFilter(tokenCache, new ObjectMapper().findAndRegisterModules())
+                .doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,544 @@
+package com.davis.hospital_Appointment_Rest_API.querybudget;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.TextStyle;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.jayway.jsonpath.JsonPath;
+import com.davis.hospital_Appointment_Rest_API.config.TimeOrderedIdGenerator;
+import com.davis.hospital_Appointment_Rest_API.controller.UserController;
+import com.davis.hospital_Appointment_Rest_API.model.Admin;
+import com.davis.hospital_Appointment_Rest_API.model.Appointment;
+import com.davis.hospital_Appointment_Rest_API.model.Authority;
+import com.davis.hospital_Appointment_Rest_API.model.Department;
+import com.davis.hospital_Appointment_Rest_API.model.Doctor;
+import com.davis.hospital_Appointment_Rest_API.model.DoctorSchedule;
+import com.davis.hospital_Appointment_Rest_API.model.Patient;
+import com.davis.hospital_Appointment_Rest_API.model.Role;
+import com.davis.hospital_Appointment_Rest_API.model.User;
+import com.davis.hospital_Appointment_Rest_API.repository.AppointmentRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.AuthorityRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.DepartmentRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.DoctorRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.PatientRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.RoleRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.UserRepository;
+import com.davis.hospital_Appointment_Rest_API.service.imp.DoctorScheduleServiceImp;
+import com.davis.hospital_Appointment_Rest_API.service.imp.UserServiceImp;
+import com.davis.hospital_Appointment_Rest_API.utils.PageCursor;
+
+/**
+ * Runs the controller endpoints against a seeded in-memory database and holds each
+ * one to a fixed SQL statement budget.
+ * <p>
+ * The seed has several rows behind every list (doctors, patients, schedules,
+ * appointments), so an endpoint that issues a query per row blows its budget here
+ * long before it reaches production. When an endpoint legitimately needs another
+ * query, raise its budget in the same change and say why in the review.
+ * </p>
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(QueryBudgetConfiguration.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@WithMockUser(roles = "ADMIN")
+class EndpointQueryBudgetTest {
+
+    private static final String[] SPECIALIZATIONS = {"Cardiology", "Pediatrics", "Dermatology"};
+    private static final int DOCTORS_PER_SPECIALIZATION = 4;
+    private static final int PATIENTS = 20;
+    private static final int APPOINTMENTS = 40;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private AuthorityRepository authorityRepository;
+    @Autowired
+    private DepartmentRepository departmentRepository;
+    @Autowired
+    private DoctorRepository doctorRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+    @Autowired
+    private DoctorScheduleServiceImp doctorScheduleServiceImp;
+    @Autowired
+    private UserServiceImp userServiceImp;
+    @Autowired
+    private TimeOrderedIdGenerator idGenerator;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final List<Doctor> doctors = new ArrayList<>();
+    private final List<Patient> patients = new ArrayList<>();
+    private LocalDate nextMonday;
+
+    @BeforeAll
+    void seed() {
+        Role adminRole = roleRepository.save(new Role("Admin", "Administrators"));
+        Role doctorRole = roleRepository.save(new Role("Doctor", "Doctors"));
+        Role patientRole = roleRepository.save(new Role("Patient", "Patients"));
+        authorityRepository.save(new Authority("READ"));
+        authorityRepository.save(new Authority("WRITE"));
+
+        List<Department> departments = departmentRepository.saveAll(List.of(
+                new Department("Heart", "Cardiac care", "BLDG-A-1F", "100", null, null, null),
+                new Department("Children", "Child health", "BLDG-B-2F", "200", null, null, null)));
+
+        Admin admin = new Admin();
+        fill(admin, "U0000A", "admin", adminRole);
+        admin.setPassWord(passwordEncoder.encode("secret"));
+        userRepository.save(admin);
+
+        int number = 0;
+        for (String specialization : SPECIALIZATIONS) {
+            for (int i = 0; i < DOCTORS_PER_SPECIALIZATION; i++) {
+                Doctor doctor = new Doctor();
+                fill(doctor, "U0000D" + number, "doctor" + number, doctorRole);
+                doctor.setSurName("Surname" + number);
+                doctor.setGivenName("Doc" + number);
+                doctor.setSpecialization(specialization);
+                doctor.setLicense_number("LIC-" + number);
+                doctor.setConsulation_fee(50);
+                doctor.setDepartment(departments.get(number % departments.size()));
+                doctors.add(doctorRepository.save(doctor));
+                number++;
+            }
+        }
+        for (int i = 0; i < PATIENTS; i++) {
+            Patient patient = new Patient();
+            fill(patient, "U0000P" + i, "patient" + i, patientRole);
+            patient.setSurName("Family" + i);
+            patient.setGivenName("Pat" + i);
+            patient.setBloodGroup("O+");
+            patient.setDateOfBirth(LocalDate.of(1990, 1, 1).plusDays(i));
+            patients.add(patientRepository.save(patient));
+        }
+
+        for (Doctor doctor : doctors) {
+            for (DayOfWeek day : DayOfWeek.values()) {
+                DoctorSchedule schedule = new DoctorSchedule();
+                schedule.setDoctor(doctor);
+                schedule.setDayOfWeek(day.getDisplayName(TextStyle.FULL, Locale.ENGLISH));
+                schedule.setStartTime(LocalTime.of(8, 0));
+                schedule.setEndTime(LocalTime.of(12, 0));
+                schedule.setConfirmed(true);
+                doctorScheduleServiceImp.save(schedule);
+            }
+        }
+
+        nextMonday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+        for (int i = 0; i < APPOINTMENTS; i++) {
+            Appointment appointment = new Appointment();
+            appointment.setId(idGenerator.nextId());
+            appointment.setDoctor(doctors.get(i % doctors.size()));
+            appointment.setPatient(patients.get(i % patients.size()));
+            appointment.setDate(java.sql.Date.valueOf(nextMonday.plusDays(i / doctors.size())));
+            appointment.setStartTime(LocalTime.of(8, 0).plusMinutes(20L * (i / doctors.size())));
+            appointment.setEndTime(appointment.getStartTime().plusMinutes(20));
+            appointment.setStatus(Appointment.STATUS_SCHEDULED);
+            appointmentRepository.save(appointment);
+        }
+    }
+
+    /**
+     * Starts every test cold so reference-data budgets do not depend on test order.
+     */
+    @BeforeEach
+    void clearCaches() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    /**
+     * Runs a streaming endpoint to completion and returns its body. The body is written
+     * on an async thread, outside the statement counter's reach, so exports are checked
+     * for content rather than held to a budget.
+     */
+    private String export(MockHttpServletRequestBuilder request, MediaType type) throws Exception {
+        MvcResult started = mockMvc.perform(request).andExpect(request().asyncStarted()).andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(type))
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private ResultActions login(String userName) throws Exception {
+        return mockMvc.perform(post("/api/users/auth").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userName\":\"" + userName + "\",\"password\":\"secret\"}"));
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        return mockMvc.perform(post("/api/users/refresh").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"refreshToken\":\"" + refreshToken + "\"}"));
+    }
+
+    private static String refreshTokenOf(ResultActions login) throws Exception {
+        return login.andExpect(status().isOk()).andReturn().getResponse().getHeader(UserController.REFRESH_TOKEN_HEADER);
+    }
+
+    private static String nextCursor(MvcResult result) throws Exception {
+        return JsonPath.read(result.getResponse().getContentAsString(), "$.data.nextCursor");
+    }
+
+    private static void fill(User user, String userId, String userName, Role role) {
+        user.setUserId(userId);
+        user.setUserName(userName);
+        user.setPassWord("{noop}secret");
+        user.setEmail(userName + "@hospital.test");
+        user.setContact("+256700000000");
+        user.setRole(role);
+        user.setStatus("ACTIVE");
+        user.setCreatedOn(LocalDateTime.now());
+    }
+
+    // ---- Appointments ----
+
+    @Test
+    @QueryBudget(1)
+    void listAppointments() throws Exception {
+        mockMvc.perform(get("/api/appointments")).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(1)
+    void appointmentListRowsAreFlat() throws Exception {
+        String body = mockMvc.perform(get("/api/appointments")).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        List<Map<String, Object>> items = JsonPath.read(body, "$.data.items");
+        assertTrue(items.size() >= APPOINTMENTS);
+        for (Map<String, Object> item : items) {
+            assertEquals(Set.of("id", "date", "startTime", "endTime", "status", "notes", "doctorId", "doctorName",
+                    "specialization", "patientId", "patientName"), item.keySet());
+            String doctor = ((String) item.get("doctorId")).substring("U0000D".length());
+            assertEquals("Surname" + doctor + " Doc" + doctor, item.get("doctorName"));
+            assertEquals(SPECIALIZATIONS[Integer.parseInt(doctor) / DOCTORS_PER_SPECIALIZATION],
+                    item.get("specialization"));
+            String patient = ((String) item.get("patientId")).substring("U0000P".length());
+            assertEquals("Family" + patient + " Pat" + patient, item.get("patientName"));
+        }
+        assertFalse(body.contains("passWord"));
+    }
+
+    @Test
+    // appointments with doctor, patient, their roles and the doctor's department in one join
+    @QueryBudget(2)
+    void appointmentNameSearchesLoadReferencesInTheSameQuery() {
+        List<Appointment> byDoctor = appointmentRepository.searchByDoctorName("Doc1");
+        List<Appointment> byPatient = appointmentRepository.searchByPatientName("Pat1");
+
+        assertFalse(byDoctor.isEmpty());
+        assertFalse(byPatient.isEmpty());
+        for (Appointment appointment : byDoctor) {
+            assertNotNull(appointment.getDoctor().getDepartment().getName());
+            assertNotNull(appointment.getPatient().getRole().getName());
+        }
+        for (Appointment appointment : byPatient) {
+            assertNotNull(appointment.getDoctor().getRole().getName());
+            assertNotNull(appointment.getPatient().getSurName());
+        }
+    }
+
+    @Test
+    @QueryBudget(value = 3, rows = 3 * 11)
+    void appointmentPagesReadOnlyOnePageOfRowsEach() throws Exception {
+        String cursor = null;
+        for (int page = 0; page < 3; page++) {
+            MockHttpServletRequestBuilder request = get("/api/appointments").param("size", "10");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            cursor = nextCursor(mockMvc.perform(request).andExpect(status().isOk()).andReturn());
+        }
+    }
+
+    @Test
+    @QueryBudget(0)
+    void invalidCursorIsRejected() throws Exception {
+        mockMvc.perform(get("/api/appointments").param("cursor", "not-a-cursor")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/patients").param("cursor", PageCursor.encode("doctors", "U0000D1")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void exportAppointmentsAsJsonArray() throws Exception {
+        String body = export(get("/api/appointments/export"), MediaType.APPLICATION_JSON);
+
+        List<String> ids = JsonPath.read(body, "$[*].id");
+        assertEquals(appointmentRepository.count(), ids.size());
+        assertEquals(ids.stream().sorted().toList(), ids);
+    }
+
+    @Test
+    @QueryBudget(0)
+    void unsupportedExportFormatIsRejected() throws Exception {
+        mockMvc.perform(get("/api/appointments/export").param("format", "xml")).andExpect(status().isBadRequest());
+    }
+
+    // ---- Doctors ----
+
+    @Test
+    @QueryBudget(1)
+    void listDoctors() throws Exception {
+        mockMvc.perform(get("/api/doctors")).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(1)
+    void doctorsBySpecialization() throws Exception {
+        mockMvc.perform(get("/api/doctors/specialization/Cardiology")).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(1)
+    void doctorsByName() throws Exception {
+        mockMvc.perform(get("/api/doctors/name/Doc")).andExpect(status().isOk());
+    }
+
+    // ---- Patients ----
+
+    @Test
+    @QueryBudget(1)
+    void listPatients() throws Exception {
+        mockMvc.perform(get("/api/patients")).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(value = 1, rows = 6)
+    void patientPageReadsOneExtraRow() throws Exception {
+        mockMvc.perform(get("/api/patients").param("size", "5")).andExpect(status().isOk());
+    }
+
+    @Test
+    void exportPatientsAsNdjson() throws Exception {
+        String body = export(get("/api/patients/export").param("format", "ndjson"), MediaType.APPLICATION_NDJSON);
+
+        List<String> ids = body.lines().map(line -> JsonPath.<String>read(line, "$.userId")).toList();
+        assertEquals(patientRepository.count(), ids.size());
+        assertEquals(ids.stream().sorted().toList(), ids);
+    }
+
+    @Test
+    @QueryBudget(1)
+    void patientsByName() throws Exception {
+        mockMvc.perform(get("/api/patients/Pat")).andExpect(status().isOk());
+    }
+
+    // ---- Schedules and availability ----
+
+    @Test
+    @QueryBudget(1)
+    void schedulesBySpecialization() throws Exception {
+        mockMvc.perform(get("/api/doctor-schedules/by-specialization/Cardiology")).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(1)
+    void schedulesByDoctorName() throws Exception {
+        mockMvc.perform(get("/api/doctor-schedules/by-name/Doc")).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(1)
+    void schedulesByDay() throws Exception {
+        mockMvc.perform(get("/api/doctor-schedules/by-day/Monday")).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(1)
+    void availableBySpecializationAndDate() throws Exception {
+        mockMvc.perform(get("/api/doctor-schedules/available/Cardiology/" + nextMonday)).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(3)
+    void doctorAvailability() throws Exception {
+        mockMvc.perform(get("/api/doctor-schedules/" + doctors.get(0).getUserId() + "/availability/" + nextMonday))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    // schedules, one role and one department per distinct value, materialized slots, booked slots
+    @QueryBudget(6)
+    void earliestSlots() throws Exception {
+        mockMvc.perform(get("/api/doctor-schedules/earliest/Pediatrics").param("date", nextMonday.toString()))
+                .andExpect(status().isOk());
+    }
+
+    // ---- Reference data ----
+
+    @Test
+    @QueryBudget(1)
+    void listRoles() throws Exception {
+        mockMvc.perform(get("/api/userRoles")).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(1)
+    void roleByName() throws Exception {
+        mockMvc.perform(get("/api/userRoles/role/Doctor")).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(1)
+    void listAuthorities() throws Exception {
+        mockMvc.perform(get("/api/userAuthorities")).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(1)
+    void authorityByName() throws Exception {
+        mockMvc.perform(get("/api/userAuthorities/authority/READ")).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(3)
+    void listDepartments() throws Exception {
+        mockMvc.perform(get("/api/departments")).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(1)
+    void departmentByName() throws Exception {
+        mockMvc.perform(get("/api/departments/search/by-name/Heart")).andExpect(status().isOk());
+    }
+
+    @Test
+    @QueryBudget(2)
+    void listSchedules() throws Exception {
+        mockMvc.perform(get("/api/doctor-schedules")).andExpect(status().isOk());
+    }
+
+    // ---- Users ----
+
+    @Test
+    // one page of users with roles, then each distinct doctor department once
+    @QueryBudget(3)
+    void listUsers() throws Exception {
+        mockMvc.perform(get("/api/users")).andExpect(status().isOk());
+    }
+
+    @Test
+    // credentials (users and role, no subtype tables), refresh token insert
+    @QueryBudget(2)
+    void login() throws Exception {
+        userServiceImp.evictCredentials("admin");
+        login("admin").andExpect(status().isOk());
+    }
+
+    @Test
+    // credentials once, then one refresh token insert per login
+    @QueryBudget(1 + 3)
+    void repeatedLoginsReadCredentialsOnce() throws Exception {
+        userServiceImp.evictCredentials("admin");
+        for (int i = 0; i < 3; i++) {
+            login("admin").andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    // login: credentials, first refresh token; refresh: mark used, next refresh token
+    @QueryBudget(4)
+    void refreshCostsOneUpdateAndOneInsert() throws Exception {
+        userServiceImp.evictCredentials("admin");
+        refresh(refreshTokenOf(login("admin"))).andExpect(status().isOk());
+    }
+
+    @Test
+    void refreshTokensRotateAndReuseRevokesTheFamily() throws Exception {
+        String first = refreshTokenOf(login("admin"));
+        MvcResult refreshed = refresh(first).andExpect(status().isOk()).andReturn();
+        String second = refreshed.getResponse().getHeader(UserController.REFRESH_TOKEN_HEADER);
+        String accessToken = JsonPath.read(refreshed.getResponse().getContentAsString(), "$.data.accessToken");
+
+        mockMvc.perform(get("/api/doctors").header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/doctors").header("Authorization", "Bearer " + second))
+                .andExpect(status().isUnauthorized());
+
+        // The first token comes back: the family is revoked, including the second token
+        refresh(first).andExpect(status().isUnauthorized());
+        refresh(second).andExpect(status().isUnauthorized());
+        refresh(refreshTokenOf(login("admin"))).andExpect(status().isOk());
+    }
+
+    @Test
+    void statusChangeTakesEffectOnTheNextLogin() throws Exception {
+        String userName = patients.get(PATIENTS - 1).getUserName();
+        login(userName).andExpect(status().isOk());
+        userServiceImp.updateUserStatus(userName, "SUSPENDED");
+        try {
+            login(userName).andExpect(status().isForbidden());
+        } finally {
+            userServiceImp.updateUserStatus(userName, "ACTIVE");
+        }
+        login(userName).andExpect(status().isOk());
+    }
+
+    @Test
+    // id allocation (2), existence check, users and Patient inserts
+    @QueryBudget(5)
+    void registerPatient() throws Exception {
+        mockMvc.perform(post("/api/users/patient/register").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"userName\":\"newpatient\",\"passWord\":\"secret\",\"surName\":\"New\","
+                        + "\"givenName\":\"Patient\"}"))
+                .andExpect(status().isCreated());
+    }
+
+    // ---- Booking ----
+
+    @Test
+    // patient, candidate schedules and their references, materialized slots, booked slots, merge check, insert
+    @QueryBudget(9)
+    void bookAppointment() throws Exception {
+        mockMvc.perform(post("/api/appointments").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"patientId\":\"" + patients.get(0).getUserId() + "\",\"doctorSpecialty\":\"Dermatology\","
+                        + "\"preferredDate\":\"" + nextMonday.plusDays(7) + "\"}"))
+                .andExpect(status().isCreated());
+    }
+}
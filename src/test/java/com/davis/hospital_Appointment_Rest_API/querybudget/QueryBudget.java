@@ -0,0 +1,42 @@
+package com.davis.hospital_Appointment_Rest_API.querybudget;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Declares how much database work a test may do.
+ * <p>
+ * The test fails when its body executes more SQL statements than {@link #value()} or
+ * reads more result set rows than {@link #rows()}. Budgets are fixed numbers so a
+ * change that adds a query per row of seeded data breaks the build.
+ * </p>
+ *
+ * <pre>
+ * &#64;Test
+ * &#64;QueryBudget(1)
+ * void listDoctors() throws Exception { ... }
+ * </pre>
+ *
+ * @see QueryBudgetExtension
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    /**
+     * @return the most SQL statements the test may execute
+     */
+    int value();
+
+    /**
+     * @return the most result set rows the test may read
+     */
+    long rows() default Long.MAX_VALUE;
+}
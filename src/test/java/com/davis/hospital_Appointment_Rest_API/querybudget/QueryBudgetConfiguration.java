@@ -0,0 +1,24 @@
+package com.davis.hospital_Appointment_Rest_API.querybudget;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Routes the application's data source through {@link StatementCounter}.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class QueryBudgetConfiguration {
+
+    @Bean
+    static BeanPostProcessor statementCountingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? StatementCounter.wrap(dataSource) : bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package com.davis.hospital_Appointment_Rest_API.querybudget;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * Measures the body of every {@link QueryBudget} test and fails it when over budget.
+ * <p>
+ * Counting starts right before the test method runs, after {@code @BeforeEach} setup,
+ * so seeding data never counts against the budget. The failure message lists every
+ * statement that ran, which usually points straight at the N+1.
+ * </p>
+ */
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        StatementCounter.start();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        StatementCounter.Recording recording = StatementCounter.stop();
+        QueryBudget budget = context.getRequiredTestMethod().getAnnotation(QueryBudget.class);
+        if (budget == null || context.getExecutionException().isPresent()) {
+            return;
+        }
+        if (recording.getStatementCount() > budget.value()) {
+            throw new AssertionFailedError(context.getDisplayName() + " executed " + recording.getStatementCount()
+                    + " SQL statements, budget is " + budget.value() + ":\n  "
+                    + String.join("\n  ", recording.getStatements()));
+        }
+        if (recording.getRows() > budget.rows()) {
+            throw new AssertionFailedError(context.getDisplayName() + " read " + recording.getRows()
+                    + " rows, budget is " + budget.rows());
+        }
+    }
+}
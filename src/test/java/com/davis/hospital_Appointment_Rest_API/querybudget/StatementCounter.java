@@ -0,0 +1,142 @@
+package com.davis.hospital_Appointment_Rest_API.querybudget;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * Counts the SQL statements executed and rows read on the current thread.
+ * <p>
+ * {@link #wrap(DataSource)} returns a data source whose connections, statements and
+ * result sets report to the recording started by {@link #start()} on the same thread.
+ * Work on other threads (schedulers, prefetchers) is never counted, so background jobs
+ * cannot make a request look more expensive than it is.
+ * </p>
+ */
+public final class StatementCounter {
+
+    /**
+     * What one recording saw.
+     */
+    public static final class Recording {
+        private final List<String> statements = new ArrayList<>();
+        private long rows;
+
+        /** @return the statements executed, in order */
+        public List<String> getStatements() {
+            return statements;
+        }
+
+        /** @return the number of statements executed */
+        public int getStatementCount() {
+            return statements.size();
+        }
+
+        /** @return the number of result set rows read */
+        public long getRows() {
+            return rows;
+        }
+    }
+
+    private static final ThreadLocal<Recording> CURRENT = new ThreadLocal<>();
+
+    private StatementCounter() {
+    }
+
+    /**
+     * Starts counting on the current thread, discarding any earlier recording.
+     */
+    public static void start() {
+        CURRENT.set(new Recording());
+    }
+
+    /**
+     * Stops counting on the current thread.
+     *
+     * @return what was counted since {@link #start()}, or an empty recording if none was started
+     */
+    public static Recording stop() {
+        Recording recording = CURRENT.get();
+        CURRENT.remove();
+        return recording != null ? recording : new Recording();
+    }
+
+    /**
+     * Wraps a data source so its work is counted.
+     *
+     * @param target the real data source
+     * @return the counting data source
+     */
+    public static DataSource wrap(DataSource target) {
+        return new DelegatingDataSource(target) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return proxy(Connection.class, super.getConnection(), null);
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return proxy(Connection.class, super.getConnection(username, password), null);
+            }
+        };
+    }
+
+    private static <T> T proxy(Class<T> type, T target, String sql) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            String name = method.getName();
+            if (target instanceof Connection && result instanceof Statement statement) {
+                String prepared = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                if (result instanceof CallableStatement callable) {
+                    return proxy(CallableStatement.class, callable, prepared);
+                }
+                if (result instanceof PreparedStatement preparedStatement) {
+                    return proxy(PreparedStatement.class, preparedStatement, prepared);
+                }
+                return proxy(Statement.class, statement, null);
+            }
+            if (target instanceof Statement && name.startsWith("execute")) {
+                record(args != null && args.length > 0 && args[0] instanceof String text ? text : sql);
+            }
+            if (result instanceof ResultSet resultSet && !(target instanceof ResultSet)) {
+                return proxy(ResultSet.class, resultSet, null);
+            }
+            if (target instanceof ResultSet && name.equals("next") && Boolean.TRUE.equals(result)) {
+                Recording recording = CURRENT.get();
+                if (recording != null) {
+                    recording.rows++;
+                }
+            }
+            return result;
+        };
+        return type.cast(Proxy.newProxyInstance(StatementCounter.class.getClassLoader(), new Class<?>[] {type}, handler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void record(String sql) {
+        Recording recording = CURRENT.get();
+        if (recording != null) {
+            recording.statements.add(sql != null ? sql : "<batch>");
+        }
+    }
+}
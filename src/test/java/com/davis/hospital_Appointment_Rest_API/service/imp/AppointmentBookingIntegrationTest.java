@@ -0,0 +1,298 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.davis.hospital_Appointment_Rest_API.config.TimeOrderedIdGenerator;
+import com.davis.hospital_Appointment_Rest_API.dto.BatchBookingResult;
+import com.davis.hospital_Appointment_Rest_API.dto.BookingOutcome;
+import com.davis.hospital_Appointment_Rest_API.exceptions.ConflictException;
+import com.davis.hospital_Appointment_Rest_API.model.Appointment;
+import com.davis.hospital_Appointment_Rest_API.model.Doctor;
+import com.davis.hospital_Appointment_Rest_API.model.DoctorSchedule;
+import com.davis.hospital_Appointment_Rest_API.model.Patient;
+import com.davis.hospital_Appointment_Rest_API.model.Role;
+import com.davis.hospital_Appointment_Rest_API.model.User;
+import com.davis.hospital_Appointment_Rest_API.repository.AppointmentRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.DoctorRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.PatientRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.RoleRepository;
+import com.davis.hospital_Appointment_Rest_API.utils.BatchAppointmentRequest;
+import com.davis.hospital_Appointment_Rest_API.utils.BatchAppointmentRequest.Slot;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotCalendar;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotHold;
+
+/**
+ * Books appointments against an in-memory database, so the slot constraint and the
+ * calendar bits are exercised together rather than through mocks.
+ * <p>
+ * Each test books on its own date, so tests do not see each other's appointments.
+ * </p>
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AppointmentBookingIntegrationTest {
+
+    private static final LocalTime NINE = LocalTime.of(9, 0);
+    private static final LocalTime TEN = LocalTime.of(10, 0);
+    private static final LocalTime ELEVEN = LocalTime.of(11, 0);
+
+    @Autowired
+    private AppointmentServiceImp appointmentService;
+    @Autowired
+    private SlotCalendarService slotCalendarService;
+    @Autowired
+    private DoctorScheduleServiceImp doctorScheduleServiceImp;
+    @Autowired
+    private AppointmentRepository appointmentRepository;
+    @Autowired
+    private DoctorRepository doctorRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private SlotHoldService slotHoldService;
+    @Autowired
+    private AvailabilityProjectionService availabilityProjectionService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TimeOrderedIdGenerator idGenerator;
+
+    private Doctor doctor;
+    private Patient patient;
+    private LocalDate firstMonday;
+
+    @BeforeAll
+    void seed() {
+        doctor = new Doctor();
+        fill(doctor, "U0BK01D", "booking.doctor", role("Doctor"));
+        doctor.setSurName("Booking");
+        doctor.setGivenName("Doctor");
+        doctor.setSpecialization("Neurology");
+        doctor.setLicense_number("LIC-BK-1");
+        doctor.setConsulation_fee(50);
+        doctor = doctorRepository.save(doctor);
+
+        patient = new Patient();
+        fill(patient, "U0BK01P", "booking.patient", role("Patient"));
+        patient.setSurName("Booking");
+        patient.setGivenName("Patient");
+        patient = patientRepository.save(patient);
+
+        DoctorSchedule schedule = new DoctorSchedule(doctor, "Monday", LocalTime.of(8, 0), LocalTime.of(12, 0), 12);
+        schedule.setConfirmed(true);
+        doctorScheduleServiceImp.save(schedule);
+
+        firstMonday = LocalDate.now().plusWeeks(2).with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+    }
+
+    @Test
+    void slotTakenBehindTheCalendarsBackIsReportedAsConflict() {
+        LocalDate date = firstMonday;
+        SlotCalendar calendar = slotCalendarService.getCalendar(doctor.getUserId(), date).orElseThrow();
+        // Another node books 09:00 after this node built its calendar
+        appointmentRepository.saveAndFlush(appointment(date, NINE));
+        assertTrue(calendar.isFree(NINE));
+
+        ConflictException e = assertThrows(ConflictException.class,
+                () -> appointmentService.save(appointment(date, NINE)));
+
+        assertEquals(HttpStatus.CONFLICT, e.getStatus());
+        // The slot really is taken, so the calendar now says so too
+        assertFalse(calendar.isFree(NINE));
+        assertEquals(1, appointmentRepository.findBookedStartTimes(doctor.getUserId(), java.sql.Date.valueOf(date)).size());
+    }
+
+    @Test
+    void failedWriteForAnotherReasonGivesTheSlotBack() {
+        LocalDate date = firstMonday.plusWeeks(1);
+        SlotCalendar calendar = slotCalendarService.getCalendar(doctor.getUserId(), date).orElseThrow();
+        Appointment unwritable = appointment(date, NINE);
+        Patient unknown = new Patient();
+        unknown.setUserId("U0BK99P");
+        unknown.setUserName("missing.patient");
+        unwritable.setPatient(unknown);
+
+        assertThrows(RuntimeException.class, () -> appointmentService.save(unwritable));
+
+        assertTrue(calendar.isFree(NINE));
+        assertEquals(calendar.totalSlots(), calendar.freeCount());
+    }
+
+    @Test
+    void allOrNothingBatchIsRejectedWhenOneSlotIsTaken() {
+        LocalDate date = firstMonday.plusWeeks(2);
+        appointmentService.save(appointment(date, TEN));
+
+        BatchBookingResult result = appointmentService.bookBatch(batch(true, date, NINE, TEN, ELEVEN));
+
+        assertEquals(0, result.getBookedCount());
+        assertEquals(List.of("Batch rejected because other slots are unavailable", "Slot already booked",
+                "Batch rejected because other slots are unavailable"), reasons(result));
+        SlotCalendar calendar = slotCalendarService.getCalendar(doctor.getUserId(), date).orElseThrow();
+        assertTrue(calendar.isFree(NINE));
+        assertTrue(calendar.isFree(ELEVEN));
+        assertEquals(List.of(TEN), bookedOn(date));
+    }
+
+    @Test
+    void bestEffortBatchBooksTheSlotsThatAreFree() {
+        LocalDate date = firstMonday.plusWeeks(3);
+        appointmentService.save(appointment(date, TEN));
+
+        BatchBookingResult result = appointmentService.bookBatch(
+                batch(false, date, NINE, NINE.plusMinutes(10), TEN, ELEVEN));
+
+        assertEquals(2, result.getBookedCount());
+        assertEquals(Arrays.asList(null, "Not a bookable slot for this doctor", "Slot already booked", null),
+                reasons(result));
+        assertEquals(List.of(NINE, TEN, ELEVEN), bookedOn(date));
+        SlotCalendar calendar = slotCalendarService.getCalendar(doctor.getUserId(), date).orElseThrow();
+        assertFalse(calendar.isFree(NINE));
+        assertFalse(calendar.isFree(ELEVEN));
+    }
+
+    @Test
+    void bestEffortBatchFallsBackToSingleWritesOnASlotConstraintViolation() {
+        LocalDate date = firstMonday.plusWeeks(4);
+        slotCalendarService.getCalendar(doctor.getUserId(), date).orElseThrow();
+        // Another node books 10:00; the batch insert trips the slot constraint
+        appointmentRepository.saveAndFlush(appointment(date, TEN));
+
+        BatchBookingResult result = appointmentService.bookBatch(batch(false, date, NINE, TEN, ELEVEN));
+
+        assertEquals(2, result.getBookedCount());
+        assertEquals(Arrays.asList(null, "Slot already booked", null), reasons(result));
+        assertEquals(List.of(NINE, TEN, ELEVEN), bookedOn(date));
+    }
+
+    @Test
+    void allOrNothingBatchReportsAConflictOnASlotConstraintViolation() {
+        LocalDate date = firstMonday.plusWeeks(5);
+        SlotCalendar calendar = slotCalendarService.getCalendar(doctor.getUserId(), date).orElseThrow();
+        appointmentRepository.saveAndFlush(appointment(date, TEN));
+
+        ConflictException e = assertThrows(ConflictException.class,
+                () -> appointmentService.bookBatch(batch(true, date, NINE, TEN, ELEVEN)));
+
+        assertEquals(HttpStatus.CONFLICT, e.getStatus());
+        assertTrue(calendar.isFree(NINE));
+        assertTrue(calendar.isFree(ELEVEN));
+        assertEquals(List.of(TEN), bookedOn(date));
+    }
+
+    @Test
+    void heldSlotStaysTakenWhenTheDoctorsScheduleIsSaved() {
+        LocalDate date = firstMonday.plusWeeks(6);
+        SlotHold hold = slotHoldService.hold(patient.getUserId(), doctor.getUserId(), date, NINE);
+
+        DoctorSchedule tuesday = new DoctorSchedule(doctor, "Tuesday", LocalTime.of(8, 0), LocalTime.of(12, 0), 12);
+        tuesday.setConfirmed(true);
+        doctorScheduleServiceImp.save(tuesday);
+
+        SlotCalendar rebuilt = slotCalendarService.getCalendar(doctor.getUserId(), date).orElseThrow();
+        assertFalse(rebuilt.isFree(NINE));
+        assertThrows(ConflictException.class, () -> appointmentService.save(appointment(date, NINE)));
+
+        Appointment confirmed = appointmentService.confirmHold(hold.getHoldId());
+        assertEquals(patient.getUserId(), confirmed.getPatient().getUserId());
+        assertEquals(List.of(NINE), bookedOn(date));
+    }
+
+    @Test
+    void slotCanBeCancelledAgainAfterItWasRebooked() {
+        LocalDate date = firstMonday.plusWeeks(7);
+        Appointment first = appointmentService.cancel(appointmentService.save(appointment(date, NINE)).getId());
+        Appointment second = appointmentService.cancel(appointmentService.save(appointment(date, NINE)).getId());
+
+        assertEquals(Appointment.STATUS_CANCELLED, second.getStatus());
+        assertTrue(second.getCancellationStamp() > first.getCancellationStamp());
+        assertEquals(List.of(), bookedOn(date));
+    }
+
+    @Test
+    void projectionRebuildAndFlushAgreeOnRemainingCapacity() {
+        // Within the materialized horizon, unlike the other test dates
+        LocalDate date = firstMonday.minusWeeks(1);
+        appointmentService.save(appointment(date, TEN));
+        SlotHold hold = slotHoldService.hold(patient.getUserId(), doctor.getUserId(), date, NINE);
+
+        availabilityProjectionService.rebuildDoctor(doctor);
+        List<Integer> rebuilt = capacity(date);
+        availabilityProjectionService.flushChanges();
+
+        assertEquals(List.of(12, 10), rebuilt);
+        assertEquals(rebuilt, capacity(date));
+        slotHoldService.release(hold.getHoldId());
+    }
+
+    private List<Integer> capacity(LocalDate date) {
+        return jdbcTemplate.queryForObject(
+                "SELECT totalSlots, remainingSlots FROM Availability_View WHERE doctorId = ? AND slotDate = ?",
+                (rs, rowNum) -> List.of(rs.getInt(1), rs.getInt(2)), doctor.getUserId(), java.sql.Date.valueOf(date));
+    }
+
+    private BatchAppointmentRequest batch(boolean allOrNothing, LocalDate date, LocalTime... startTimes) {
+        List<Slot> slots = Arrays.stream(startTimes).map(startTime -> new Slot(date, startTime)).toList();
+        return new BatchAppointmentRequest(patient.getUserId(), doctor.getUserId(), slots, null, allOrNothing);
+    }
+
+    private static List<String> reasons(BatchBookingResult result) {
+        return result.getOutcomes().stream().map(BookingOutcome::getReason).toList();
+    }
+
+    private List<LocalTime> bookedOn(LocalDate date) {
+        return appointmentRepository.findBookedStartTimes(doctor.getUserId(), java.sql.Date.valueOf(date))
+                .stream().sorted().toList();
+    }
+
+    private Appointment appointment(LocalDate date, LocalTime startTime) {
+        Appointment appointment = new Appointment();
+        appointment.setId(idGenerator.nextId());
+        appointment.setDoctor(doctor);
+        appointment.setPatient(patient);
+        appointment.setDate(java.sql.Date.valueOf(date));
+        appointment.setStartTime(startTime);
+        appointment.setEndTime(startTime.plusMinutes(SlotCalendar.SLOT_MINUTES));
+        appointment.setStatus(Appointment.STATUS_SCHEDULED);
+        return appointment;
+    }
+
+    private Role role(String name) {
+        Role role = roleRepository.findByNameIgnoreCase(name);
+        return role != null ? role : roleRepository.save(new Role(name, name + "s"));
+    }
+
+    private static void fill(User user, String userId, String userName, Role role) {
+        user.setUserId(userId);
+        user.setUserName(userName);
+        user.setPassWord("{noop}secret");
+        user.setEmail(userName + "@hospital.test");
+        user.setContact("+256700000000");
+        user.setRole(role);
+        user.setStatus("ACTIVE");
+        user.setCreatedOn(LocalDateTime.now());
+    }
+}
@@ -0,0 +1,100 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.davis.hospital_Appointment_Rest_API.config.TimeOrderedIdGenerator;
+import com.davis.hospital_Appointment_Rest_API.model.Appointment;
+import com.davis.hospital_Appointment_Rest_API.model.Doctor;
+import com.davis.hospital_Appointment_Rest_API.model.DoctorSchedule;
+import com.davis.hospital_Appointment_Rest_API.model.Patient;
+import com.davis.hospital_Appointment_Rest_API.repository.AppointmentRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.DoctorScheduleRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.ScheduleSlotRepository;
+import com.davis.hospital_Appointment_Rest_API.utils.BatchAppointmentRequest;
+import com.davis.hospital_Appointment_Rest_API.utils.BatchAppointmentRequest.Slot;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotCalendar;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checks that a best-effort batch gives back every slot it has not written when the
+ * one-at-a-time fallback fails for a reason other than a slot conflict.
+ */
+class AppointmentServiceImpBatchTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusWeeks(1);
+    private static final List<LocalTime> SLOTS = List.of(LocalTime.of(9, 0), LocalTime.of(9, 20),
+            LocalTime.of(9, 40), LocalTime.of(10, 0));
+
+    private AppointmentRepository appointmentRepository;
+    private SlotCalendarService slotCalendarService;
+    private AppointmentServiceImp appointmentService;
+
+    @BeforeEach
+    void setUp() {
+        Doctor doctor = new Doctor();
+        doctor.setUserId("DOC-1");
+        Patient patient = new Patient();
+        patient.setUserId("PAT-1");
+
+        DoctorScheduleRepository doctorScheduleRepository = mock(DoctorScheduleRepository.class);
+        when(doctorScheduleRepository.findConfirmedByDoctorAndDay("DOC-1", SlotCalendarService.dayName(DATE)))
+                .thenReturn(List.of(new DoctorSchedule(doctor, SlotCalendarService.dayName(DATE),
+                        LocalTime.of(9, 0), LocalTime.of(11, 0), 6)));
+        appointmentRepository = mock(AppointmentRepository.class);
+        when(appointmentRepository.findBookedStartTimes(eq("DOC-1"), any())).thenReturn(List.of());
+
+        PatientServiceImp patientServiceImp = mock(PatientServiceImp.class);
+        when(patientServiceImp.findById("PAT-1")).thenReturn(Optional.of(patient));
+        DoctorServiceImp doctorServiceImp = mock(DoctorServiceImp.class);
+        when(doctorServiceImp.findById("DOC-1")).thenReturn(Optional.of(doctor));
+
+        slotCalendarService = new SlotCalendarService(doctorScheduleRepository, appointmentRepository,
+                new SlotGenerator(), mock(ScheduleSlotRepository.class));
+        appointmentService = new AppointmentServiceImp(appointmentRepository, patientServiceImp,
+                doctorServiceImp, slotCalendarService, mock(AvailabilitySearchService.class),
+                new ReservationLockManager(64, 5000, new SimpleMeterRegistry()),
+                new SlotHoldService(slotCalendarService, event -> { }, 300, 2), event -> { },
+                new TimeOrderedIdGenerator(0), new CursorPaginator(50, 200), mock(StreamingExportWriter.class));
+    }
+
+    @Test
+    void unexpectedFailureDuringFallbackReleasesEveryUnwrittenSlot() {
+        doThrow(new DataIntegrityViolationException("batch failed",
+                new SQLException("Violation of UNIQUE KEY constraint '" + Appointment.SLOT_CONSTRAINT + "'")))
+                .when(appointmentRepository).insertAll(anyList());
+        // 09:00 is written, then the connection times out on 09:20
+        when(appointmentRepository.saveAndFlush(any(Appointment.class)))
+                .thenAnswer(call -> call.getArgument(0))
+                .thenThrow(new QueryTimeoutException("timed out"));
+
+        assertThrows(QueryTimeoutException.class, () -> appointmentService.bookBatch(
+                new BatchAppointmentRequest("PAT-1", "DOC-1",
+                        SLOTS.stream().map(startTime -> new Slot(DATE, startTime)).toList(), null, false)));
+
+        SlotCalendar calendar = slotCalendarService.getCalendar("DOC-1", DATE).orElseThrow();
+        assertFalse(calendar.isFree(SLOTS.get(0)));
+        SLOTS.subList(1, SLOTS.size()).forEach(startTime -> assertTrue(calendar.isFree(startTime)));
+        assertEquals(calendar.totalSlots() - 1, calendar.freeCount());
+    }
+}
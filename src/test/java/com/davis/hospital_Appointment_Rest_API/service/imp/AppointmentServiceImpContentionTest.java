@@ -0,0 +1,170 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.davis.hospital_Appointment_Rest_API.config.TimeOrderedIdGenerator;
+import com.davis.hospital_Appointment_Rest_API.exceptions.ConflictException;
+import com.davis.hospital_Appointment_Rest_API.model.Appointment;
+import com.davis.hospital_Appointment_Rest_API.model.Doctor;
+import com.davis.hospital_Appointment_Rest_API.model.DoctorSchedule;
+import com.davis.hospital_Appointment_Rest_API.repository.AppointmentRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.DoctorScheduleRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.ScheduleSlotRepository;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotCalendar;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Races many threads through {@link AppointmentServiceImp#save(Appointment)} and checks
+ * that every slot is written at most once.
+ */
+class AppointmentServiceImpContentionTest {
+
+    private static final int THREADS = 200;
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 7);
+
+    private AppointmentRepository appointmentRepository;
+    private SlotCalendarService slotCalendarService;
+    private AppointmentServiceImp appointmentService;
+    private Doctor doctor;
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        doctor = new Doctor();
+        doctor.setUserId("DOC-1");
+
+        DoctorSchedule schedule = new DoctorSchedule(doctor, "Monday", LocalTime.of(8, 0), LocalTime.of(16, 0), 24);
+        DoctorScheduleRepository doctorScheduleRepository = mock(DoctorScheduleRepository.class);
+        when(doctorScheduleRepository.findConfirmedByDoctorAndDay("DOC-1", "Monday")).thenReturn(List.of(schedule));
+
+        appointmentRepository = mock(AppointmentRepository.class);
+        when(appointmentRepository.findBookedStartTimes(eq("DOC-1"), any())).thenReturn(List.of());
+        when(appointmentRepository.saveAndFlush(any(Appointment.class))).thenAnswer(call -> call.getArgument(0));
+
+        slotCalendarService = new SlotCalendarService(doctorScheduleRepository,
+                appointmentRepository, new SlotGenerator(), mock(ScheduleSlotRepository.class));
+        appointmentService = new AppointmentServiceImp(appointmentRepository, mock(PatientServiceImp.class),
+                mock(DoctorServiceImp.class), slotCalendarService, mock(AvailabilitySearchService.class),
+                new ReservationLockManager(64, 5000, new SimpleMeterRegistry()),
+                new SlotHoldService(slotCalendarService, event -> { }, 300, 2), event -> { },
+                new TimeOrderedIdGenerator(0), new CursorPaginator(50, 200), mock(StreamingExportWriter.class));
+        executor = Executors.newFixedThreadPool(32);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void onlyOneOfManyConcurrentBookingsForTheSameSlotSucceeds() throws Exception {
+        Map<LocalTime, AtomicInteger> booked = race(i -> LocalTime.of(9, 0));
+
+        assertEquals(1, booked.get(LocalTime.of(9, 0)).get());
+        verify(appointmentRepository, times(1)).saveAndFlush(any(Appointment.class));
+    }
+
+    @Test
+    void everySlotIsBookedExactlyOnceUnderContention() throws Exception {
+        Map<LocalTime, AtomicInteger> booked = race(i -> LocalTime.of(8, 0).plusMinutes(20L * (i % 24)));
+
+        assertEquals(24, booked.size());
+        booked.values().forEach(count -> assertEquals(1, count.get()));
+        verify(appointmentRepository, times(24)).saveAndFlush(any(Appointment.class));
+    }
+
+    /**
+     * Races the calendar bits directly, without the doctor-day lock in front of them,
+     * so only compare-and-set decides who gets each slot.
+     */
+    @Test
+    void compareAndSetAloneLetsExactlyOneCallerTakeEachSlot() throws Exception {
+        SlotCalendar calendar = slotCalendarService.getCalendar("DOC-1", DATE).orElseThrow();
+        CountDownLatch start = new CountDownLatch(1);
+        Map<LocalTime, AtomicInteger> wins = new ConcurrentHashMap<>();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            LocalTime slot = LocalTime.of(8, 0).plusMinutes(20L * (i % 24));
+            futures.add(executor.submit(() -> {
+                start.await();
+                if (slotCalendarService.reserve("DOC-1", DATE, slot)) {
+                    wins.computeIfAbsent(slot, s -> new AtomicInteger()).incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(24, wins.size());
+        wins.values().forEach(count -> assertEquals(1, count.get()));
+        assertEquals(0, calendar.freeCount());
+    }
+
+    private Map<LocalTime, AtomicInteger> race(IntFunction<LocalTime> slotOf) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        Map<LocalTime, AtomicInteger> booked = new ConcurrentHashMap<>();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            LocalTime slot = slotOf.apply(i);
+            Callable<Void> task = () -> {
+                start.await();
+                try {
+                    appointmentService.save(appointment(slot));
+                    booked.computeIfAbsent(slot, s -> new AtomicInteger()).incrementAndGet();
+                } catch (ConflictException e) {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            };
+            futures.add(executor.submit(task));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(10, TimeUnit.SECONDS);
+        }
+        int successes = booked.values().stream().mapToInt(AtomicInteger::get).sum();
+        assertEquals(THREADS, successes + conflicts.get());
+        return booked;
+    }
+
+    private Appointment appointment(LocalTime startTime) {
+        Appointment appointment = new Appointment();
+        appointment.setId(UUID.randomUUID().toString());
+        appointment.setDoctor(doctor);
+        appointment.setDate(java.sql.Date.valueOf(DATE));
+        appointment.setStartTime(startTime);
+        appointment.setEndTime(startTime.plusMinutes(20));
+        return appointment;
+    }
+}
@@ -0,0 +1,82 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.davis.hospital_Appointment_Rest_API.model.Doctor;
+import com.davis.hospital_Appointment_Rest_API.model.DoctorSchedule;
+import com.davis.hospital_Appointment_Rest_API.repository.AppointmentRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.DoctorScheduleRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.ScheduleSlotRepository;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotCalendar;
+
+/**
+ * Checks that a capacity flush which fails is retried by the next flush.
+ */
+class AvailabilityProjectionServiceTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 7);
+
+    private SlotCalendarService slotCalendarService;
+    private JdbcTemplate jdbcTemplate;
+    private AvailabilityProjectionService projectionService;
+    private List<List<String>> written;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        Doctor doctor = new Doctor();
+        doctor.setUserId("DOC-1");
+        DoctorSchedule schedule = new DoctorSchedule(doctor, "Monday", LocalTime.of(9, 0), LocalTime.of(10, 0), 3);
+        DoctorScheduleRepository doctorScheduleRepository = mock(DoctorScheduleRepository.class);
+        when(doctorScheduleRepository.findConfirmedByDoctorAndDay("DOC-1", "Monday")).thenReturn(List.of(schedule));
+        slotCalendarService = new SlotCalendarService(doctorScheduleRepository, mock(AppointmentRepository.class),
+                new SlotGenerator(), mock(ScheduleSlotRepository.class));
+
+        written = new ArrayList<>();
+        jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.batchUpdate(any(String.class), any(Collection.class), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("Database is down"))
+                .thenAnswer(call -> {
+                    Collection<SlotCalendar> calendars = call.getArgument(1);
+                    written.add(calendars.stream()
+                            .map(calendar -> calendar.getDoctorId() + "@" + calendar.getDate())
+                            .toList());
+                    return new int[0][];
+                });
+        projectionService = new AvailabilityProjectionService(jdbcTemplate, mock(TransactionTemplate.class),
+                slotCalendarService);
+    }
+
+    @Test
+    void doctorDaysOfAFailedFlushAreWrittenByTheNextOne() {
+        assertTrue(slotCalendarService.reserve("DOC-1", DATE, LocalTime.of(9, 0)));
+
+        assertThrows(DataAccessResourceFailureException.class, projectionService::flushChanges);
+        projectionService.flushChanges();
+
+        assertEquals(List.of(List.of("DOC-1@" + DATE)), written);
+        // Nothing is left over once the retry succeeded
+        projectionService.flushChanges();
+        assertEquals(1, written.size());
+    }
+}
@@ -0,0 +1,174 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.davis.hospital_Appointment_Rest_API.dto.AvailableSlot;
+import com.davis.hospital_Appointment_Rest_API.model.Doctor;
+import com.davis.hospital_Appointment_Rest_API.model.DoctorSchedule;
+import com.davis.hospital_Appointment_Rest_API.repository.AppointmentRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.DoctorScheduleRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.ScheduleSlotRepository;
+
+/**
+ * Checks the ranking of {@link AvailabilitySearchService#findEarliestSlots} across doctors
+ * with known free slots.
+ */
+class AvailabilitySearchServiceTest {
+
+    private static final String SPECIALIZATION = "Cardiology";
+
+    /** A Monday at least a week away, so the "not before now" filter does not apply */
+    private static final LocalDate MONDAY = LocalDate.now().plusWeeks(1)
+            .with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+    private DoctorScheduleRepository doctorScheduleRepository;
+    private AppointmentRepository appointmentRepository;
+    private AvailabilitySearchService searchService;
+    private final List<DoctorSchedule> schedules = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        doctorScheduleRepository = mock(DoctorScheduleRepository.class);
+        appointmentRepository = mock(AppointmentRepository.class);
+        when(doctorScheduleRepository.findConfirmedBySpecialization("cardiology")).thenReturn(schedules);
+        SlotCalendarService slotCalendarService = new SlotCalendarService(doctorScheduleRepository,
+                appointmentRepository, new SlotGenerator(), mock(ScheduleSlotRepository.class));
+        searchService = new AvailabilitySearchService(doctorScheduleRepository, slotCalendarService);
+    }
+
+    @Test
+    void mergesDoctorsByStartTimeAndBreaksTiesOnDoctorId() {
+        schedule("DOC-B", "Monday", LocalTime.of(9, 0), LocalTime.of(10, 0));
+        schedule("DOC-A", "Monday", LocalTime.of(9, 0), LocalTime.of(10, 0));
+        schedule("DOC-C", "Monday", LocalTime.of(9, 20), LocalTime.of(10, 0));
+        booked(new Object[] { "DOC-B", Date.valueOf(MONDAY), LocalTime.of(9, 0) });
+
+        List<AvailableSlot> slots = searchService.findEarliestSlots(SPECIALIZATION, MONDAY, 1, 50);
+
+        assertEquals(List.of(
+                "DOC-A 09:00", "DOC-A 09:20", "DOC-B 09:20", "DOC-C 09:20",
+                "DOC-A 09:40", "DOC-B 09:40", "DOC-C 09:40"), describe(slots));
+        assertEquals("Surname DOC-A", slots.get(0).getDoctorName());
+        assertEquals(LocalTime.of(9, 20), slots.get(0).getEndTime());
+    }
+
+    @Test
+    void stopsAtTheLimitInTheMiddleOfADay() {
+        schedule("DOC-A", "Monday", LocalTime.of(9, 0), LocalTime.of(10, 0));
+        schedule("DOC-B", "Monday", LocalTime.of(9, 0), LocalTime.of(10, 0));
+        schedule("DOC-A", "Tuesday", LocalTime.of(8, 0), LocalTime.of(9, 0));
+
+        List<AvailableSlot> slots = searchService.findEarliestSlots(SPECIALIZATION, MONDAY, 7, 3);
+
+        assertEquals(List.of("DOC-A 09:00", "DOC-B 09:00", "DOC-A 09:20"), describe(slots));
+        slots.forEach(slot -> assertEquals(MONDAY, slot.getDate()));
+    }
+
+    @Test
+    void continuesOnTheNextDayOnceADayIsFull() {
+        schedule("DOC-A", "Monday", LocalTime.of(9, 0), LocalTime.of(9, 40));
+        schedule("DOC-B", "Tuesday", LocalTime.of(8, 0), LocalTime.of(9, 0));
+
+        List<AvailableSlot> slots = searchService.findEarliestSlots(SPECIALIZATION, MONDAY, 7, 4);
+
+        assertEquals(List.of("DOC-A 09:00", "DOC-A 09:20", "DOC-B 08:00", "DOC-B 08:20"), describe(slots));
+        assertEquals(MONDAY.plusDays(1), slots.get(2).getDate());
+    }
+
+    @Test
+    void skipsSlotsThatAlreadyStartedToday() {
+        LocalDate today = LocalDate.now();
+        LocalTime before = LocalTime.now();
+        String todayName = SlotCalendarService.dayName(today);
+        String tomorrowName = SlotCalendarService.dayName(today.plusDays(1));
+        schedule("DOC-A", todayName, LocalTime.MIN, LocalTime.of(23, 40));
+        schedule("DOC-A", tomorrowName, LocalTime.MIN, LocalTime.of(23, 40));
+
+        List<AvailableSlot> slots = searchService.findEarliestSlots(SPECIALIZATION, today, 2, 50);
+
+        assertFalse(slots.isEmpty());
+        slots.stream()
+                .filter(slot -> slot.getDate().equals(today))
+                .forEach(slot -> assertTrue(!slot.getStartTime().isBefore(before), slot.getStartTime().toString()));
+        slots.stream()
+                .filter(slot -> slot.getDate().equals(today.plusDays(1)))
+                .findFirst()
+                .ifPresent(slot -> assertEquals(LocalTime.MIN, slot.getStartTime()));
+    }
+
+    @Test
+    void everyCasingOfASpecializationSharesOneIndex() {
+        schedule("DOC-A", "Monday", LocalTime.of(9, 0), LocalTime.of(9, 40));
+
+        searchService.findEarliestSlots(SPECIALIZATION, MONDAY, 1, 50);
+        searchService.findEarliestSlots(" cardiology ", MONDAY, 1, 50);
+        searchService.findEarliestSlots("CARDIOLOGY", MONDAY, 1, 50);
+        verify(doctorScheduleRepository, times(1)).findConfirmedBySpecialization("cardiology");
+
+        searchService.evict("cardiology");
+        searchService.findEarliestSlots(SPECIALIZATION, MONDAY, 1, 50);
+        verify(doctorScheduleRepository, times(2)).findConfirmedBySpecialization("cardiology");
+    }
+
+    @Test
+    void specializationsWithoutSchedulesAreNotCached() {
+        searchService.findEarliestSlots("Made Up", MONDAY, 1, 50);
+        searchService.findEarliestSlots("Made Up", MONDAY, 1, 50);
+
+        verify(doctorScheduleRepository, times(2)).findConfirmedBySpecialization("made up");
+    }
+
+    @Test
+    void evictingADoctorDropsTheIndexesThatListThem() {
+        schedule("DOC-A", "Monday", LocalTime.of(9, 0), LocalTime.of(9, 40));
+        searchService.findEarliestSlots(SPECIALIZATION, MONDAY, 1, 50);
+
+        searchService.evictDoctor("DOC-B");
+        searchService.findEarliestSlots(SPECIALIZATION, MONDAY, 1, 50);
+        searchService.evictDoctor("DOC-A");
+        searchService.findEarliestSlots(SPECIALIZATION, MONDAY, 1, 50);
+
+        verify(doctorScheduleRepository, times(2)).findConfirmedBySpecialization("cardiology");
+    }
+
+    private void schedule(String doctorId, String day, LocalTime start, LocalTime end) {
+        Doctor doctor = schedules.stream()
+                .map(DoctorSchedule::getDoctor)
+                .filter(d -> d.getUserId().equals(doctorId))
+                .findFirst()
+                .orElseGet(() -> {
+                    Doctor created = new Doctor();
+                    created.setUserId(doctorId);
+                    created.setSurName("Surname");
+                    created.setGivenName(doctorId);
+                    return created;
+                });
+        schedules.add(new DoctorSchedule(doctor, day, start, end, 10));
+    }
+
+    private void booked(Object[]... rows) {
+        when(appointmentRepository.findBookedSlots(any(), any(), any())).thenReturn(List.of(rows));
+    }
+
+    private static List<String> describe(List<AvailableSlot> slots) {
+        return slots.stream().map(slot -> slot.getDoctorId() + " " + slot.getStartTime()).toList();
+    }
+}
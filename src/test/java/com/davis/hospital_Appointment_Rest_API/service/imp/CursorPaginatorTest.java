@@ -0,0 +1,77 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import com.davis.hospital_Appointment_Rest_API.dto.CursorPage;
+import com.davis.hospital_Appointment_Rest_API.exceptions.BadRequestException;
+import com.davis.hospital_Appointment_Rest_API.utils.PageCursor;
+
+/**
+ * Page boundaries, size limits and cursor validation for {@link CursorPaginator}.
+ */
+class CursorPaginatorTest {
+
+    /** 25 keys "k00".."k24" standing in for an indexed column. */
+    private static final List<String> KEYS = IntStream.range(0, 25).mapToObj(i -> String.format("k%02d", i)).toList();
+
+    /** Seek query over {@link #KEYS} that records the limits it was asked for. */
+    private final List<Integer> limits = new ArrayList<>();
+    private final BiFunction<String, Pageable, List<String>> query = (after, page) -> {
+        limits.add(page.getPageSize());
+        return KEYS.stream().filter(key -> key.compareTo(after) > 0).limit(page.getPageSize()).toList();
+    };
+
+    private final CursorPaginator paginator = new CursorPaginator(10, 20);
+
+    @Test
+    void walksEveryRowOnceAndEndsWithoutCursor() {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<String> page = paginator.page("keys", cursor, null, query, key -> key);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertEquals(KEYS, seen);
+        assertEquals(List.of(11, 11, 11), limits);
+    }
+
+    @Test
+    void capsRequestedSizeAtTheServerMaximum() {
+        CursorPage<String> page = paginator.page("keys", null, 1_000, query, key -> key);
+
+        assertEquals(20, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+        assertEquals(List.of(21), limits);
+    }
+
+    @Test
+    void exactlyFullLastPageHasNoCursor() {
+        CursorPage<String> page = paginator.page("keys", PageCursor.encode("keys", "k14"), 10, query, key -> key);
+
+        assertEquals(KEYS.subList(15, 25), page.getItems());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void rejectsBadCursorsAndSizes() {
+        assertThrows(BadRequestException.class, () -> paginator.page("keys", "%%%", null, query, key -> key));
+        assertThrows(BadRequestException.class,
+                () -> paginator.page("keys", PageCursor.encode("other", "k01"), null, query, key -> key));
+        assertThrows(BadRequestException.class, () -> paginator.page("keys", null, 0, query, key -> key));
+        assertThrows(BadRequestException.class, () -> paginator.page("ids", PageCursor.encode("ids", "x"), null,
+                0L, Long::valueOf, (Long after, Pageable page) -> List.<Long>of(), id -> id));
+    }
+}
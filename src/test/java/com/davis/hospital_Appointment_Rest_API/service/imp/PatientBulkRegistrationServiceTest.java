@@ -0,0 +1,116 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.davis.hospital_Appointment_Rest_API.config.BoundedPasswordEncoder;
+import com.davis.hospital_Appointment_Rest_API.config.IdGeneration;
+import com.davis.hospital_Appointment_Rest_API.dto.BulkRegistrationResult;
+import com.davis.hospital_Appointment_Rest_API.dto.RegistrationOutcome;
+import com.davis.hospital_Appointment_Rest_API.model.Patient;
+import com.davis.hospital_Appointment_Rest_API.model.User;
+import com.davis.hospital_Appointment_Rest_API.repository.PatientRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.UserRepository;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Registers a small newline-delimited upload against an in-memory database, in chunks
+ * of three rows, so the duplicate checks, the existing-username query and the per-row
+ * retry after a failed chunk insert all run for real.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PatientBulkRegistrationServiceTest {
+
+    private static final String UPLOAD = String.join("\n",
+            // chunk 1
+            patient("bulk.valid.1", "Given"),
+            patient("bulk.valid.2", "Given"),
+            patient("bulk.no.given.name", ""),
+            // chunk 2
+            patient("bulk.valid.1", "Given"),
+            patient("bulk.existing", "Given"),
+            patient("bulk.valid.3", "Given"),
+            // chunk 3: the over-long blood group fails the chunk insert
+            patient("bulk.valid.4", "Given"),
+            "{\"userName\":\"bulk.too.long\",\"passWord\":\"secret\",\"surName\":\"Bulk\",\"givenName\":\"Given\","
+                    + "\"bloodGroup\":\"" + "A".repeat(300) + "\"}",
+            patient("bulk.valid.5", "Given"),
+            "{\"userName\":\"bulk.malformed\",",
+            patient("bulk.after.malformed", "Given"));
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PatientRepository patientRepository;
+    @Autowired
+    private IdGeneration idGeneration;
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeAll
+    void seed() {
+        Patient existing = new Patient();
+        existing.setUserId("U0BR01P");
+        existing.setUserName("bulk.existing");
+        existing.setPassWord("{noop}secret");
+        existing.setSurName("Bulk");
+        existing.setGivenName("Existing");
+        existing.setStatus("ACTIVE");
+        existing.setCreatedOn(LocalDateTime.now());
+        patientRepository.save(existing);
+    }
+
+    @Test
+    void everyRowIsReportedAndOnlyTheGoodOnesAreSaved() throws Exception {
+        PatientBulkRegistrationService service = new PatientBulkRegistrationService(userRepository, idGeneration,
+                passwordEncoder, 3, 100);
+
+        BulkRegistrationResult result;
+        try (MappingIterator<Patient> patients = objectMapper.readerFor(Patient.class).readValues(UPLOAD)) {
+            result = service.register(patients);
+        }
+
+        List<RegistrationOutcome> outcomes = result.getOutcomes();
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), outcomes.stream().map(RegistrationOutcome::getRow).toList());
+        assertEquals(List.of(true, true, false, false, false, true, true, false, true, false),
+                outcomes.stream().map(RegistrationOutcome::isRegistered).toList());
+        assertEquals("Surname and given name are required", outcomes.get(2).getReason());
+        assertEquals("Duplicate username in upload", outcomes.get(3).getReason());
+        assertEquals("Username already exists", outcomes.get(4).getReason());
+        assertTrue(outcomes.get(7).getReason().startsWith("Could not be saved: "), outcomes.get(7).getReason());
+        assertTrue(outcomes.get(9).getReason().startsWith("Malformed row, upload stopped: "),
+                outcomes.get(9).getReason());
+        assertEquals(5, result.getRegisteredCount());
+        assertEquals(5, result.getRejectedCount());
+
+        assertEquals(List.of("bulk.existing", "bulk.valid.1", "bulk.valid.2", "bulk.valid.3", "bulk.valid.4",
+                "bulk.valid.5"), userRepository.findExistingUserNames(List.of("bulk.valid.1", "bulk.valid.2",
+                        "bulk.no.given.name", "bulk.existing", "bulk.valid.3", "bulk.valid.4", "bulk.too.long",
+                        "bulk.valid.5", "bulk.malformed", "bulk.after.malformed"))
+                .stream().sorted().toList());
+        // The chunk that failed as a batch was saved row by row, with hashed passwords
+        User retried = userRepository.findByUserName("bulk.valid.5").orElseThrow();
+        assertEquals(outcomes.get(8).getUserId(), retried.getUserId());
+        assertTrue(passwordEncoder.matches("secret", retried.getPassWord()));
+    }
+
+    private static String patient(String userName, String givenName) {
+        return "{\"userName\":\"" + userName + "\",\"passWord\":\"secret\",\"surName\":\"Bulk\",\"givenName\":\""
+                + givenName + "\"}";
+    }
+}
@@ -0,0 +1,106 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.davis.hospital_Appointment_Rest_API.exceptions.ServiceUnavailableException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Holds doctor-day stripes from a second thread and checks what a booking thread
+ * can and cannot take while they are held.
+ */
+class ReservationLockManagerTest {
+
+    private static final LocalDate DATE = LocalDate.of(2030, 1, 7);
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReservationLockManager lockManager;
+    private ExecutorService executor;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lockManager = new ReservationLockManager(64, 100, meterRegistry);
+        executor = Executors.newCachedThreadPool();
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void bookingTimesOutWhileItsDoctorDayIsHeld() throws Exception {
+        hold("DOC-1", DATE);
+
+        ServiceUnavailableException e = assertThrows(ServiceUnavailableException.class,
+                () -> lockManager.withLock("DOC-1", DATE, () -> "booked"));
+
+        assertEquals("Booking system is busy for this doctor and date, please retry", e.getMessage());
+        assertEquals(1.0, meterRegistry.counter("booking.lock.timeouts").count());
+    }
+
+    @Test
+    void otherDoctorDayProceedsWhileOneIsHeld() throws Exception {
+        LocalDate otherDate = DATE.plusDays(1);
+        assertNotEquals(lockManager.stripeIndex("DOC-1", DATE), lockManager.stripeIndex("DOC-1", otherDate));
+        hold("DOC-1", DATE);
+
+        assertEquals("booked", lockManager.withLock("DOC-1", otherDate, () -> "booked"));
+        assertEquals(0.0, meterRegistry.counter("booking.lock.timeouts").count());
+    }
+
+    @Test
+    void batchReleasesTheStripesItTookWhenALaterOneTimesOut() throws Exception {
+        // A date whose stripe sorts before the held one, so the batch takes it first
+        LocalDate held = DATE;
+        LocalDate earlier = DATE.plusDays(1);
+        while (lockManager.stripeIndex("DOC-1", earlier) >= lockManager.stripeIndex("DOC-1", held)) {
+            earlier = earlier.plusDays(1);
+        }
+        LocalDate taken = earlier;
+        hold("DOC-1", held);
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> lockManager.withLocks("DOC-1", List.of(taken, held), () -> "booked"));
+
+        // Checked from another thread, since the stripes are reentrant for this one
+        Future<String> other = executor.submit(() -> lockManager.withLock("DOC-1", taken, () -> "booked"));
+        assertEquals("booked", other.get(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.counter("booking.lock.timeouts").count());
+    }
+
+    /** Takes a doctor-day's stripe on a pool thread and keeps it until the test ends */
+    private void hold(String doctorId, LocalDate date) throws InterruptedException {
+        CountDownLatch held = new CountDownLatch(1);
+        executor.submit(() -> lockManager.withLock(doctorId, date, () -> {
+            held.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }));
+        assertTrue(held.await(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,68 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.time.LocalTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.davis.hospital_Appointment_Rest_API.model.Doctor;
+import com.davis.hospital_Appointment_Rest_API.model.DoctorSchedule;
+import com.davis.hospital_Appointment_Rest_API.repository.DoctorScheduleRepository;
+
+/**
+ * Checks which integrity violations a template expansion tolerates.
+ */
+class ScheduleMaterializationServiceTest {
+
+    private DoctorSchedule schedule;
+    private TransactionTemplate transactionTemplate;
+    private ScheduleMaterializationService materializationService;
+
+    @BeforeEach
+    void setUp() {
+        Doctor doctor = new Doctor();
+        doctor.setUserId("DOC-1");
+        schedule = new DoctorSchedule(doctor, "Monday", LocalTime.of(9, 0), LocalTime.of(10, 0), 3);
+        schedule.setId(7L);
+        schedule.setConfirmed(true);
+
+        transactionTemplate = mock(TransactionTemplate.class);
+        materializationService = new ScheduleMaterializationService(mock(DoctorScheduleRepository.class),
+                new SlotGenerator(), mock(AvailabilityProjectionService.class), mock(JdbcTemplate.class),
+                transactionTemplate, 8, 500);
+    }
+
+    @Test
+    void concurrentExpansionOfTheSameTemplateIsLeftToTheNextRun() {
+        when(transactionTemplate.execute(any())).thenThrow(violation(
+                "Violation of UNIQUE KEY constraint 'UK_Schedule_Slot'. Cannot insert duplicate key"));
+
+        assertEquals(0, materializationService.materialize(schedule));
+    }
+
+    @Test
+    void otherIntegrityViolationsReachTheCaller() {
+        DataIntegrityViolationException violation = violation(
+                "The INSERT statement conflicted with the FOREIGN KEY constraint 'FK_Schedule_Slot_Doctor'");
+        when(transactionTemplate.execute(any())).thenThrow(violation);
+
+        assertSame(violation, assertThrows(DataIntegrityViolationException.class,
+                () -> materializationService.materialize(schedule)));
+    }
+
+    private static DataIntegrityViolationException violation(String message) {
+        return new DataIntegrityViolationException("could not execute batch",
+                new SQLIntegrityConstraintViolationException(message));
+    }
+}
@@ -0,0 +1,92 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.davis.hospital_Appointment_Rest_API.model.Doctor;
+import com.davis.hospital_Appointment_Rest_API.model.DoctorSchedule;
+import com.davis.hospital_Appointment_Rest_API.repository.AppointmentRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.DoctorScheduleRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.ScheduleSlotRepository;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotCalendar;
+
+/**
+ * Checks that a calendar has the same slots whether it was built lazily for one
+ * doctor-day or in bulk by a search preload.
+ */
+class SlotCalendarServiceTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(5);
+    private static final LocalDate NEXT_WEEK = DATE.plusWeeks(1);
+
+    /** Edited materialized rows that no longer match the 09:00-10:00 template */
+    private static final List<LocalTime> MATERIALIZED = List.of(LocalTime.of(9, 0), LocalTime.of(9, 30),
+            LocalTime.of(10, 30));
+
+    private DoctorSchedule schedule;
+    private DoctorScheduleRepository doctorScheduleRepository;
+    private AppointmentRepository appointmentRepository;
+    private ScheduleSlotRepository scheduleSlotRepository;
+
+    @BeforeEach
+    void setUp() {
+        Doctor doctor = new Doctor();
+        doctor.setUserId("DOC-1");
+        String day = SlotCalendarService.dayName(DATE);
+        schedule = new DoctorSchedule(doctor, day, LocalTime.of(9, 0), LocalTime.of(10, 0), 3);
+
+        doctorScheduleRepository = mock(DoctorScheduleRepository.class);
+        when(doctorScheduleRepository.findConfirmedByDoctorAndDay("DOC-1", day)).thenReturn(List.of(schedule));
+        scheduleSlotRepository = mock(ScheduleSlotRepository.class);
+        when(scheduleSlotRepository.findStartTimes("DOC-1", DATE)).thenReturn(MATERIALIZED);
+        when(scheduleSlotRepository.findSlots(anyCollection(), any(), any())).thenReturn(MATERIALIZED.stream()
+                .map(startTime -> new Object[] { "DOC-1", DATE, startTime })
+                .toList());
+        appointmentRepository = mock(AppointmentRepository.class);
+        when(appointmentRepository.findBookedStartTimes(eq("DOC-1"), eq(Date.valueOf(DATE))))
+                .thenReturn(List.of(LocalTime.of(9, 30)));
+        when(appointmentRepository.findBookedSlots(anyCollection(), any(), any()))
+                .thenReturn(List.<Object[]>of(new Object[] { "DOC-1", Date.valueOf(DATE), LocalTime.of(9, 30) }));
+    }
+
+    @Test
+    void preloadAndLazyBuildAgreeOnAMaterializedDate() {
+        SlotCalendar lazy = newService().getCalendar("DOC-1", DATE).orElseThrow();
+
+        SlotCalendarService preloading = newService();
+        preloading.preload(List.of(schedule), DATE, DATE);
+        SlotCalendar preloaded = preloading.getCalendar("DOC-1", DATE).orElseThrow();
+
+        assertEquals(List.of(LocalTime.of(9, 0), LocalTime.of(10, 30)), lazy.freeSlots());
+        assertEquals(lazy.freeSlots(), preloaded.freeSlots());
+        assertEquals(lazy.totalSlots(), preloaded.totalSlots());
+    }
+
+    @Test
+    void preloadFallsBackToTheTemplateBeyondTheMaterializedHorizon() {
+        SlotCalendarService preloading = newService();
+        preloading.preload(List.of(schedule), NEXT_WEEK, NEXT_WEEK);
+
+        assertEquals(List.of(LocalTime.of(9, 0), LocalTime.of(9, 20), LocalTime.of(9, 40)),
+                preloading.getCalendar("DOC-1", NEXT_WEEK).orElseThrow().freeSlots());
+        assertEquals(newService().getCalendar("DOC-1", NEXT_WEEK).orElseThrow().freeSlots(),
+                preloading.getCalendar("DOC-1", NEXT_WEEK).orElseThrow().freeSlots());
+    }
+
+    private SlotCalendarService newService() {
+        return new SlotCalendarService(doctorScheduleRepository, appointmentRepository, new SlotGenerator(),
+                scheduleSlotRepository);
+    }
+}
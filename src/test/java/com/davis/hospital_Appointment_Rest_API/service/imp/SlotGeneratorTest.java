@@ -0,0 +1,77 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import com.davis.hospital_Appointment_Rest_API.model.DoctorBreaks;
+import com.davis.hospital_Appointment_Rest_API.model.DoctorSchedule;
+
+/**
+ * Checks the exact slot start times {@link SlotGenerator} produces for a working window
+ * of 08:00 to 12:00 and various break layouts.
+ */
+class SlotGeneratorTest {
+
+    private final SlotGenerator slotGenerator = new SlotGenerator();
+
+    static Stream<Arguments> breakLayouts() {
+        return Stream.of(
+                Arguments.of("no breaks", breaks(),
+                        slots("08:00", "08:20", "08:40", "09:00", "09:20", "09:40",
+                              "10:00", "10:20", "10:40", "11:00", "11:20", "11:40")),
+                Arguments.of("overlapping breaks", breaks("09:30-10:30", "09:00-10:00"),
+                        slots("08:00", "08:20", "08:40", "10:30", "10:50", "11:10", "11:30")),
+                Arguments.of("adjacent breaks", breaks("09:00-09:30", "09:30-10:00"),
+                        slots("08:00", "08:20", "08:40", "10:00", "10:20", "10:40", "11:00", "11:20", "11:40")),
+                Arguments.of("nested breaks", breaks("09:00-11:00", "09:30-10:00"),
+                        slots("08:00", "08:20", "08:40", "11:00", "11:20", "11:40")),
+                Arguments.of("breaks outside working hours", breaks("06:00-07:00", "12:00-13:00", "13:00-14:00"),
+                        slots("08:00", "08:20", "08:40", "09:00", "09:20", "09:40",
+                              "10:00", "10:20", "10:40", "11:00", "11:20", "11:40")),
+                Arguments.of("break straddling the start", breaks("07:30-08:30"),
+                        slots("08:30", "08:50", "09:10", "09:30", "09:50", "10:10", "10:30", "10:50", "11:10", "11:30")),
+                Arguments.of("break straddling the end", breaks("11:30-12:30"),
+                        slots("08:00", "08:20", "08:40", "09:00", "09:20", "09:40", "10:00", "10:20", "10:40", "11:00")),
+                Arguments.of("break ending mid-slot", breaks("09:00-09:10"),
+                        slots("08:00", "08:20", "08:40", "09:10", "09:30", "09:50",
+                              "10:10", "10:30", "10:50", "11:10", "11:30")),
+                Arguments.of("break starting mid-slot", breaks("08:50-09:30"),
+                        slots("08:00", "08:20", "09:30", "09:50", "10:10", "10:30", "10:50", "11:10", "11:30")),
+                Arguments.of("inverted break is ignored", breaks("10:00-09:00"),
+                        slots("08:00", "08:20", "08:40", "09:00", "09:20", "09:40",
+                              "10:00", "10:20", "10:40", "11:00", "11:20", "11:40")),
+                Arguments.of("break covering the whole day", breaks("07:00-13:00"),
+                        slots()));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("breakLayouts")
+    void subtractsBreaksFromTheWorkingWindow(String layout, List<DoctorBreaks> breaks, List<LocalTime> expected) {
+        DoctorSchedule schedule = new DoctorSchedule(null, "Monday", LocalTime.of(8, 0), LocalTime.of(12, 0), 12);
+        schedule.setBreaks(breaks);
+
+        assertEquals(expected, slotGenerator.slotStarts(schedule));
+    }
+
+    private static List<DoctorBreaks> breaks(String... intervals) {
+        List<DoctorBreaks> breaks = new ArrayList<>();
+        for (String interval : intervals) {
+            String[] bounds = interval.split("-");
+            breaks.add(new DoctorBreaks("Break", LocalTime.parse(bounds[0]), LocalTime.parse(bounds[1])));
+        }
+        return breaks;
+    }
+
+    private static List<LocalTime> slots(String... times) {
+        return Arrays.stream(times).map(LocalTime::parse).toList();
+    }
+}
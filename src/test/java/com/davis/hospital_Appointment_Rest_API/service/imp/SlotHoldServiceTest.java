@@ -0,0 +1,217 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.davis.hospital_Appointment_Rest_API.exceptions.BadRequestException;
+import com.davis.hospital_Appointment_Rest_API.exceptions.ConflictException;
+import com.davis.hospital_Appointment_Rest_API.exceptions.ResourceNotFoundException;
+import com.davis.hospital_Appointment_Rest_API.model.Doctor;
+import com.davis.hospital_Appointment_Rest_API.model.DoctorSchedule;
+import com.davis.hospital_Appointment_Rest_API.repository.AppointmentRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.DoctorScheduleRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.ScheduleSlotRepository;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotCalendar;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotHold;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotReleasedEvent;
+
+class SlotHoldServiceTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(3);
+    private static final LocalTime NINE = LocalTime.of(9, 0);
+
+    private SlotCalendarService slotCalendarService;
+    private final List<Object> events = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Doctor doctor = new Doctor();
+        doctor.setUserId("DOC-1");
+        String day = SlotCalendarService.dayName(DATE);
+        DoctorScheduleRepository doctorScheduleRepository = mock(DoctorScheduleRepository.class);
+        when(doctorScheduleRepository.findConfirmedByDoctorAndDay("DOC-1", day))
+                .thenReturn(List.of(new DoctorSchedule(doctor, day, LocalTime.of(9, 0), LocalTime.of(10, 0), 3)));
+        AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+        when(appointmentRepository.findBookedStartTimes(eq("DOC-1"), any())).thenReturn(List.of());
+        slotCalendarService = new SlotCalendarService(doctorScheduleRepository, appointmentRepository,
+                new SlotGenerator(), mock(ScheduleSlotRepository.class));
+    }
+
+    @Test
+    void holdTakesTheSlotUntilReleased() {
+        SlotHoldService holds = holdService(300, 2);
+
+        SlotHold hold = holds.hold("PAT-1", "DOC-1", DATE, NINE);
+
+        assertFalse(calendar().isFree(NINE));
+        assertEquals(1, holds.heldCount("DOC-1", DATE));
+        assertEquals(List.of(NINE), holds.heldStartTimes("DOC-1", DATE));
+        assertSame(hold, holds.find(hold.getHoldId()).orElseThrow());
+        assertThrows(ConflictException.class, () -> holds.hold("PAT-2", "DOC-1", DATE, NINE));
+
+        holds.release(hold.getHoldId());
+
+        assertTrue(calendar().isFree(NINE));
+        assertEquals(0, holds.heldCount("DOC-1", DATE));
+        assertTrue(holds.find(hold.getHoldId()).isEmpty());
+        assertEquals(List.of(new SlotReleasedEvent("DOC-1", DATE, NINE, hold.getHoldId())), events);
+        assertThrows(ResourceNotFoundException.class, () -> holds.release(hold.getHoldId()));
+    }
+
+    @Test
+    void holdIsRejectedForPastDatesAndMissingFields() {
+        SlotHoldService holds = holdService(300, 2);
+
+        assertThrows(BadRequestException.class, () -> holds.hold("PAT-1", "DOC-1", LocalDate.now().minusDays(1), NINE));
+        assertThrows(BadRequestException.class, () -> holds.hold(null, "DOC-1", DATE, NINE));
+        assertThrows(ConflictException.class, () -> holds.hold("PAT-1", "DOC-1", DATE, NINE.plusMinutes(5)));
+    }
+
+    @Test
+    void slotThatAlreadyStartedTodayCannotBeHeld() {
+        SlotHoldService holds = holdService(300, 2);
+        LocalTime earlier = LocalTime.now().minusMinutes(1);
+        assumeTrue(earlier.isBefore(LocalTime.now()), "Just after midnight");
+
+        assertThrows(BadRequestException.class, () -> holds.hold("PAT-1", "DOC-1", LocalDate.now(), earlier));
+    }
+
+    @Test
+    void extendPushesTheExpiryOutUpToTheLimit() {
+        SlotHoldService holds = holdService(300, 2);
+        SlotHold hold = holds.hold("PAT-1", "DOC-1", DATE, NINE);
+
+        holds.extend(hold.getHoldId());
+        SlotHold extended = holds.extend(hold.getHoldId());
+
+        assertEquals(2, extended.getExtensions());
+        assertFalse(extended.getExpiresAt().isBefore(hold.getExpiresAt()));
+        assertThrows(BadRequestException.class, () -> holds.extend(hold.getHoldId()));
+    }
+
+    @Test
+    void extendFailsOnceTheHoldIsGone() {
+        SlotHoldService holds = holdService(300, 2);
+        SlotHold hold = holds.hold("PAT-1", "DOC-1", DATE, NINE);
+        holds.release(hold.getHoldId());
+
+        assertThrows(ResourceNotFoundException.class, () -> holds.extend(hold.getHoldId()));
+        assertEquals(0, hold.getExtensions());
+    }
+
+    @Test
+    void claimHandsTheHoldOverAndKeepsTheSlotTaken() {
+        SlotHoldService holds = holdService(300, 2);
+        SlotHold hold = holds.hold("PAT-1", "DOC-1", DATE, NINE);
+
+        assertSame(hold, holds.claim(hold.getHoldId()));
+
+        assertFalse(calendar().isFree(NINE));
+        assertEquals(0, holds.heldCount("DOC-1", DATE));
+        assertTrue(events.isEmpty());
+        assertThrows(ResourceNotFoundException.class, () -> holds.claim(hold.getHoldId()));
+    }
+
+    @Test
+    void lapsedHoldsAreExpiredAndTheirSlotsFreed() throws InterruptedException {
+        SlotHoldService holds = holdService(0, 2);
+        SlotHold hold = holds.hold("PAT-1", "DOC-1", DATE, NINE);
+
+        assertTrue(holds.find(hold.getHoldId()).isEmpty());
+        assertThrows(ResourceNotFoundException.class, () -> holds.extend(hold.getHoldId()));
+        // The wheel turns in whole one-second ticks
+        long giveUpAt = System.currentTimeMillis() + 3000;
+        while (events.isEmpty() && System.currentTimeMillis() < giveUpAt) {
+            holds.expireHolds();
+            Thread.sleep(50);
+        }
+
+        assertTrue(calendar().isFree(NINE));
+        assertEquals(0, holds.heldCount("DOC-1", DATE));
+        assertEquals(List.of(new SlotReleasedEvent("DOC-1", DATE, NINE, hold.getHoldId())), events);
+        holds.expireHolds();
+        assertEquals(1, events.size());
+    }
+
+    @Test
+    void rebuiltCalendarKeepsHeldSlotsTaken() {
+        SlotHoldService holds = holdService(300, 2);
+        SlotHold hold = holds.hold("PAT-1", "DOC-1", DATE, NINE);
+
+        slotCalendarService.evictDoctor("DOC-1");
+
+        assertFalse(calendar().isFree(NINE));
+        assertFalse(slotCalendarService.reserve("DOC-1", DATE, NINE));
+        holds.release(hold.getHoldId());
+        assertTrue(calendar().isFree(NINE));
+    }
+
+    @Test
+    void holdsSurviveCalendarsBeingRebuiltConcurrently() throws InterruptedException {
+        SlotHoldService holds = holdService(300, 2);
+        List<LocalTime> slots = List.of(NINE, NINE.plusMinutes(20), NINE.plusMinutes(40));
+        AtomicBoolean done = new AtomicBoolean();
+        List<Thread> rebuilders = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Thread rebuilder = new Thread(() -> {
+                while (!done.get()) {
+                    slotCalendarService.evictDoctor("DOC-1");
+                    slotCalendarService.getCalendar("DOC-1", DATE);
+                }
+            });
+            rebuilder.start();
+            rebuilders.add(rebuilder);
+        }
+
+        Map<LocalTime, SlotHold> live = new HashMap<>();
+        try {
+            for (int i = 0; i < 30000; i++) {
+                LocalTime slot = slots.get(i % slots.size());
+                SlotHold previous = live.remove(slot);
+                if (previous != null) {
+                    holds.release(previous.getHoldId());
+                } else {
+                    live.put(slot, holds.hold("PAT-" + i, "DOC-1", DATE, slot));
+                    // Whichever calendar is current, a live hold's slot must not be offered
+                    assertFalse(calendar().isFree(slot), slot.toString());
+                }
+            }
+        } finally {
+            done.set(true);
+            for (Thread rebuilder : rebuilders) {
+                rebuilder.join();
+            }
+        }
+
+        SlotCalendar calendar = calendar();
+        slots.forEach(slot -> assertEquals(!live.containsKey(slot), calendar.isFree(slot), slot.toString()));
+        assertEquals(live.size(), holds.heldCount("DOC-1", DATE));
+    }
+
+    private SlotHoldService holdService(long ttlSeconds, int maxExtensions) {
+        return new SlotHoldService(slotCalendarService, events::add, ttlSeconds, maxExtensions);
+    }
+
+    private SlotCalendar calendar() {
+        return slotCalendarService.getCalendar("DOC-1", DATE).orElseThrow();
+    }
+}
@@ -0,0 +1,88 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Hit, expiry and bound checks for {@link VerifiedTokenCache}, with a manual clock for
+ * the cache and a {@link JwtService} that counts its signature checks.
+ */
+class VerifiedTokenCacheTest {
+
+    private static final String SECRET = "token-cache-secret-token-cache-secret-token-cache-secret-0123";
+
+    private final AtomicInteger verifications = new AtomicInteger();
+    private final AtomicLong nanos = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void repeatRequestsSkipVerification() {
+        JwtService jwtService = countingJwtService(60_000);
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, 100, meterRegistry, nanos::get);
+        String token = token(jwtService, "doctor1");
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals("doctor1", cache.verify(token).getUsername());
+        }
+
+        assertEquals(1, verifications.get());
+        assertEquals(4.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.size").tag("cache", VerifiedTokenCache.CACHE_NAME).gauge().value());
+    }
+
+    @Test
+    void entriesLastOnlyUntilTheTokenExpires() {
+        JwtService jwtService = countingJwtService(60_000);
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, 100, meterRegistry, nanos::get);
+        String token = token(jwtService, "doctor1");
+
+        cache.verify(token);
+        nanos.addAndGet(Duration.ofSeconds(55).toNanos());
+        cache.verify(token);
+        assertEquals(1, verifications.get());
+
+        nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+        cache.verify(token);
+        assertEquals(2, verifications.get());
+    }
+
+    @Test
+    void sizeIsBoundedAndInvalidTokensAreNotCached() {
+        JwtService jwtService = countingJwtService(60_000);
+        VerifiedTokenCache cache = new VerifiedTokenCache(jwtService, 10, meterRegistry, nanos::get);
+
+        for (int i = 0; i < 50; i++) {
+            cache.verify(token(jwtService, "user" + i));
+        }
+        assertEquals(10, cache.size());
+
+        String forged = token(new JwtService(SECRET.replace('t', 'u'), 60_000), "user0");
+        assertThrows(JwtException.class, () -> cache.verify(forged));
+        assertThrows(JwtException.class, () -> cache.verify(forged));
+        assertEquals(52, verifications.get());
+    }
+
+    private JwtService countingJwtService(long expirationMillis) {
+        return new JwtService(SECRET, expirationMillis) {
+            @Override
+            public VerifiedToken verify(String token) {
+                verifications.incrementAndGet();
+                return super.verify(token);
+            }
+        };
+    }
+
+    private static String token(JwtService jwtService, String userName) {
+        return jwtService.generateJwtToken(new TestingAuthenticationToken(userName, null, "READ"));
+    }
+}
@@ -0,0 +1,216 @@
+package com.davis.hospital_Appointment_Rest_API.service.imp;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.davis.hospital_Appointment_Rest_API.exceptions.BadRequestException;
+import com.davis.hospital_Appointment_Rest_API.model.Doctor;
+import com.davis.hospital_Appointment_Rest_API.model.DoctorSchedule;
+import com.davis.hospital_Appointment_Rest_API.model.Notification;
+import com.davis.hospital_Appointment_Rest_API.model.Patient;
+import com.davis.hospital_Appointment_Rest_API.repository.AppointmentRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.DoctorScheduleRepository;
+import com.davis.hospital_Appointment_Rest_API.repository.ScheduleSlotRepository;
+import com.davis.hospital_Appointment_Rest_API.utils.SlotReleasedEvent;
+import com.davis.hospital_Appointment_Rest_API.utils.WaitlistEntry;
+import com.davis.hospital_Appointment_Rest_API.utils.WaitlistRequest;
+
+/**
+ * Drives the waitlist with slot release events and checks who is offered each slot.
+ * Hold releases are fed back to the waitlist, as the application event bus does.
+ */
+class WaitlistServiceTest {
+
+    private static final LocalDate DATE = LocalDate.now().plusDays(2);
+    private static final LocalTime NINE = LocalTime.of(9, 0);
+    private static final Pattern HOLD_ID = Pattern.compile("hold ID (\\S+)\\.$");
+
+    private final List<Notification> offers = new ArrayList<>();
+    private boolean notificationsFail;
+    private SlotCalendarService slotCalendarService;
+    private SlotHoldService slotHoldService;
+    private WaitlistService waitlist;
+
+    @BeforeEach
+    void setUp() {
+        Doctor doctor1 = doctor("DOC-1");
+        Doctor doctor2 = doctor("DOC-2");
+        String day = SlotCalendarService.dayName(DATE);
+        DoctorScheduleRepository doctorScheduleRepository = mock(DoctorScheduleRepository.class);
+        for (Doctor doctor : List.of(doctor1, doctor2)) {
+            when(doctorScheduleRepository.findConfirmedByDoctorAndDay(doctor.getUserId(), day))
+                    .thenReturn(List.of(new DoctorSchedule(doctor, day, LocalTime.of(9, 0), LocalTime.of(11, 0), 6)));
+        }
+        AppointmentRepository appointmentRepository = mock(AppointmentRepository.class);
+        when(appointmentRepository.findBookedStartTimes(anyString(), any())).thenReturn(List.of());
+        slotCalendarService = new SlotCalendarService(doctorScheduleRepository, appointmentRepository,
+                new SlotGenerator(), mock(ScheduleSlotRepository.class));
+        slotHoldService = new SlotHoldService(slotCalendarService,
+                event -> waitlist.onSlotReleased((SlotReleasedEvent) event), 300, 2);
+
+        PatientServiceImp patientServiceImp = mock(PatientServiceImp.class);
+        when(patientServiceImp.findById(anyString())).thenAnswer(call -> {
+            Patient patient = new Patient();
+            patient.setUserId(call.getArgument(0));
+            return Optional.of(patient);
+        });
+        DoctorServiceImp doctorServiceImp = mock(DoctorServiceImp.class);
+        when(doctorServiceImp.findById("DOC-1")).thenReturn(Optional.of(doctor1));
+        when(doctorServiceImp.findById("DOC-2")).thenReturn(Optional.of(doctor2));
+        NotificationServiceImp notificationServiceImp = mock(NotificationServiceImp.class);
+        when(notificationServiceImp.save(any(Notification.class))).thenAnswer(call -> {
+            if (notificationsFail) {
+                throw new IllegalStateException("notification store unavailable");
+            }
+            offers.add(call.getArgument(0));
+            return call.getArgument(0);
+        });
+        // Offers run on the calling thread, so each release is handled before it returns
+        waitlist = new WaitlistService(patientServiceImp, doctorServiceImp, slotHoldService, notificationServiceImp,
+                Runnable::run);
+    }
+
+    @Test
+    void offersSlotsByPriorityThenArrival() {
+        join("PAT-LOW", "DOC-1", null, 1);
+        join("PAT-HIGH-1", "DOC-1", null, 3);
+        join("PAT-HIGH-2", "DOC-1", null, 3);
+
+        release("DOC-1", NINE);
+        release("DOC-1", NINE.plusMinutes(20));
+        release("DOC-1", NINE.plusMinutes(40));
+        release("DOC-1", NINE.plusMinutes(60));
+
+        assertEquals(List.of("PAT-HIGH-1", "PAT-HIGH-2", "PAT-LOW"), offeredTo());
+        assertEquals(3, slotHoldService.heldCount("DOC-1", DATE));
+        assertEquals(List.of(NINE, NINE.plusMinutes(20), NINE.plusMinutes(40)),
+                slotHoldService.heldStartTimes("DOC-1", DATE).stream().sorted().toList());
+    }
+
+    @Test
+    void doctorEntriesOnlyMatchTheirDoctorWhileSpecializationEntriesMatchAny() {
+        join("PAT-DOC-2", "DOC-2", null, 5);
+        join("PAT-ANY", null, " cardiology ", 1);
+
+        release("DOC-1", NINE);
+        assertEquals(List.of("PAT-ANY"), offeredTo());
+
+        release("DOC-2", NINE);
+        assertEquals(List.of("PAT-ANY", "PAT-DOC-2"), offeredTo());
+        assertEquals(1, slotHoldService.heldCount("DOC-2", DATE));
+    }
+
+    @Test
+    void earlierArrivalWinsBetweenDoctorAndSpecializationQueuesOfEqualPriority() {
+        join("PAT-ANY", null, "Cardiology", 2);
+        join("PAT-DOC-1", "DOC-1", null, 2);
+
+        release("DOC-1", NINE);
+
+        assertEquals(List.of("PAT-ANY"), offeredTo());
+    }
+
+    @Test
+    void slotIsHeldForTheOfferedPatient() {
+        join("PAT-1", "DOC-1", null, 1);
+
+        release("DOC-1", NINE);
+
+        assertFalse(slotCalendarService.getCalendar("DOC-1", DATE).orElseThrow().isFree(NINE));
+        assertEquals("PAT-1", slotHoldService.find(holdIdOf(offers.get(0))).orElseThrow().getPatientId());
+        assertEquals(WaitlistService.OFFER_MESSAGE_TYPE, offers.get(0).getMessageType());
+    }
+
+    @Test
+    void patientWhoLetsAnOfferGoIsOfferedTheNextSlot() {
+        join("PAT-1", "DOC-1", null, 5);
+        join("PAT-2", "DOC-1", null, 1);
+        release("DOC-1", NINE);
+
+        // PAT-1 does not take the offer; the slot goes to PAT-2 and PAT-1 keeps waiting
+        slotHoldService.release(holdIdOf(offers.get(0)));
+        release("DOC-1", NINE.plusMinutes(20));
+
+        assertEquals(List.of("PAT-1", "PAT-2", "PAT-1"), offeredTo());
+    }
+
+    @Test
+    void patientWhoLeftIsNotRequeuedWhenTheirOfferLapses() {
+        WaitlistEntry entry = join("PAT-1", "DOC-1", null, 5);
+        release("DOC-1", NINE);
+
+        waitlist.leave(entry.getEntryId());
+        slotHoldService.release(holdIdOf(offers.get(0)));
+        release("DOC-1", NINE.plusMinutes(20));
+
+        assertEquals(List.of("PAT-1"), offeredTo());
+        assertTrue(slotCalendarService.getCalendar("DOC-1", DATE).orElseThrow().isFree(NINE.plusMinutes(20)));
+    }
+
+    @Test
+    void patientStaysWaitingWhenTheirOfferCannotBeSent() {
+        join("PAT-1", "DOC-1", null, 5);
+        join("PAT-2", "DOC-1", null, 1);
+
+        notificationsFail = true;
+        release("DOC-1", NINE);
+        notificationsFail = false;
+        release("DOC-1", NINE.plusMinutes(20));
+
+        assertEquals(List.of("PAT-1"), offeredTo());
+        // The unannounced hold lapses on its own rather than being offered again at once
+        assertEquals(2, slotHoldService.heldCount("DOC-1", DATE));
+    }
+
+    @Test
+    void priorityOutsideTheRangeIsRejected() {
+        BadRequestException e = assertThrows(BadRequestException.class, () -> join("PAT-1", "DOC-1", null, 6));
+
+        assertEquals("Priority must be between 1 and 5, or 0 for routine", e.getMessage());
+        assertEquals(1, join("PAT-1", "DOC-1", null, 0).getPriority());
+    }
+
+    private WaitlistEntry join(String patientId, String doctorId, String specialization, int priority) {
+        return waitlist.join(new WaitlistRequest(patientId, doctorId, specialization, DATE, DATE.plusDays(1), priority));
+    }
+
+    private void release(String doctorId, LocalTime startTime) {
+        waitlist.onSlotReleased(new SlotReleasedEvent(doctorId, DATE, startTime));
+    }
+
+    private List<String> offeredTo() {
+        return offers.stream().map(notification -> notification.getUser().getUserId()).toList();
+    }
+
+    private static String holdIdOf(Notification offer) {
+        Matcher matcher = HOLD_ID.matcher(offer.getMessage());
+        assertTrue(matcher.find(), offer.getMessage());
+        return matcher.group(1);
+    }
+
+    private static Doctor doctor(String doctorId) {
+        Doctor doctor = new Doctor();
+        doctor.setUserId(doctorId);
+        doctor.setSurName("Surname");
+        doctor.setGivenName(doctorId);
+        doctor.setSpecialization("Cardiology");
+        return doctor;
+    }
+}
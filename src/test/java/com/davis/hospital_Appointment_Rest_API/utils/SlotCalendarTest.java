@@ -0,0 +1,94 @@
+package com.davis.hospital_Appointment_Rest_API.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class SlotCalendarTest {
+
+    private static final LocalTime FIRST = LocalTime.of(0, 0);
+
+    /** 70 slots of 20 minutes from midnight, so the bitset spans two words */
+    private final SlotCalendar calendar = new SlotCalendar("DOC-1", LocalDate.of(2030, 1, 7), starts(70));
+
+    @Test
+    void reservesAndReleasesOnBothSidesOfAWordBoundary() {
+        LocalTime slot63 = slot(63);
+        LocalTime slot64 = slot(64);
+
+        assertTrue(calendar.tryReserve(slot63));
+        assertTrue(calendar.isFree(slot64));
+        assertTrue(calendar.tryReserve(slot64));
+        assertFalse(calendar.tryReserve(slot64));
+        assertEquals(68, calendar.freeCount());
+
+        assertTrue(calendar.release(slot63));
+        assertTrue(calendar.isFree(slot63));
+        assertFalse(calendar.isFree(slot64));
+        assertEquals(slot63, calendar.firstFree(slot(60).plusMinutes(60)));
+        assertEquals(slot(65), calendar.nextFreeAfter(slot63));
+    }
+
+    @Test
+    void firstFreeRoundsATimeInsideASlotUpToTheNextSlot() {
+        assertEquals(slot(1), calendar.firstFree(slot(0).plusMinutes(5)));
+        calendar.tryReserve(slot(1));
+        assertEquals(slot(2), calendar.firstFree(slot(0).plusMinutes(5)));
+        assertEquals(slot(0), calendar.firstFree(null));
+    }
+
+    @Test
+    void nextFreeAfterTheLastSlotFindsNothing() {
+        assertNull(calendar.nextFreeAfter(slot(69)));
+        assertEquals(slot(69), calendar.nextFreeAfter(slot(68)));
+        calendar.tryReserve(slot(69));
+        assertNull(calendar.nextFreeAfter(slot(68)));
+        assertNull(calendar.firstFree(slot(69)));
+    }
+
+    @Test
+    void releasingTwiceFreesTheSlotOnlyOnce() {
+        calendar.tryReserve(slot(10));
+
+        assertTrue(calendar.release(slot(10)));
+        assertFalse(calendar.release(slot(10)));
+        assertEquals(70, calendar.freeCount());
+        assertEquals(70, calendar.freeSlots().size());
+    }
+
+    @Test
+    void timesThatAreNotSlotStartsAreRejected() {
+        LocalTime offGrid = slot(3).plusMinutes(7);
+        LocalTime afterHours = slot(69).plusMinutes(20);
+
+        assertEquals(-1, calendar.indexOf(offGrid));
+        assertEquals(-1, calendar.indexOf(afterHours));
+        assertEquals(-1, calendar.indexOf(null));
+        assertFalse(calendar.tryReserve(offGrid));
+        assertFalse(calendar.tryReserve(afterHours));
+        assertFalse(calendar.release(afterHours));
+        assertFalse(calendar.isFree(afterHours));
+        assertNull(calendar.firstFree(afterHours));
+        assertEquals(70, calendar.freeCount());
+    }
+
+    private static LocalTime slot(int index) {
+        return FIRST.plusMinutes((long) SlotCalendar.SLOT_MINUTES * index);
+    }
+
+    private static List<LocalTime> starts(int count) {
+        List<LocalTime> starts = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            starts.add(slot(i));
+        }
+        return starts;
+    }
+}
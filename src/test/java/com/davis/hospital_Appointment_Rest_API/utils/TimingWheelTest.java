@@ -0,0 +1,37 @@
+package com.davis.hospital_Appointment_Rest_API.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class TimingWheelTest {
+
+    @Test
+    void expiresItemsOnlyOnceTheirDeadlinePasses() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 8, 0);
+        wheel.schedule("a", 3000);
+        wheel.schedule("b", 20_000);
+
+        assertTrue(wheel.advance(2000).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(3000));
+        // "b" shares a bucket with earlier ticks but is two turns away
+        assertTrue(wheel.advance(12_000).isEmpty());
+        assertEquals(List.of("b"), wheel.advance(20_000));
+    }
+
+    @Test
+    void rescheduledAndCancelledItemsAreNotExpiredEarly() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 8, 0);
+        TimingWheel.Timeout<String> extended = wheel.schedule("extended", 2000);
+        TimingWheel.Timeout<String> cancelled = wheel.schedule("cancelled", 2000);
+        wheel.reschedule(extended, 5000);
+        cancelled.cancel();
+
+        assertTrue(wheel.advance(4000).isEmpty());
+        assertEquals(List.of("extended"), wheel.advance(5000));
+        assertTrue(wheel.advance(30_000).isEmpty());
+    }
+}
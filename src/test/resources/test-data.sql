@@ -0,0 +1,3 @@
+-- Sequence table used by IdGeneration through plain JDBC (no entity maps it)
+CREATE TABLE IDGen (idName VARCHAR(50) PRIMARY KEY, idValue BIGINT NOT NULL);
+INSERT INTO IDGen (idName, idValue) VALUES ('userId', 1);